@@ -0,0 +1,73 @@
+package games.strategy.engine.data;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.xml.TestMapGameData;
+import games.strategy.util.Match;
+
+/**
+ * Measures repeated distance and neighborhood queries on the largest bundled maps, and checks the distances against
+ * the routes found by {@link RouteFinder}.
+ */
+public class GameMapDistanceBenchmarkIntegrationTest {
+  private static final int ROUNDS = 5;
+  // route finding is slow, so only the routes starting at every n-th territory are compared
+  private static final int VERIFY_STRIDE = 10;
+
+  @Test
+  public void benchmarkTotalWorldWar() throws Exception {
+    benchmark(TestMapGameData.TWW);
+  }
+
+  @Test
+  public void benchmarkGlobal1940() throws Exception {
+    benchmark(TestMapGameData.GLOBAL1940);
+  }
+
+  @Test
+  public void benchmarkBigWorld1942() throws Exception {
+    benchmark(TestMapGameData.BIG_WORLD_1942);
+  }
+
+  private static void benchmark(final TestMapGameData testMap) throws Exception {
+    final GameMap map = testMap.getGameData().getMap();
+    final List<Territory> territories = map.getTerritories();
+    verifyDistances(map, territories);
+
+    for (int round = 0; round < ROUNDS; round++) {
+      final long start = System.nanoTime();
+      long checksum = 0;
+      for (final Territory from : territories) {
+        for (final Territory to : territories) {
+          checksum += map.getDistance(from, to) + map.getLandDistance(from, to) + map.getWaterDistance(from, to);
+        }
+        checksum += map.getNeighbors(from, 3, Matches.territoryIsLand()).size();
+      }
+      final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      System.out.println(testMap + ": " + territories.size() + " territories, round " + round + ", " + millis
+          + " ms (checksum " + checksum + ")");
+    }
+  }
+
+  private static void verifyDistances(final GameMap map, final List<Territory> territories) {
+    final Match<Territory> land = Matches.territoryIsLand();
+    for (int i = 0; i < territories.size(); i += VERIFY_STRIDE) {
+      final Territory from = territories.get(i);
+      for (final Territory to : territories) {
+        assertEquals(from + " to " + to, getRouteLength(map.getRoute(from, to, Matches.territoryIsLandOrWater())),
+            map.getDistance(from, to));
+        assertEquals(from + " to " + to, getRouteLength(map.getRoute(from, to, land)), map.getLandDistance(from, to));
+      }
+    }
+  }
+
+  private static int getRouteLength(final Route route) {
+    return (route == null) ? -1 : route.numberOfSteps();
+  }
+}
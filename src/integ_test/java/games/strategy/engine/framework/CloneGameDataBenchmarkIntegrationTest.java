@@ -0,0 +1,60 @@
+package games.strategy.engine.framework;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.triplea.xml.TestMapGameData;
+
+/**
+ * Compares copying a game the way it was done before, through a compressed and versioned save game, with the in-memory
+ * copy of {@link GameDataManager#saveGameCopy(GameData, boolean)} and {@link GameDataManager#loadGameCopy(byte[])}.
+ */
+public class CloneGameDataBenchmarkIntegrationTest {
+  private static final int ROUNDS = 5;
+  private static final int COPIES_PER_ROUND = 20;
+
+  @Test
+  public void benchmarkGlobal1940() throws Exception {
+    benchmark("Global 1940", TestMapGameData.GLOBAL1940.getGameData());
+  }
+
+  @Test
+  public void benchmarkTotalWorldWar() throws Exception {
+    benchmark("TWW", TestMapGameData.TWW.getGameData());
+  }
+
+  private static void benchmark(final String name, final GameData data) throws Exception {
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      GameData saveGameCopy = null;
+      for (int i = 0; i < COPIES_PER_ROUND; i++) {
+        final ByteArrayOutputStream sink = new ByteArrayOutputStream(10_000);
+        GameDataManager.saveGameInLegacyFormat(sink, data, true);
+        saveGameCopy = GameDataManager.loadGame(new ByteArrayInputStream(sink.toByteArray()));
+      }
+      final long saveGameMillis = millisSince(start);
+
+      start = System.nanoTime();
+      GameData inMemoryCopy = null;
+      for (int i = 0; i < COPIES_PER_ROUND; i++) {
+        inMemoryCopy = GameDataManager.loadGameCopy(GameDataManager.saveGameCopy(data, true));
+      }
+      final long inMemoryMillis = millisSince(start);
+
+      assertEquals(saveGameCopy.getMap().getTerritories().size(), inMemoryCopy.getMap().getTerritories().size());
+      assertEquals(saveGameCopy.getDelegateList().size(), inMemoryCopy.getDelegateList().size());
+      System.out.println(name + ", round " + round + ": " + COPIES_PER_ROUND + " copies through a save game in "
+          + saveGameMillis + " ms, in memory in " + inMemoryMillis + " ms");
+    }
+  }
+
+  private static long millisSince(final long start) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+}
@@ -0,0 +1,100 @@
+package games.strategy.engine.framework;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Resource;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.history.HistoryWriter;
+import games.strategy.triplea.xml.TestMapGameData;
+
+/**
+ * Compares saving and loading a long, late game in the sectioned save game format with the legacy format. The history
+ * of the game is generated by purchasing and placing units for every player in every round.
+ */
+public class SaveGameBenchmarkIntegrationTest {
+  private static final int ROUNDS = 5;
+  private static final int GAME_ROUNDS = 30;
+  private static final int EVENTS_PER_STEP = 10;
+
+  @Test
+  public void benchmarkGlobal1940() throws Exception {
+    final GameData data = newLateGame(TestMapGameData.GLOBAL1940.getGameData());
+
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      final ByteArrayOutputStream legacy = new ByteArrayOutputStream();
+      GameDataManager.saveGameInLegacyFormat(legacy, data, true);
+      final long legacySaveMillis = millisSince(start);
+
+      start = System.nanoTime();
+      final ByteArrayOutputStream sectioned = new ByteArrayOutputStream();
+      GameDataManager.saveGameInSectionedFormat(sectioned, data, true);
+      final long sectionedSaveMillis = millisSince(start);
+
+      start = System.nanoTime();
+      final GameData legacyLoaded = GameDataManager.loadGame(new ByteArrayInputStream(legacy.toByteArray()));
+      final long legacyLoadMillis = millisSince(start);
+
+      start = System.nanoTime();
+      final GameData sectionedLoaded = GameDataManager.loadGame(new ByteArrayInputStream(sectioned.toByteArray()));
+      final long sectionedLoadMillis = millisSince(start);
+      start = System.nanoTime();
+      sectionedLoaded.getHistory().getRoot();
+      final long historyLoadMillis = millisSince(start);
+
+      assertEquals(legacyLoaded.getHistory().getLastNode().getTitle(),
+          sectionedLoaded.getHistory().getLastNode().getTitle());
+      System.out.println("round " + round + ": legacy " + legacy.size() + " bytes, save " + legacySaveMillis
+          + " ms, load " + legacyLoadMillis + " ms; sectioned " + sectioned.size() + " bytes, save "
+          + sectionedSaveMillis + " ms, load " + sectionedLoadMillis + " ms, history " + historyLoadMillis + " ms");
+    }
+  }
+
+  private static long millisSince(final long start) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+
+  private static GameData newLateGame(final GameData data) {
+    final HistoryWriter writer = data.getHistory().getHistoryWriter();
+    final Resource pus = data.getResourceList().getResource("PUs");
+    final UnitType infantry = data.getUnitTypeList().getUnitType("infantry");
+    for (int gameRound = 1; gameRound <= GAME_ROUNDS; gameRound++) {
+      writer.startNextRound(gameRound);
+      for (final PlayerID player : data.getPlayerList().getPlayers()) {
+        final List<Territory> territories = data.getMap().getTerritoriesOwnedBy(player);
+        if (territories.isEmpty()) {
+          continue;
+        }
+        writer.startNextStep(player.getName() + "Place", "place", player, player.getName() + " Place Units");
+        for (int event = 0; event < EVENTS_PER_STEP; event++) {
+          final Territory territory = territories.get(event % territories.size());
+          final List<Unit> units = new ArrayList<>(infantry.create(3, player));
+          writer.startEvent(player.getName() + " places " + units.size() + " infantry in " + territory.getName());
+          writer.setRenderingData(units);
+          addChange(data, writer, ChangeFactory.addUnits(territory, units));
+          addChange(data, writer, ChangeFactory.changeResourcesChange(player, pus, -9));
+        }
+      }
+    }
+    return data;
+  }
+
+  private static void addChange(final GameData data, final HistoryWriter writer, final Change change) {
+    data.performChange(change);
+    writer.addChange(change);
+  }
+}
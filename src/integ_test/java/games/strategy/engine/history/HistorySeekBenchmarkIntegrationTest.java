@@ -0,0 +1,137 @@
+package games.strategy.engine.history;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Resource;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.xml.TestMapGameData;
+import games.strategy.util.IntegerMap;
+
+/**
+ * Measures jumping to random nodes of the history of a long, late game. The history is generated by buying, placing
+ * and moving units for every player in every round. The first pass builds the round checkpoints, the later passes
+ * use them.
+ */
+public class HistorySeekBenchmarkIntegrationTest {
+  private static final int ROUNDS = 5;
+  private static final int SEEKS_PER_ROUND = 200;
+  private static final int GAME_ROUNDS = 40;
+  private static final int EVENTS_PER_STEP = 10;
+
+  @Test
+  public void benchmarkGlobal1940() throws Exception {
+    final GameData data = newLateGame(TestMapGameData.GLOBAL1940.getGameData());
+    final History history = data.getHistory();
+    final List<HistoryNode> nodes = getNodes(history);
+    final HistoryNode lastNode = history.getLastNode();
+    final List<IntegerMap<Resource>> resourcesAtEnd = getResources(data);
+    final Random random = new Random(42);
+
+    for (int round = 0; round < ROUNDS; round++) {
+      final long start = System.nanoTime();
+      for (int seek = 0; seek < SEEKS_PER_ROUND; seek++) {
+        history.gotoNode(nodes.get(random.nextInt(nodes.size())));
+      }
+      final long seekMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      history.gotoNode(lastNode);
+
+      assertEquals(resourcesAtEnd, getResources(data));
+      System.out.println("round " + round + ": " + nodes.size() + " nodes, " + history.getChanges().size()
+          + " changes, " + SEEKS_PER_ROUND + " seeks in " + seekMillis + " ms");
+    }
+  }
+
+  private static List<HistoryNode> getNodes(final History history) {
+    final List<HistoryNode> nodes = new ArrayList<>();
+    final Enumeration<?> enumeration = ((HistoryNode) history.getRoot()).preorderEnumeration();
+    while (enumeration.hasMoreElements()) {
+      nodes.add((HistoryNode) enumeration.nextElement());
+    }
+    return nodes;
+  }
+
+  private static List<IntegerMap<Resource>> getResources(final GameData data) {
+    final List<IntegerMap<Resource>> resources = new ArrayList<>();
+    for (final PlayerID player : data.getPlayerList().getPlayers()) {
+      resources.add(player.getResources().getResourcesCopy());
+    }
+    return resources;
+  }
+
+  private static GameData newLateGame(final GameData data) {
+    final HistoryWriter writer = data.getHistory().getHistoryWriter();
+    final Resource pus = data.getResourceList().getResource("PUs");
+    final UnitType infantry = data.getUnitTypeList().getUnitType("infantry");
+    for (int gameRound = 1; gameRound <= GAME_ROUNDS; gameRound++) {
+      writer.startNextRound(gameRound);
+      for (final PlayerID player : data.getPlayerList().getPlayers()) {
+        final List<Territory> territories = data.getMap().getTerritoriesOwnedBy(player);
+        if (territories.isEmpty()) {
+          continue;
+        }
+        writer.startNextStep(player.getName() + "Purchase", "purchase", player, player.getName() + " Purchase Units");
+        writer.startEvent(player.getName() + " collects " + (9 * EVENTS_PER_STEP) + " PUs");
+        addChange(data, writer, ChangeFactory.changeResourcesChange(player, pus, 9 * EVENTS_PER_STEP));
+        writer.startNextStep(player.getName() + "Place", "place", player, player.getName() + " Place Units");
+        for (int event = 0; event < EVENTS_PER_STEP; event++) {
+          final Territory territory = territories.get(event % territories.size());
+          final List<Unit> units = new ArrayList<>(infantry.create(3, player));
+          writer.startEvent(player.getName() + " places " + units.size() + " infantry in " + territory.getName());
+          writer.setRenderingData(units);
+          addChange(data, writer, ChangeFactory.addUnits(territory, units));
+          addChange(data, writer, ChangeFactory.changeResourcesChange(player, pus, -9));
+        }
+        writer.startNextStep(player.getName() + "Move", "move", player, player.getName() + " Move Units");
+        for (int event = 0; event < EVENTS_PER_STEP; event++) {
+          final Territory from = territories.get(event % territories.size());
+          final Territory to = territories.get((event + 1) % territories.size());
+          final List<Unit> units = from.getUnits().getMatches(Matches.unitIsOwnedBy(player));
+          final List<Unit> movedUnits = units.subList(0, Math.min(3, units.size()));
+          if (movedUnits.isEmpty()) {
+            continue;
+          }
+          writer.startEvent(player.getName() + " moves " + movedUnits.size() + " units to " + to.getName());
+          final CompositeChange change = new CompositeChange(ChangeFactory.removeUnits(from, movedUnits),
+              ChangeFactory.addUnits(to, movedUnits));
+          for (final Unit unit : movedUnits) {
+            change.add(ChangeFactory.unitPropertyChange(unit, TripleAUnit.get(unit).getAlreadyMoved() + 1,
+                TripleAUnit.ALREADY_MOVED));
+          }
+          addChange(data, writer, change);
+        }
+        writer.startNextStep(player.getName() + "EndTurn", "endTurn", player, player.getName() + " End Turn");
+        writer.startEvent(player.getName() + " resets movement");
+        final CompositeChange resetMovement = new CompositeChange();
+        for (final Territory territory : territories) {
+          for (final Unit unit : territory.getUnits().getMatches(Matches.unitIsOwnedBy(player))) {
+            resetMovement.add(ChangeFactory.unitPropertyChange(unit, 0, TripleAUnit.ALREADY_MOVED));
+          }
+        }
+        addChange(data, writer, resetMovement);
+      }
+    }
+    return data;
+  }
+
+  private static void addChange(final GameData data, final HistoryWriter writer, final Change change) {
+    data.performChange(change);
+    writer.addChange(change);
+  }
+}
@@ -17,6 +17,7 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import games.strategy.engine.lobby.server.db.HashedPassword;
+import games.strategy.engine.lobby.server.db.ModerationCache;
 import games.strategy.engine.lobby.server.db.UserController;
 import games.strategy.engine.lobby.server.userDB.DBUser;
 import games.strategy.engine.message.MessageContext;
@@ -35,7 +36,7 @@ public class ModeratorControllerIntegrationTest {
 
   @Before
   public void setUp() throws UnknownHostException {
-    moderatorController = new ModeratorController(serverMessenger, null);
+    moderatorController = new ModeratorController(serverMessenger, null, ModerationCache.load());
     final String adminName = Util.createUniqueTimeStamp();
 
     final DBUser dbUser = new DBUser(new DBUser.UserName(adminName), new DBUser.UserEmail("n@n.n"), DBUser.Role.ADMIN);
@@ -0,0 +1,197 @@
+package games.strategy.engine.lobby.server.db;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.Test;
+
+import games.strategy.util.MD5Crypt;
+
+/**
+ * Measures a storm of lobby logins, each of which checks that the user exists, validates the password and reads the
+ * user, once with a new connection for every query and once with the connection pool.
+ *
+ * <p>
+ * The queries run against an in-memory stand-in for the database, which simulates the latency of opening a
+ * connection, preparing a statement and executing it, so that the benchmark does not need a running database.
+ * </p>
+ */
+public class LoginStormBenchmarkIntegrationTest {
+  private static final int USERS = 200;
+  private static final int THREADS = 16;
+  private static final int LOGINS = 2_000;
+  private static final int POOL_SIZE = 10;
+  private static final long CONNECT_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+  private static final long PREPARE_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+  private static final long EXECUTE_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+  @Test
+  public void benchmarkLoginStorm() throws Exception {
+    final StandInDatabase database = new StandInDatabase();
+    final Map<String, HashedPassword> passwords = new HashMap<>();
+    for (int i = 0; i < USERS; i++) {
+      final String password = MD5Crypt.crypt("password" + i);
+      database.passwordsByUser.put("user" + i, password);
+      passwords.put("user" + i, new HashedPassword(password));
+    }
+
+    final long unpooledMillis = runLoginStorm(new UserController(database::connect), passwords);
+    final int unpooledConnections = database.connections.getAndSet(0);
+    try (ConnectionPool pool = new ConnectionPool(database::connect, POOL_SIZE, 32)) {
+      final long pooledMillis = runLoginStorm(new UserController(pool::getConnection), passwords);
+      System.out.println("Login storm of " + LOGINS + " logins on " + THREADS + " threads: new connections "
+          + unpooledMillis + " ms (" + unpooledConnections + " connections), pool " + pooledMillis + " ms ("
+          + database.connections.get() + " connections), pool metrics: " + pool.getMetrics());
+    }
+  }
+
+  private static long runLoginStorm(final UserController controller, final Map<String, HashedPassword> passwords)
+      throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      final long start = System.nanoTime();
+      final List<Future<Boolean>> logins = new ArrayList<>();
+      for (int i = 0; i < LOGINS; i++) {
+        final String username = "user" + (i % USERS);
+        logins.add(executor.submit(() -> controller.doesUserExist(username)
+            && controller.login(username, passwords.get(username))
+            && controller.getUserByName(username) != null));
+      }
+      int successfulLogins = 0;
+      for (final Future<Boolean> login : logins) {
+        successfulLogins += login.get() ? 1 : 0;
+      }
+      assertEquals(LOGINS, successfulLogins);
+      return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Answers the queries of the user controller from memory, taking as long as a nearby database would.
+   */
+  private static final class StandInDatabase {
+    final Map<String, String> passwordsByUser = new HashMap<>();
+    final AtomicInteger connections = new AtomicInteger();
+
+    Connection connect() {
+      LockSupport.parkNanos(CONNECT_NANOS);
+      connections.incrementAndGet();
+      final boolean[] autoCommit = {true};
+      final boolean[] closed = {false};
+      return newProxy(Connection.class, (proxy, method, args) -> {
+        switch (method.getName()) {
+          case "prepareStatement":
+            LockSupport.parkNanos(PREPARE_NANOS);
+            return newStatement((String) args[0]);
+          case "createStatement":
+            return newProxy(Statement.class, (statementProxy, statementMethod, statementArgs) -> {
+              if ("execute".equals(statementMethod.getName())) {
+                LockSupport.parkNanos(EXECUTE_NANOS);
+                return true;
+              }
+              return null;
+            });
+          case "getAutoCommit":
+            return autoCommit[0];
+          case "setAutoCommit":
+            autoCommit[0] = (Boolean) args[0];
+            return null;
+          case "commit":
+          case "rollback":
+            LockSupport.parkNanos(EXECUTE_NANOS);
+            return null;
+          case "close":
+            closed[0] = true;
+            return null;
+          case "isClosed":
+            return closed[0];
+          default:
+            throw new UnsupportedOperationException(method.getName());
+        }
+      });
+    }
+
+    private PreparedStatement newStatement(final String sql) {
+      final Map<Integer, Object> parameters = new HashMap<>();
+      return newProxy(PreparedStatement.class, (proxy, method, args) -> {
+        switch (method.getName()) {
+          case "setString":
+          case "setTimestamp":
+          case "setBoolean":
+            parameters.put((Integer) args[0], args[1]);
+            return null;
+          case "clearParameters":
+            parameters.clear();
+            return null;
+          case "execute":
+            LockSupport.parkNanos(EXECUTE_NANOS);
+            return false;
+          case "executeQuery":
+            LockSupport.parkNanos(EXECUTE_NANOS);
+            return newResultSet(sql, parameters);
+          case "close":
+          case "setQueryTimeout":
+            return null;
+          default:
+            throw new UnsupportedOperationException(method.getName());
+        }
+      });
+    }
+
+    private ResultSet newResultSet(final String sql, final Map<Integer, Object> parameters) {
+      final String username = (String) parameters.get(1);
+      final String password = passwordsByUser.get(username);
+      final boolean found = password != null && (!sql.contains("password = ?") || password.equals(parameters.get(2)));
+      final boolean[] hasNext = {found};
+      return newProxy(ResultSet.class, (proxy, method, args) -> {
+        switch (method.getName()) {
+          case "next":
+            final boolean next = hasNext[0];
+            hasNext[0] = false;
+            return next;
+          case "getString":
+            return "email".equals(args[0]) ? username + "@example.com" : username;
+          case "getBoolean":
+            return false;
+          case "close":
+            return null;
+          default:
+            throw new UnsupportedOperationException(method.getName());
+        }
+      });
+    }
+  }
+
+  private static <T> T newProxy(final Class<T> type, final InvocationHandler handler) {
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return "Stand-in " + type.getSimpleName();
+        default:
+          return handler.invoke(proxy, method, args);
+      }
+    }));
+  }
+}
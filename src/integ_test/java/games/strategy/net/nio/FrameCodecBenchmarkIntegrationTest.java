@@ -0,0 +1,104 @@
+package games.strategy.net.nio;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.framework.GameObjectStreamFactory;
+import games.strategy.engine.framework.IGameModifiedChannel;
+import games.strategy.engine.message.HubInvoke;
+import games.strategy.engine.message.RemoteMethodCall;
+import games.strategy.net.GUID;
+import games.strategy.net.IObjectStreamFactory;
+import games.strategy.triplea.xml.TestMapGameData;
+
+/**
+ * Compares the size and encoding throughput of legacy frames with framed, compressed messages, using the change
+ * broadcasts that make up most of the traffic of a running game.
+ */
+public class FrameCodecBenchmarkIntegrationTest {
+  private static final int ROUNDS = 5;
+  private static final int MESSAGES = 2000;
+
+  @Test
+  public void benchmarkChangeBroadcasts() throws Exception {
+    final GameData data = TestMapGameData.WW2V3_1942.getGameData();
+    final IObjectStreamFactory streamFactory = new GameObjectStreamFactory(data);
+    final HubInvoke message = newChangeBroadcast(data);
+
+    final byte[] legacy = encodeLegacy(streamFactory, message);
+    final byte[] framed = encodeFramed(streamFactory, message);
+    System.out.println("change broadcast: legacy " + legacy.length + " bytes, framed " + framed.length + " bytes");
+    assertEquals(message.methodCallID, decode(streamFactory, framed).methodCallID);
+
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      for (int i = 0; i < MESSAGES; i++) {
+        decode(streamFactory, encodeLegacy(streamFactory, message));
+      }
+      final long legacyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      start = System.nanoTime();
+      for (int i = 0; i < MESSAGES; i++) {
+        decode(streamFactory, encodeFramed(streamFactory, message));
+      }
+      final long framedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      System.out.println("round " + round + ": " + MESSAGES + " messages, legacy " + legacyMillis + " ms, framed "
+          + framedMillis + " ms");
+    }
+  }
+
+  private static HubInvoke newChangeBroadcast(final GameData data) throws Exception {
+    final Territory territory = data.getMap().getTerritory("Germany");
+    final Collection<Unit> units = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      units.add(data.getUnitTypeList().getUnitType("infantry").create(territory.getOwner()));
+    }
+    final Change change = ChangeFactory.addUnits(territory, units);
+    final RemoteMethodCall call = new RemoteMethodCall("gameModifiedChannel", "gameDataChanged",
+        new Object[] {change}, new Class<?>[] {Change.class}, IGameModifiedChannel.class);
+    return new HubInvoke(new GUID(), true, call);
+  }
+
+  private static void writeMessage(final ObjectOutputStream out, final HubInvoke message) throws IOException {
+    out.write(Decoder.getType(message));
+    message.writeExternal(out);
+    out.reset();
+  }
+
+  private static byte[] encodeLegacy(final IObjectStreamFactory streamFactory, final HubInvoke message)
+      throws IOException {
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream(512);
+    writeMessage(streamFactory.create(sink), message);
+    return sink.toByteArray();
+  }
+
+  private static byte[] encodeFramed(final IObjectStreamFactory streamFactory, final HubInvoke message)
+      throws IOException {
+    final FrameCodec.Buffer sink = FrameCodec.messageBuffer();
+    writeMessage(streamFactory.create(sink), message);
+    return FrameCodec.encode(sink, true).toByteArray();
+  }
+
+  private static HubInvoke decode(final IObjectStreamFactory streamFactory, final byte[] frame) throws Exception {
+    final InputStream stream = FrameCodec.decode(frame);
+    final ObjectInputStream in = streamFactory.create(stream);
+    in.read();
+    final HubInvoke message = new HubInvoke();
+    message.readExternal(in);
+    return message;
+  }
+}
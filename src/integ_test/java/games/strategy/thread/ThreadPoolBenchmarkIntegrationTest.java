@@ -0,0 +1,70 @@
+package games.strategy.thread;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import games.strategy.util.ThreadUtil;
+
+/**
+ * Measures the latency of fanning out short tasks and waiting for all of them, comparing {@link ThreadPool} with the
+ * sleep-polling wait it replaced.
+ */
+public class ThreadPoolBenchmarkIntegrationTest {
+  private static final int ROUNDS = 5;
+  private static final int JOINS = 500;
+  private static final int TASKS_PER_JOIN = 8;
+  private static final int THREADS = 4;
+
+  @Test
+  public void benchmarkFanOutAndJoin() throws Exception {
+    final ThreadPool pool = new ThreadPool(THREADS);
+    final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    final AtomicInteger counter = new AtomicInteger();
+    final Runnable task = counter::incrementAndGet;
+    try {
+      for (int round = 0; round < ROUNDS; round++) {
+        long start = System.nanoTime();
+        for (int i = 0; i < JOINS; i++) {
+          for (int j = 0; j < TASKS_PER_JOIN; j++) {
+            pool.runTask(task);
+          }
+          pool.join();
+        }
+        final long joinMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / JOINS;
+        start = System.nanoTime();
+        for (int i = 0; i < JOINS; i++) {
+          final ArrayDeque<Future<?>> futures = new ArrayDeque<>();
+          for (int j = 0; j < TASKS_PER_JOIN; j++) {
+            futures.push(executor.submit(task));
+          }
+          pollUntilDone(futures);
+        }
+        final long pollMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / JOINS;
+        System.out.println("round " + round + ": " + TASKS_PER_JOIN + " tasks per join, join " + joinMicros
+            + " us, sleep-polling " + pollMicros + " us");
+      }
+      assertEquals(2 * ROUNDS * JOINS * TASKS_PER_JOIN, counter.get());
+    } finally {
+      pool.shutDown();
+      executor.shutdown();
+    }
+  }
+
+  private static void pollUntilDone(final ArrayDeque<Future<?>> futures) {
+    while (!futures.isEmpty()) {
+      if (futures.peek().isDone()) {
+        futures.pop();
+      } else {
+        ThreadUtil.sleep(5);
+      }
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package games.strategy.triplea.ai.proAI.data;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.triplea.ai.proAI.ProData;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.xml.TestMapGameData;
+
+/**
+ * Compares finding the attack maps of all enemies one enemy after another with finding them in parallel, as
+ * {@link ProTerritoryManager#findEnemyAttackMaps(PlayerID, List, List, boolean)} does for the AI. The threat cache is
+ * cleared before each run, so every run computes all maps.
+ */
+public class EnemyAttackMapsBenchmarkIntegrationTest {
+  private static final int ROUNDS = 5;
+
+  @Test
+  public void benchmarkGlobal1940() throws Exception {
+    benchmark("Global 1940", TestMapGameData.GLOBAL1940.getGameData(), "British");
+  }
+
+  @Test
+  public void benchmarkTotalWorldWar() throws Exception {
+    benchmark("TWW", TestMapGameData.TWW.getGameData(), "Britain");
+  }
+
+  private static void benchmark(final String name, final GameData data, final String playerName) {
+    final PlayerID player = data.getPlayerList().getPlayerId(playerName);
+    ProData.initializeSimulation(null, data, player);
+    final List<Territory> territoriesToCheck =
+        Matches.getMatches(data.getMap().getTerritories(), Matches.isTerritoryOwnedBy(player));
+    for (int round = 0; round < ROUNDS; round++) {
+      ProData.getEnemyThreatCache().clear();
+      long start = System.nanoTime();
+      final int sequentialCount =
+          ProTerritoryManager.findEnemyAttackMaps(player, new ArrayList<>(), territoriesToCheck, false).size();
+      final long sequentialMillis = millisSince(start);
+
+      ProData.getEnemyThreatCache().clear();
+      start = System.nanoTime();
+      final int parallelCount =
+          ProTerritoryManager.findEnemyAttackMaps(player, new ArrayList<>(), territoriesToCheck, true).size();
+      final long parallelMillis = millisSince(start);
+
+      assertEquals(sequentialCount, parallelCount);
+      System.out.println(name + ", round " + round + ": attack maps of " + sequentialCount + " enemies of "
+          + playerName + " one after another in " + sequentialMillis + " ms, in parallel in " + parallelMillis + " ms");
+    }
+  }
+
+  private static long millisSince(final long start) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+}
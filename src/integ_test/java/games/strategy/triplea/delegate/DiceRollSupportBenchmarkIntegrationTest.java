@@ -0,0 +1,112 @@
+package games.strategy.triplea.delegate;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.attachments.UnitAttachment;
+import games.strategy.triplea.attachments.UnitSupportAttachment;
+import games.strategy.triplea.xml.TestMapGameData;
+import games.strategy.util.IntegerMap;
+import games.strategy.util.LinkedIntegerMap;
+import games.strategy.util.Tuple;
+
+/**
+ * Measures the power and rolls calculation of a large battle round, which gives the support of the compiled support
+ * rules, and compares it with walking and sorting all support rules of the game for every round.
+ */
+public class DiceRollSupportBenchmarkIntegrationTest {
+  private static final int ROUNDS = 5;
+  private static final int CALCULATIONS = 2_000;
+
+  @Test
+  public void benchmarkWw2v3_1941() throws Exception {
+    benchmark(TestMapGameData.WW2V3_1941.getGameData(), "WW2v3 1941");
+  }
+
+  @Test
+  public void benchmarkWw2v3_1942() throws Exception {
+    benchmark(TestMapGameData.WW2V3_1942.getGameData(), "WW2v3 1942");
+  }
+
+  private static void benchmark(final GameData data, final String name) {
+    final PlayerID germans = data.getPlayerList().getPlayerId("Germans");
+    final PlayerID russians = data.getPlayerList().getPlayerId("Russians");
+    final Territory russia = data.getMap().getTerritory("Russia");
+    final List<Unit> attackers = new ArrayList<>();
+    attackers.addAll(data.getUnitTypeList().getUnitType("infantry").create(20, germans));
+    attackers.addAll(data.getUnitTypeList().getUnitType("artillery").create(10, germans));
+    attackers.addAll(data.getUnitTypeList().getUnitType("armour").create(10, germans));
+    attackers.addAll(data.getUnitTypeList().getUnitType("fighter").create(6, germans));
+    final List<Unit> defenders = new ArrayList<>(data.getUnitTypeList().getUnitType("infantry").create(20, russians));
+    defenders.addAll(data.getUnitTypeList().getUnitType("artillery").create(6, russians));
+    DiceRoll.sortByStrength(attackers, false);
+
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      int compiledSupport = 0;
+      for (int i = 0; i < CALCULATIONS; i++) {
+        compiledSupport = getTotalStrength(DiceRoll.getUnitPowerAndRollsForNormalBattles(attackers, defenders, false,
+            false, data, russia, TerritoryEffectHelper.getEffects(russia), false, null));
+      }
+      final long compiledMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / CALCULATIONS;
+      start = System.nanoTime();
+      int walkedSupport = 0;
+      for (int i = 0; i < CALCULATIONS; i++) {
+        walkedSupport = getSupportByWalkingRules(attackers, defenders, data);
+      }
+      final long walkedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / CALCULATIONS;
+      assertEquals(getTotalBaseStrength(attackers) + walkedSupport, compiledSupport);
+      System.out.println(name + " round " + round + ": " + attackers.size() + " attackers, " + defenders.size()
+          + " defenders, compiled rules " + compiledMicros + " us, walked rules " + walkedMicros + " us");
+    }
+  }
+
+  private static int getTotalStrength(final Map<Unit, Tuple<Integer, Integer>> unitPowerAndRolls) {
+    int strength = 0;
+    for (final Tuple<Integer, Integer> powerAndRolls : unitPowerAndRolls.values()) {
+      strength += powerAndRolls.getFirst();
+    }
+    return strength;
+  }
+
+  private static int getTotalBaseStrength(final List<Unit> units) {
+    int strength = 0;
+    for (final Unit unit : units) {
+      strength += UnitAttachment.get(unit.getType()).getAttack(unit.getOwner());
+    }
+    return strength;
+  }
+
+  private static int getSupportByWalkingRules(final List<Unit> attackers, final List<Unit> defenders,
+      final GameData data) {
+    final Set<List<UnitSupportAttachment>> rulesFriendly = new HashSet<>();
+    final IntegerMap<UnitSupportAttachment> leftFriendly = new IntegerMap<>();
+    final Map<UnitSupportAttachment, LinkedIntegerMap<Unit>> unitsLeftFriendly = new HashMap<>();
+    DiceRoll.getSupport(attackers, rulesFriendly, leftFriendly, unitsLeftFriendly, data, false, true);
+    final Set<List<UnitSupportAttachment>> rulesEnemy = new HashSet<>();
+    final IntegerMap<UnitSupportAttachment> leftEnemy = new IntegerMap<>();
+    final Map<UnitSupportAttachment, LinkedIntegerMap<Unit>> unitsLeftEnemy = new HashMap<>();
+    DiceRoll.getSupport(defenders, rulesEnemy, leftEnemy, unitsLeftEnemy, data, true, false);
+    final Map<Unit, IntegerMap<Unit>> unitSupportMap = new HashMap<>();
+    int support = 0;
+    for (final Unit unit : attackers) {
+      support += DiceRoll.getSupport(unit, rulesFriendly, leftFriendly, unitsLeftFriendly, unitSupportMap, true,
+          false);
+      support += DiceRoll.getSupport(unit, rulesEnemy, leftEnemy, unitsLeftEnemy, unitSupportMap, true, false);
+    }
+    return support;
+  }
+}
@@ -0,0 +1,81 @@
+package games.strategy.triplea.delegate;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
+import games.strategy.triplea.util.TuvUtils;
+import games.strategy.triplea.xml.TestMapGameData;
+import games.strategy.util.IntegerMap;
+
+/**
+ * Measures the order of losses selection of a mixed army supported by artillery, with the order of losses cache
+ * cleared before each selection and with the cache warm.
+ */
+public class OrderOfLossesBenchmarkIntegrationTest {
+  private static final int ROUNDS = 5;
+  private static final int SELECTIONS = 200;
+
+  @Test
+  public void benchmarkColdAndWarmCache() throws Exception {
+    final GameData data = TestMapGameData.WW2V3_1942.getGameData();
+    final PlayerID germans = data.getPlayerList().getPlayerId("Germans");
+    final Territory germany = data.getMap().getTerritory("Germany");
+    final Territory russia = data.getMap().getTerritory("Russia");
+    final List<Unit> targets = new ArrayList<>();
+    addUnits(targets, data, "infantry", 12, germans);
+    addUnits(targets, data, "artillery", 6, germans);
+    addUnits(targets, data, "armour", 6, germans);
+    addUnits(targets, data, "fighter", 4, germans);
+    addUnits(targets, data, "bomber", 2, germans);
+    final Collection<Unit> enemyUnits = russia.getUnits().getUnits();
+    final IntegerMap<UnitType> costs = TuvUtils.getCostsForTuv(germans, data);
+    final Collection<TerritoryEffect> territoryEffects = TerritoryEffectHelper.getEffects(russia);
+    final OrderOfLossesCache cache = OrderOfLossesCache.get(data);
+
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      List<Unit> cold = null;
+      for (int i = 0; i < SELECTIONS; i++) {
+        BattleCalculator.clearOolCache(data);
+        cold = BattleCalculator.sortUnitsForCasualtiesWithSupport(targets, false, germans, enemyUnits, false, null,
+            germany, costs, territoryEffects, data, true);
+      }
+      final long coldMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / SELECTIONS;
+      start = System.nanoTime();
+      List<Unit> warm = null;
+      for (int i = 0; i < SELECTIONS; i++) {
+        warm = BattleCalculator.sortUnitsForCasualtiesWithSupport(targets, false, germans, enemyUnits, false, null,
+            germany, costs, territoryEffects, data, true);
+      }
+      final long warmMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / SELECTIONS;
+      assertEquals(getTypes(cold), getTypes(warm));
+      System.out.println("round " + round + ": " + targets.size() + " targets, cold " + coldMicros + " us, warm "
+          + warmMicros + " us, " + cache);
+    }
+  }
+
+  private static void addUnits(final List<Unit> units, final GameData data, final String unitType,
+      final int quantity, final PlayerID owner) {
+    units.addAll(data.getUnitTypeList().getUnitType(unitType).create(quantity, owner));
+  }
+
+  private static List<UnitType> getTypes(final List<Unit> units) {
+    final List<UnitType> types = new ArrayList<>();
+    for (final Unit unit : units) {
+      types.add(unit.getType());
+    }
+    return types;
+  }
+}
@@ -0,0 +1,142 @@
+package games.strategy.triplea.ui.mapdata;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.Dimension;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import games.strategy.engine.data.Territory;
+import games.strategy.triplea.ui.IUIContext;
+import games.strategy.triplea.ui.screen.TileManager;
+import games.strategy.triplea.xml.TestMapGameData;
+import games.strategy.ui.Util;
+
+/**
+ * Measures finding the territory at a point and the tiles in a rectangle on the largest bundled game. The map images
+ * aren't bundled, so every territory gets a generated polygon on a grid: sea zones fill their cell and overlap their
+ * neighbors, land territories are irregular shapes inside their cell.
+ */
+public class MapHitTestBenchmarkIntegrationTest {
+  private static final int ROUNDS = 5;
+  private static final int LOOKUPS_PER_ROUND = 200_000;
+  private static final int CELL_SIZE = 120;
+
+  @Test
+  public void benchmarkTotalWorldWar() throws Exception {
+    final List<Territory> territories = TestMapGameData.TWW.getGameData().getMap().getTerritories();
+    final Random random = new Random(42);
+    final int columns = (int) Math.ceil(Math.sqrt(territories.size()));
+    final Dimension mapDimensions =
+        new Dimension(columns * CELL_SIZE, (territories.size() / columns + 1) * CELL_SIZE);
+    final Map<String, List<Polygon>> polygons = newPolygons(territories, columns, random);
+    final PolygonIndex polygonIndex = new PolygonIndex(polygons);
+    final TileManager tileManager = newTileManager(mapDimensions);
+
+    for (int round = 0; round < ROUNDS; round++) {
+      final double[] xs = new double[LOOKUPS_PER_ROUND];
+      final double[] ys = new double[LOOKUPS_PER_ROUND];
+      for (int i = 0; i < LOOKUPS_PER_ROUND; i++) {
+        xs[i] = random.nextDouble() * mapDimensions.width;
+        ys[i] = random.nextDouble() * mapDimensions.height;
+      }
+      final String[] expected = new String[LOOKUPS_PER_ROUND];
+      long start = System.nanoTime();
+      for (int i = 0; i < LOOKUPS_PER_ROUND; i++) {
+        expected[i] = getTerritoryAtByScan(polygons, xs[i], ys[i]);
+      }
+      final long scanMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      start = System.nanoTime();
+      for (int i = 0; i < LOOKUPS_PER_ROUND; i++) {
+        assertEquals(expected[i], polygonIndex.getTerritoryAt(xs[i], ys[i]));
+      }
+      final long indexMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+      start = System.nanoTime();
+      long tileCount = 0;
+      for (int i = 0; i < LOOKUPS_PER_ROUND; i++) {
+        final int width = (i % 2 == 0) ? 1600 : 60;
+        final int height = (i % 2 == 0) ? 1000 : 40;
+        tileCount += tileManager.getTiles(new Rectangle((int) xs[i], (int) ys[i], width, height)).size();
+      }
+      final long tilesMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      System.out.println("TWW: " + territories.size() + " territories, round " + round + ": " + LOOKUPS_PER_ROUND
+          + " territory lookups scanning in " + scanMillis + " ms, indexed in " + indexMillis + " ms; "
+          + LOOKUPS_PER_ROUND + " tile selections in " + tilesMillis + " ms (" + tileCount + " tiles)");
+    }
+  }
+
+  private static Map<String, List<Polygon>> newPolygons(final List<Territory> territories, final int columns,
+      final Random random) {
+    final Map<String, List<Polygon>> polygons = new LinkedHashMap<>();
+    for (int i = 0; i < territories.size(); i++) {
+      final String name = territories.get(i).getName();
+      final int x = (i % columns) * CELL_SIZE;
+      final int y = (i / columns) * CELL_SIZE;
+      if (Util.isTerritoryNameIndicatingWater(name)) {
+        final int overlap = CELL_SIZE / 4;
+        polygons.put(name, Arrays.asList(new Polygon(
+            new int[] {x - overlap, x + CELL_SIZE + overlap, x + CELL_SIZE + overlap, x - overlap},
+            new int[] {y - overlap, y - overlap, y + CELL_SIZE + overlap, y + CELL_SIZE + overlap}, 4)));
+      } else {
+        polygons.put(name, Arrays.asList(newIrregularPolygon(x, y, random)));
+      }
+    }
+    return polygons;
+  }
+
+  private static Polygon newIrregularPolygon(final int x, final int y, final Random random) {
+    final int points = 24;
+    final Polygon polygon = new Polygon();
+    for (int i = 0; i < points; i++) {
+      final double angle = 2 * Math.PI * i / points;
+      final double radius = CELL_SIZE / 2.0 * (0.6 + 0.4 * random.nextDouble());
+      polygon.addPoint((int) (x + CELL_SIZE / 2.0 + radius * Math.cos(angle)),
+          (int) (y + CELL_SIZE / 2.0 + radius * Math.sin(angle)));
+    }
+    return polygon;
+  }
+
+  /**
+   * The lookup as done before the index: tests every polygon of every territory.
+   */
+  private static String getTerritoryAtByScan(final Map<String, List<Polygon>> polygons, final double x,
+      final double y) {
+    String seaName = null;
+    for (final Map.Entry<String, List<Polygon>> territoryPolygons : polygons.entrySet()) {
+      for (final Polygon polygon : territoryPolygons.getValue()) {
+        if (polygon.contains(x, y)) {
+          if (Util.isTerritoryNameIndicatingWater(territoryPolygons.getKey())) {
+            seaName = territoryPolygons.getKey();
+          } else {
+            return territoryPolygons.getKey();
+          }
+        }
+      }
+    }
+    return seaName;
+  }
+
+  private static TileManager newTileManager(final Dimension mapDimensions) {
+    final MapData mapData = mock(MapData.class);
+    when(mapData.getMapDimensions()).thenReturn(mapDimensions);
+    when(mapData.scrollWrapX()).thenReturn(true);
+    when(mapData.scrollWrapY()).thenReturn(false);
+    final IUIContext uiContext = mock(IUIContext.class);
+    when(uiContext.getMapData()).thenReturn(mapData);
+    when(uiContext.getScale()).thenReturn(1.0);
+    final TileManager tileManager = new TileManager(uiContext);
+    tileManager.createTiles(new Rectangle(mapDimensions));
+    return tileManager;
+  }
+}
@@ -11,6 +11,8 @@ import games.strategy.engine.config.PropertyFileReader;
  */
 public class LobbyPropertyReader {
   private static final String LOBBY_PROPERTIES_FILE = "config/lobby/lobby.properties";
+  @VisibleForTesting
+  static final int DEFAULT_POSTGRES_POOL_SIZE = 10;
 
   private final PropertyFileReader propertyFileReader;
 
@@ -36,10 +38,20 @@ public class LobbyPropertyReader {
     return propertyFileReader.readProperty("postgres_password");
   }
 
+  /**
+   * @return The maximum number of database connections open at the same time, {@value #DEFAULT_POSTGRES_POOL_SIZE} if
+   *         not configured.
+   */
+  public int getPostgresPoolSize() {
+    final String poolSize = propertyFileReader.readProperty(PropertyKeys.postgresPoolSize);
+    return poolSize.isEmpty() ? DEFAULT_POSTGRES_POOL_SIZE : Integer.parseInt(poolSize);
+  }
+
   @VisibleForTesting
   interface PropertyKeys {
     String port = "port";
     String postgresUser = "postgres_user";
     String postgresPassword = "postgres_password";
+    String postgresPoolSize = "postgres_pool_size";
   }
 }
@@ -12,6 +12,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -69,6 +70,8 @@ import games.strategy.util.Version;
 public class GameData implements Serializable {
   private static final long serialVersionUID = -2612710634080125728L;
   public static final String GAME_UUID = "GAME_UUID";
+  private static final AtomicIntegerFieldUpdater<GameData> UNIT_OWNER_CHANGE_COUNT_UPDATER =
+      AtomicIntegerFieldUpdater.newUpdater(GameData.class, "unitOwnerChangeCount");
   private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
   private transient LockUtil lockUtil = LockUtil.INSTANCE;
   private transient volatile boolean forceInSwingEventThread = false;
@@ -101,6 +104,8 @@ public class GameData implements Serializable {
   private IGameLoader loader;
   private final History gameHistory = new History(this);
   private transient volatile boolean testLockIsHeld = false;
+  // incremented whenever a unit of this game changes owner, so that unit indexes can tell that they are out of date
+  private transient volatile int unitOwnerChangeCount;
   private final List<Tuple<IAttachment, ArrayList<Tuple<String, String>>>> attachmentOrderAndValues =
       new ArrayList<>();
   private final Hashtable<String, TerritoryEffect> territoryEffectList = new Hashtable<>();
@@ -296,6 +301,18 @@ public class GameData implements Serializable {
     territoryListeners.forEach(territoryListener -> territoryListener.ownerChanged(t));
   }
 
+  /**
+   * Records that a unit of this game changed owner. Final, like {@link #getUnitOwnerChangeCount()}, so the count is
+   * also kept by mocked game data.
+   */
+  final void notifyUnitOwnerChanged() {
+    UNIT_OWNER_CHANGE_COUNT_UPDATER.incrementAndGet(this);
+  }
+
+  final int getUnitOwnerChangeCount() {
+    return unitOwnerChangeCount;
+  }
+
   void notifyGameDataChanged(final Change change) {
     dataChangeListeners.forEach(dataChangelistener -> dataChangelistener.gameDataChanged(change));
   }
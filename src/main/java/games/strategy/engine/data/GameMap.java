@@ -30,6 +30,8 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
   // otherwise, m_gridDimensions.length is the number of dimensions,
   // and each element is the size of a dimension
   private int[] m_gridDimensions = null;
+  // built on first use and discarded whenever territories or connections change
+  private transient volatile GameMapIndex index;
 
   GameMap(final GameData data) {
     super(data);
@@ -150,6 +152,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     m_territories.add(t1);
     m_connections.put(t1, Collections.emptySet());
     m_territoryLookup.put(t1.getName(), t1);
+    index = null;
   }
 
   /**
@@ -187,6 +190,21 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     final Set<Territory> modified = new HashSet<>(current);
     modified.add(to);
     m_connections.put(from, Collections.unmodifiableSet(modified));
+    index = null;
+  }
+
+  private GameMapIndex getIndex() {
+    GameMapIndex result = index;
+    if (result == null) {
+      synchronized (this) {
+        result = index;
+        if (result == null) {
+          result = new GameMapIndex(m_territories, m_connections);
+          index = result;
+        }
+      }
+    }
+    return result;
   }
 
   /**
@@ -247,7 +265,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    *         Does NOT include the original/starting territory in the returned Set.
    */
   @SuppressWarnings("unchecked")
-  public Set<Territory> getNeighbors(final Territory territory, int distance) {
+  public Set<Territory> getNeighbors(final Territory territory, final int distance) {
     if (distance < 0) {
       throw new IllegalArgumentException("Distance must be positive not:" + distance);
     }
@@ -258,9 +276,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (distance == 1) {
       return start;
     }
-    final Set<Territory> neighbors = getNeighbors(start, new HashSet<>(start), --distance);
-    neighbors.remove(territory);
-    return neighbors;
+    return getIndex().getNeighbors(Collections.singleton(territory), distance, null);
   }
 
   /**
@@ -268,20 +284,17 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    *         Does NOT include the original/starting territory in the returned Set.
    */
   @SuppressWarnings("unchecked")
-  public Set<Territory> getNeighbors(final Territory territory, int distance, final Match<Territory> cond) {
+  public Set<Territory> getNeighbors(final Territory territory, final int distance, final Match<Territory> cond) {
     if (distance < 0) {
       throw new IllegalArgumentException("Distance must be positive not:" + distance);
     }
     if (distance == 0) {
       return Collections.EMPTY_SET;
     }
-    final Set<Territory> start = getNeighbors(territory, cond);
     if (distance == 1) {
-      return start;
+      return getNeighbors(territory, cond);
     }
-    final Set<Territory> neighbors = getNeighbors(start, new HashSet<>(start), --distance, cond);
-    neighbors.remove(territory);
-    return neighbors;
+    return getIndex().getNeighbors(Collections.singleton(territory), distance, cond);
   }
 
   /**
@@ -290,9 +303,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    *         other.
    */
   public Set<Territory> getNeighbors(final Set<Territory> frontier, final int distance, final Match<Territory> cond) {
-    final Set<Territory> neighbors = getNeighbors(frontier, new HashSet<>(frontier), distance, cond);
-    neighbors.removeAll(frontier);
-    return neighbors;
+    return getIndex().getNeighbors(frontier, distance, cond);
   }
 
   /**
@@ -301,40 +312,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    *         other.
    */
   public Set<Territory> getNeighbors(final Set<Territory> frontier, final int distance) {
-    final Set<Territory> neighbors = getNeighbors(frontier, new HashSet<>(frontier), distance);
-    neighbors.removeAll(frontier);
-    return neighbors;
-  }
-
-  private Set<Territory> getNeighbors(final Set<Territory> frontier, final Set<Territory> searched, int distance,
-      final Match<Territory> cond) {
-    if (distance == 0) {
-      return searched;
-    }
-    final Iterator<Territory> iter = frontier.iterator();
-    final Set<Territory> newFrontier = new HashSet<>();
-    while (iter.hasNext()) {
-      final Territory t = iter.next();
-      newFrontier.addAll(getNeighbors(t, cond));
-    }
-    newFrontier.removeAll(searched);
-    searched.addAll(newFrontier);
-    return getNeighbors(newFrontier, searched, --distance, cond);
-  }
-
-  private Set<Territory> getNeighbors(final Set<Territory> frontier, final Set<Territory> searched, int distance) {
-    if (distance == 0) {
-      return searched;
-    }
-    final Iterator<Territory> iter = frontier.iterator();
-    final Set<Territory> newFrontier = new HashSet<>();
-    while (iter.hasNext()) {
-      final Territory t = iter.next();
-      newFrontier.addAll(getNeighbors(t));
-    }
-    newFrontier.removeAll(searched);
-    searched.addAll(newFrontier);
-    return getNeighbors(newFrontier, searched, --distance);
+    return getIndex().getNeighbors(frontier, distance, null);
   }
 
   /**
@@ -345,7 +323,16 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    * @return the shortest route between two territories or null if no route exists.
    */
   public Route getRoute(final Territory t1, final Territory t2) {
-    return getRoute(t1, t2, Matches.territoryIsLandOrWater());
+    return getRoute(t1, t2, GameMapIndex.Terrain.ANY, Matches.territoryIsLandOrWater());
+  }
+
+  private Route getRoute(final Territory t1, final Territory t2, final GameMapIndex.Terrain terrain,
+      final Match<Territory> cond) {
+    // the cached distance table answers unreachable targets without a search
+    if (t1 != t2 && getIndex().getDistance(t1, t2, terrain) == GameMapIndex.UNREACHABLE) {
+      return null;
+    }
+    return getRoute(t1, t2, cond);
   }
 
   /**
@@ -377,7 +364,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    * @return the shortest land route between two territories or null if no route exists.
    */
   public Route getLandRoute(final Territory t1, final Territory t2) {
-    return getRoute(t1, t2, Matches.territoryIsLand());
+    return getRoute(t1, t2, GameMapIndex.Terrain.LAND, Matches.territoryIsLand());
   }
 
   /**
@@ -388,7 +375,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    * @return the shortest water route between two territories or null if no route exists.
    */
   public Route getWaterRoute(final Territory t1, final Territory t2) {
-    return getRoute(t1, t2, Matches.territoryIsWater());
+    return getRoute(t1, t2, GameMapIndex.Terrain.WATER, Matches.territoryIsWater());
   }
 
   public Route getRoute_IgnoreEnd(final Territory t1, final Territory t2, final Match<Territory> match) {
@@ -441,7 +428,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    * @return the distance between two territories or -1 if they are not connected.
    */
   public int getDistance(final Territory t1, final Territory t2) {
-    return getDistance(t1, t2, Matches.territoryIsLandOrWater());
+    return getIndex().getDistance(t1, t2, GameMapIndex.Terrain.ANY);
   }
 
   /**
@@ -458,42 +445,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (t1.equals(t2)) {
       return 0;
     }
-    final Set<Territory> frontier = new HashSet<>();
-    frontier.add(t1);
-    return getDistance(0, new HashSet<>(), frontier, t2, cond);
-  }
-
-  /**
-   * Guaranteed that frontier doesn't contain target.
-   * Territories on the frontier are not target. They represent the extent of paths already searched.
-   * Territories in searched have already been on the frontier.
-   */
-  private int getDistance(final int distance, final Set<Territory> searched, final Set<Territory> frontier,
-      final Territory target, final Match<Territory> cond) {
-    // add the frontier to the searched
-    searched.addAll(frontier);
-    // find the new frontier
-    final Set<Territory> newFrontier = new HashSet<>();
-    final Iterator<Territory> frontierIterator = frontier.iterator();
-    while (frontierIterator.hasNext()) {
-      final Territory onFrontier = frontierIterator.next();
-      final Set<Territory> connections = m_connections.get(onFrontier);
-      final Iterator<Territory> connectionIterator = connections.iterator();
-      while (connectionIterator.hasNext()) {
-        final Territory nextFrontier = connectionIterator.next();
-        if (cond == null || cond.match(nextFrontier)) {
-          newFrontier.add(nextFrontier);
-        }
-      }
-    }
-    if (newFrontier.contains(target)) {
-      return distance + 1;
-    }
-    newFrontier.removeAll(searched);
-    if (newFrontier.isEmpty()) {
-      return -1;
-    }
-    return getDistance(distance + 1, searched, newFrontier, target, cond);
+    return getIndex().getDistance(t1, t2, cond);
   }
 
   public IntegerMap<Territory> getDistance(final Territory target, final Collection<Territory> territories,
@@ -502,8 +454,10 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (target == null || territories == null || territories.isEmpty()) {
       return distances;
     }
+    final int[] distanceArray = getIndex().getDistances(target, territories, condition);
+    int i = 0;
     for (final Territory t : territories) {
-      distances.put(t, getDistance(target, t, condition));
+      distances.put(t, distanceArray[i++]);
     }
     return distances;
   }
@@ -516,7 +470,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    * @return the land distance between two territories or -1 if they are not connected.
    */
   public int getLandDistance(final Territory t1, final Territory t2) {
-    return getDistance(t1, t2, Matches.territoryIsLand());
+    return getIndex().getDistance(t1, t2, GameMapIndex.Terrain.LAND);
   }
 
   /**
@@ -527,7 +481,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    * @return the water distance between two territories or -1 if they are not connected.
    */
   public int getWaterDistance(final Territory t1, final Territory t2) {
-    return getDistance(t1, t2, Matches.territoryIsWater());
+    return getIndex().getDistance(t1, t2, GameMapIndex.Terrain.WATER);
   }
 
   /**
@@ -588,6 +542,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    * If the actual territories in the map are deleted, or new ones added, call this.
    */
   public void notifyChanged() {
+    index = null;
     getData().notifyMapDataChanged();
   }
 }
@@ -0,0 +1,224 @@
+package games.strategy.engine.data;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import games.strategy.util.Match;
+
+/**
+ * An immutable, array based view of the territories and connections of a {@link GameMap} used to answer distance and
+ * neighborhood queries without building sets of territories.
+ *
+ * <p>
+ * Territories are identified by their index in the map's territory list and connections are stored as arrays of those
+ * ids. Distance tables for conditions that only depend on the territories themselves ({@link Terrain}) are computed
+ * on first use for each start territory and kept for the lifetime of the index. Queries with arbitrary conditions run
+ * a breadth first search over the arrays that evaluates the condition at most once per territory.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are thread safe. A new index must be created whenever territories or connections change.
+ * </p>
+ */
+final class GameMapIndex {
+  static final int UNREACHABLE = -1;
+
+  /**
+   * Conditions whose result depends only on the territory itself, so that their distance tables can be cached.
+   */
+  enum Terrain {
+    ANY {
+      @Override
+      boolean matches(final Territory territory) {
+        return true;
+      }
+    },
+
+    LAND {
+      @Override
+      boolean matches(final Territory territory) {
+        return !territory.isWater();
+      }
+    },
+
+    WATER {
+      @Override
+      boolean matches(final Territory territory) {
+        return territory.isWater();
+      }
+    };
+
+    abstract boolean matches(Territory territory);
+  }
+
+  private final Territory[] territories;
+  private final Map<Territory, Integer> ids;
+  private final int[][] neighbors;
+  private final Map<Terrain, AtomicReferenceArray<int[]>> distanceTables = new HashMap<>();
+
+  GameMapIndex(final List<Territory> territoryList, final Map<Territory, Set<Territory>> connections) {
+    territories = territoryList.toArray(new Territory[territoryList.size()]);
+    ids = new HashMap<>(territories.length * 2);
+    for (int id = 0; id < territories.length; id++) {
+      ids.put(territories[id], id);
+    }
+    neighbors = new int[territories.length][];
+    for (int id = 0; id < territories.length; id++) {
+      final Set<Territory> connected = connections.get(territories[id]);
+      final int[] neighborIds = new int[connected.size()];
+      int i = 0;
+      for (final Territory neighbor : connected) {
+        neighborIds[i++] = ids.get(neighbor);
+      }
+      neighbors[id] = neighborIds;
+    }
+    for (final Terrain terrain : Terrain.values()) {
+      distanceTables.put(terrain, new AtomicReferenceArray<>(territories.length));
+    }
+  }
+
+  private int getId(final Territory territory) {
+    final Integer id = ids.get(territory);
+    return (id == null) ? UNREACHABLE : id;
+  }
+
+  /**
+   * @return The distance between the territories over territories of the specified terrain, or -1 if they are not
+   *         connected. The start territory does not need to match the terrain.
+   */
+  int getDistance(final Territory from, final Territory to, final Terrain terrain) {
+    final int fromId = getId(from);
+    final int toId = getId(to);
+    if (fromId == UNREACHABLE || toId == UNREACHABLE) {
+      return UNREACHABLE;
+    }
+    return getDistances(fromId, terrain)[toId];
+  }
+
+  private int[] getDistances(final int fromId, final Terrain terrain) {
+    final AtomicReferenceArray<int[]> table = distanceTables.get(terrain);
+    int[] distances = table.get(fromId);
+    if (distances == null) {
+      distances = search(new int[] {fromId}, Integer.MAX_VALUE, UNREACHABLE, terrain::matches);
+      table.set(fromId, distances);
+    }
+    return distances;
+  }
+
+  /**
+   * @return The distance between the territories over territories matching the condition, or -1 if they are not
+   *         connected. The start territory does not need to match the condition.
+   */
+  int getDistance(final Territory from, final Territory to, final Match<Territory> cond) {
+    final int fromId = getId(from);
+    final int toId = getId(to);
+    if (fromId == UNREACHABLE || toId == UNREACHABLE) {
+      return UNREACHABLE;
+    }
+    return search(new int[] {fromId}, Integer.MAX_VALUE, toId, asPredicate(cond))[toId];
+  }
+
+  /**
+   * @return The distances from the start territory to each of the specified territories over territories matching the
+   *         condition, in the iteration order of the specified territories. A distance is -1 if the territories are
+   *         not connected.
+   */
+  int[] getDistances(final Territory from, final Collection<Territory> targets, final Match<Territory> cond) {
+    final int[] result = new int[targets.size()];
+    final int fromId = getId(from);
+    if (fromId == UNREACHABLE) {
+      Arrays.fill(result, UNREACHABLE);
+      return result;
+    }
+    final int[] distances = search(new int[] {fromId}, Integer.MAX_VALUE, UNREACHABLE, asPredicate(cond));
+    int i = 0;
+    for (final Territory target : targets) {
+      final int targetId = getId(target);
+      result[i++] = (targetId == UNREACHABLE) ? UNREACHABLE : distances[targetId];
+    }
+    return result;
+  }
+
+  /**
+   * @return All territories matching the condition within the specified distance of any of the start territories,
+   *         not including the start territories themselves. Start territories that are not on the map are ignored.
+   */
+  Set<Territory> getNeighbors(final Collection<Territory> frontier, final int distance, final Match<Territory> cond) {
+    final int[] startIds = frontier.stream().mapToInt(this::getId).filter(id -> id != UNREACHABLE).toArray();
+    final int[] distances = search(startIds, distance, UNREACHABLE, asPredicate(cond));
+    final Set<Territory> result = new HashSet<>();
+    for (int id = 0; id < distances.length; id++) {
+      if (distances[id] > 0) {
+        result.add(territories[id]);
+      }
+    }
+    return result;
+  }
+
+  private static TerritoryPredicate asPredicate(final Match<Territory> cond) {
+    return (cond == null) ? Terrain.ANY::matches : cond::match;
+  }
+
+  /**
+   * Runs a breadth first search from the start territories, only entering territories matching the condition.
+   *
+   * @param startIds The ids of the territories at distance 0.
+   * @param maxDistance The distance after which the search stops.
+   * @param targetId The id of the territory after which the search stops, or -1 to search the whole map.
+   *
+   * @return The distance of each territory from the nearest start territory, or -1 for territories that were not
+   *         reached.
+   */
+  private int[] search(final int[] startIds, final int maxDistance, final int targetId,
+      final TerritoryPredicate cond) {
+    final int[] distances = new int[territories.length];
+    Arrays.fill(distances, UNREACHABLE);
+    // territories that failed the condition, so that it is evaluated at most once per territory
+    final boolean[] rejected = new boolean[territories.length];
+    final int[] queue = new int[territories.length];
+    int head = 0;
+    int tail = 0;
+    for (final int startId : startIds) {
+      if (distances[startId] == UNREACHABLE) {
+        distances[startId] = 0;
+        queue[tail++] = startId;
+      }
+    }
+    if (distances.length > 0 && targetId != UNREACHABLE && distances[targetId] == 0) {
+      return distances;
+    }
+    while (head < tail) {
+      final int current = queue[head++];
+      final int nextDistance = distances[current] + 1;
+      if (nextDistance > maxDistance) {
+        break;
+      }
+      for (final int neighbor : neighbors[current]) {
+        if (distances[neighbor] != UNREACHABLE || rejected[neighbor]) {
+          continue;
+        }
+        if (!cond.matches(territories[neighbor])) {
+          rejected[neighbor] = true;
+          continue;
+        }
+        distances[neighbor] = nextDistance;
+        if (neighbor == targetId) {
+          return distances;
+        }
+        queue[tail++] = neighbor;
+      }
+    }
+    return distances;
+  }
+
+  @FunctionalInterface
+  private interface TerritoryPredicate {
+    boolean matches(Territory territory);
+  }
+}
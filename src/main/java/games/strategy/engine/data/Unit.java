@@ -94,6 +94,9 @@ public class Unit extends GameDataComponent {
     if (player == null) {
       player = PlayerID.NULL_PLAYERID;
     }
+    if (m_owner != null && !m_owner.equals(player) && getData() != null) {
+      getData().notifyUnitOwnerChanged();
+    }
     m_owner = player;
   }
 
@@ -3,11 +3,12 @@ package games.strategy.engine.data;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import games.strategy.triplea.delegate.Matches;
 import games.strategy.util.IntegerMap;
@@ -15,11 +16,19 @@ import games.strategy.util.Match;
 
 /**
  * A collection of units.
+ *
+ * <p>
+ * Unit counts by owner and by type are answered from an index that is built on first use and then kept up to date by
+ * the methods adding and removing units. The index is rebuilt if the owner of any unit of the same game has changed
+ * since it was built; owner changes in other games, such as the copies used by the AI or the battle calculator, don't
+ * affect it.
+ * </p>
  */
 public class UnitCollection extends GameDataComponent implements Collection<Unit> {
   private static final long serialVersionUID = -3534037864426122864L;
   private final List<Unit> m_units = new ArrayList<>();
   private final NamedUnitHolder m_holder;
+  private transient volatile UnitIndex index;
 
   /**
    * Creates new UnitCollection.
@@ -37,6 +46,7 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
   @Override
   public boolean add(final Unit unit) {
     final boolean result = m_units.add(unit);
+    indexAll(Collections.singleton(unit));
     m_holder.notifyChanged();
     return result;
   }
@@ -44,6 +54,7 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
   @Override
   public boolean addAll(final Collection<? extends Unit> units) {
     final boolean result = m_units.addAll(units);
+    indexAll(units);
     m_holder.notifyChanged();
     return result;
   }
@@ -51,6 +62,9 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
   @Override
   public boolean removeAll(final Collection<?> units) {
     final boolean result = m_units.removeAll(units);
+    if (result) {
+      unindexAll(units);
+    }
     m_holder.notifyChanged();
     return result;
   }
@@ -60,24 +74,22 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
   }
 
   int getUnitCount(final UnitType type) {
-    return (int) m_units.stream().filter(u -> u.getType().equals(type)).count();
+    return getIndex().countsByType.getInt(type);
   }
 
   public int getUnitCount(final UnitType type, final PlayerID owner) {
-    return (int) m_units.stream().filter(u -> u.getType().equals(type) && u.getOwner().equals(owner)).count();
+    final IntegerMap<UnitType> counts = getIndex().countsByOwner.get(owner);
+    return (counts == null) ? 0 : counts.getInt(type);
   }
 
   int getUnitCount(final PlayerID owner) {
-    return (int) m_units.stream().filter(u -> u.getOwner().equals(owner)).count();
+    final IntegerMap<UnitType> counts = getIndex().countsByOwner.get(owner);
+    return (counts == null) ? 0 : counts.totalValues();
   }
 
   @Override
   public boolean containsAll(final Collection<?> units) {
-    // much faster for large sets
-    if (m_units.size() > 500 && units.size() > 500) {
-      return new HashSet<>(m_units).containsAll(units);
-    }
-    return m_units.containsAll(units);
+    return getIndex().owners.keySet().containsAll(units);
   }
 
   /**
@@ -95,6 +107,9 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
       throw new IllegalArgumentException("value must be positiive.  Instead its:" + maxUnits);
     }
     final Collection<Unit> units = new ArrayList<>();
+    if (getUnitCount(type) == 0) {
+      return units;
+    }
     for (final Unit current : m_units) {
       if (current.getType().equals(type)) {
         units.add(current);
@@ -127,9 +142,10 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
    * @return integer map of UnitType.
    */
   public IntegerMap<UnitType> getUnitsByType() {
+    final IntegerMap<UnitType> countsByType = getIndex().countsByType;
     final IntegerMap<UnitType> units = new IntegerMap<>();
     getData().getUnitTypeList().forEach(type -> {
-      final int count = getUnitCount(type);
+      final int count = countsByType.getInt(type);
       if (count > 0) {
         units.put(type, count);
       }
@@ -143,9 +159,8 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
    * @return map of UnitType (only of units for the specified player).
    */
   public IntegerMap<UnitType> getUnitsByType(final PlayerID id) {
-    final IntegerMap<UnitType> count = new IntegerMap<>();
-    m_units.stream().filter(unit -> unit.getOwner().equals(id)).forEach(unit -> count.add(unit.getType(), 1));
-    return count;
+    final IntegerMap<UnitType> counts = getIndex().countsByOwner.get(id);
+    return (counts == null) ? new IntegerMap<>() : new IntegerMap<>(counts);
   }
 
   @Override
@@ -163,7 +178,7 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
    */
   public Set<PlayerID> getPlayersWithUnits() {
     // note nulls are handled by PlayerID.NULL_PLAYERID
-    return m_units.stream().map(unit -> unit.getOwner()).collect(Collectors.toSet());
+    return new HashSet<>(getIndex().countsByOwner.keySet());
   }
 
   /**
@@ -171,12 +186,12 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
    */
   public IntegerMap<PlayerID> getPlayerUnitCounts() {
     final IntegerMap<PlayerID> count = new IntegerMap<>();
-    m_units.stream().forEach(unit -> count.add(unit.getOwner(), 1));
+    getIndex().countsByOwner.forEach((owner, counts) -> count.put(owner, counts.totalValues()));
     return count;
   }
 
   public boolean hasUnitsFromMultiplePlayers() {
-    return getPlayersWithUnits().size() > 1;
+    return getIndex().countsByOwner.size() > 1;
   }
 
   public NamedUnitHolder getHolder() {
@@ -218,7 +233,7 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
 
   @Override
   public boolean contains(final Object object) {
-    return m_units.contains(object);
+    return getIndex().owners.containsKey(object);
   }
 
   @Override
@@ -234,18 +249,121 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
   @Override
   public boolean remove(final Object object) {
     final boolean result = m_units.remove(object);
+    if (result) {
+      unindexAll(Collections.singleton(object));
+    }
     m_holder.notifyChanged();
     return result;
   }
 
   @Override
   public boolean retainAll(final Collection<?> collection) {
-    return m_units.retainAll(collection);
+    final boolean result = m_units.retainAll(collection);
+    if (result) {
+      index = null;
+    }
+    return result;
   }
 
   @Override
   public void clear() {
     m_units.clear();
+    index = null;
     m_holder.notifyChanged();
   }
+
+  private UnitIndex getIndex() {
+    UnitIndex result = index;
+    if (result == null || !isCurrent(result)) {
+      result = new UnitIndex(m_units, getOwnerChangeCount());
+      index = result;
+    }
+    return result;
+  }
+
+  /**
+   * @return true if the index was built and no unit of this game changed owner since.
+   */
+  boolean isIndexCurrent() {
+    final UnitIndex result = index;
+    return result != null && isCurrent(result);
+  }
+
+  private boolean isCurrent(final UnitIndex unitIndex) {
+    // without game data owner changes can't be tracked, so the index is never reused
+    return getData() != null && unitIndex.ownerChangeCount == getOwnerChangeCount();
+  }
+
+  private int getOwnerChangeCount() {
+    return (getData() == null) ? 0 : getData().getUnitOwnerChangeCount();
+  }
+
+  private void indexAll(final Collection<? extends Unit> units) {
+    final UnitIndex result = index;
+    if (result != null && !result.addAll(units)) {
+      index = null;
+    }
+  }
+
+  private void unindexAll(final Collection<?> units) {
+    final UnitIndex result = index;
+    if (result != null) {
+      result.removeAll(units);
+    }
+  }
+
+  /**
+   * The owner and type counts of the units in a collection.
+   */
+  private static final class UnitIndex {
+    private final int ownerChangeCount;
+    // the owner of each unit when it was indexed
+    private final Map<Unit, PlayerID> owners = new HashMap<>();
+    private final Map<PlayerID, IntegerMap<UnitType>> countsByOwner = new HashMap<>();
+    private final IntegerMap<UnitType> countsByType = new IntegerMap<>();
+
+    UnitIndex(final Collection<Unit> units, final int ownerChangeCount) {
+      this.ownerChangeCount = ownerChangeCount;
+      addAll(units);
+    }
+
+    /**
+     * @return false if one of the units was already indexed, in which case the index no longer matches the collection.
+     */
+    boolean addAll(final Collection<? extends Unit> units) {
+      boolean result = true;
+      for (final Unit unit : units) {
+        final PlayerID owner = unit.getOwner();
+        if (owners.put(unit, owner) != null) {
+          result = false;
+        }
+        countsByOwner.computeIfAbsent(owner, key -> new IntegerMap<>()).add(unit.getType(), 1);
+        countsByType.add(unit.getType(), 1);
+      }
+      return result;
+    }
+
+    void removeAll(final Collection<?> units) {
+      for (final Object object : units) {
+        final PlayerID owner = owners.remove(object);
+        if (owner == null) {
+          continue;
+        }
+        final UnitType type = ((Unit) object).getType();
+        final IntegerMap<UnitType> counts = countsByOwner.get(owner);
+        decrement(counts, type);
+        if (counts.isEmpty()) {
+          countsByOwner.remove(owner);
+        }
+        decrement(countsByType, type);
+      }
+    }
+
+    private static void decrement(final IntegerMap<UnitType> counts, final UnitType type) {
+      counts.add(type, -1);
+      if (counts.getInt(type) == 0) {
+        counts.removeKey(type);
+      }
+    }
+  }
 }
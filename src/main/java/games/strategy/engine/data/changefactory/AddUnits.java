@@ -30,6 +30,14 @@ class AddUnits extends Change {
     m_name = name;
   }
 
+  String getHolderName() {
+    return m_name;
+  }
+
+  String getHolderType() {
+    return m_type;
+  }
+
   @Override
   public Change invert() {
     return new RemoveUnits(m_name, m_type, m_units);
@@ -0,0 +1,71 @@
+package games.strategy.engine.data.changefactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.util.Tuple;
+
+/**
+ * Merges the changes of a list that can be performed as one change.
+ *
+ * <p>
+ * Unit property changes set the property to a fixed value and resource changes add to the quantity of a resource, so
+ * the changes of one property or resource can be merged without regard to the other changes between them. All other
+ * changes are kept in order.
+ * </p>
+ */
+final class ChangeCompactor {
+  private final List<Change> m_changes = new ArrayList<>();
+  private final Map<Tuple<Object, String>, Integer> m_propertyChangeIndexes = new HashMap<>();
+  private final Map<Tuple<String, String>, Integer> m_resourceChangeIndexes = new HashMap<>();
+
+  private ChangeCompactor() {}
+
+  static Change compact(final List<Change> changes) {
+    final ChangeCompactor compactor = new ChangeCompactor();
+    changes.forEach(compactor::add);
+    final List<Change> compactedChanges = new ArrayList<>();
+    for (final Change change : compactor.m_changes) {
+      if (!(change instanceof ChangeResourceChange) || ((ChangeResourceChange) change).getQuantity() != 0) {
+        compactedChanges.add(change);
+      }
+    }
+    return new CompositeChange(compactedChanges);
+  }
+
+  private void add(final Change change) {
+    if (change instanceof CompositeChange) {
+      ((CompositeChange) change).getChanges().forEach(this::add);
+    } else if (change instanceof ObjectPropertyChange) {
+      final ObjectPropertyChange propertyChange = (ObjectPropertyChange) change;
+      final Tuple<Object, String> key = Tuple.of(propertyChange.getObject(), propertyChange.getProperty());
+      final Integer index = m_propertyChangeIndexes.get(key);
+      if (index == null) {
+        m_propertyChangeIndexes.put(key, m_changes.size());
+        m_changes.add(change);
+      } else {
+        final ObjectPropertyChange first = (ObjectPropertyChange) m_changes.get(index);
+        m_changes.set(index, new ObjectPropertyChange(first.getObject(), first.getProperty(),
+            propertyChange.getNewValue(), first.getOldValue()));
+      }
+    } else if (change instanceof ChangeResourceChange) {
+      final ChangeResourceChange resourceChange = (ChangeResourceChange) change;
+      final Tuple<String, String> key = Tuple.of(resourceChange.getPlayerName(), resourceChange.getResourceName());
+      final Integer index = m_resourceChangeIndexes.get(key);
+      if (index == null) {
+        m_resourceChangeIndexes.put(key, m_changes.size());
+        m_changes.add(change);
+      } else {
+        final ChangeResourceChange first = (ChangeResourceChange) m_changes.get(index);
+        m_changes.set(index, new ChangeResourceChange(first.getPlayerName(), first.getResourceName(),
+            first.getQuantity() + resourceChange.getQuantity()));
+      }
+    } else if (!change.isEmpty()) {
+      m_changes.add(change);
+    }
+  }
+}
@@ -158,6 +158,11 @@ public class ChangeFactory {
     return new RemoveAvailableTech(tf, ta, player);
   }
 
+  public static Change addAttachmentChange(final IAttachment attachment, final Attachable attachable,
+      final String name) {
+    return new AddAttachmentChange(attachment, attachable, name);
+  }
+
   public static Change attachmentPropertyChange(final IAttachment attachment, final Object newValue,
       final String property) {
     return new ChangeAttachmentChange(attachment, newValue, property);
@@ -241,6 +246,22 @@ public class ChangeFactory {
   public static Change markNoMovementChange(final Unit unit) {
     return unitPropertyChange(unit, TripleAUnit.get(unit).getMaxMovementAllowed(), TripleAUnit.ALREADY_MOVED);
   }
+
+  /**
+   * Creates a change with the same effect as performing the specified changes in order, but with fewer changes to
+   * perform. Successive changes of the same unit property are merged into one change, and so are the resource changes
+   * of the same player and resource.
+   */
+  public static Change compact(final List<Change> changes) {
+    return ChangeCompactor.compact(changes);
+  }
+
+  /**
+   * Returns the parts of the game data the specified change modifies.
+   */
+  public static ChangeFootprint getFootprint(final Change change) {
+    return new ChangeFootprint(change);
+  }
 }
 
 
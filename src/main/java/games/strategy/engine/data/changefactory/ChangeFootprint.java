@@ -0,0 +1,121 @@
+package games.strategy.engine.data.changefactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import games.strategy.engine.data.Attachable;
+import games.strategy.engine.data.BombingUnitDamageChange;
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.ChangeAttachmentChange;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.IAttachment;
+import games.strategy.engine.data.UnitHitsChange;
+import games.strategy.engine.data.UnitHolder;
+
+/**
+ * The parts of the game data a change modifies: the territories whose units or owner changed, the attachments whose
+ * properties changed and whether relationships or battle records changed.
+ *
+ * <p>
+ * Changes of unit properties, resources, production and the player type modify nothing else and are left out. Any
+ * other change is marked as unknown, since it may modify anything.
+ * </p>
+ */
+public final class ChangeFootprint {
+  private final Set<String> m_unitTerritoryNames = new HashSet<>();
+  private final Set<String> m_ownerTerritoryNames = new HashSet<>();
+  private final List<IAttachment> m_attachments = new ArrayList<>();
+  private boolean m_relationshipsChanged = false;
+  private boolean m_battleRecordsChanged = false;
+  private boolean m_unknown = false;
+
+  ChangeFootprint(final Change change) {
+    add(change);
+  }
+
+  private void add(final Change change) {
+    if (change instanceof CompositeChange) {
+      ((CompositeChange) change).getChanges().forEach(this::add);
+    } else if (change instanceof AddUnits) {
+      addUnitHolder(((AddUnits) change).getHolderName(), ((AddUnits) change).getHolderType());
+    } else if (change instanceof RemoveUnits) {
+      addUnitHolder(((RemoveUnits) change).getHolderName(), ((RemoveUnits) change).getHolderType());
+    } else if (change instanceof PlayerOwnerChange) {
+      m_unitTerritoryNames.add(((PlayerOwnerChange) change).getLocation());
+    } else if (change instanceof OwnerChange) {
+      m_ownerTerritoryNames.add(((OwnerChange) change).getTerritoryName());
+    } else if (change instanceof RelationshipChange) {
+      m_relationshipsChanged = true;
+    } else if (change instanceof AddBattleRecordsChange || change instanceof RemoveBattleRecordsChange) {
+      m_battleRecordsChanged = true;
+    } else if (change instanceof ChangeAttachmentChange) {
+      addAttachment(((ChangeAttachmentChange) change).getAttachedTo(),
+          ((ChangeAttachmentChange) change).getAttachmentName());
+    } else if (change instanceof AttachmentPropertyReset) {
+      addAttachment(((AttachmentPropertyReset) change).getAttachedTo(),
+          ((AttachmentPropertyReset) change).getAttachmentName());
+    } else if (change instanceof AttachmentPropertyResetUndo) {
+      addAttachment(((AttachmentPropertyResetUndo) change).getAttachedTo(),
+          ((AttachmentPropertyResetUndo) change).getAttachmentName());
+    } else if (!(change instanceof ObjectPropertyChange || change instanceof UnitHitsChange
+        || change instanceof BombingUnitDamageChange || change instanceof ChangeResourceChange
+        || change instanceof ProductionFrontierChange || change instanceof AddProductionRule
+        || change instanceof RemoveProductionRule || change instanceof PlayerWhoAmIChange)) {
+      m_unknown = true;
+    }
+  }
+
+  private void addUnitHolder(final String name, final String type) {
+    if (type.equals(UnitHolder.TERRITORY)) {
+      m_unitTerritoryNames.add(name);
+    }
+  }
+
+  private void addAttachment(final Attachable attachedTo, final String attachmentName) {
+    final IAttachment attachment = attachedTo.getAttachment(attachmentName);
+    if (attachment == null) {
+      m_unknown = true;
+    } else {
+      m_attachments.add(attachment);
+    }
+  }
+
+  /**
+   * Returns the names of the territories units were added to, removed from or changed owner in.
+   */
+  public Set<String> getUnitTerritoryNames() {
+    return Collections.unmodifiableSet(m_unitTerritoryNames);
+  }
+
+  /**
+   * Returns the names of the territories that changed owner.
+   */
+  public Set<String> getOwnerTerritoryNames() {
+    return Collections.unmodifiableSet(m_ownerTerritoryNames);
+  }
+
+  /**
+   * Returns the attachments whose properties changed.
+   */
+  public List<IAttachment> getAttachments() {
+    return Collections.unmodifiableList(m_attachments);
+  }
+
+  public boolean isRelationshipsChanged() {
+    return m_relationshipsChanged;
+  }
+
+  public boolean isBattleRecordsChanged() {
+    return m_battleRecordsChanged;
+  }
+
+  /**
+   * Indicates the change contains a change that may modify any part of the game data.
+   */
+  public boolean isUnknown() {
+    return m_unknown;
+  }
+}
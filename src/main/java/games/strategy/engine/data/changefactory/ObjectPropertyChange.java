@@ -22,8 +22,7 @@ public class ObjectPropertyChange extends Change {
     m_oldValue = PropertyUtil.getPropertyFieldObject(property, object);
   }
 
-  private ObjectPropertyChange(final Object object, final String property, final Object newValue,
-      final Object oldValue) {
+  ObjectPropertyChange(final Object object, final String property, final Object newValue, final Object oldValue) {
     m_object = object;
     // prevent multiple copies of the property names being held in the game
     m_property = property.intern();
@@ -36,6 +35,22 @@ public class ObjectPropertyChange extends Change {
     m_property = m_property.intern();
   }
 
+  Object getObject() {
+    return m_object;
+  }
+
+  String getProperty() {
+    return m_property;
+  }
+
+  Object getNewValue() {
+    return m_newValue;
+  }
+
+  Object getOldValue() {
+    return m_oldValue;
+  }
+
   @Override
   public Change invert() {
     return new ObjectPropertyChange(m_object, m_property, m_oldValue, m_newValue);
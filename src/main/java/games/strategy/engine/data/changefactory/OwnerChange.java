@@ -32,6 +32,10 @@ class OwnerChange extends Change {
     m_old = oldOwner;
   }
 
+  String getTerritoryName() {
+    return m_territory;
+  }
+
   private static String getName(final PlayerID player) {
     if (player == null) {
       return null;
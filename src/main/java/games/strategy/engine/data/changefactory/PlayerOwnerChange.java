@@ -39,6 +39,10 @@ class PlayerOwnerChange extends Change {
     m_location = location;
   }
 
+  String getLocation() {
+    return m_location;
+  }
+
   @Override
   public Change invert() {
     return new PlayerOwnerChange(m_old, m_new, m_location);
@@ -25,6 +25,14 @@ class RemoveUnits extends Change {
     m_type = type;
   }
 
+  String getHolderName() {
+    return m_name;
+  }
+
+  String getHolderType() {
+    return m_type;
+  }
+
   @Override
   public Change invert() {
     return new AddUnits(m_name, m_type, m_units);
@@ -159,6 +159,14 @@ public class ClientGame extends AbstractGame {
     }
   }
 
+  /**
+   * Brings the game data up to date with the server, after joining from a snapshot taken earlier, by replaying the
+   * modifications made to the game since the snapshot was taken. Must be called before the game is started.
+   */
+  public void replayGameModifications(final byte[] modifications) throws IOException {
+    ObserverJoinSnapshot.replay(modifications, m_data, m_gameModifiedChannel);
+  }
+
   public void shutDown() {
     if (m_isGameOver) {
       return;
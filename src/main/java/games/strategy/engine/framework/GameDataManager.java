@@ -3,11 +3,13 @@ package games.strategy.engine.framework;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
@@ -27,12 +29,26 @@ import com.google.common.annotations.VisibleForTesting;
 
 import games.strategy.debug.ClientLogger;
 import games.strategy.engine.ClientContext;
+import games.strategy.engine.data.Attachable;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameDataMemento;
+import games.strategy.engine.data.GameObjectInputStream;
+import games.strategy.engine.data.GameObjectOutputStream;
+import games.strategy.engine.data.IAttachment;
+import games.strategy.engine.data.Named;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.RelationshipType;
+import games.strategy.engine.data.Resource;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.UnitType;
 import games.strategy.engine.delegate.IDelegate;
 import games.strategy.engine.framework.headlessGameServer.HeadlessGameServer;
+import games.strategy.engine.history.History;
+import games.strategy.performance.PerfTimer;
 import games.strategy.persistence.serializable.ProxyableObjectOutputStream;
 import games.strategy.triplea.UrlConstants;
+import games.strategy.triplea.delegate.TechAdvance;
 import games.strategy.triplea.settings.ClientSetting;
 import games.strategy.util.Version;
 import games.strategy.util.memento.Memento;
@@ -45,9 +61,16 @@ import games.strategy.util.memento.MementoImporter;
  * Responsible for loading saved games, new games from xml, and saving games.
  */
 public final class GameDataManager {
+  /**
+   * Setting this system property to {@code true} writes save games in the single GZIP stream format read by older
+   * engines. Both formats are always read.
+   */
+  public static final String TRIPLEA_SAVE_LEGACY_FORMAT = "triplea.save.legacyFormat";
   private static final String DELEGATE_START = "<DelegateStart>";
   private static final String DELEGATE_DATA_NEXT = "<DelegateData>";
   private static final String DELEGATE_LIST_END = "<EndDelegateList>";
+  private static final String STATE_SECTION = "state";
+  private static final String HISTORY_SECTION = "history";
 
   private GameDataManager() {}
 
@@ -82,9 +105,11 @@ public final class GameDataManager {
   public static GameData loadGame(final InputStream is) throws IOException {
     checkNotNull(is);
 
-    return ClientSetting.TEST_USE_PROXY_SERIALIZATION.booleanValue()
-        ? loadGameInProxySerializationFormat(is)
-        : loadGameInSerializationFormat(is);
+    try (PerfTimer timer = PerfTimer.startTimer("GameDataManager.loadGame")) {
+      return ClientSetting.TEST_USE_PROXY_SERIALIZATION.booleanValue()
+          ? loadGameInProxySerializationFormat(is)
+          : loadGameInSerializationFormat(is);
+    }
   }
 
   @VisibleForTesting
@@ -111,44 +136,38 @@ public final class GameDataManager {
   }
 
   private static GameData loadGameInSerializationFormat(final InputStream inputStream) throws IOException {
+    final InputStream is = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+    return SaveGameFormat.isSaveGameFormat(is) ? loadGameInSectionedFormat(is) : loadGameInLegacyFormat(is);
+  }
+
+  /**
+   * Reads the game data from the state section, and leaves the history section to be inflated and read once the
+   * history is first used.
+   */
+  private static GameData loadGameInSectionedFormat(final InputStream is) throws IOException {
+    final SaveGameFormat.Reader reader = new SaveGameFormat.Reader(is);
+    final GameData data;
+    try (final ObjectInputStream input = new ObjectInputStream(reader.readSection(STATE_SECTION).open())) {
+      if (!isCompatible((Version) input.readObject())) {
+        return null;
+      }
+      data = (GameData) input.readObject();
+      loadDelegates(input, data);
+      data.postDeSerialize();
+    } catch (final ClassNotFoundException e) {
+      throw new IOException(e);
+    }
+    final SaveGameFormat.Section history = reader.readSection(HISTORY_SECTION);
+    data.getHistory().setDeferredContent(
+        () -> new HistoryInputStream(new GameObjectStreamFactory(data), history.open()));
+    return data;
+  }
+
+  private static GameData loadGameInLegacyFormat(final InputStream inputStream) throws IOException {
     final ObjectInputStream input = new ObjectInputStream(new GZIPInputStream(inputStream));
     try {
-      final Version readVersion = (Version) input.readObject();
-      final boolean headless = HeadlessGameServer.headless();
-      if (!readVersion.equals(ClientContext.engineVersion())) {
-        // a hack for now, but a headless server should not try to open any savegame that is not its version
-        if (headless) {
-          final String message = "Incompatible game save, we are: " + ClientContext.engineVersion()
-              + "  Trying to load game created with: " + readVersion;
-          HeadlessGameServer.sendChat(message);
-          System.out.println(message);
-          return null;
-        }
-        final String error = "Incompatible engine versions. We are: "
-            + ClientContext.engineVersion() + " . Trying to load game created with: " + readVersion
-            + "\nTo download the latest version of TripleA, Please visit "
-            + UrlConstants.LATEST_GAME_DOWNLOAD_WEBSITE;
-        throw new IOException(error);
-      } else if (!headless && readVersion.isGreaterThan(ClientContext.engineVersion())) {
-        // we can still load it because first 3 numbers of the version are the same, however this save was made by a
-        // newer engine, so prompt the user to upgrade
-        final String messageString =
-            "Your TripleA engine is OUT OF DATE.  This save was made by a newer version of TripleA."
-                + "\nHowever, because the first 3 version numbers are the same as your current version, we can "
-                + "still open the savegame."
-                + "\n\nThis TripleA engine is version "
-                + ClientContext.engineVersion().toStringFull()
-                + " and you are trying to open a savegame made with version " + readVersion.toStringFull()
-                + "\n\nTo download the latest version of TripleA, Please visit "
-                + UrlConstants.LATEST_GAME_DOWNLOAD_WEBSITE
-                + "\n\nIt is recommended that you upgrade to the latest version of TripleA before playing this "
-                + "savegame."
-                + "\n\nDo you wish to continue and open this save with your current 'old' version?";
-        final int answer =
-            JOptionPane.showConfirmDialog(null, messageString, "Open Newer Save Game?", JOptionPane.YES_NO_OPTION);
-        if (answer != JOptionPane.YES_OPTION) {
-          return null;
-        }
+      if (!isCompatible((Version) input.readObject())) {
+        return null;
       }
       final GameData data = (GameData) input.readObject();
       loadDelegates(input, data);
@@ -159,6 +178,50 @@ public final class GameDataManager {
     }
   }
 
+  /**
+   * @return false if the save game must not be loaded, either because this is a headless server of another version or
+   *         because the user declined to load a save game made by a newer engine.
+   *
+   * @throws IOException If the save game was made by an incompatible engine.
+   */
+  private static boolean isCompatible(final Version readVersion) throws IOException {
+    final boolean headless = HeadlessGameServer.headless();
+    if (!readVersion.equals(ClientContext.engineVersion())) {
+      // a hack for now, but a headless server should not try to open any savegame that is not its version
+      if (headless) {
+        final String message = "Incompatible game save, we are: " + ClientContext.engineVersion()
+            + "  Trying to load game created with: " + readVersion;
+        HeadlessGameServer.sendChat(message);
+        System.out.println(message);
+        return false;
+      }
+      final String error = "Incompatible engine versions. We are: "
+          + ClientContext.engineVersion() + " . Trying to load game created with: " + readVersion
+          + "\nTo download the latest version of TripleA, Please visit "
+          + UrlConstants.LATEST_GAME_DOWNLOAD_WEBSITE;
+      throw new IOException(error);
+    } else if (!headless && readVersion.isGreaterThan(ClientContext.engineVersion())) {
+      // we can still load it because first 3 numbers of the version are the same, however this save was made by a
+      // newer engine, so prompt the user to upgrade
+      final String messageString =
+          "Your TripleA engine is OUT OF DATE.  This save was made by a newer version of TripleA."
+              + "\nHowever, because the first 3 version numbers are the same as your current version, we can "
+              + "still open the savegame."
+              + "\n\nThis TripleA engine is version "
+              + ClientContext.engineVersion().toStringFull()
+              + " and you are trying to open a savegame made with version " + readVersion.toStringFull()
+              + "\n\nTo download the latest version of TripleA, Please visit "
+              + UrlConstants.LATEST_GAME_DOWNLOAD_WEBSITE
+              + "\n\nIt is recommended that you upgrade to the latest version of TripleA before playing this "
+              + "savegame."
+              + "\n\nDo you wish to continue and open this save with your current 'old' version?";
+      final int answer =
+          JOptionPane.showConfirmDialog(null, messageString, "Open Newer Save Game?", JOptionPane.YES_NO_OPTION);
+      return answer == JOptionPane.YES_OPTION;
+    }
+    return true;
+  }
+
 
   private static void loadDelegates(final ObjectInputStream input, final GameData data)
       throws ClassNotFoundException, IOException {
@@ -203,13 +266,15 @@ public final class GameDataManager {
       final GameData gameData,
       final boolean includeDelegates)
       throws IOException {
-    if (ClientSetting.TEST_USE_PROXY_SERIALIZATION.booleanValue()) {
-      saveGameInProxySerializationFormat(
-          os,
-          gameData,
-          Collections.singletonMap(GameDataMemento.ExportOptionName.EXCLUDE_DELEGATES, !includeDelegates));
-    } else {
-      saveGameInSerializationFormat(os, gameData, includeDelegates);
+    try (PerfTimer timer = PerfTimer.startTimer("GameDataManager.saveGame")) {
+      if (ClientSetting.TEST_USE_PROXY_SERIALIZATION.booleanValue()) {
+        saveGameInProxySerializationFormat(
+            os,
+            gameData,
+            Collections.singletonMap(GameDataMemento.ExportOptionName.EXCLUDE_DELEGATES, !includeDelegates));
+      } else {
+        saveGameInSerializationFormat(os, gameData, includeDelegates);
+      }
     }
   }
 
@@ -246,6 +311,96 @@ public final class GameDataManager {
       final GameData data,
       final boolean saveDelegateInfo)
       throws IOException {
+    if (Boolean.getBoolean(TRIPLEA_SAVE_LEGACY_FORMAT)) {
+      saveGameInLegacyFormat(sink, data, saveDelegateInfo);
+    } else {
+      saveGameInSectionedFormat(sink, data, saveDelegateInfo);
+    }
+  }
+
+  /**
+   * Writes the game data and delegates to the state section and the history to the history section. Chunks are
+   * compressed while the game data is still being serialized, and the read lock is released before anything is
+   * written to the sink.
+   */
+  @VisibleForTesting
+  static void saveGameInSectionedFormat(
+      final OutputStream sink,
+      final GameData data,
+      final boolean saveDelegateInfo)
+      throws IOException {
+    try (final SaveGameFormat.Writer writer = new SaveGameFormat.Writer()) {
+      writeSections(writer, data, saveDelegateInfo);
+      writer.writeTo(sink);
+    }
+  }
+
+  private static void writeSections(
+      final SaveGameFormat.Writer writer,
+      final GameData data,
+      final boolean saveDelegateInfo)
+      throws IOException {
+    data.acquireReadLock();
+    try {
+      try (final ObjectOutputStream out = History.newContentExcludingOutputStream(writer.newSection(STATE_SECTION))) {
+        out.writeObject(ClientContext.engineVersion());
+        out.writeObject(data);
+        if (saveDelegateInfo) {
+          writeDelegates(data, out);
+        } else {
+          out.writeObject(DELEGATE_LIST_END);
+        }
+      }
+      try (final ObjectOutputStream out = new HistoryOutputStream(writer.newSection(HISTORY_SECTION), data)) {
+        data.getHistory().writeContent(out);
+      }
+    } finally {
+      data.releaseReadLock();
+    }
+  }
+
+  /**
+   * Captures the specified game data, including its delegates, as a save game that can be written after the game data
+   * has changed.
+   *
+   * <p>
+   * In the sectioned format, only the serialization of the game data runs on the calling thread. Its chunks are
+   * compressed in the background, and {@link SaveGameSnapshot#writeTo(OutputStream)} waits for them. The other formats
+   * are written to memory in full before this method returns.
+   * </p>
+   *
+   * @param gameData The game data to capture.
+   *
+   * @return The snapshot, which the caller must close.
+   *
+   * @throws IOException If an error occurs while serializing the game data.
+   */
+  static SaveGameSnapshot snapshotGame(final GameData gameData) throws IOException {
+    checkNotNull(gameData);
+
+    try (PerfTimer timer = PerfTimer.startTimer("GameDataManager.snapshotGame")) {
+      if (ClientSetting.TEST_USE_PROXY_SERIALIZATION.booleanValue() || Boolean.getBoolean(TRIPLEA_SAVE_LEGACY_FORMAT)) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(25000);
+        saveGame(bytes, gameData, true);
+        return SaveGameSnapshot.of(bytes.toByteArray());
+      }
+      final SaveGameFormat.Writer writer = new SaveGameFormat.Writer();
+      try {
+        writeSections(writer, gameData, true);
+      } catch (final IOException | RuntimeException e) {
+        writer.close();
+        throw e;
+      }
+      return writer;
+    }
+  }
+
+  @VisibleForTesting
+  static void saveGameInLegacyFormat(
+      final OutputStream sink,
+      final GameData data,
+      final boolean saveDelegateInfo)
+      throws IOException {
     // write internally first in case of error
     final ByteArrayOutputStream bytes = new ByteArrayOutputStream(25000);
     final ObjectOutputStream outStream = new ObjectOutputStream(bytes);
@@ -267,6 +422,45 @@ public final class GameDataManager {
     }
   }
 
+  /**
+   * Writes the specified game data to a byte array for the purpose of copying it within the same process.
+   *
+   * <p>
+   * Unlike {@link #saveGame(OutputStream, GameData)}, the result is neither compressed nor prefixed with the engine
+   * version, so it must only be read back by {@link #loadGameCopy(byte[])} in the same engine instance.
+   * </p>
+   *
+   * <p>
+   * <strong>You should have the game data's read or write lock before calling this method</strong>
+   * </p>
+   */
+  static byte[] saveGameCopy(final GameData data, final boolean includeDelegates) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(25000);
+    try (final ObjectOutputStream outStream = new ObjectOutputStream(bytes)) {
+      outStream.writeObject(data);
+      if (includeDelegates) {
+        writeDelegates(data, outStream);
+      } else {
+        outStream.writeObject(DELEGATE_LIST_END);
+      }
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Reads a new game data instance from a byte array written by {@link #saveGameCopy(GameData, boolean)}.
+   */
+  static GameData loadGameCopy(final byte[] bytes) throws IOException {
+    try (final ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      final GameData data = (GameData) input.readObject();
+      loadDelegates(input, data);
+      data.postDeSerialize();
+      return data;
+    } catch (final ClassNotFoundException e) {
+      throw new IOException(e);
+    }
+  }
+
   private static void writeDelegates(final GameData data, final ObjectOutputStream out) throws IOException {
     final Iterator<IDelegate> iter = data.getDelegateList().iterator();
     while (iter.hasNext()) {
@@ -282,4 +476,135 @@ public final class GameDataManager {
     // mark end of delegate section
     out.writeObject(DELEGATE_LIST_END);
   }
+
+  /**
+   * Writes the history with references to the game objects of the state section. Attachments that are attached to a
+   * game object of the state are written as an {@link AttachmentReference}, so the history and the state share the
+   * attachment once read back; all other attachments are written as they are.
+   */
+  private static final class HistoryOutputStream extends GameObjectOutputStream {
+    private final GameData data;
+
+    HistoryOutputStream(final OutputStream output, final GameData data) throws IOException {
+      super(output);
+      this.data = data;
+    }
+
+    @Override
+    protected Object replaceObject(final Object obj) throws IOException {
+      if (obj instanceof IAttachment) {
+        final AttachmentReference reference = AttachmentReference.of((IAttachment) obj, data);
+        return (reference != null) ? reference : obj;
+      }
+      return super.replaceObject(obj);
+    }
+  }
+
+  /**
+   * Reads the history written by {@link HistoryOutputStream}, resolving its attachment references against the state.
+   */
+  private static final class HistoryInputStream extends GameObjectInputStream {
+    HistoryInputStream(final GameObjectStreamFactory factory, final InputStream input) throws IOException {
+      super(factory, input);
+    }
+
+    @Override
+    protected Object resolveObject(final Object obj) throws IOException {
+      if (obj instanceof AttachmentReference) {
+        final IAttachment attachment = ((AttachmentReference) obj).resolve(getData());
+        if (attachment == null) {
+          throw new InvalidObjectException("Unknown attachment: " + obj);
+        }
+        return attachment;
+      }
+      return super.resolveObject(obj);
+    }
+  }
+
+  /**
+   * Refers to an attachment by its name and the name and type of the game object it is attached to.
+   */
+  private static final class AttachmentReference implements Serializable {
+    private static final long serialVersionUID = -6425392837061953548L;
+
+    private enum AttachableType {
+      PLAYER, TERRITORY, UNIT_TYPE, RESOURCE, RELATIONSHIP_TYPE, TERRITORY_EFFECT, TECH_ADVANCE
+    }
+
+    private final AttachableType attachableType;
+    private final String attachableName;
+    private final String attachmentName;
+
+    private AttachmentReference(final AttachableType attachableType, final String attachableName,
+        final String attachmentName) {
+      this.attachableType = attachableType;
+      this.attachableName = attachableName;
+      this.attachmentName = attachmentName;
+    }
+
+    /**
+     * @return a reference to the specified attachment, or null if the attachment is not attached to a game object of
+     *         the specified game data, in which case it must be written as it is.
+     */
+    static AttachmentReference of(final IAttachment attachment, final GameData data) {
+      final Attachable attachable = attachment.getAttachedTo();
+      final AttachableType attachableType = getAttachableType(attachable);
+      if (attachableType == null || attachment.getName() == null) {
+        return null;
+      }
+      final AttachmentReference reference =
+          new AttachmentReference(attachableType, ((Named) attachable).getName(), attachment.getName());
+      return (reference.resolve(data) == attachment) ? reference : null;
+    }
+
+    private static AttachableType getAttachableType(final Attachable attachable) {
+      if (attachable instanceof PlayerID) {
+        return AttachableType.PLAYER;
+      } else if (attachable instanceof Territory) {
+        return AttachableType.TERRITORY;
+      } else if (attachable instanceof UnitType) {
+        return AttachableType.UNIT_TYPE;
+      } else if (attachable instanceof Resource) {
+        return AttachableType.RESOURCE;
+      } else if (attachable instanceof RelationshipType) {
+        return AttachableType.RELATIONSHIP_TYPE;
+      } else if (attachable instanceof TerritoryEffect) {
+        return AttachableType.TERRITORY_EFFECT;
+      } else if (attachable instanceof TechAdvance) {
+        return AttachableType.TECH_ADVANCE;
+      }
+      return null;
+    }
+
+    IAttachment resolve(final GameData data) {
+      final Attachable attachable = getAttachable(data);
+      return (attachable != null) ? attachable.getAttachment(attachmentName) : null;
+    }
+
+    private Attachable getAttachable(final GameData data) {
+      switch (attachableType) {
+        case PLAYER:
+          return data.getPlayerList().getPlayerId(attachableName);
+        case TERRITORY:
+          return data.getMap().getTerritory(attachableName);
+        case UNIT_TYPE:
+          return data.getUnitTypeList().getUnitType(attachableName);
+        case RESOURCE:
+          return data.getResourceList().getResource(attachableName);
+        case RELATIONSHIP_TYPE:
+          return data.getRelationshipTypeList().getRelationshipType(attachableName);
+        case TERRITORY_EFFECT:
+          return data.getTerritoryEffectList().get(attachableName);
+        case TECH_ADVANCE:
+          return data.getTechnologyFrontier().getAdvanceByName(attachableName);
+        default:
+          throw new AssertionError("unknown attachable type: " + attachableType);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return attachmentName + " of " + attachableType + " " + attachableName;
+    }
+  }
 }
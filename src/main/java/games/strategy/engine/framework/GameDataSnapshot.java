@@ -0,0 +1,67 @@
+package games.strategy.engine.framework;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+
+import games.strategy.debug.ClientLogger;
+import games.strategy.engine.data.GameData;
+
+/**
+ * An immutable, in-memory snapshot of a {@link GameData} instance from which any number of independent copies can be
+ * created.
+ *
+ * <p>
+ * Taking the snapshot is the only step that needs the source game data's lock. Copies are created from the snapshot
+ * without touching the source, so several threads may create copies at the same time, for example when setting up
+ * the workers of an odds calculator.
+ * </p>
+ */
+public final class GameDataSnapshot {
+  private final byte[] bytes;
+
+  private GameDataSnapshot(final byte[] bytes) {
+    this.bytes = bytes;
+  }
+
+  /**
+   * Takes a snapshot of the specified game data.
+   * <strong>You should have the game data's read or write lock before calling this method</strong>
+   *
+   * @param data The game data to snapshot.
+   * @param includeDelegates {@code true} if the state of the delegates should be included in the snapshot.
+   *
+   * @return The snapshot or {@code null} if the game data could not be written.
+   */
+  public static GameDataSnapshot of(final GameData data, final boolean includeDelegates) {
+    checkNotNull(data);
+
+    try {
+      return new GameDataSnapshot(GameDataManager.saveGameCopy(data, includeDelegates));
+    } catch (final IOException e) {
+      ClientLogger.logQuietly(e);
+      return null;
+    }
+  }
+
+  /**
+   * Creates a new game data instance from this snapshot. This method is thread safe.
+   *
+   * @return A new game data instance or {@code null} if the snapshot could not be read.
+   */
+  public GameData newGameData() {
+    try {
+      return GameDataManager.loadGameCopy(bytes);
+    } catch (final IOException e) {
+      ClientLogger.logQuietly(e);
+      return null;
+    }
+  }
+
+  /**
+   * @return The size of this snapshot in bytes.
+   */
+  public int size() {
+    return bytes.length;
+  }
+}
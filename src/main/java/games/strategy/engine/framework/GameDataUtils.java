@@ -4,10 +4,15 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
-import games.strategy.debug.ClientLogger;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameObjectOutputStream;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitsList;
 
 /**
  * A collection of useful methods for working with instances of {@link GameData}.
@@ -21,18 +26,19 @@ public final class GameDataUtils {
 
   /**
    * Create a deep copy of GameData.
+   *
+   * <p>
+   * The copy is made entirely in memory and skips the compression and engine version checks of a regular save game,
+   * which otherwise dominate the cost of copying large games.
+   * </p>
+   *
+   * <p>
    * <strong>You should have the game data's read or write lock before calling this method</strong>
+   * </p>
    */
   public static GameData cloneGameData(final GameData data, final boolean copyDelegates) {
-    try {
-      final ByteArrayOutputStream sink = new ByteArrayOutputStream(10_000);
-      GameDataManager.saveGame(sink, data, copyDelegates);
-      final ByteArrayInputStream source = new ByteArrayInputStream(sink.toByteArray());
-      return GameDataManager.loadGame(source);
-    } catch (final IOException e) {
-      ClientLogger.logQuietly(e);
-      return null;
-    }
+    final GameDataSnapshot snapshot = GameDataSnapshot.of(data, copyDelegates);
+    return snapshot == null ? null : snapshot.newGameData();
   }
 
   /**
@@ -58,4 +64,70 @@ public final class GameDataUtils {
       throw new RuntimeException(e);
     }
   }
+
+  /**
+   * Translates units from one game data into another without serializing them.
+   *
+   * <p>
+   * Units that already exist in the other game data are looked up by their id. Only the units that are unknown to the
+   * other game data are copied into it using {@link #translateIntoOtherGameData(Object, GameData)}.
+   * </p>
+   *
+   * @return The translated units in the same order as {@code units}, or {@code null} if {@code units} is {@code null}.
+   */
+  public static List<Unit> translateUnitsIntoOtherGameData(final Collection<Unit> units,
+      final GameData translateInto) {
+    if (units == null) {
+      return null;
+    }
+    final UnitsList unitsList = translateInto.getUnits();
+    final List<Unit> missingUnits = new ArrayList<>();
+    translateInto.acquireReadLock();
+    try {
+      for (final Unit unit : units) {
+        if (unitsList.get(unit.getId()) == null) {
+          missingUnits.add(unit);
+        }
+      }
+    } finally {
+      translateInto.releaseReadLock();
+    }
+    if (!missingUnits.isEmpty()) {
+      // registers the copies with the units list of the other game data
+      translateIntoOtherGameData(missingUnits, translateInto);
+    }
+    final List<Unit> translatedUnits = new ArrayList<>(units.size());
+    translateInto.acquireReadLock();
+    try {
+      for (final Unit unit : units) {
+        translatedUnits.add(unitsList.get(unit.getId()));
+      }
+    } finally {
+      translateInto.releaseReadLock();
+    }
+    return translatedUnits;
+  }
+
+  /**
+   * Translates territory effects from one game data into another by looking them up by name.
+   *
+   * @return The translated territory effects in the same order as {@code territoryEffects}, or {@code null} if
+   *         {@code territoryEffects} is {@code null}.
+   */
+  public static List<TerritoryEffect> translateTerritoryEffectsIntoOtherGameData(
+      final Collection<TerritoryEffect> territoryEffects, final GameData translateInto) {
+    if (territoryEffects == null) {
+      return null;
+    }
+    final List<TerritoryEffect> translatedTerritoryEffects = new ArrayList<>(territoryEffects.size());
+    for (final TerritoryEffect territoryEffect : territoryEffects) {
+      final TerritoryEffect translatedTerritoryEffect =
+          translateInto.getTerritoryEffectList().get(territoryEffect.getName());
+      if (translatedTerritoryEffect == null) {
+        throw new IllegalStateException("No territory effect named " + territoryEffect.getName());
+      }
+      translatedTerritoryEffects.add(translatedTerritoryEffect);
+    }
+    return translatedTerritoryEffects;
+  }
 }
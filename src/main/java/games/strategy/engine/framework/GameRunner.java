@@ -47,6 +47,7 @@ import games.strategy.engine.framework.ui.SaveGameFileChooser;
 import games.strategy.engine.framework.ui.background.WaitDialog;
 import games.strategy.engine.lobby.server.GameDescription;
 import games.strategy.net.Messengers;
+import games.strategy.performance.PerfTimer;
 import games.strategy.triplea.ai.proAI.ProAI;
 import games.strategy.triplea.settings.ClientSetting;
 import games.strategy.ui.ProgressWindow;
@@ -94,6 +95,7 @@ public class GameRunner {
 
   public static final String TRIPLEA_SERVER_START_GAME_SYNC_WAIT_TIME = "triplea.server.startGameSyncWaitTime";
   public static final String TRIPLEA_SERVER_OBSERVER_JOIN_WAIT_TIME = "triplea.server.observerJoinWaitTime";
+  public static final String TRIPLEA_PERFORMANCE_STATISTICS = PerfTimer.PERFORMANCE_STATISTICS_PROPERTY;
   public static final int MINIMUM_CLIENT_GAMEDATA_LOAD_GRACE_TIME = 20;
 
   public static final String MAP_FOLDER = "mapFolder";
@@ -0,0 +1,211 @@
+package games.strategy.engine.framework;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameObjectInputStream;
+import games.strategy.engine.data.GameObjectOutputStream;
+import games.strategy.engine.data.PlayerID;
+
+/**
+ * A save game of a running game for observers to join from, together with the modifications broadcast on the
+ * {@link IGameModifiedChannel} since it was taken.
+ *
+ * <p>
+ * A joining observer loads the save game while the game keeps running. Only the replay of the recorded modifications
+ * needs the game to be paused, so that no modification is broadcast before the observer listens to the channel.
+ * Observers that join at the same time share the same save game bytes, and the same serialized modifications as long
+ * as no further modification is recorded.
+ * </p>
+ *
+ * <p>
+ * A snapshot with more than {@value #REFRESH_THRESHOLD} modifications should be replaced by a new one. A snapshot
+ * stops recording at {@value #MAX_MODIFICATIONS} modifications and must then be discarded.
+ * </p>
+ */
+final class ObserverJoinSnapshot {
+  static final int REFRESH_THRESHOLD = 500;
+  static final int MAX_MODIFICATIONS = 5000;
+
+  private final byte[] gameData;
+  private final List<Modification> modifications = new ArrayList<>();
+  private byte[] serializedModifications;
+  private boolean full;
+
+  private ObserverJoinSnapshot(final byte[] gameData) {
+    this.gameData = gameData;
+  }
+
+  /**
+   * Takes a snapshot of the game. The caller must make sure that no modification is broadcast while the snapshot is
+   * taken.
+   */
+  static ObserverJoinSnapshot take(final GameData data) throws IOException {
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream(25000);
+    GameDataManager.saveGame(sink, data);
+    return new ObserverJoinSnapshot(sink.toByteArray());
+  }
+
+  /**
+   * @return The save game, which must not be modified.
+   */
+  byte[] getGameData() {
+    return gameData;
+  }
+
+  /**
+   * Records a modification broadcast after the snapshot was taken.
+   *
+   * @return {@code false} if the snapshot is full and can no longer be used.
+   */
+  synchronized boolean record(final Modification modification) {
+    if (full || modifications.size() >= MAX_MODIFICATIONS) {
+      full = true;
+      return false;
+    }
+    modifications.add(modification);
+    serializedModifications = null;
+    return true;
+  }
+
+  synchronized boolean isStale() {
+    return full || modifications.size() > REFRESH_THRESHOLD;
+  }
+
+  /**
+   * @return The recorded modifications, serialized for {@link #replay(byte[], GameData, IGameModifiedChannel)}.
+   */
+  synchronized byte[] getModifications() throws IOException {
+    if (full) {
+      throw new IllegalStateException("Snapshot has stopped recording modifications");
+    }
+    if (serializedModifications == null) {
+      final ByteArrayOutputStream sink = new ByteArrayOutputStream(1000);
+      try (final ObjectOutputStream out = new GameObjectOutputStream(sink)) {
+        out.writeObject(new ArrayList<>(modifications));
+      }
+      serializedModifications = sink.toByteArray();
+    }
+    return serializedModifications;
+  }
+
+  /**
+   * Replays the serialized modifications on the channel of a game loaded from the save game of the snapshot.
+   */
+  static void replay(final byte[] modifications, final GameData data, final IGameModifiedChannel channel)
+      throws IOException {
+    final List<?> loaded;
+    try (final ObjectInputStream in =
+        new GameObjectInputStream(new GameObjectStreamFactory(data), new ByteArrayInputStream(modifications))) {
+      loaded = (List<?>) in.readObject();
+    } catch (final ClassNotFoundException e) {
+      throw new IOException(e);
+    }
+    for (final Object modification : loaded) {
+      ((Modification) modification).replay(channel);
+    }
+  }
+
+  static Modification gameDataChanged(final Change change) {
+    return new GameDataChanged(change);
+  }
+
+  static Modification historyEventStarted(final String event, final Object renderingData) {
+    return new HistoryEventStarted(event, renderingData);
+  }
+
+  static Modification childAddedToEvent(final String text, final Object renderingData) {
+    return new ChildAddedToEvent(text, renderingData);
+  }
+
+  static Modification stepChanged(final String stepName, final String delegateName, final PlayerID player,
+      final int round, final String displayName, final boolean loadedFromSavedGame) {
+    return new StepChanged(stepName, delegateName, player, round, displayName, loadedFromSavedGame);
+  }
+
+  /**
+   * A call made on the {@link IGameModifiedChannel}.
+   */
+  interface Modification extends Serializable {
+    void replay(IGameModifiedChannel channel);
+  }
+
+  private static final class GameDataChanged implements Modification {
+    private static final long serialVersionUID = -4512806325185541924L;
+    private final Change change;
+
+    GameDataChanged(final Change change) {
+      this.change = change;
+    }
+
+    @Override
+    public void replay(final IGameModifiedChannel channel) {
+      channel.gameDataChanged(change);
+    }
+  }
+
+  private static final class HistoryEventStarted implements Modification {
+    private static final long serialVersionUID = 3072185593167227481L;
+    private final String event;
+    private final Object renderingData;
+
+    HistoryEventStarted(final String event, final Object renderingData) {
+      this.event = event;
+      this.renderingData = renderingData;
+    }
+
+    @Override
+    public void replay(final IGameModifiedChannel channel) {
+      channel.startHistoryEvent(event, renderingData);
+    }
+  }
+
+  private static final class ChildAddedToEvent implements Modification {
+    private static final long serialVersionUID = 8861549350447301612L;
+    private final String text;
+    private final Object renderingData;
+
+    ChildAddedToEvent(final String text, final Object renderingData) {
+      this.text = text;
+      this.renderingData = renderingData;
+    }
+
+    @Override
+    public void replay(final IGameModifiedChannel channel) {
+      channel.addChildToEvent(text, renderingData);
+    }
+  }
+
+  private static final class StepChanged implements Modification {
+    private static final long serialVersionUID = -1830514683862790214L;
+    private final String stepName;
+    private final String delegateName;
+    private final PlayerID player;
+    private final int round;
+    private final String displayName;
+    private final boolean loadedFromSavedGame;
+
+    StepChanged(final String stepName, final String delegateName, final PlayerID player, final int round,
+        final String displayName, final boolean loadedFromSavedGame) {
+      this.stepName = stepName;
+      this.delegateName = delegateName;
+      this.player = player;
+      this.round = round;
+      this.displayName = displayName;
+      this.loadedFromSavedGame = loadedFromSavedGame;
+    }
+
+    @Override
+    public void replay(final IGameModifiedChannel channel) {
+      channel.stepChanged(stepName, delegateName, player, round, displayName, loadedFromSavedGame);
+    }
+  }
+}
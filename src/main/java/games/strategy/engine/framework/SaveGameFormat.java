@@ -0,0 +1,385 @@
+package games.strategy.engine.framework;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.google.common.io.ByteStreams;
+
+import games.strategy.thread.DaemonThreadFactory;
+
+/**
+ * The container of a save game made of named sections, each compressed in independent chunks.
+ *
+ * <p>
+ * A save game starts with {@link #MAGIC}, which can never start a GZIP stream, followed by the format version and a
+ * table of contents listing the name, length and compressed chunk sizes of each section. The chunks of all sections
+ * follow in the same order. Since the table of contents comes first, a save game can be read front to back from a
+ * plain stream, and each section can be inflated on its own, once it is needed.
+ * </p>
+ *
+ * <p>
+ * Chunks are deflated as soon as they are filled, and inflated in parallel, on a pool of daemon threads shared by all
+ * save games, so neither concurrent saves nor a save game that is never closed can add threads.
+ * </p>
+ */
+final class SaveGameFormat {
+  private static final byte[] MAGIC = {'T', 'A', 'S', 'G'};
+  private static final int FORMAT_VERSION = 1;
+  private static final int CHUNK_SIZE = 1024 * 1024;
+  private static final int MAX_SECTION_LENGTH = Integer.MAX_VALUE - 8;
+  private static final int MAX_SECTION_COUNT = 64;
+  // more than deflate ever adds to a chunk that doesn't compress
+  private static final int MAX_COMPRESSED_CHUNK_SIZE = CHUNK_SIZE + CHUNK_SIZE / 8 + 1024;
+  private static final ExecutorService executor = Executors.newFixedThreadPool(
+      Runtime.getRuntime().availableProcessors(), new DaemonThreadFactory(true, "Save game compression"));
+
+  private SaveGameFormat() {}
+
+  /**
+   * @param in A stream supporting {@link InputStream#mark(int)}, which is reset to where it was before this call.
+   *
+   * @return true if the stream starts with a save game in this format.
+   */
+  static boolean isSaveGameFormat(final InputStream in) throws IOException {
+    in.mark(MAGIC.length);
+    try {
+      final byte[] start = new byte[MAGIC.length];
+      return ByteStreams.read(in, start, 0, start.length) == start.length && Arrays.equals(start, MAGIC);
+    } finally {
+      in.reset();
+    }
+  }
+
+  /**
+   * Collects the sections of a save game while they are written, and writes the save game once all sections are
+   * complete.
+   */
+  static final class Writer implements SaveGameSnapshot {
+    private final List<SectionOutputStream> sections = new ArrayList<>();
+
+    /**
+     * @return The stream to write the content of the next section to. The section is complete when the stream is
+     *         closed.
+     */
+    OutputStream newSection(final String name) {
+      final SectionOutputStream section = new SectionOutputStream(name);
+      sections.add(section);
+      return section;
+    }
+
+    /**
+     * Waits for all chunks to be compressed, and writes the save game to the sink, which is not closed.
+     */
+    @Override
+    public void writeTo(final OutputStream sink) throws IOException {
+      final List<List<byte[]>> chunksBySection = new ArrayList<>();
+      for (final SectionOutputStream section : sections) {
+        if (!section.closed) {
+          throw new IllegalStateException("Section not closed: " + section.name);
+        }
+        chunksBySection.add(getChunks(section.chunks));
+      }
+      final DataOutputStream out = new DataOutputStream(sink);
+      out.write(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      out.writeInt(CHUNK_SIZE);
+      out.writeInt(sections.size());
+      for (int i = 0; i < sections.size(); i++) {
+        out.writeUTF(sections.get(i).name);
+        out.writeInt(sections.get(i).length);
+        out.writeInt(chunksBySection.get(i).size());
+        for (final byte[] chunk : chunksBySection.get(i)) {
+          out.writeInt(chunk.length);
+        }
+      }
+      for (final List<byte[]> chunks : chunksBySection) {
+        for (final byte[] chunk : chunks) {
+          out.write(chunk);
+        }
+      }
+      out.flush();
+    }
+
+    private static List<byte[]> getChunks(final List<Future<byte[]>> futures) throws IOException {
+      final List<byte[]> chunks = new ArrayList<>(futures.size());
+      try {
+        for (final Future<byte[]> future : futures) {
+          chunks.add(future.get());
+        }
+      } catch (final ExecutionException e) {
+        throw new IOException("Failed to compress the save game", e.getCause());
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while compressing the save game", e);
+      }
+      return chunks;
+    }
+
+    /**
+     * Cancels the compression of chunks that haven't been compressed yet, in case the save game is never written.
+     */
+    @Override
+    public void close() {
+      for (final SectionOutputStream section : sections) {
+        section.chunks.forEach(chunk -> chunk.cancel(false));
+      }
+    }
+
+    private static byte[] deflate(final byte[] data, final int length) {
+      final Deflater deflater = new Deflater();
+      try {
+        deflater.setInput(data, 0, length);
+        deflater.finish();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, length / 4));
+        final byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+          out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        return out.toByteArray();
+      } finally {
+        deflater.end();
+      }
+    }
+
+    /**
+     * Cuts the written bytes into chunks, handing each chunk to the executor once it is full.
+     */
+    private final class SectionOutputStream extends OutputStream {
+      private final String name;
+      private final List<Future<byte[]>> chunks = new ArrayList<>();
+      private byte[] buffer = new byte[CHUNK_SIZE];
+      private int count;
+      private int length;
+      private boolean closed;
+
+      SectionOutputStream(final String name) {
+        this.name = name;
+      }
+
+      @Override
+      public void write(final int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+      }
+
+      @Override
+      public void write(final byte[] b, final int off, final int len) throws IOException {
+        if (closed) {
+          throw new IOException("Section closed: " + name);
+        }
+        if (len > MAX_SECTION_LENGTH - length) {
+          throw new IOException("Section too large: " + name);
+        }
+        int written = 0;
+        while (written < len) {
+          final int n = Math.min(len - written, CHUNK_SIZE - count);
+          System.arraycopy(b, off + written, buffer, count, n);
+          count += n;
+          written += n;
+          if (count == CHUNK_SIZE) {
+            submitChunk();
+          }
+        }
+        length += len;
+      }
+
+      private void submitChunk() {
+        final byte[] data = buffer;
+        final int size = count;
+        chunks.add(executor.submit(() -> deflate(data, size)));
+        buffer = new byte[CHUNK_SIZE];
+        count = 0;
+      }
+
+      @Override
+      public void close() {
+        if (closed) {
+          return;
+        }
+        if (count > 0) {
+          submitChunk();
+        }
+        buffer = null;
+        closed = true;
+      }
+    }
+  }
+
+  /**
+   * Reads the sections of a save game, in the order they were written.
+   */
+  static final class Reader {
+    private final DataInputStream in;
+    private final List<SectionEntry> entries = new ArrayList<>();
+    private int nextEntry;
+
+    /**
+     * Reads the table of contents of a save game.
+     *
+     * @throws IOException If the stream does not hold a save game in a format this engine can read, or its table of
+     *         contents is corrupt.
+     */
+    Reader(final InputStream stream) throws IOException {
+      in = new DataInputStream(stream);
+      final byte[] magic = new byte[MAGIC.length];
+      in.readFully(magic);
+      if (!Arrays.equals(magic, MAGIC)) {
+        throw new IOException("Not a save game");
+      }
+      final int formatVersion = in.readInt();
+      if (formatVersion != FORMAT_VERSION) {
+        throw new IOException("Unsupported save game format: " + formatVersion);
+      }
+      final int chunkSize = in.readInt();
+      if (chunkSize != CHUNK_SIZE) {
+        throw new IOException("Invalid chunk size: " + chunkSize);
+      }
+      final int sectionCount = in.readInt();
+      if (sectionCount < 0 || sectionCount > MAX_SECTION_COUNT) {
+        throw new IOException("Invalid section count: " + sectionCount);
+      }
+      for (int i = 0; i < sectionCount; i++) {
+        final String name = in.readUTF();
+        final int length = in.readInt();
+        if (length < 0 || length > MAX_SECTION_LENGTH) {
+          throw new IOException("Invalid length of section " + name + ": " + length);
+        }
+        // the writer fills every chunk but the last one
+        final int chunkCount = in.readInt();
+        if (chunkCount != (int) ((length + (long) CHUNK_SIZE - 1) / CHUNK_SIZE)) {
+          throw new IOException("Invalid chunk count of section " + name + ": " + chunkCount);
+        }
+        final int[] chunkLengths = new int[chunkCount];
+        for (int j = 0; j < chunkLengths.length; j++) {
+          chunkLengths[j] = in.readInt();
+          if (chunkLengths[j] <= 0 || chunkLengths[j] > MAX_COMPRESSED_CHUNK_SIZE) {
+            throw new IOException("Invalid length of chunk " + j + " of section " + name + ": " + chunkLengths[j]);
+          }
+        }
+        entries.add(new SectionEntry(name, length, chunkLengths));
+      }
+    }
+
+    /**
+     * Reads the compressed chunks of the named section, skipping any sections before it.
+     *
+     * @throws IOException If there is no such section after the sections read so far.
+     */
+    Section readSection(final String name) throws IOException {
+      while (nextEntry < entries.size()) {
+        final SectionEntry entry = entries.get(nextEntry++);
+        final byte[][] chunks = new byte[entry.chunkLengths.length][];
+        for (int i = 0; i < chunks.length; i++) {
+          chunks[i] = new byte[entry.chunkLengths[i]];
+          in.readFully(chunks[i]);
+        }
+        if (entry.name.equals(name)) {
+          return new Section(entry.name, entry.length, chunks);
+        }
+      }
+      throw new IOException("Missing save game section: " + name);
+    }
+  }
+
+  private static final class SectionEntry {
+    private final String name;
+    private final int length;
+    private final int[] chunkLengths;
+
+    SectionEntry(final String name, final int length, final int[] chunkLengths) {
+      this.name = name;
+      this.length = length;
+      this.chunkLengths = chunkLengths;
+    }
+  }
+
+  /**
+   * The compressed content of a section.
+   */
+  static final class Section {
+    private final String name;
+    private final int length;
+    private final byte[][] chunks;
+
+    Section(final String name, final int length, final byte[][] chunks) {
+      this.name = name;
+      this.length = length;
+      this.chunks = chunks;
+    }
+
+    /**
+     * @return A stream of the inflated content of this section.
+     *
+     * @throws IOException If a chunk is corrupt.
+     */
+    InputStream open() throws IOException {
+      final byte[] content = new byte[length];
+      if (chunks.length <= 1) {
+        for (int i = 0; i < chunks.length; i++) {
+          inflate(i, content);
+        }
+        return new ByteArrayInputStream(content);
+      }
+      final List<Future<?>> futures = new ArrayList<>(chunks.length);
+      try {
+        for (int i = 0; i < chunks.length; i++) {
+          final int chunk = i;
+          futures.add(executor.submit(() -> {
+            inflate(chunk, content);
+            return null;
+          }));
+        }
+        for (final Future<?> future : futures) {
+          future.get();
+        }
+      } catch (final ExecutionException e) {
+        throw (e.getCause() instanceof IOException) ? (IOException) e.getCause() : new IOException(e.getCause());
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while reading section " + name, e);
+      } finally {
+        futures.forEach(future -> future.cancel(false));
+      }
+      return new ByteArrayInputStream(content);
+    }
+
+    private void inflate(final int chunk, final byte[] content) throws IOException {
+      // the reader checked that the chunks just cover the length, so the offset is always within it
+      final int offset = Math.toIntExact((long) chunk * CHUNK_SIZE);
+      final int expected = Math.min(CHUNK_SIZE, length - offset);
+      final Inflater inflater = new Inflater();
+      try {
+        inflater.setInput(chunks[chunk]);
+        int read = 0;
+        while (read < expected && !inflater.finished()) {
+          final int count = inflater.inflate(content, offset + read, expected - read);
+          if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+            break;
+          }
+          read += count;
+        }
+        if (read != expected) {
+          throw new IOException("Chunk " + chunk + " of section " + name + " does not match its length");
+        }
+      } catch (final DataFormatException e) {
+        throw new IOException("Corrupt chunk " + chunk + " of section " + name, e);
+      } finally {
+        inflater.end();
+      }
+    }
+  }
+}
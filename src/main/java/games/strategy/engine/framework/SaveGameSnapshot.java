@@ -0,0 +1,39 @@
+package games.strategy.engine.framework;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A save game captured from a {@link games.strategy.engine.data.GameData} instance, which can be written after the
+ * game data has changed, on any thread.
+ *
+ * @see GameDataManager#snapshotGame(games.strategy.engine.data.GameData)
+ */
+interface SaveGameSnapshot extends AutoCloseable {
+  /**
+   * Writes the save game to the sink, which is not closed. A snapshot can only be written once.
+   */
+  void writeTo(OutputStream sink) throws IOException;
+
+  /**
+   * Releases the resources held by this snapshot, whether or not it has been written.
+   */
+  @Override
+  void close();
+
+  /**
+   * @return A snapshot of a save game already written in full.
+   */
+  static SaveGameSnapshot of(final byte[] bytes) {
+    return new SaveGameSnapshot() {
+      @Override
+      public void writeTo(final OutputStream sink) throws IOException {
+        sink.write(bytes);
+        sink.flush();
+      }
+
+      @Override
+      public void close() {}
+    };
+  }
+}
@@ -0,0 +1,138 @@
+package games.strategy.engine.framework;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import games.strategy.debug.ClientLogger;
+import games.strategy.performance.PerfTimer;
+
+/**
+ * Writes save games on a background thread, so that the game thread only has to capture a snapshot of the game data.
+ *
+ * <p>
+ * Save games are written one at a time, in the order they were requested. Each one is written to a temporary file in
+ * the directory of its target file, which then replaces the target, so a save game is never left half written. At
+ * most {@value #MAX_PENDING_SAVES} save games wait to be written; a further save waits for the oldest one before it
+ * takes its snapshot, so that a slow disk cannot pile up snapshots in memory.
+ * </p>
+ */
+final class SaveGameWriter {
+  static final int MAX_PENDING_SAVES = 2;
+
+  private final ExecutorService executorService = Executors.newSingleThreadExecutor(runnable -> {
+    final Thread thread = new Thread(runnable, "Save Game Writer");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final Semaphore pendingSaves;
+
+  SaveGameWriter() {
+    this(MAX_PENDING_SAVES);
+  }
+
+  @VisibleForTesting
+  SaveGameWriter(final int maxPendingSaves) {
+    pendingSaves = new Semaphore(maxPendingSaves);
+  }
+
+  /**
+   * Takes a snapshot and queues it to be written to the specified file. If the writer is behind, this method first
+   * waits until the oldest pending save game is written. If the writer has been shut down, the snapshot is written on
+   * the calling thread. A failure to write the save game is logged.
+   *
+   * @return A future that is done once the save game is written or has failed.
+   *
+   * @throws IOException If the snapshot could not be taken.
+   * @throws InterruptedException If interrupted while waiting for the writer to catch up.
+   */
+  Future<?> save(final File file, final Snapshotter snapshotter) throws IOException, InterruptedException {
+    try (PerfTimer timer = PerfTimer.startTimer("SaveGameWriter.awaitPendingSaves")) {
+      pendingSaves.acquire();
+    }
+    final SaveGameSnapshot snapshot;
+    try {
+      snapshot = snapshotter.snapshot();
+    } catch (final IOException | RuntimeException e) {
+      pendingSaves.release();
+      throw e;
+    }
+    final Runnable task = () -> {
+      try {
+        write(snapshot, file);
+      } catch (final IOException e) {
+        ClientLogger.logQuietly("Failed to write save game: " + file, e);
+      } finally {
+        pendingSaves.release();
+      }
+    };
+    try {
+      return executorService.submit(task);
+    } catch (final RejectedExecutionException e) {
+      final FutureTask<?> futureTask = new FutureTask<>(task, null);
+      futureTask.run();
+      return futureTask;
+    }
+  }
+
+  @VisibleForTesting
+  static void write(final SaveGameSnapshot snapshot, final File file) throws IOException {
+    try (PerfTimer timer = PerfTimer.startTimer("SaveGameWriter.write");
+        SaveGameSnapshot closedSnapshot = snapshot) {
+      final File target = file.getAbsoluteFile();
+      final Path temp = File.createTempFile("." + target.getName() + ".", ".tmp", target.getParentFile()).toPath();
+      try {
+        try (final FileOutputStream fos = new FileOutputStream(temp.toFile());
+            final OutputStream out = new BufferedOutputStream(fos)) {
+          snapshot.writeTo(out);
+          out.flush();
+          fos.getFD().sync();
+        }
+        move(temp, target.toPath());
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    }
+  }
+
+  private static void move(final Path source, final Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (final AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * Stops accepting save games to write in the background, and waits for the pending ones to be written.
+   *
+   * @return {@code true} if all pending save games were written in time.
+   */
+  boolean shutDown(final long timeout, final TimeUnit unit) throws InterruptedException {
+    executorService.shutdown();
+    return executorService.awaitTermination(timeout, unit);
+  }
+
+  /**
+   * Takes the snapshot of a save game once the writer is ready for it.
+   */
+  @FunctionalInterface
+  interface Snapshotter {
+    SaveGameSnapshot snapshot() throws IOException;
+  }
+}
@@ -2,7 +2,6 @@ package games.strategy.engine.framework;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Collection;
@@ -10,7 +9,12 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.annotations.VisibleForTesting;
 
 import games.strategy.debug.ClientLogger;
 import games.strategy.debug.ErrorConsole;
@@ -48,6 +52,7 @@ import games.strategy.engine.random.PlainRandomSource;
 import games.strategy.engine.random.RandomStats;
 import games.strategy.net.INode;
 import games.strategy.net.Messengers;
+import games.strategy.performance.PerfTimer;
 import games.strategy.triplea.TripleAPlayer;
 import games.strategy.triplea.settings.ClientSetting;
 
@@ -61,11 +66,13 @@ public class ServerGame extends AbstractGame {
 
   public static final String GAME_HAS_BEEN_SAVED_PROPERTY =
       "games.strategy.engine.framework.ServerGame.GameHasBeenSaved";
+  private static final int MAX_OBSERVER_JOIN_ATTEMPTS = 3;
 
   private final RandomStats randomStats;
   private IRandomSource randomSource = new PlainRandomSource();
   private IRandomSource delegateRandomSource;
   private final DelegateExecutionManager delegateExecutionManager = new DelegateExecutionManager();
+  private final SaveGameWriter saveGameWriter = new SaveGameWriter();
   private InGameLobbyWatcherWrapper inGameLobbyWatcher;
   private boolean needToInitialize = true;
   /**
@@ -77,6 +84,12 @@ public class ServerGame extends AbstractGame {
    * Has the delegate signaled that delegate execution should stop.
    */
   private volatile boolean delegateExecutionStopped = false;
+  private final Object observerJoinSnapshotLock = new Object();
+  /**
+   * The snapshot observers join from, which records the modifications broadcast since it was taken. There is none
+   * until the first observer joins, so that games without observers record nothing.
+   */
+  private final AtomicReference<ObserverJoinSnapshot> observerJoinSnapshot = new AtomicReference<>();
 
   /**
    * @param data
@@ -97,6 +110,7 @@ public class ServerGame extends AbstractGame {
         assertCorrectCaller();
         m_data.performChange(change);
         m_data.getHistory().getHistoryWriter().addChange(change);
+        recordForObservers(ObserverJoinSnapshot.gameDataChanged(change));
       }
 
       private void assertCorrectCaller() {
@@ -107,22 +121,24 @@ public class ServerGame extends AbstractGame {
 
       @Override
       public void startHistoryEvent(final String event, final Object renderingData) {
-        startHistoryEvent(event);
+        assertCorrectCaller();
+        m_data.getHistory().getHistoryWriter().startEvent(event);
         if (renderingData != null) {
           setRenderingData(renderingData);
         }
+        recordForObservers(ObserverJoinSnapshot.historyEventStarted(event, renderingData));
       }
 
       @Override
       public void startHistoryEvent(final String event) {
-        assertCorrectCaller();
-        m_data.getHistory().getHistoryWriter().startEvent(event);
+        startHistoryEvent(event, null);
       }
 
       @Override
       public void addChildToEvent(final String text, final Object renderingData) {
         assertCorrectCaller();
         m_data.getHistory().getHistoryWriter().addChildToEvent(new EventChild(text, renderingData));
+        recordForObservers(ObserverJoinSnapshot.childAddedToEvent(text, renderingData));
       }
 
       void setRenderingData(final Object renderingData) {
@@ -134,6 +150,8 @@ public class ServerGame extends AbstractGame {
       public void stepChanged(final String stepName, final String delegateName, final PlayerID player, final int round,
           final String displayName, final boolean loadedFromSavedGame) {
         assertCorrectCaller();
+        recordForObservers(
+            ObserverJoinSnapshot.stepChanged(stepName, delegateName, player, round, displayName, loadedFromSavedGame));
         if (loadedFromSavedGame) {
           return;
         }
@@ -160,47 +178,119 @@ public class ServerGame extends AbstractGame {
     m_remoteMessenger.registerRemote(serverRemote, SERVER_REMOTE);
   }
 
+  /**
+   * Lets an observer join the running game. The observer first loads a shared snapshot of the game while the game
+   * keeps running. Delegate execution is then blocked only while the observer replays the modifications made since the
+   * snapshot was taken and starts listening to the game. If the snapshot is replaced in between, the observer loads
+   * the new one.
+   */
   public void addObserver(final IObserverWaitingToJoin blockingObserver,
       final IObserverWaitingToJoin nonBlockingObserver, final INode newNode) {
     try {
-      if (!delegateExecutionManager.blockDelegateExecution(2000)) {
-        nonBlockingObserver.cannotJoinGame("Could not block delegate execution");
-        return;
+      for (int attempt = 1; attempt <= MAX_OBSERVER_JOIN_ATTEMPTS; attempt++) {
+        final ObserverJoinSnapshot snapshot = getObserverJoinSnapshot();
+        final AtomicBoolean loaded = new AtomicBoolean();
+        if (!callObserver(() -> loaded.set(blockingObserver.loadGame(snapshot.getGameData())), newNode)) {
+          nonBlockingObserver.cannotJoinGame("Taking too long to load the game.");
+          return;
+        }
+        if (!loaded.get()) {
+          nonBlockingObserver.cannotJoinGame("Could not load the game.");
+          return;
+        }
+        if (joinObserver(snapshot, blockingObserver, nonBlockingObserver, newNode)) {
+          return;
+        }
       }
-    } catch (final InterruptedException e) {
+      nonBlockingObserver.cannotJoinGame("The game changed too much while joining, try again.");
+    } catch (final Exception e) {
+      ClientLogger.logQuietly(e);
       nonBlockingObserver.cannotJoinGame(e.getMessage());
-      return;
+    }
+  }
+
+  /**
+   * @return {@code false} if the snapshot was replaced after the observer loaded it, otherwise {@code true} once the
+   *         observer has joined or failed to join.
+   */
+  private boolean joinObserver(final ObserverJoinSnapshot snapshot, final IObserverWaitingToJoin blockingObserver,
+      final IObserverWaitingToJoin nonBlockingObserver, final INode newNode) throws InterruptedException {
+    if (!delegateExecutionManager.blockDelegateExecution(2000)) {
+      nonBlockingObserver.cannotJoinGame("Could not block delegate execution");
+      return true;
     }
     try {
-      final CountDownLatch waitOnObserver = new CountDownLatch(1);
-      final ByteArrayOutputStream sink = new ByteArrayOutputStream(1000);
-      saveGame(sink);
-      new Thread(() -> {
-        try {
-          blockingObserver.joinGame(sink.toByteArray(), m_playerManager.getPlayerMapping());
-          waitOnObserver.countDown();
-        } catch (final ConnectionLostException cle) {
-          System.out.println("Connection lost to observer while joining: " + newNode.getName());
-        } catch (final Exception e) {
-          ClientLogger.logQuietly(e);
-        }
-      }, "Waiting on observer to finish joining: " + newNode.getName()).start();
-      try {
-        if (!waitOnObserver.await(ClientSetting.SERVER_OBSERVER_JOIN_WAIT_TIME.intValue(), TimeUnit.SECONDS)) {
-          nonBlockingObserver.cannotJoinGame("Taking too long to join.");
-        }
-      } catch (final InterruptedException e) {
-        ClientLogger.logQuietly(e);
-        nonBlockingObserver.cannotJoinGame(e.getMessage());
+      if (snapshot != observerJoinSnapshot.get()) {
+        return false;
       }
+      final byte[] modifications = snapshot.getModifications();
+      final Map<String, INode> players = m_playerManager.getPlayerMapping();
+      if (!callObserver(() -> blockingObserver.joinGame(modifications, players), newNode)) {
+        nonBlockingObserver.cannotJoinGame("Taking too long to join.");
+      }
+      return true;
     } catch (final Exception e) {
       ClientLogger.logQuietly(e);
       nonBlockingObserver.cannotJoinGame(e.getMessage());
+      return true;
     } finally {
       delegateExecutionManager.resumeDelegateExecution();
     }
   }
 
+  /**
+   * Calls the observer on a new thread, and waits for the call to return.
+   *
+   * @return {@code true} if the call returned within the observer join wait time.
+   */
+  private static boolean callObserver(final Runnable call, final INode newNode) throws InterruptedException {
+    final CountDownLatch waitOnObserver = new CountDownLatch(1);
+    new Thread(() -> {
+      try {
+        call.run();
+        waitOnObserver.countDown();
+      } catch (final ConnectionLostException cle) {
+        System.out.println("Connection lost to observer while joining: " + newNode.getName());
+      } catch (final Exception e) {
+        ClientLogger.logQuietly(e);
+      }
+    }, "Waiting on observer to finish joining: " + newNode.getName()).start();
+    return waitOnObserver.await(ClientSetting.SERVER_OBSERVER_JOIN_WAIT_TIME.intValue(), TimeUnit.SECONDS);
+  }
+
+  /**
+   * @return The current snapshot for observers to join from, taken anew if there is none or it is stale.
+   */
+  private ObserverJoinSnapshot getObserverJoinSnapshot() throws IOException {
+    synchronized (observerJoinSnapshotLock) {
+      final ObserverJoinSnapshot current = observerJoinSnapshot.get();
+      if (current != null && !current.isStale()) {
+        return current;
+      }
+      try {
+        if (!delegateExecutionManager.blockDelegateExecution(6000)) {
+          throw new IOException("Could not lock delegate execution");
+        }
+      } catch (final InterruptedException ie) {
+        throw new IOException(ie.getMessage());
+      }
+      try {
+        final ObserverJoinSnapshot snapshot = ObserverJoinSnapshot.take(m_data);
+        observerJoinSnapshot.set(snapshot);
+        return snapshot;
+      } finally {
+        delegateExecutionManager.resumeDelegateExecution();
+      }
+    }
+  }
+
+  private void recordForObservers(final ObserverJoinSnapshot.Modification modification) {
+    final ObserverJoinSnapshot snapshot = observerJoinSnapshot.get();
+    if (snapshot != null && !snapshot.record(modification)) {
+      observerJoinSnapshot.compareAndSet(snapshot, null);
+    }
+  }
+
   private void setupDelegateMessaging(final GameData data) {
     for (final IDelegate delegate : data.getDelegateList()) {
       addDelegateMessenger(delegate);
@@ -295,7 +385,7 @@ public class ServerGame extends AbstractGame {
     // block delegate execution to prevent outbound messages to the players while we shut down.
     try {
       if (!delegateExecutionManager.blockDelegateExecution(16000)) {
-        System.err.println("Could not stop delegate execution.");
+        ClientLogger.logQuietly("Could not stop delegate execution.");
         if (HeadlessGameServer.getInstance() != null) {
           HeadlessGameServer.getInstance().printThreadDumpsAndStatus();
         } else {
@@ -303,7 +393,7 @@ public class ServerGame extends AbstractGame {
         }
         // Try one more time
         if (!delegateExecutionManager.blockDelegateExecution(16000)) {
-          System.err.println("Exiting...");
+          ClientLogger.logQuietly("Could not stop delegate execution, exiting.");
           System.exit(-1);
         }
       }
@@ -338,6 +428,15 @@ public class ServerGame extends AbstractGame {
     } finally {
       delegateExecutionManager.resumeDelegateExecution();
     }
+    try {
+      if (!saveGameWriter.shutDown(16000, TimeUnit.MILLISECONDS)) {
+        ClientLogger.logQuietly("Could not finish writing save games within 16 seconds, the last save games may be "
+            + "missing.");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      ClientLogger.logQuietly("Interrupted while waiting for save games to be written.", e);
+    }
     m_data.getGameLoader().shutDown();
     if (HeadlessGameServer.headless()) {
       System.out.println("StopGame successful.");
@@ -350,7 +449,14 @@ public class ServerGame extends AbstractGame {
     if (!autoSaveDir.exists()) {
       autoSaveDir.mkdirs();
     }
-    saveGame(new File(autoSaveDir, fileName));
+    try {
+      saveGameWriter.save(new File(autoSaveDir, fileName), this::snapshotGame);
+    } catch (final IOException e) {
+      ClientLogger.logQuietly(e);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      ClientLogger.logQuietly(e);
+    }
   }
 
   private void autoSaveBefore(final IDelegate currentDelegate) {
@@ -362,16 +468,32 @@ public class ServerGame extends AbstractGame {
     return GameDataFileUtils.addExtension(baseFileName);
   }
 
+  /**
+   * Saves the game to the specified file, after any auto saves still being written, and waits until it is written.
+   */
   @Override
   public void saveGame(final File f) {
-    try (FileOutputStream fout = new FileOutputStream(f)) {
-      saveGame(fout);
-    } catch (final IOException e) {
+    try {
+      saveGameWriter.save(f, this::snapshotGame).get();
+    } catch (final IOException | ExecutionException e) {
+      ClientLogger.logQuietly(e);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
       ClientLogger.logQuietly(e);
     }
   }
 
   private void saveGame(final OutputStream out) throws IOException {
+    try (SaveGameSnapshot snapshot = snapshotGame()) {
+      snapshot.writeTo(out);
+    }
+  }
+
+  /**
+   * Captures the game while delegate execution is blocked. Compressing and writing the snapshot happens after
+   * delegate execution has resumed.
+   */
+  private SaveGameSnapshot snapshotGame() throws IOException {
     try {
       if (!delegateExecutionManager.blockDelegateExecution(6000)) {
         throw new IOException("Could not lock delegate execution");
@@ -380,7 +502,7 @@ public class ServerGame extends AbstractGame {
       throw new IOException(ie.getMessage());
     }
     try {
-      GameDataManager.saveGame(out, m_data);
+      return GameDataManager.snapshotGame(m_data);
     } finally {
       delegateExecutionManager.resumeDelegateExecution();
     }
@@ -456,7 +578,8 @@ public class ServerGame extends AbstractGame {
    */
   private void endStep() {
     delegateExecutionManager.enterDelegateExecution();
-    try {
+    try (PerfTimer timer =
+        PerfTimer.startTimer(() -> "ServerGame.endStep: " + getCurrentStep().getDelegate().getName())) {
       getCurrentStep().getDelegate().end();
     } finally {
       delegateExecutionManager.leaveDelegateExecution();
@@ -477,7 +600,7 @@ public class ServerGame extends AbstractGame {
       }
       bridge.setRandomSource(delegateRandomSource);
       delegateExecutionManager.enterDelegateExecution();
-      try {
+      try (PerfTimer timer = PerfTimer.startTimer(() -> "ServerGame.startPersistentDelegate: " + delegate.getName())) {
         delegate.setDelegateBridgeAndPlayer(bridge);
         delegate.start();
       } finally {
@@ -503,7 +626,8 @@ public class ServerGame extends AbstractGame {
     }
     notifyGameStepChanged(stepIsRestoredFromSavedGame);
     delegateExecutionManager.enterDelegateExecution();
-    try {
+    try (PerfTimer timer =
+        PerfTimer.startTimer(() -> "ServerGame.startStep: " + getCurrentStep().getDelegate().getName())) {
       final IDelegate delegate = getCurrentStep().getDelegate();
       delegate.setDelegateBridgeAndPlayer(bridge);
       delegate.start();
@@ -534,7 +658,8 @@ public class ServerGame extends AbstractGame {
     }
   }
 
-  private void notifyGameStepChanged(final boolean loadedFromSavedGame) {
+  @VisibleForTesting
+  void notifyGameStepChanged(final boolean loadedFromSavedGame) {
     final GameStep currentStep = getCurrentStep();
     final String stepName = currentStep.getName();
     final String delegateName = currentStep.getDelegate().getName();
@@ -542,7 +667,14 @@ public class ServerGame extends AbstractGame {
     final int round = m_data.getSequence().getRound();
     final PlayerID id = currentStep.getPlayerId();
     notifyGameStepListeners(stepName, delegateName, id, round, displayName);
-    getGameModifiedBroadcaster().stepChanged(stepName, delegateName, id, round, displayName, loadedFromSavedGame);
+    // like every other modification, the step change is broadcast during delegate execution, which joining observers
+    // block while they take the recorded modifications and start listening, so they get it exactly once
+    delegateExecutionManager.enterDelegateExecution();
+    try {
+      getGameModifiedBroadcaster().stepChanged(stepName, delegateName, id, round, displayName, loadedFromSavedGame);
+    } finally {
+      delegateExecutionManager.leaveDelegateExecution();
+    }
   }
 
   private void addPlayerTypesToGameData(final Collection<IGamePlayer> localPlayers, final PlayerManager allPlayers,
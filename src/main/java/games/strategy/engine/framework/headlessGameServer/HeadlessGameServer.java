@@ -477,7 +477,7 @@ public class HeadlessGameServer {
         GameRunner.LOBBY_GAME_COMMENTS, GameRunner.LOBBY_GAME_HOSTED_BY, GameRunner.LOBBY_GAME_SUPPORT_EMAIL,
         GameRunner.LOBBY_GAME_SUPPORT_PASSWORD, GameRunner.LOBBY_GAME_RECONNECTION,
         GameRunner.TRIPLEA_SERVER_START_GAME_SYNC_WAIT_TIME, GameRunner.TRIPLEA_SERVER_OBSERVER_JOIN_WAIT_TIME,
-        GameRunner.MAP_FOLDER};
+        GameRunner.TRIPLEA_PERFORMANCE_STATISTICS, GameRunner.MAP_FOLDER};
   }
 
   String getStatus() {
@@ -682,6 +682,8 @@ public class HeadlessGameServer {
         + "=<seconds to wait for all clients to start the game>\n"
         + "   " + GameRunner.TRIPLEA_SERVER_OBSERVER_JOIN_WAIT_TIME
         + "=<seconds to wait for an observer joining the game>\n"
+        + "   " + GameRunner.TRIPLEA_PERFORMANCE_STATISTICS
+        + "=<true/false, publish timings of the game engine as a JMX MBean>\n"
         + "   " + GameRunner.MAP_FOLDER + "=mapFolder"
         + "\n"
         + "   You must start the Name and HostedBy with \"Bot\".\n"
@@ -75,6 +75,10 @@ public class ClientModel implements IMessengerErrorListener {
   private Component m_ui;
   private IChatPanel m_chatPanel;
   private ClientGame m_game;
+  /**
+   * The game loaded by an observer waiting to join a running game.
+   */
+  private volatile GameData m_observerGameData;
   private boolean m_hostIsHeadlessBot = false;
   private final WaitWindow m_gameLoadingWindow = new WaitWindow();
   // we set the game data to be null, since we
@@ -254,19 +258,41 @@ public class ClientModel implements IMessengerErrorListener {
   };
   IObserverWaitingToJoin m_observerWaitingToJoin = new IObserverWaitingToJoin() {
     @Override
-    public void joinGame(final byte[] gameData, final Map<String, INode> players) {
+    public boolean loadGame(final byte[] gameData) {
+      showGameLoadingWindow();
+      try {
+        // this normally takes a couple seconds, but can take
+        // up to 60 seconds for a freaking huge game
+        m_observerGameData = GameDataManager.loadGame(new ByteArrayInputStream(gameData));
+      } catch (final IOException ex) {
+        ClientLogger.logQuietly("Failed to load the game to observe", ex);
+        m_observerGameData = null;
+      }
+      // if the game wasn't loaded, the server reports it through cannotJoinGame, which also hides the loading window
+      return m_observerGameData != null;
+    }
+
+    @Override
+    public void joinGame(final byte[] modifications, final Map<String, INode> players) {
       m_remoteMessenger.unregisterRemote(ServerModel.getObserverWaitingToStartName(m_messenger.getLocalNode()));
-      final CountDownLatch latch = new CountDownLatch(1);
-      startGame(gameData, players, latch, true);
+      final GameData data = m_observerGameData;
+      m_observerGameData = null;
+      if (data == null) {
+        m_gameLoadingWindow.doneWait();
+        return;
+      }
       try {
-        latch.await(GameRunner.MINIMUM_CLIENT_GAMEDATA_LOAD_GRACE_TIME, TimeUnit.SECONDS);
-      } catch (final InterruptedException e) {
-        ClientLogger.logQuietly(e);
+        startGameInNewThread(data, modifications, players, true);
+      } catch (final RuntimeException e) {
+        m_gameLoadingWindow.doneWait();
+        throw e;
       }
     }
 
     @Override
     public void cannotJoinGame(final String reason) {
+      m_observerGameData = null;
+      m_gameLoadingWindow.doneWait();
       SwingUtilities.invokeLater(() -> {
         m_typePanelModel.showSelectType();
         EventThreadJOptionPane.showMessageDialog(m_ui, "Could not join game: " + reason);
@@ -274,13 +300,17 @@ public class ClientModel implements IMessengerErrorListener {
     }
   };
 
-  private void startGame(final byte[] gameData, final Map<String, INode> players, final CountDownLatch onDone,
-      final boolean gameRunning) {
+  private void showGameLoadingWindow() {
     SwingUtilities.invokeLater(() -> {
       m_gameLoadingWindow.setVisible(true);
       m_gameLoadingWindow.setLocationRelativeTo(JOptionPane.getFrameForComponent(m_ui));
       m_gameLoadingWindow.showWait();
     });
+  }
+
+  private void startGame(final byte[] gameData, final Map<String, INode> players, final CountDownLatch onDone,
+      final boolean gameRunning) {
+    showGameLoadingWindow();
     try {
       startGameInNewThread(gameData, players, gameRunning);
     } catch (final RuntimeException e) {
@@ -304,6 +334,15 @@ public class ClientModel implements IMessengerErrorListener {
       ClientLogger.logQuietly(ex);
       return;
     }
+    startGameInNewThread(data, null, players, gameRunning);
+  }
+
+  /**
+   * @param modifications The modifications to replay on the game data before the game starts, or {@code null} if the
+   *        game data is up to date.
+   */
+  private void startGameInNewThread(final GameData data, final byte[] modifications,
+      final Map<String, INode> players, final boolean gameRunning) {
     m_objectStreamFactory.setData(data);
     final Map<String, String> playerMapping = new HashMap<>();
     for (final String player : m_playersToNodes.keySet()) {
@@ -315,6 +354,18 @@ public class ClientModel implements IMessengerErrorListener {
     final Set<IGamePlayer> playerSet = data.getGameLoader().createPlayers(playerMapping);
     final Messengers messengers = new Messengers(m_messenger, m_remoteMessenger, m_channelMessenger);
     m_game = new ClientGame(data, playerSet, players, messengers);
+    if (modifications != null) {
+      try {
+        m_game.replayGameModifications(modifications);
+      } catch (final IOException e) {
+        ClientLogger.logError("Failed to catch up with the game", e);
+        m_game.shutDown();
+        m_game = null;
+        m_messenger.shutDown();
+        m_gameLoadingWindow.doneWait();
+        return;
+      }
+    }
     new Thread(() -> {
       SwingUtilities.invokeLater(() -> JOptionPane.getFrameForComponent(m_ui).setVisible(false));
       try {
@@ -11,10 +11,21 @@ import games.strategy.net.INode;
  */
 public interface IObserverWaitingToJoin extends IRemote {
   /**
-   * This method should not return until the client is ready to start the game.
-   * This includes the display running, with all remote and channel listeners set up.
+   * Loads the game from a snapshot the server took of the running game. The game keeps running meanwhile, and is
+   * joined by a following call to {@link #joinGame(byte[], Map)}.
+   *
+   * @return {@code false} if the game could not be loaded, in which case the server does not let the observer join and
+   *         tells it why through {@link #cannotJoinGame(String)}.
    */
-  void joinGame(byte[] gameData, Map<String, INode> players);
+  boolean loadGame(byte[] gameData);
+
+  /**
+   * Replays the modifications made to the game since the snapshot passed to {@link #loadGame(byte[])} was taken, and
+   * joins the game. The game is paused until this method returns.
+   * This method should not return before the client listens to the game, with all remote and channel listeners set up,
+   * so that it receives every modification made after it returns. The display may still be starting on another thread.
+   */
+  void joinGame(byte[] modifications, Map<String, INode> players);
 
   /**
    * You could not join the game, usually this is due to an error.
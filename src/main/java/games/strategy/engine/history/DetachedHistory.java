@@ -0,0 +1,22 @@
+package games.strategy.engine.history;
+
+import java.io.Serializable;
+
+import games.strategy.engine.data.GameData;
+
+/**
+ * Stands in for a history whose content is stored apart from the game data, see
+ * {@link History#newContentExcludingOutputStream(java.io.OutputStream)}. It is read back as an empty history.
+ */
+class DetachedHistory implements Serializable {
+  private static final long serialVersionUID = 2938513405811704617L;
+  private final GameData m_data;
+
+  DetachedHistory(final GameData data) {
+    m_data = data;
+  }
+
+  public Object readResolve() {
+    return new History(m_data);
+  }
+}
@@ -1,8 +1,15 @@
 package games.strategy.engine.history;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 import javax.swing.SwingUtilities;
 import javax.swing.tree.DefaultMutableTreeNode;
@@ -11,7 +18,9 @@ import javax.swing.tree.DefaultTreeModel;
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.changefactory.ChangeFactory;
 import games.strategy.triplea.ui.history.HistoryPanel;
+import games.strategy.util.Tuple;
 
 /**
  * A history of the game.
@@ -24,6 +33,17 @@ import games.strategy.triplea.ui.history.HistoryPanel;
  * Round - the current round in the game, eg 1, 2, 3
  * Step - the current step, eg Britian Combat Move
  * Event - an event that happened in the game, eg Russia buys 8 inf.
+ *
+ * <p>
+ * The content of a history can be deferred with {@link #setDeferredContent(Callable)}, in which case it is read and
+ * replayed the first time the tree or the changes are accessed.
+ * </p>
+ *
+ * <p>
+ * Moving between two nodes performs the changes between them. The changes of each completed round are compacted into
+ * a checkpoint the first time they are passed, so that moving across many rounds performs one compacted change per
+ * round instead of every change of the round.
+ * </p>
  */
 public class History extends DefaultTreeModel {
   private static final long serialVersionUID = -1769876896869L;
@@ -32,6 +52,13 @@ public class History extends DefaultTreeModel {
   private final List<Change> m_changes = new ArrayList<>();
   private final GameData m_data;
   private HistoryNode m_currentNode;
+  private final transient Object m_contentLock = new Object();
+  // the stream holding the content written by writeContent, read on first access
+  private transient volatile Callable<ObjectInputStream> m_deferredContent;
+  // the thread replaying the deferred content, which is the only thread the writer lets skip the game data lock
+  private transient volatile Thread m_replayingThread;
+  // the compacted changes of completed rounds, keyed by the index of the first change of the round and of the next
+  private final transient Map<Tuple<Integer, Integer>, Change> m_roundCheckpoints = new HashMap<>();
 
   private void assertCorrectThread() {
     if (m_data.areChangesOnlyInSwingEventThread() && !SwingUtilities.isEventDispatchThread()) {
@@ -45,9 +72,89 @@ public class History extends DefaultTreeModel {
   }
 
   public HistoryWriter getHistoryWriter() {
+    ensureContentLoaded();
     return m_writer;
   }
 
+  @Override
+  public Object getRoot() {
+    ensureContentLoaded();
+    return super.getRoot();
+  }
+
+  /**
+   * Sets the stream to read the content of this history from, once it is first needed. The stream must contain the
+   * content written by {@link #writeContent(ObjectOutputStream)}, and this history must be empty.
+   */
+  public void setDeferredContent(final Callable<ObjectInputStream> content) {
+    m_deferredContent = content;
+  }
+
+  private void ensureContentLoaded() {
+    if (m_deferredContent == null) {
+      return;
+    }
+    synchronized (m_contentLock) {
+      // the replay itself goes through the writer, which must see the partial tree
+      if (m_deferredContent == null || m_replayingThread == Thread.currentThread()) {
+        return;
+      }
+      m_replayingThread = Thread.currentThread();
+      try (final ObjectInputStream in = m_deferredContent.call()) {
+        @SuppressWarnings("unchecked")
+        final List<SerializationWriter> writers = (List<SerializationWriter>) in.readObject();
+        for (final SerializationWriter writer : writers) {
+          writer.write(m_writer);
+        }
+      } catch (final Exception e) {
+        throw new IllegalStateException("Failed to load the game history", e);
+      } finally {
+        m_replayingThread = null;
+        m_deferredContent = null;
+      }
+    }
+  }
+
+  /**
+   * @return true if the current thread is replaying deferred content, in which case the writer does not lock the game
+   *         data. Other threads wait for the replay to finish and then lock as usual.
+   */
+  boolean isReplayingContentOnCurrentThread() {
+    return m_replayingThread == Thread.currentThread();
+  }
+
+  /**
+   * Writes the nodes and changes of this history, to be read back by {@link #setDeferredContent(Callable)}.
+   *
+   * <p>
+   * <strong>You should have the game data's read or write lock before calling this method</strong>
+   * </p>
+   */
+  public void writeContent(final ObjectOutputStream out) throws IOException {
+    ensureContentLoaded();
+    out.writeObject(new SerializedHistory(this, m_data, m_changes).getWriters());
+  }
+
+  /**
+   * Creates a stream that writes any history without its content, which must be written separately with
+   * {@link #writeContent(ObjectOutputStream)}.
+   */
+  public static ObjectOutputStream newContentExcludingOutputStream(final OutputStream out) throws IOException {
+    return new ContentExcludingOutputStream(out);
+  }
+
+  private static final class ContentExcludingOutputStream extends ObjectOutputStream {
+    ContentExcludingOutputStream(final OutputStream out) throws IOException {
+      super(out);
+      enableReplaceObject(true);
+    }
+
+    @Override
+    protected Object replaceObject(final Object obj) {
+      return (obj instanceof SerializedHistory) ? new DetachedHistory(((SerializedHistory) obj).getGameData()) : obj;
+    }
+  }
+
   HistoryPanel m_panel = null;
 
   public void setTreePanel(final HistoryPanel panel) {
@@ -55,7 +162,7 @@ public class History extends DefaultTreeModel {
   }
 
   public void goToEnd() {
-    if (m_panel != null) {
+    if (m_panel != null && !isReplayingContentOnCurrentThread()) {
       m_panel.goToEnd();
     }
   }
@@ -93,14 +200,14 @@ public class History extends DefaultTreeModel {
 
   public Change getDelta(final HistoryNode start, final HistoryNode end) {
     assertCorrectThread();
+    ensureContentLoaded();
     final int firstChange = getLastChange(start);
     final int lastChange = getLastChange(end);
     if (firstChange == lastChange) {
       return null;
     }
-    final List<Change> changes =
-        m_changes.subList(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange));
-    final Change compositeChange = new CompositeChange(changes);
+    final Change compositeChange =
+        new CompositeChange(getChanges(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange)));
     if (lastChange >= firstChange) {
       return compositeChange;
     } else {
@@ -108,6 +215,39 @@ public class History extends DefaultTreeModel {
     }
   }
 
+  /**
+   * @return The changes from the first index to the last index, with the checkpoints of the rounds in between.
+   */
+  private List<Change> getChanges(final int firstChange, final int lastChange) {
+    final List<Change> changes = new ArrayList<>();
+    int index = firstChange;
+    Round previousRound = null;
+    for (int i = 0; i < ((HistoryNode) getRoot()).getChildCount(); i++) {
+      final Object child = ((HistoryNode) getRoot()).getChildAt(i);
+      if (!(child instanceof Round)) {
+        continue;
+      }
+      final Round round = (Round) child;
+      if (previousRound != null) {
+        final int roundStart = previousRound.getChangeStartIndex();
+        final int roundEnd = round.getChangeStartIndex();
+        if (roundStart >= index && roundEnd <= lastChange) {
+          changes.addAll(m_changes.subList(index, roundStart));
+          changes.add(getRoundCheckpoint(roundStart, roundEnd));
+          index = roundEnd;
+        }
+      }
+      previousRound = round;
+    }
+    changes.addAll(m_changes.subList(index, lastChange));
+    return changes;
+  }
+
+  private synchronized Change getRoundCheckpoint(final int roundStart, final int roundEnd) {
+    return m_roundCheckpoints.computeIfAbsent(Tuple.of(roundStart, roundEnd),
+        key -> ChangeFactory.compact(m_changes.subList(roundStart, roundEnd)));
+  }
+
   public synchronized void gotoNode(final HistoryNode node) {
     assertCorrectThread();
     getGameData().acquireWriteLock();
@@ -131,6 +271,7 @@ public class History extends DefaultTreeModel {
     getGameData().acquireWriteLock();
     try {
       final int lastChange = getLastChange(removeAfterNode) + 1;
+      m_roundCheckpoints.clear();
       while (m_changes.size() > lastChange) {
         m_changes.remove(lastChange);
       }
@@ -158,21 +299,31 @@ public class History extends DefaultTreeModel {
     }
   }
 
-  synchronized void changeAdded(final Change change) {
-    m_changes.add(change);
-    if (m_currentNode == null) {
+  void changeAdded(final Change change) {
+    ensureContentLoaded();
+    if (isReplayingContentOnCurrentThread()) {
+      // the replaying thread must not wait for threads that are waiting for the replay
+      m_changes.add(change);
       return;
     }
-    if (m_currentNode == getLastNode()) {
-      m_data.performChange(change);
+    synchronized (this) {
+      m_changes.add(change);
+      if (m_currentNode == null) {
+        return;
+      }
+      if (m_currentNode == getLastNode()) {
+        m_data.performChange(change);
+      }
     }
   }
 
   private Object writeReplace() {
+    ensureContentLoaded();
     return new SerializedHistory(this, m_data, m_changes);
   }
 
   List<Change> getChanges() {
+    ensureContentLoaded();
     return m_changes;
   }
 
@@ -21,7 +21,8 @@ public class HistoryWriter implements Serializable {
   }
 
   private void assertCorrectThread() {
-    if (m_history.getGameData().areChangesOnlyInSwingEventThread() && !SwingUtilities.isEventDispatchThread()) {
+    if (!m_history.isReplayingContentOnCurrentThread() && m_history.getGameData().areChangesOnlyInSwingEventThread()
+        && !SwingUtilities.isEventDispatchThread()) {
       throw new IllegalStateException("Wrong thread");
     }
   }
@@ -69,7 +70,7 @@ public class HistoryWriter implements Serializable {
   private void closeCurrent() {
     assertCorrectThread();
     final HistoryNode old = m_current;
-    m_history.getGameData().acquireWriteLock();
+    acquireWriteLock();
     try {
       // remove steps where nothing happened
       if (isCurrentStep()) {
@@ -85,6 +86,20 @@ public class HistoryWriter implements Serializable {
       m_current = (HistoryNode) m_current.getParent();
       ((IndexedHistoryNode) old).setChangeEndIndex(m_history.getChanges().size());
     } finally {
+      releaseWriteLock();
+    }
+  }
+
+  // deferred content is replayed while other threads wait for it, possibly holding the game data lock, so only the
+  // replaying thread skips the lock
+  private void acquireWriteLock() {
+    if (!m_history.isReplayingContentOnCurrentThread()) {
+      m_history.getGameData().acquireWriteLock();
+    }
+  }
+
+  private void releaseWriteLock() {
+    if (!m_history.isReplayingContentOnCurrentThread()) {
       m_history.getGameData().releaseWriteLock();
     }
   }
@@ -95,11 +110,11 @@ public class HistoryWriter implements Serializable {
   }
 
   private void addToCurrent(final HistoryNode newNode) {
-    m_history.getGameData().acquireWriteLock();
+    acquireWriteLock();
     try {
       m_history.insertNodeInto(newNode, m_current, m_current.getChildCount());
     } finally {
-      m_history.getGameData().releaseWriteLock();
+      releaseWriteLock();
     }
     m_history.goToEnd();
   }
@@ -162,11 +177,11 @@ public class HistoryWriter implements Serializable {
           .printStackTrace(System.out);
       startEvent("???");
     }
-    m_history.getGameData().acquireWriteLock();
+    acquireWriteLock();
     try {
       ((Event) m_current).setRenderingData(details);
     } finally {
-      m_history.getGameData().releaseWriteLock();
+      releaseWriteLock();
     }
     m_history.goToEnd();
   }
@@ -43,6 +43,14 @@ class SerializedHistory implements Serializable {
     }
   }
 
+  List<SerializationWriter> getWriters() {
+    return m_Writers;
+  }
+
+  GameData getGameData() {
+    return m_data;
+  }
+
   public Object readResolve() {
     final History history = new History(m_data);
     final HistoryWriter historyWriter = history.getHistoryWriter();
@@ -4,11 +4,15 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.logging.Logger;
 
 import javax.swing.SwingUtilities;
 import javax.swing.table.AbstractTableModel;
 
 import games.strategy.engine.lobby.server.GameDescription;
+import games.strategy.engine.lobby.server.GameDescriptionDelta;
+import games.strategy.engine.lobby.server.GameListDelta;
+import games.strategy.engine.lobby.server.GameListSnapshot;
 import games.strategy.engine.lobby.server.ILobbyGameBroadcaster;
 import games.strategy.engine.lobby.server.ILobbyGameController;
 import games.strategy.engine.message.IChannelMessenger;
@@ -20,16 +24,21 @@ import games.strategy.util.Tuple;
 
 class LobbyGameTableModel extends AbstractTableModel {
   private static final long serialVersionUID = 6399458368730633993L;
+  private static final Logger logger = Logger.getLogger(LobbyGameTableModel.class.getName());
 
   enum Column {
     Host, Name, GV, Round, Players, P, B, EV, Started, Status, Comments, GUID
   }
 
   private final IMessenger m_messenger;
+  private final ILobbyGameController lobbyGameController;
 
   // these must only be accessed in the swing event thread
   private final List<Tuple<GUID, GameDescription>> gameList;
   private final ILobbyGameBroadcaster lobbyGameBroadcaster;
+  // the version of the game list, or -1 while a snapshot is loading and deltas are kept in pendingDeltas
+  private long gameListVersion = -1;
+  private final List<GameListDelta> pendingDeltas = new ArrayList<>();
 
   LobbyGameTableModel(final IMessenger messenger, final IChannelMessenger channelMessenger,
       final IRemoteMessenger remoteMessenger) {
@@ -49,29 +58,82 @@ class LobbyGameTableModel extends AbstractTableModel {
         assertSentFromServer();
         removeGame(gameId);
       }
+
+      @Override
+      public void gameListChanged(final GameListDelta delta) {
+        assertSentFromServer();
+        SwingUtilities.invokeLater(() -> applyDelta(delta));
+      }
     };
     channelMessenger.registerChannelSubscriber(lobbyGameBroadcaster, ILobbyGameBroadcaster.GAME_BROADCASTER_CHANNEL);
 
-    final Map<GUID, GameDescription> games =
-        ((ILobbyGameController) remoteMessenger.getRemote(ILobbyGameController.GAME_CONTROLLER_REMOTE)).listGames();
-    for (final GUID id : games.keySet()) {
-      updateGame(id, games.get(id));
+    lobbyGameController =
+        (ILobbyGameController) remoteMessenger.getRemote(ILobbyGameController.GAME_CONTROLLER_REMOTE);
+    final GameListSnapshot games = lobbyGameController.getGameList();
+    SwingUtilities.invokeLater(() -> loadGameList(games));
+  }
+
+  /**
+   * Replaces the games with those of the snapshot, then applies the deltas received while the snapshot was loaded.
+   */
+  private void loadGameList(final GameListSnapshot snapshot) {
+    gameList.clear();
+    for (final Map.Entry<GUID, GameDescription> game : snapshot.getGames().entrySet()) {
+      gameList.add(Tuple.of(game.getKey(), game.getValue()));
     }
+    fireTableDataChanged();
+    gameListVersion = snapshot.getVersion();
+    final List<GameListDelta> deltas = new ArrayList<>(pendingDeltas);
+    pendingDeltas.clear();
+    deltas.forEach(this::applyDelta);
   }
 
-  private void removeGame(final GUID gameId) {
-    SwingUtilities.invokeLater(() -> {
-      if (gameId == null) {
-        return;
+  private void applyDelta(final GameListDelta delta) {
+    if (gameListVersion < 0) {
+      pendingDeltas.add(delta);
+      return;
+    }
+    if (delta.getToVersion() <= gameListVersion) {
+      // already part of the loaded snapshot
+      return;
+    }
+    if (delta.getFromVersion() != gameListVersion) {
+      logger.warning("Missed game list changes from version " + gameListVersion + " to " + delta.getFromVersion()
+          + ", reloading game list");
+      gameListVersion = -1;
+      pendingDeltas.add(delta);
+      new Thread(() -> {
+        final GameListSnapshot snapshot = lobbyGameController.getGameList();
+        SwingUtilities.invokeLater(() -> loadGameList(snapshot));
+      }, "Reload lobby game list").start();
+      return;
+    }
+    delta.getRemovedGames().forEach(this::removeGameInSwingThread);
+    delta.getAddedGames().forEach(this::updateGameInSwingThread);
+    for (final Map.Entry<GUID, GameDescriptionDelta> change : delta.getChangedGames().entrySet()) {
+      final Tuple<GUID, GameDescription> game = findGame(change.getKey());
+      if (game != null) {
+        updateGameInSwingThread(change.getKey(), change.getValue().applyTo(game.getSecond()));
       }
+    }
+    gameListVersion = delta.getToVersion();
+  }
 
-      final Tuple<GUID, GameDescription> gameToRemove = findGame(gameId);
-      if (gameToRemove != null) {
-        final int index = gameList.indexOf(gameToRemove);
-        gameList.remove(gameToRemove);
-        fireTableRowsDeleted(index, index);
-      }
-    });
+  private void removeGame(final GUID gameId) {
+    SwingUtilities.invokeLater(() -> removeGameInSwingThread(gameId));
+  }
+
+  private void removeGameInSwingThread(final GUID gameId) {
+    if (gameId == null) {
+      return;
+    }
+
+    final Tuple<GUID, GameDescription> gameToRemove = findGame(gameId);
+    if (gameToRemove != null) {
+      final int index = gameList.indexOf(gameToRemove);
+      gameList.remove(gameToRemove);
+      fireTableRowsDeleted(index, index);
+    }
   }
 
   private Tuple<GUID, GameDescription> findGame(final GUID gameId) {
@@ -107,20 +169,23 @@ class LobbyGameTableModel extends AbstractTableModel {
   }
 
   private void updateGame(final GUID gameId, final GameDescription description) {
-    SwingUtilities.invokeLater(() -> {
-      if (gameId == null) {
-        return;
-      }
+    SwingUtilities.invokeLater(() -> updateGameInSwingThread(gameId, description));
+  }
 
-      final Tuple<GUID, GameDescription> toReplace = findGame(gameId);
-      if (toReplace == null) {
-        gameList.add(Tuple.of(gameId, description));
-      } else {
-        final int replaceIndex = gameList.indexOf(toReplace);
-        gameList.set(replaceIndex, Tuple.of(gameId, description));
-        fireTableRowsUpdated(replaceIndex, replaceIndex);
-      }
-    });
+  private void updateGameInSwingThread(final GUID gameId, final GameDescription description) {
+    if (gameId == null) {
+      return;
+    }
+
+    final Tuple<GUID, GameDescription> toReplace = findGame(gameId);
+    if (toReplace == null) {
+      gameList.add(Tuple.of(gameId, description));
+      fireTableRowsInserted(gameList.size() - 1, gameList.size() - 1);
+    } else {
+      final int replaceIndex = gameList.indexOf(toReplace);
+      gameList.set(replaceIndex, Tuple.of(gameId, description));
+      fireTableRowsUpdated(replaceIndex, replaceIndex);
+    }
   }
 
   @Override
@@ -92,6 +92,10 @@ public class GameDescription implements Externalizable, Cloneable {
     return m_version;
   }
 
+  void setVersion(final int version) {
+    m_version = version;
+  }
+
   public void setGameName(final String gameName) {
     m_version++;
     m_gameName = gameName;
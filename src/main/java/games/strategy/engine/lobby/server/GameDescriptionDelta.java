@@ -0,0 +1,264 @@
+package games.strategy.engine.lobby.server;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.time.Instant;
+import java.util.Objects;
+
+import games.strategy.engine.lobby.server.GameDescription.GameStatus;
+import games.strategy.net.Node;
+
+/**
+ * The fields of a {@link GameDescription} that changed between two versions of the description, so that a change of
+ * the player count or round is sent without the rest of the description.
+ *
+ * <p>
+ * The bot support email of a description is set when it is created and is not part of a delta.
+ * </p>
+ */
+public final class GameDescriptionDelta implements Externalizable {
+  private static final long serialVersionUID = -3532512870734519420L;
+
+  enum Field {
+    HOSTED_BY, PORT, START_DATE_TIME, GAME_NAME, PLAYER_COUNT, ROUND, STATUS, HOST_NAME, COMMENT, PASSWORDED,
+    ENGINE_VERSION, GAME_VERSION
+  }
+
+  private int version;
+  private int changedFields;
+  private GameDescription values;
+
+  // for Externalizable
+  public GameDescriptionDelta() {}
+
+  private GameDescriptionDelta(final int version, final int changedFields, final GameDescription values) {
+    this.version = version;
+    this.changedFields = changedFields;
+    this.values = values;
+  }
+
+  /**
+   * @return The fields that differ between the two descriptions, with the values and version of the second one.
+   */
+  public static GameDescriptionDelta between(final GameDescription from, final GameDescription to) {
+    int changedFields = 0;
+    for (final Field field : Field.values()) {
+      if (!Objects.equals(get(field, from), get(field, to))) {
+        changedFields |= 1 << field.ordinal();
+      }
+    }
+    return new GameDescriptionDelta(to.getVersion(), changedFields, to);
+  }
+
+  /**
+   * @return A copy of the description with the changed fields and version of this delta.
+   */
+  public GameDescription applyTo(final GameDescription description) {
+    final GameDescription changed = (GameDescription) description.clone();
+    for (final Field field : Field.values()) {
+      if (isChanged(field)) {
+        set(field, changed, values);
+      }
+    }
+    changed.setVersion(version);
+    return changed;
+  }
+
+  public int getVersion() {
+    return version;
+  }
+
+  public boolean isEmpty() {
+    return changedFields == 0;
+  }
+
+  boolean isChanged(final Field field) {
+    return (changedFields & (1 << field.ordinal())) != 0;
+  }
+
+  private static Object get(final Field field, final GameDescription description) {
+    switch (field) {
+      case HOSTED_BY:
+        return description.getHostedBy();
+      case PORT:
+        return description.getPort();
+      case START_DATE_TIME:
+        return description.getStartDateTime();
+      case GAME_NAME:
+        return description.getGameName();
+      case PLAYER_COUNT:
+        return description.getPlayerCount();
+      case ROUND:
+        return description.getRound();
+      case STATUS:
+        return description.getStatus();
+      case HOST_NAME:
+        return description.getHostName();
+      case COMMENT:
+        return description.getComment();
+      case PASSWORDED:
+        return description.getPassworded();
+      case ENGINE_VERSION:
+        return description.getEngineVersion();
+      case GAME_VERSION:
+        return description.getGameVersion();
+      default:
+        throw new IllegalStateException("Unknown field:" + field);
+    }
+  }
+
+  private static void set(final Field field, final GameDescription description, final GameDescription values) {
+    switch (field) {
+      case HOSTED_BY:
+        description.setHostedBy(values.getHostedBy());
+        break;
+      case PORT:
+        description.setPort(values.getPort());
+        break;
+      case START_DATE_TIME:
+        description.setStartDateTime(values.getStartDateTime());
+        break;
+      case GAME_NAME:
+        description.setGameName(values.getGameName());
+        break;
+      case PLAYER_COUNT:
+        description.setPlayerCount(values.getPlayerCount());
+        break;
+      case ROUND:
+        description.setRound(values.getRound());
+        break;
+      case STATUS:
+        description.setStatus(values.getStatus());
+        break;
+      case HOST_NAME:
+        description.setHostName(values.getHostName());
+        break;
+      case COMMENT:
+        description.setComment(values.getComment());
+        break;
+      case PASSWORDED:
+        description.setPassworded(values.getPassworded());
+        break;
+      case ENGINE_VERSION:
+        description.setEngineVersion(values.getEngineVersion());
+        break;
+      case GAME_VERSION:
+        description.setGameVersion(values.getGameVersion());
+        break;
+      default:
+        throw new IllegalStateException("Unknown field:" + field);
+    }
+  }
+
+  @Override
+  public void writeExternal(final ObjectOutput out) throws IOException {
+    out.writeInt(version);
+    out.writeShort(changedFields);
+    for (final Field field : Field.values()) {
+      if (!isChanged(field)) {
+        continue;
+      }
+      switch (field) {
+        case HOSTED_BY:
+          ((Node) values.getHostedBy()).writeExternal(out);
+          break;
+        case PORT:
+          out.writeInt(values.getPort());
+          break;
+        case START_DATE_TIME:
+          out.writeLong(values.getStartDateTime().toEpochMilli());
+          break;
+        case GAME_NAME:
+          out.writeUTF(values.getGameName());
+          break;
+        case PLAYER_COUNT:
+          out.writeByte(values.getPlayerCount());
+          break;
+        case ROUND:
+          out.writeUTF(values.getRound());
+          break;
+        case STATUS:
+          out.writeByte(values.getStatus().ordinal());
+          break;
+        case HOST_NAME:
+          out.writeUTF(values.getHostName());
+          break;
+        case COMMENT:
+          out.writeUTF(values.getComment());
+          break;
+        case PASSWORDED:
+          out.writeBoolean(values.getPassworded());
+          break;
+        case ENGINE_VERSION:
+          out.writeUTF(values.getEngineVersion());
+          break;
+        case GAME_VERSION:
+          out.writeUTF(values.getGameVersion());
+          break;
+        default:
+          throw new IllegalStateException("Unknown field:" + field);
+      }
+    }
+  }
+
+  @Override
+  public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+    version = in.readInt();
+    changedFields = in.readShort();
+    values = new GameDescription();
+    for (final Field field : Field.values()) {
+      if (!isChanged(field)) {
+        continue;
+      }
+      switch (field) {
+        case HOSTED_BY:
+          final Node hostedBy = new Node();
+          hostedBy.readExternal(in);
+          values.setHostedBy(hostedBy);
+          break;
+        case PORT:
+          values.setPort(in.readInt());
+          break;
+        case START_DATE_TIME:
+          values.setStartDateTime(Instant.ofEpochMilli(in.readLong()));
+          break;
+        case GAME_NAME:
+          values.setGameName(in.readUTF());
+          break;
+        case PLAYER_COUNT:
+          values.setPlayerCount(in.readByte());
+          break;
+        case ROUND:
+          values.setRound(in.readUTF());
+          break;
+        case STATUS:
+          values.setStatus(GameStatus.values()[in.readByte()]);
+          break;
+        case HOST_NAME:
+          values.setHostName(in.readUTF());
+          break;
+        case COMMENT:
+          values.setComment(in.readUTF());
+          break;
+        case PASSWORDED:
+          values.setPassworded(in.readBoolean());
+          break;
+        case ENGINE_VERSION:
+          values.setEngineVersion(in.readUTF());
+          break;
+        case GAME_VERSION:
+          values.setGameVersion(in.readUTF());
+          break;
+        default:
+          throw new IllegalStateException("Unknown field:" + field);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "GameDescriptionDelta version:" + version + " changed fields:" + Integer.toBinaryString(changedFields);
+  }
+}
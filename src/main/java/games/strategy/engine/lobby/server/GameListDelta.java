@@ -0,0 +1,51 @@
+package games.strategy.engine.lobby.server;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import games.strategy.net.GUID;
+
+/**
+ * The games added, changed and removed between two consecutive versions of the game list of the lobby. The changes of
+ * a game made between the two versions are merged into one {@link GameDescriptionDelta}.
+ */
+public final class GameListDelta implements Serializable {
+  private static final long serialVersionUID = 6004931713432574066L;
+
+  private final long fromVersion;
+  private final long toVersion;
+  private final Map<GUID, GameDescription> addedGames;
+  private final Map<GUID, GameDescriptionDelta> changedGames;
+  private final Set<GUID> removedGames;
+
+  public GameListDelta(final long fromVersion, final long toVersion, final Map<GUID, GameDescription> addedGames,
+      final Map<GUID, GameDescriptionDelta> changedGames, final Set<GUID> removedGames) {
+    this.fromVersion = fromVersion;
+    this.toVersion = toVersion;
+    this.addedGames = Collections.unmodifiableMap(addedGames);
+    this.changedGames = Collections.unmodifiableMap(changedGames);
+    this.removedGames = Collections.unmodifiableSet(removedGames);
+  }
+
+  public long getFromVersion() {
+    return fromVersion;
+  }
+
+  public long getToVersion() {
+    return toVersion;
+  }
+
+  public Map<GUID, GameDescription> getAddedGames() {
+    return addedGames;
+  }
+
+  public Map<GUID, GameDescriptionDelta> getChangedGames() {
+    return changedGames;
+  }
+
+  public Set<GUID> getRemovedGames() {
+    return removedGames;
+  }
+}
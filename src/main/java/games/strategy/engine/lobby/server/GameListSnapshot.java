@@ -0,0 +1,36 @@
+package games.strategy.engine.lobby.server;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import games.strategy.net.GUID;
+
+/**
+ * The games of the lobby as of one version of the game list. Each {@link GameListDelta} broadcast by the lobby moves
+ * the game list from one version to the next.
+ *
+ * <p>
+ * Instances of this class are immutable, so the lobby hands the same snapshot to every client that asks for it.
+ * </p>
+ */
+public final class GameListSnapshot implements Serializable {
+  private static final long serialVersionUID = 2209634364218497735L;
+
+  private final long version;
+  private final Map<GUID, GameDescription> games;
+
+  public GameListSnapshot(final long version, final Map<GUID, GameDescription> games) {
+    this.version = version;
+    this.games = Collections.unmodifiableMap(new HashMap<>(games));
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public Map<GUID, GameDescription> getGames() {
+    return games;
+  }
+}
@@ -11,4 +11,9 @@ public interface ILobbyGameBroadcaster extends IChannelSubscribor {
   void gameUpdated(GUID gameId, GameDescription description);
 
   void gameRemoved(GUID gameId);
+
+  /**
+   * Moves the game list of the subscriber from one version to the next.
+   */
+  void gameListChanged(GameListDelta delta);
 }
@@ -16,6 +16,12 @@ public interface ILobbyGameController extends IRemote {
 
   Map<GUID, GameDescription> listGames();
 
+  /**
+   * Returns the games of the lobby as of the latest version of the game list. The {@link GameListDelta}s broadcast on
+   * {@link ILobbyGameBroadcaster#GAME_BROADCASTER_CHANNEL} move the game list from this version on.
+   */
+  GameListSnapshot getGameList();
+
   /**
    * Test if the server can connect to the game at this address. This is used to see if the client address is network
    * accessible
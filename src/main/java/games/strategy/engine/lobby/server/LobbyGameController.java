@@ -3,14 +3,22 @@ package games.strategy.engine.lobby.server;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.google.common.annotations.VisibleForTesting;
+
 import games.strategy.engine.message.IRemoteMessenger;
 import games.strategy.engine.message.MessageContext;
 import games.strategy.net.GUID;
@@ -19,14 +27,40 @@ import games.strategy.net.IMessenger;
 import games.strategy.net.INode;
 import games.strategy.net.IServerMessenger;
 
+/**
+ * Keeps the games hosted in the lobby and broadcasts the changes of the game list to the lobby clients.
+ *
+ * <p>
+ * Changes are not broadcast as they arrive. The games changed within {@value #BROADCAST_INTERVAL_MILLIS} ms are
+ * published together as the next version of the game list, and broadcast as one {@link GameListDelta} that holds
+ * only the changed fields of each changed game. Clients load the published version with {@link #getGameList()},
+ * which is shared by all of them.
+ * </p>
+ */
 class LobbyGameController implements ILobbyGameController {
+  @VisibleForTesting
+  static final long BROADCAST_INTERVAL_MILLIS = 500;
   private static final Logger logger = Logger.getLogger(LobbyGameController.class.getName());
-  private final Object m_mutex = new Object();
-  private final Map<GUID, GameDescription> m_allGames = new HashMap<>();
+  private final Map<GUID, GameDescription> m_allGames = new ConcurrentHashMap<>();
+  private final Set<GUID> m_changedGames = ConcurrentHashMap.newKeySet();
+  private final AtomicBoolean m_broadcastScheduled = new AtomicBoolean();
+  private final ScheduledExecutorService m_broadcastScheduler;
   private final ILobbyGameBroadcaster m_broadcaster;
+  private volatile GameListSnapshot m_publishedGames = new GameListSnapshot(0, Collections.emptyMap());
 
   LobbyGameController(final ILobbyGameBroadcaster broadcaster, final IMessenger messenger) {
+    this(broadcaster, messenger, Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "Lobby game list broadcaster");
+      thread.setDaemon(true);
+      return thread;
+    }));
+  }
+
+  @VisibleForTesting
+  LobbyGameController(final ILobbyGameBroadcaster broadcaster, final IMessenger messenger,
+      final ScheduledExecutorService broadcastScheduler) {
     m_broadcaster = broadcaster;
+    m_broadcastScheduler = broadcastScheduler;
     ((IServerMessenger) messenger).addConnectionChangeListener(new IConnectionChangeListener() {
       @Override
       public void connectionRemoved(final INode to) {
@@ -39,21 +73,60 @@ class LobbyGameController implements ILobbyGameController {
   }
 
   private void connectionLost(final INode to) {
-    final List<GUID> removed = new ArrayList<>();
-    synchronized (m_mutex) {
-      final Iterator<GUID> keys = m_allGames.keySet().iterator();
-      while (keys.hasNext()) {
-        final GUID key = keys.next();
-        final GameDescription game = m_allGames.get(key);
-        if (game.getHostedBy().equals(to)) {
-          keys.remove();
-          removed.add(key);
+    for (final Map.Entry<GUID, GameDescription> game : m_allGames.entrySet()) {
+      if (game.getValue().getHostedBy().equals(to) && m_allGames.remove(game.getKey(), game.getValue())) {
+        gameChanged(game.getKey());
+      }
+    }
+  }
+
+  private void gameChanged(final GUID gameId) {
+    m_changedGames.add(gameId);
+    if (m_broadcastScheduled.compareAndSet(false, true)) {
+      m_broadcastScheduler.schedule(this::broadcastChanges, BROADCAST_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Publishes the games changed since the last broadcast as the next version of the game list, and broadcasts the
+   * difference. Only called on the broadcast scheduler.
+   */
+  @VisibleForTesting
+  void broadcastChanges() {
+    m_broadcastScheduled.set(false);
+    final GameListSnapshot published = m_publishedGames;
+    final Map<GUID, GameDescription> games = new HashMap<>(published.getGames());
+    final Map<GUID, GameDescription> addedGames = new HashMap<>();
+    final Map<GUID, GameDescriptionDelta> changedGames = new HashMap<>();
+    final Set<GUID> removedGames = new HashSet<>();
+    for (final Iterator<GUID> changed = m_changedGames.iterator(); changed.hasNext();) {
+      final GUID gameId = changed.next();
+      changed.remove();
+      final GameDescription previous = games.get(gameId);
+      final GameDescription current = m_allGames.get(gameId);
+      if (current == null) {
+        if (previous != null) {
+          games.remove(gameId);
+          removedGames.add(gameId);
+        }
+      } else if (previous == null) {
+        games.put(gameId, current);
+        addedGames.put(gameId, current);
+      } else if (previous != current) {
+        games.put(gameId, current);
+        final GameDescriptionDelta delta = GameDescriptionDelta.between(previous, current);
+        if (!delta.isEmpty()) {
+          changedGames.put(gameId, delta);
         }
       }
     }
-    for (final GUID guid : removed) {
-      m_broadcaster.gameRemoved(guid);
+    if (addedGames.isEmpty() && changedGames.isEmpty() && removedGames.isEmpty()) {
+      return;
     }
+    final GameListSnapshot next = new GameListSnapshot(published.getVersion() + 1, games);
+    m_publishedGames = next;
+    m_broadcaster.gameListChanged(
+        new GameListDelta(published.getVersion(), next.getVersion(), addedGames, changedGames, removedGames));
   }
 
   @Override
@@ -61,10 +134,8 @@ class LobbyGameController implements ILobbyGameController {
     final INode from = MessageContext.getSender();
     assertCorrectHost(description, from);
     logger.info("Game added:" + description);
-    synchronized (m_mutex) {
-      m_allGames.put(gameId, description);
-    }
-    m_broadcaster.gameUpdated(gameId, description);
+    m_allGames.put(gameId, description);
+    gameChanged(gameId);
   }
 
   private static void assertCorrectHost(final GameDescription description, final INode from) {
@@ -81,26 +152,36 @@ class LobbyGameController implements ILobbyGameController {
     if (logger.isLoggable(Level.FINE)) {
       logger.fine("Game updated:" + description);
     }
-    synchronized (m_mutex) {
-      final GameDescription oldDescription = m_allGames.get(gameId);
+    final GameDescription oldDescription = m_allGames.get(gameId);
+    if (oldDescription == null) {
+      throw new IllegalStateException("No such game:" + gameId);
+    }
+    if (!oldDescription.getHostedBy().equals(description.getHostedBy())) {
+      throw new IllegalStateException("Game modified by wrong host");
+    }
+    final boolean[] updated = {false};
+    m_allGames.computeIfPresent(gameId, (id, latestDescription) -> {
       // out of order updates
       // ignore, we already have the latest
-      if (oldDescription.getVersion() > description.getVersion()) {
-        return;
+      if (latestDescription.getVersion() > description.getVersion()) {
+        return latestDescription;
       }
-      if (!oldDescription.getHostedBy().equals(description.getHostedBy())) {
-        throw new IllegalStateException("Game modified by wrong host");
-      }
-      m_allGames.put(gameId, description);
+      updated[0] = true;
+      return description;
+    });
+    if (updated[0]) {
+      gameChanged(gameId);
     }
-    m_broadcaster.gameUpdated(gameId, description);
   }
 
   @Override
   public Map<GUID, GameDescription> listGames() {
-    synchronized (m_mutex) {
-      return new HashMap<>(m_allGames);
-    }
+    return m_publishedGames.getGames();
+  }
+
+  @Override
+  public GameListSnapshot getGameList() {
+    return m_publishedGames;
   }
 
   void register(final IRemoteMessenger remote) {
@@ -109,10 +190,7 @@ class LobbyGameController implements ILobbyGameController {
 
   @Override
   public String testGame(final GUID gameId) {
-    final GameDescription description;
-    synchronized (m_mutex) {
-      description = m_allGames.get(gameId);
-    }
+    final GameDescription description = m_allGames.get(gameId);
     if (description == null) {
       return "No such game found";
     }
@@ -7,6 +7,7 @@ import java.util.logging.Logger;
 import games.strategy.engine.chat.ChatController;
 import games.strategy.engine.chat.StatusManager;
 import games.strategy.engine.lobby.server.db.Database;
+import games.strategy.engine.lobby.server.db.ModerationCache;
 import games.strategy.engine.lobby.server.login.LobbyLoginValidator;
 import games.strategy.net.IServerMessenger;
 import games.strategy.net.Messengers;
@@ -17,12 +18,13 @@ import games.strategy.util.Version;
 public class LobbyServer {
   public static final String ADMIN_USERNAME = "Admin";
   public static final String LOBBY_CHAT = "_LOBBY_CHAT";
-  public static final Version LOBBY_VERSION = new Version(1, 0, 0);
+  public static final Version LOBBY_VERSION = new Version(1, 0, 1);
   private static final Logger logger = Logger.getLogger(LobbyServer.class.getName());
   private final Messengers m_messengers;
 
   private LobbyServer(final int port) {
-    final IServerMessenger server;
+    final ModerationCache moderationCache = ModerationCache.load();
+    final ServerMessenger server;
     try {
       server = new ServerMessenger(ADMIN_USERNAME, port);
     } catch (final IOException ex) {
@@ -30,10 +32,11 @@ public class LobbyServer {
       throw new IllegalStateException(ex.getMessage());
     }
     m_messengers = new Messengers(server);
-    server.setLoginValidator(new LobbyLoginValidator());
+    server.setLoginValidator(new LobbyLoginValidator(moderationCache));
+    server.setModerationCache(moderationCache);
     // setup common objects
     new UserManager().register(m_messengers.getRemoteMessenger());
-    final ModeratorController moderatorController = new ModeratorController(server, m_messengers);
+    final ModeratorController moderatorController = new ModeratorController(server, m_messengers, moderationCache);
     moderatorController.register(m_messengers.getRemoteMessenger());
     new ChatController(LOBBY_CHAT, m_messengers, moderatorController);
 
@@ -3,10 +3,7 @@ package games.strategy.engine.lobby.server;
 import java.time.Instant;
 import java.util.Date;
 
-import games.strategy.engine.lobby.server.db.BannedMacController;
-import games.strategy.engine.lobby.server.db.BannedUsernameController;
-import games.strategy.engine.lobby.server.db.MutedMacController;
-import games.strategy.engine.lobby.server.db.MutedUsernameController;
+import games.strategy.engine.lobby.server.db.ModerationCache;
 import games.strategy.engine.lobby.server.db.UserController;
 import games.strategy.engine.lobby.server.userDB.DBUser;
 import games.strategy.engine.message.MessageContext;
@@ -17,8 +14,12 @@ import games.strategy.net.Messengers;
 import games.strategy.util.MD5Crypt;
 
 public class ModeratorController extends AbstractModeratorController {
-  public ModeratorController(final IServerMessenger serverMessenger, final Messengers messengers) {
+  private final ModerationCache moderationCache;
+
+  public ModeratorController(final IServerMessenger serverMessenger, final Messengers messengers,
+      final ModerationCache moderationCache) {
     super(serverMessenger, messengers);
+    this.moderationCache = moderationCache;
   }
 
   @Override
@@ -33,7 +34,7 @@ public class ModeratorController extends AbstractModeratorController {
     }
     final INode modNode = MessageContext.getSender();
     final String mac = getNodeMacAddress(node);
-    new BannedUsernameController().addBannedUsername(getRealName(node), banExpires);
+    moderationCache.addBannedUsername(getRealName(node), banExpires);
     final String banUntil = (banExpires == null ? "forever" : banExpires.toString());
     logger.info(String.format(
         "User was banned from the lobby(Username ban). "
@@ -73,7 +74,7 @@ public class ModeratorController extends AbstractModeratorController {
     }
     final INode modNode = MessageContext.getSender();
     final String mac = getNodeMacAddress(node);
-    new BannedMacController().addBannedMac(mac, banExpires);
+    moderationCache.addBannedMac(mac, banExpires);
     final String banUntil = (banExpires == null ? "forever" : banExpires.toString());
     logger.info(String.format(
         "User was banned from the lobby(Mac ban). "
@@ -93,7 +94,7 @@ public class ModeratorController extends AbstractModeratorController {
       throw new IllegalStateException("Can't ban an admin");
     }
     final INode modNode = MessageContext.getSender();
-    new BannedMacController().addBannedMac(hashedMac, banExpires);
+    moderationCache.addBannedMac(hashedMac, banExpires);
     final String banUntil = (banExpires == null ? "forever" : banExpires.toString());
     logger.info(String.format(
         "User was banned from the lobby(Mac ban). "
@@ -115,7 +116,7 @@ public class ModeratorController extends AbstractModeratorController {
     final INode modNode = MessageContext.getSender();
     final String mac = getNodeMacAddress(node);
     final String realName = getRealName(node);
-    new MutedUsernameController().addMutedUsername(realName, muteExpires);
+    moderationCache.addMutedUsername(realName, muteExpires);
     m_serverMessenger.notifyUsernameMutingOfPlayer(realName, muteExpires);
     final String muteUntil = (muteExpires == null ? "forever" : muteExpires.toString());
     logger.info(String.format(
@@ -137,7 +138,7 @@ public class ModeratorController extends AbstractModeratorController {
     }
     final INode modNode = MessageContext.getSender();
     final String mac = getNodeMacAddress(node);
-    new MutedMacController().addMutedMac(mac, muteExpires);
+    moderationCache.addMutedMac(mac, muteExpires);
     m_serverMessenger.notifyMacMutingOfPlayer(mac, muteExpires);
     final String muteUntil = (muteExpires == null ? "forever" : muteExpires.toString());
     logger.info(String.format(
@@ -19,4 +19,15 @@ public interface BadWordDao {
    * @return A collection of all bad words in the table.
    */
   List<String> list();
+
+  /**
+   * Indicates the specified text contains any bad word in the table, ignoring case.
+   *
+   * @param text The text to search.
+   *
+   * @return {@code true} if the text contains a bad word; otherwise {@code false}.
+   */
+  default boolean containsBadWord(final String text) {
+    return BadWordMatcher.compile(list()).matches(text);
+  }
 }
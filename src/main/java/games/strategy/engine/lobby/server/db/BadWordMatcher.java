@@ -0,0 +1,47 @@
+package games.strategy.engine.lobby.server.db;
+
+import java.util.Collection;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Finds any of a list of bad words in a text, ignoring case, with a single pattern compiled once for all words.
+ *
+ * <p>
+ * Instances of this class are immutable.
+ * </p>
+ */
+public final class BadWordMatcher {
+  private final Pattern pattern;
+
+  private BadWordMatcher(final Pattern pattern) {
+    this.pattern = pattern;
+  }
+
+  /**
+   * Compiles a matcher for the specified bad words.
+   *
+   * @param badWords The bad words to find.
+   *
+   * @return A matcher that finds any of the bad words.
+   */
+  public static BadWordMatcher compile(final Collection<String> badWords) {
+    if (badWords.isEmpty()) {
+      return new BadWordMatcher(null);
+    }
+    return new BadWordMatcher(Pattern.compile(badWords.stream()
+        .map(word -> Pattern.quote(word.toLowerCase()))
+        .collect(Collectors.joining("|"))));
+  }
+
+  /**
+   * Indicates the specified text contains any of the bad words of this matcher.
+   *
+   * @param text The text to search.
+   *
+   * @return {@code true} if the text contains a bad word; otherwise {@code false}.
+   */
+  public boolean matches(final String text) {
+    return pattern != null && pattern.matcher(text.toLowerCase()).find();
+  }
+}
@@ -6,6 +6,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Logger;
 
 import games.strategy.util.Tuple;
@@ -77,4 +79,26 @@ public class BannedUsernameController extends TimedController implements BannedU
       throw new IllegalStateException("Error for testing banned username existence:" + username, sqle);
     }
   }
+
+  /**
+   * Returns the usernames whose ban has not expired, each with the instant at which the ban will expire or
+   * {@code null} if it is banned forever.
+   */
+  public List<Tuple<String, /* @Nullable */ Timestamp>> getBannedUsernames() {
+    final String sql = "select username, ban_till from banned_usernames where ban_till is null or ban_till > ?";
+
+    try (final Connection con = Database.getPostgresConnection();
+        final PreparedStatement ps = con.prepareStatement(sql)) {
+      ps.setTimestamp(1, Timestamp.from(now()));
+      try (final ResultSet rs = ps.executeQuery()) {
+        final List<Tuple<String, Timestamp>> banned = new ArrayList<>();
+        while (rs.next()) {
+          banned.add(Tuple.of(rs.getString(1), rs.getTimestamp(2)));
+        }
+        return banned;
+      }
+    } catch (final SQLException sqle) {
+      throw new IllegalStateException("Error reading banned usernames", sqle);
+    }
+  }
 }
@@ -0,0 +1,485 @@
+package games.strategy.engine.lobby.server.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * A bounded pool of database connections, which also caches the prepared statements of each connection.
+ *
+ * <p>
+ * Connections are handed out as proxies. Closing one returns the underlying connection to the pool, after rolling back
+ * anything that was not committed. Preparing a statement reuses the statement prepared earlier on the same connection
+ * for the same SQL, if it is not in use, and closing the statement keeps it open for the next caller. A connection
+ * that has been idle for a while is checked with a validation query before it is handed out again, and replaced if it
+ * is broken.
+ * </p>
+ */
+public final class ConnectionPool implements AutoCloseable {
+  private static final Logger logger = Logger.getLogger(ConnectionPool.class.getName());
+  private static final String VALIDATION_QUERY = "select 1";
+  private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+  private static final long DEFAULT_CONNECTION_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+  private static final long DEFAULT_VALIDATION_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  private final Supplier<Connection> connectionFactory;
+  private final int maxSize;
+  private final int statementCacheSize;
+  private final long connectionTimeoutMillis;
+  private final long validationIntervalMillis;
+  private final Semaphore permits;
+  private final Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+  private boolean closed;
+
+  private final AtomicLong createdConnections = new AtomicLong();
+  private final AtomicLong borrowedConnections = new AtomicLong();
+  private final AtomicLong waitNanos = new AtomicLong();
+  private final AtomicLong timeouts = new AtomicLong();
+  private final AtomicLong failedValidations = new AtomicLong();
+  private final AtomicLong statementCacheHits = new AtomicLong();
+  private final AtomicLong statementCacheMisses = new AtomicLong();
+
+  /**
+   * @param connectionFactory Opens a new connection to the database.
+   * @param maxSize The maximum number of connections open at the same time.
+   * @param statementCacheSize The maximum number of idle prepared statements kept per connection.
+   */
+  public ConnectionPool(final Supplier<Connection> connectionFactory, final int maxSize,
+      final int statementCacheSize) {
+    this(connectionFactory, maxSize, statementCacheSize, DEFAULT_CONNECTION_TIMEOUT_MILLIS,
+        DEFAULT_VALIDATION_INTERVAL_MILLIS);
+  }
+
+  @VisibleForTesting
+  ConnectionPool(final Supplier<Connection> connectionFactory, final int maxSize, final int statementCacheSize,
+      final long connectionTimeoutMillis, final long validationIntervalMillis) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+    }
+    this.connectionFactory = connectionFactory;
+    this.maxSize = maxSize;
+    this.statementCacheSize = statementCacheSize;
+    this.connectionTimeoutMillis = connectionTimeoutMillis;
+    this.validationIntervalMillis = validationIntervalMillis;
+    permits = new Semaphore(maxSize, true);
+  }
+
+  /**
+   * Returns a connection of the pool, waiting for one to be returned if all are in use. The connection must be closed
+   * to return it to the pool.
+   *
+   * @throws IllegalStateException If no connection became available in time.
+   */
+  public Connection getConnection() {
+    final long start = System.nanoTime();
+    try {
+      if (!permits.tryAcquire(connectionTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        timeouts.incrementAndGet();
+        throw new IllegalStateException("Timed out waiting for a database connection, " + getMetrics());
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a database connection", e);
+    }
+    waitNanos.addAndGet(System.nanoTime() - start);
+    try {
+      PooledConnection connection = takeHealthyIdleConnection();
+      if (connection == null) {
+        connection = new PooledConnection(connectionFactory.get());
+        createdConnections.incrementAndGet();
+      }
+      borrowedConnections.incrementAndGet();
+      return connection.newHandle();
+    } catch (final RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  private PooledConnection takeHealthyIdleConnection() {
+    while (true) {
+      final PooledConnection connection;
+      synchronized (this) {
+        if (closed) {
+          throw new IllegalStateException("Connection pool is closed");
+        }
+        connection = idleConnections.pollFirst();
+      }
+      if (connection == null) {
+        return null;
+      }
+      if (System.currentTimeMillis() - connection.lastReturnedMillis < validationIntervalMillis
+          || connection.isValid()) {
+        return connection;
+      }
+      failedValidations.incrementAndGet();
+      logger.warning("Discarding a broken database connection");
+      connection.closeQuietly();
+    }
+  }
+
+  private void release(final PooledConnection connection) {
+    try {
+      final boolean reusable = connection.reset();
+      synchronized (this) {
+        if (reusable && !closed) {
+          connection.lastReturnedMillis = System.currentTimeMillis();
+          idleConnections.addFirst(connection);
+          return;
+        }
+      }
+      connection.closeQuietly();
+    } finally {
+      permits.release();
+    }
+  }
+
+  /**
+   * Closes the idle connections, and the connections in use once they are returned.
+   */
+  @Override
+  public void close() {
+    final List<PooledConnection> connections;
+    synchronized (this) {
+      closed = true;
+      connections = new ArrayList<>(idleConnections);
+      idleConnections.clear();
+    }
+    connections.forEach(PooledConnection::closeQuietly);
+    logger.info("Closed database connection pool, " + getMetrics());
+  }
+
+  public Metrics getMetrics() {
+    final int idle;
+    synchronized (this) {
+      idle = idleConnections.size();
+    }
+    return new Metrics(this, idle);
+  }
+
+  /**
+   * A connection of the pool, with the idle prepared statements cached for it.
+   */
+  private final class PooledConnection {
+    private final Connection connection;
+    private final boolean autoCommit;
+    private final Map<String, PreparedStatement> idleStatements = new LinkedHashMap<String, PreparedStatement>(
+        16, 0.75F, true) {
+      private static final long serialVersionUID = 4467563493437622531L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<String, PreparedStatement> eldest) {
+        if (size() > statementCacheSize) {
+          closeStatementQuietly(eldest.getValue());
+          return true;
+        }
+        return false;
+      }
+    };
+    private long lastReturnedMillis;
+
+    PooledConnection(final Connection connection) {
+      this.connection = connection;
+      try {
+        autoCommit = connection.getAutoCommit();
+      } catch (final SQLException e) {
+        closeQuietly();
+        throw new IllegalStateException("Failure getting db connection", e);
+      }
+    }
+
+    Connection newHandle() {
+      return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+          new ConnectionHandler(this));
+    }
+
+    PreparedStatement borrowStatement(final String sql) throws SQLException {
+      final PreparedStatement statement = idleStatements.remove(sql);
+      if (statement != null) {
+        statementCacheHits.incrementAndGet();
+        return statement;
+      }
+      statementCacheMisses.incrementAndGet();
+      return connection.prepareStatement(sql);
+    }
+
+    void returnStatement(final String sql, final PreparedStatement statement) {
+      try {
+        statement.clearParameters();
+      } catch (final SQLException e) {
+        closeStatementQuietly(statement);
+        return;
+      }
+      final PreparedStatement replaced = idleStatements.put(sql, statement);
+      if (replaced != null && replaced != statement) {
+        closeStatementQuietly(replaced);
+      }
+    }
+
+    /**
+     * Rolls back anything not committed, and restores the auto-commit mode the connection was opened with.
+     *
+     * @return {@code false} if the connection is broken.
+     */
+    boolean reset() {
+      try {
+        if (connection.isClosed()) {
+          return false;
+        }
+        if (!connection.getAutoCommit()) {
+          connection.rollback();
+        }
+        if (connection.getAutoCommit() != autoCommit) {
+          connection.setAutoCommit(autoCommit);
+        }
+        return true;
+      } catch (final SQLException e) {
+        logger.log(Level.WARNING, "Failed to reset a database connection", e);
+        return false;
+      }
+    }
+
+    boolean isValid() {
+      try (final Statement statement = connection.createStatement()) {
+        statement.setQueryTimeout(VALIDATION_TIMEOUT_SECONDS);
+        statement.execute(VALIDATION_QUERY);
+        return reset();
+      } catch (final SQLException e) {
+        return false;
+      }
+    }
+
+    void closeQuietly() {
+      idleStatements.values().forEach(ConnectionPool::closeStatementQuietly);
+      idleStatements.clear();
+      try {
+        connection.close();
+      } catch (final SQLException e) {
+        logger.log(Level.FINE, "Failed to close a database connection", e);
+      }
+    }
+  }
+
+  /**
+   * Hands the pooled connection to one caller, until the caller closes it.
+   */
+  private final class ConnectionHandler implements InvocationHandler {
+    private final PooledConnection pooledConnection;
+    private final List<StatementHandler> openStatements = new ArrayList<>();
+    private boolean closed;
+
+    ConnectionHandler(final PooledConnection pooledConnection) {
+      this.pooledConnection = pooledConnection;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "close":
+          close();
+          return null;
+        case "isClosed":
+          return closed || pooledConnection.connection.isClosed();
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return "Pooled connection " + pooledConnection.connection;
+        default:
+          break;
+      }
+      if (closed) {
+        throw new SQLException("Connection is closed");
+      }
+      if ("prepareStatement".equals(method.getName()) && args.length == 1) {
+        final String sql = (String) args[0];
+        final StatementHandler handler =
+            new StatementHandler(this, sql, pooledConnection.borrowStatement(sql), (Connection) proxy);
+        openStatements.add(handler);
+        return Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+            new Class<?>[] {PreparedStatement.class}, handler);
+      }
+      return invokeOn(pooledConnection.connection, method, args);
+    }
+
+    private synchronized void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      for (final StatementHandler statement : new ArrayList<>(openStatements)) {
+        statement.close();
+      }
+      release(pooledConnection);
+    }
+  }
+
+  /**
+   * Hands a cached prepared statement to one caller, until the caller closes it.
+   */
+  private static final class StatementHandler implements InvocationHandler {
+    private final ConnectionHandler connectionHandler;
+    private final String sql;
+    private final PreparedStatement statement;
+    private final Connection connection;
+    private boolean closed;
+
+    StatementHandler(final ConnectionHandler connectionHandler, final String sql, final PreparedStatement statement,
+        final Connection connection) {
+      this.connectionHandler = connectionHandler;
+      this.sql = sql;
+      this.statement = statement;
+      this.connection = connection;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "close":
+          close();
+          return null;
+        case "isClosed":
+          return closed || statement.isClosed();
+        case "getConnection":
+          return connection;
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return "Pooled statement " + sql;
+        default:
+          break;
+      }
+      if (closed) {
+        throw new SQLException("Statement is closed");
+      }
+      return invokeOn(statement, method, args);
+    }
+
+    void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      connectionHandler.openStatements.remove(this);
+      connectionHandler.pooledConnection.returnStatement(sql, statement);
+    }
+  }
+
+  private static void closeStatementQuietly(final Statement statement) {
+    try {
+      statement.close();
+    } catch (final SQLException e) {
+      logger.log(Level.FINE, "Failed to close a prepared statement", e);
+    }
+  }
+
+  private static Object invokeOn(final Object target, final Method method, final Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (final InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * A snapshot of the usage of a connection pool.
+   */
+  public static final class Metrics {
+    private final int maxSize;
+    private final int activeConnections;
+    private final int idleConnections;
+    private final long createdConnections;
+    private final long borrowedConnections;
+    private final long waitMillis;
+    private final long timeouts;
+    private final long failedValidations;
+    private final long statementCacheHits;
+    private final long statementCacheMisses;
+
+    private Metrics(final ConnectionPool pool, final int idleConnections) {
+      maxSize = pool.maxSize;
+      activeConnections = pool.maxSize - pool.permits.availablePermits();
+      this.idleConnections = idleConnections;
+      createdConnections = pool.createdConnections.get();
+      borrowedConnections = pool.borrowedConnections.get();
+      waitMillis = TimeUnit.NANOSECONDS.toMillis(pool.waitNanos.get());
+      timeouts = pool.timeouts.get();
+      failedValidations = pool.failedValidations.get();
+      statementCacheHits = pool.statementCacheHits.get();
+      statementCacheMisses = pool.statementCacheMisses.get();
+    }
+
+    public int getMaxSize() {
+      return maxSize;
+    }
+
+    public int getActiveConnections() {
+      return activeConnections;
+    }
+
+    public int getIdleConnections() {
+      return idleConnections;
+    }
+
+    public long getCreatedConnections() {
+      return createdConnections;
+    }
+
+    public long getBorrowedConnections() {
+      return borrowedConnections;
+    }
+
+    /**
+     * @return The total time callers have waited for a connection to become available.
+     */
+    public long getWaitMillis() {
+      return waitMillis;
+    }
+
+    public long getTimeouts() {
+      return timeouts;
+    }
+
+    public long getFailedValidations() {
+      return failedValidations;
+    }
+
+    public long getStatementCacheHits() {
+      return statementCacheHits;
+    }
+
+    public long getStatementCacheMisses() {
+      return statementCacheMisses;
+    }
+
+    @Override
+    public String toString() {
+      return "active: " + activeConnections + "/" + maxSize + ", idle: " + idleConnections + ", created: "
+          + createdConnections + ", borrowed: " + borrowedConnections + ", waited: " + waitMillis + " ms, timeouts: "
+          + timeouts + ", failed validations: " + failedValidations + ", statement cache hits: " + statementCacheHits
+          + ", misses: " + statementCacheMisses;
+    }
+  }
+}
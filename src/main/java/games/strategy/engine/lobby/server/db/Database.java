@@ -11,7 +11,10 @@ import games.strategy.engine.lobby.server.LobbyContext;
  * Utility to get connections to the database.
  */
 public class Database {
+  private static final int STATEMENT_CACHE_SIZE = 32;
   private static final Properties connectionProperties = getPostgresDbProps();
+  private static final ConnectionPool connectionPool = new ConnectionPool(Database::newPostgresConnection,
+      LobbyContext.lobbyPropertyReader().getPostgresPoolSize(), STATEMENT_CACHE_SIZE);
 
   private static Properties getPostgresDbProps() {
     final Properties props = new Properties();
@@ -20,10 +23,7 @@ public class Database {
     return props;
   }
 
-  /**
-   * Creates and returns a new database connection.
-   */
-  public static Connection getPostgresConnection() {
+  private static Connection newPostgresConnection() {
     try {
       final Connection connection =
           DriverManager.getConnection("jdbc:postgresql://localhost/ta_users", connectionProperties);
@@ -34,4 +34,14 @@ public class Database {
     }
   }
 
+  /**
+   * Returns a database connection from the connection pool. Closing the connection returns it to the pool.
+   */
+  public static Connection getPostgresConnection() {
+    return connectionPool.getConnection();
+  }
+
+  public static ConnectionPool.Metrics getConnectionPoolMetrics() {
+    return connectionPool.getMetrics();
+  }
 }
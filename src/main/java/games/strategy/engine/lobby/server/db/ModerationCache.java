@@ -0,0 +1,263 @@
+package games.strategy.engine.lobby.server.db;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import games.strategy.util.Tuple;
+
+/**
+ * An in-memory index of the bans, mutes and bad words of the lobby, so that logins and chat messages are checked
+ * without querying the database.
+ *
+ * <p>
+ * The index is loaded from the database when the lobby starts. Moderator actions are written to the database first
+ * and then to the index, so a failed write leaves the index unchanged. When a ban or mute expires, a scheduled task
+ * removes it from the index and from the database. Lookups ignore expired entries whose task has not run yet.
+ * </p>
+ */
+public final class ModerationCache implements BadWordDao, BannedMacDao, BannedUsernameDao {
+  private static final Logger logger = Logger.getLogger(ModerationCache.class.getName());
+  private static final long FOREVER = Long.MAX_VALUE;
+  private static final long NOT_FOUND = -1;
+
+  private final Clock clock;
+  private final ScheduledExecutorService expiryScheduler;
+  private final BadWordDao badWordDao;
+  private final Expiries bannedMacs;
+  private final Expiries bannedUsernames;
+  private final Expiries mutedMacs;
+  private final Expiries mutedUsernames;
+  private final Object badWordsLock = new Object();
+  private volatile List<String> badWords = Collections.emptyList();
+  private volatile BadWordMatcher badWordMatcher = BadWordMatcher.compile(badWords);
+
+  @VisibleForTesting
+  ModerationCache(
+      final BadWordDao badWordDao,
+      final BannedMacController bannedMacController,
+      final BannedUsernameController bannedUsernameController,
+      final MutedMacController mutedMacController,
+      final MutedUsernameController mutedUsernameController,
+      final ScheduledExecutorService expiryScheduler,
+      final Clock clock) {
+    this.badWordDao = badWordDao;
+    this.expiryScheduler = expiryScheduler;
+    this.clock = clock;
+    bannedMacs = new Expiries("banned mac", bannedMacController::addBannedMac, bannedMacController::getBannedMacs);
+    bannedUsernames = new Expiries("banned username", bannedUsernameController::addBannedUsername,
+        bannedUsernameController::getBannedUsernames);
+    mutedMacs = new Expiries("muted mac", mutedMacController::addMutedMac, mutedMacController::getMutedMacs);
+    mutedUsernames = new Expiries("muted username", mutedUsernameController::addMutedUsername,
+        mutedUsernameController::getMutedUsernames);
+  }
+
+  /**
+   * Creates an index of the bans, mutes and bad words in the database.
+   */
+  public static ModerationCache load() {
+    final ModerationCache cache = new ModerationCache(
+        new BadWordController(),
+        new BannedMacController(),
+        new BannedUsernameController(),
+        new MutedMacController(),
+        new MutedUsernameController(),
+        Executors.newSingleThreadScheduledExecutor(runnable -> {
+          final Thread thread = new Thread(runnable, "Lobby moderation expiry");
+          thread.setDaemon(true);
+          return thread;
+        }),
+        Clock.systemUTC());
+    cache.refresh();
+    return cache;
+  }
+
+  /**
+   * Replaces the content of this index with the bans, mutes and bad words in the database.
+   */
+  @VisibleForTesting
+  void refresh() {
+    bannedMacs.load();
+    bannedUsernames.load();
+    mutedMacs.load();
+    mutedUsernames.load();
+    synchronized (badWordsLock) {
+      setBadWords(badWordDao.list());
+    }
+    logger.info("Loaded moderation index: " + bannedMacs.size() + " banned macs, " + bannedUsernames.size()
+        + " banned usernames, " + mutedMacs.size() + " muted macs, " + mutedUsernames.size() + " muted usernames, "
+        + badWords.size() + " bad words");
+  }
+
+  private void setBadWords(final List<String> words) {
+    badWordMatcher = BadWordMatcher.compile(words);
+    badWords = Collections.unmodifiableList(words);
+  }
+
+  @Override
+  public void addBadWord(final String word) {
+    synchronized (badWordsLock) {
+      badWordDao.addBadWord(word);
+      if (!badWords.contains(word)) {
+        final List<String> words = new ArrayList<>(badWords);
+        words.add(word);
+        setBadWords(words);
+      }
+    }
+  }
+
+  @Override
+  public List<String> list() {
+    return badWords;
+  }
+
+  @Override
+  public boolean containsBadWord(final String text) {
+    return badWordMatcher.matches(text);
+  }
+
+  @Override
+  public void addBannedMac(final String mac, @Nullable final Instant banTill) {
+    bannedMacs.add(mac, banTill);
+  }
+
+  @Override
+  public Tuple<Boolean, /* @Nullable */ Timestamp> isMacBanned(final String mac) {
+    return toBan(bannedMacs.getExpiry(mac));
+  }
+
+  @Override
+  public void addBannedUsername(final String username, @Nullable final Instant banTill) {
+    bannedUsernames.add(username, banTill);
+  }
+
+  @Override
+  public Tuple<Boolean, /* @Nullable */ Timestamp> isUsernameBanned(final String username) {
+    return toBan(bannedUsernames.getExpiry(username));
+  }
+
+  private static Tuple<Boolean, /* @Nullable */ Timestamp> toBan(final long banTill) {
+    if (banTill == NOT_FOUND) {
+      return Tuple.of(false, null);
+    }
+    return Tuple.of(true, banTill == FOREVER ? null : new Timestamp(banTill));
+  }
+
+  /**
+   * Mutes the given mac. If muteTill is not null, the mute will expire when muteTill is reached.
+   */
+  public void addMutedMac(final String mac, @Nullable final Instant muteTill) {
+    mutedMacs.add(mac, muteTill);
+  }
+
+  /**
+   * Returns epoch milli second timestamp of when a mute expires, {@link Long#MAX_VALUE} if the mac is muted forever
+   * or negative one if there is no mute.
+   */
+  public long getMacUnmuteTime(final String mac) {
+    return mutedMacs.getExpiry(mac);
+  }
+
+  /**
+   * Mutes the given username. If muteTill is not null, the mute will expire when muteTill is reached.
+   */
+  public void addMutedUsername(final String username, @Nullable final Instant muteTill) {
+    mutedUsernames.add(username, muteTill);
+  }
+
+  /**
+   * Returns epoch milli second timestamp of when a mute expires, {@link Long#MAX_VALUE} if the username is muted
+   * forever or negative one if there is no mute.
+   */
+  public long getUsernameUnmuteTime(final String username) {
+    return mutedUsernames.getExpiry(username);
+  }
+
+  /**
+   * The instants at which the bans or mutes of one table expire, in epoch milliseconds, keyed by mac or username.
+   */
+  private final class Expiries {
+    private final String description;
+    private final BiConsumer<String, Instant> writer;
+    private final Supplier<List<Tuple<String, Timestamp>>> reader;
+    private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+
+    Expiries(final String description, final BiConsumer<String, Instant> writer,
+        final Supplier<List<Tuple<String, Timestamp>>> reader) {
+      this.description = description;
+      this.writer = writer;
+      this.reader = reader;
+    }
+
+    synchronized void load() {
+      expiries.clear();
+      for (final Tuple<String, Timestamp> entry : reader.get()) {
+        put(entry.getFirst(), entry.getSecond() != null ? entry.getSecond().toInstant() : null);
+      }
+    }
+
+    synchronized void add(final String key, @Nullable final Instant till) {
+      writer.accept(key, till);
+      put(key, till);
+    }
+
+    private void put(final String key, @Nullable final Instant till) {
+      if (till == null) {
+        expiries.put(key, FOREVER);
+      } else if (till.isAfter(clock.instant())) {
+        expiries.put(key, till.toEpochMilli());
+        scheduleExpiry(key, till.toEpochMilli());
+      } else {
+        expiries.remove(key);
+      }
+    }
+
+    private void scheduleExpiry(final String key, final long expiry) {
+      expiryScheduler.schedule(() -> expire(key, expiry), expiry - clock.millis(), TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void expire(final String key, final long expiry) {
+      final Long current = expiries.get(key);
+      if (current == null || current != expiry) {
+        // renewed or lifted since this expiry was scheduled
+        return;
+      }
+      if (expiry > clock.millis()) {
+        scheduleExpiry(key, expiry);
+        return;
+      }
+      expiries.remove(key);
+      try {
+        // the controllers delete the row of a ban or mute that is no longer in the future
+        writer.accept(key, Instant.ofEpochMilli(expiry));
+      } catch (final RuntimeException e) {
+        logger.log(Level.WARNING, "Failed to delete expired " + description + ": " + key, e);
+      }
+    }
+
+    long getExpiry(final String key) {
+      final Long expiry = expiries.get(key);
+      return (expiry != null && expiry > clock.millis()) ? expiry : NOT_FOUND;
+    }
+
+    int size() {
+      return expiries.size();
+    }
+  }
+}
@@ -6,8 +6,12 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Logger;
 
+import games.strategy.util.Tuple;
+
 /**
  * Utilitiy class to create/read/delete muted macs (there is no update).
  */
@@ -93,4 +97,26 @@ public class MutedMacController extends TimedController {
       throw new IllegalStateException("Error for testing muted mac existence:" + mac, sqle);
     }
   }
+
+  /**
+   * Returns the MACs whose mute has not expired, each with the instant at which the mute will expire or {@code null}
+   * if it is muted forever.
+   */
+  public List<Tuple<String, /* @Nullable */ Timestamp>> getMutedMacs() {
+    final String sql = "select mac, mute_till from muted_macs where mute_till is null or mute_till > ?";
+
+    try (final Connection con = Database.getPostgresConnection();
+        final PreparedStatement ps = con.prepareStatement(sql)) {
+      ps.setTimestamp(1, Timestamp.from(now()));
+      try (final ResultSet rs = ps.executeQuery()) {
+        final List<Tuple<String, Timestamp>> muted = new ArrayList<>();
+        while (rs.next()) {
+          muted.add(Tuple.of(rs.getString(1), rs.getTimestamp(2)));
+        }
+        return muted;
+      }
+    } catch (final SQLException sqle) {
+      throw new IllegalStateException("Error reading muted macs", sqle);
+    }
+  }
 }
@@ -5,7 +5,6 @@ import java.net.SocketAddress;
 import java.security.PrivateKey;
 import java.sql.Timestamp;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -25,6 +24,7 @@ import games.strategy.engine.lobby.server.db.BannedMacDao;
 import games.strategy.engine.lobby.server.db.BannedUsernameController;
 import games.strategy.engine.lobby.server.db.BannedUsernameDao;
 import games.strategy.engine.lobby.server.db.HashedPassword;
+import games.strategy.engine.lobby.server.db.ModerationCache;
 import games.strategy.engine.lobby.server.db.UserController;
 import games.strategy.engine.lobby.server.db.UserDao;
 import games.strategy.engine.lobby.server.userDB.DBUser;
@@ -67,6 +67,18 @@ public class LobbyLoginValidator implements ILoginValidator {
         () -> BCrypt.gensalt());
   }
 
+  /**
+   * Creates a validator that checks bans and bad words against the in-memory index of the lobby.
+   */
+  public LobbyLoginValidator(final ModerationCache moderationCache) {
+    this(
+        moderationCache,
+        moderationCache,
+        moderationCache,
+        new UserController(),
+        () -> BCrypt.gensalt());
+  }
+
   @VisibleForTesting
   LobbyLoginValidator(
       final BadWordDao badWordDao,
@@ -124,10 +136,8 @@ public class LobbyLoginValidator implements ILoginValidator {
       return "Wrong version, we require" + LobbyServer.LOBBY_VERSION.toString() + " but trying to log in with "
           + clientVersionString;
     }
-    for (final String s : getBadWords()) {
-      if (clientName.toLowerCase().contains(s.toLowerCase())) {
-        return THATS_NOT_A_NICE_NAME;
-      }
+    if (badWordDao.containsBadWord(clientName)) {
+      return THATS_NOT_A_NICE_NAME;
     }
     if (hashedMac == null) {
       return UNABLE_TO_OBTAIN_MAC;
@@ -193,10 +203,6 @@ public class LobbyLoginValidator implements ILoginValidator {
     return (sb.toString());
   }
 
-  private List<String> getBadWords() {
-    return badWordDao.list();
-  }
-
   private String validatePassword(final Map<String, String> propertiesSentToClient,
       final Map<String, String> propertiesReadFromClient, final String clientName) {
     final String errorMessage = AUTHENTICATION_FAILED;
@@ -18,7 +18,6 @@ import games.strategy.net.IMessageListener;
 import games.strategy.net.IMessenger;
 import games.strategy.net.INode;
 import games.strategy.net.IServerMessenger;
-import games.strategy.util.ThreadUtil;
 
 public class UnifiedMessengerHub implements IMessageListener, IConnectionChangeListener {
   private static final int NODE_IMPLEMENTATION_TIMEOUT = 200;
@@ -59,6 +58,7 @@ public class UnifiedMessengerHub implements IMessageListener, IConnectionChangeL
               "Already contained, new" + from + " existing, " + nodes + " name " + hasEndPoint.endPointName);
         }
         nodes.add(from);
+        endPointMutex.notifyAll();
       }
     } else if (msg instanceof NoLongerHasEndPointImplementor) {
       synchronized (endPointMutex) {
@@ -144,9 +144,16 @@ public class UnifiedMessengerHub implements IMessageListener, IConnectionChangeL
   @Deprecated
   public void waitForNodesToImplement(final String endPointName) {
     final long endTime = NODE_IMPLEMENTATION_TIMEOUT + System.currentTimeMillis();
-    while (System.currentTimeMillis() < endTime && !hasImplementors(endPointName)) {
-      if (!ThreadUtil.sleep(50)) {
-        return;
+    synchronized (endPointMutex) {
+      long remaining = NODE_IMPLEMENTATION_TIMEOUT;
+      while (remaining > 0 && !hasImplementors(endPointName)) {
+        try {
+          endPointMutex.wait(remaining);
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        remaining = endTime - System.currentTimeMillis();
       }
     }
   }
@@ -27,6 +27,7 @@ import java.util.logging.Logger;
 
 import games.strategy.engine.chat.ChatController;
 import games.strategy.engine.chat.IChatChannel;
+import games.strategy.engine.lobby.server.db.ModerationCache;
 import games.strategy.engine.lobby.server.db.MutedMacController;
 import games.strategy.engine.lobby.server.db.MutedUsernameController;
 import games.strategy.engine.lobby.server.login.LobbyLoginValidator;
@@ -54,6 +55,7 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
   private final List<IConnectionChangeListener> connectionListeners = new CopyOnWriteArrayList<>();
   private boolean acceptNewConnection = false;
   private ILoginValidator loginValidator;
+  private volatile ModerationCache moderationCache;
   // all our nodes
   private final Map<INode, SocketChannel> nodeToChannel = new ConcurrentHashMap<>();
   private final Map<SocketChannel, INode> channelToNode = new ConcurrentHashMap<>();
@@ -81,6 +83,13 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
     this.loginValidator = loginValidator;
   }
 
+  /**
+   * Sets the in-memory index of the lobby that mutes are looked up in. Without it, mutes are read from the database.
+   */
+  public void setModerationCache(final ModerationCache moderationCache) {
+    this.moderationCache = moderationCache;
+  }
+
   @Override
   public ILoginValidator getLoginValidator() {
     return loginValidator;
@@ -248,7 +257,7 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
       if (isLobby()) {
         final String realName = uniquePlayerName.split(" ")[0];
         if (!m_liveMutedUsernames.contains(realName)) {
-          final long muteTill = new MutedUsernameController().getUsernameUnmuteTime(realName);
+          final long muteTill = getUsernameUnmuteTime(realName);
           if (muteTill != -1 && muteTill <= System.currentTimeMillis()) {
             // Signal the player as muted
             m_liveMutedUsernames.add(realName);
@@ -256,7 +265,7 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
           }
         }
         if (!m_liveMutedMacAddresses.contains(mac)) {
-          final long muteTill = new MutedMacController().getMacUnmuteTime(mac);
+          final long muteTill = getMacUnmuteTime(mac);
           if (muteTill != -1 && muteTill <= System.currentTimeMillis()) {
             // Signal the player as muted
             m_liveMutedMacAddresses.add(mac);
@@ -615,9 +624,21 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
     }
   }
 
+  private long getUsernameUnmuteTime(final String username) {
+    return moderationCache != null
+        ? moderationCache.getUsernameUnmuteTime(username)
+        : new MutedUsernameController().getUsernameUnmuteTime(username);
+  }
+
+  private long getMacUnmuteTime(final String mac) {
+    return moderationCache != null
+        ? moderationCache.getMacUnmuteTime(mac)
+        : new MutedMacController().getMacUnmuteTime(mac);
+  }
+
   private TimerTask getUsernameUnmuteTask(final String username) {
     return createUnmuteTimerTask(
-        () -> (isLobby() && new MutedUsernameController().getUsernameUnmuteTime(username) == -1) || (isGame()),
+        () -> (isLobby() && getUsernameUnmuteTime(username) == -1) || (isGame()),
         () -> m_liveMutedUsernames.remove(username));
   }
 
@@ -636,7 +657,7 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
 
   private TimerTask getMacUnmuteTask(final String mac) {
     return createUnmuteTimerTask(
-        () -> (isLobby() && new MutedMacController().getMacUnmuteTime(mac) == -1) || (isGame()),
+        () -> (isLobby() && getMacUnmuteTime(mac) == -1) || (isGame()),
         () -> m_liveMutedMacAddresses.remove(mac));
   }
 
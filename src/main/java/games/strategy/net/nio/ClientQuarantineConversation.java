@@ -149,6 +149,10 @@ public class ClientQuarantineConversation extends QuarantineConversation {
           }
           localName = strings[0];
           serverName = strings[1];
+          if (strings.length > 2 && FrameCodec.FRAMING_CAPABILITY.equals(strings[2])) {
+            // from now on our messages are framed, which tells the server that it can frame its messages too
+            socket.framingAccepted(channel);
+          }
           step = Step.READ_ADDRESS;
           return Action.NONE;
         case READ_ADDRESS:
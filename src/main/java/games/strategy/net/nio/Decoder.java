@@ -1,8 +1,8 @@
 package games.strategy.net.nio;
 
-import java.io.ByteArrayInputStream;
 import java.io.Externalizable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.net.Socket;
@@ -70,8 +70,12 @@ class Decoder {
         if (logger.isLoggable(Level.FINEST)) {
           logger.finest("Decoding packet:" + data);
         }
-        final ByteArrayInputStream stream = new ByteArrayInputStream(data.getData());
         try {
+          if (FrameCodec.isFramed(data.getData())) {
+            // the remote end understands framed messages, so we can send it framed messages as well
+            nioSocket.framingAccepted(data.getChannel());
+          }
+          final InputStream stream = FrameCodec.decode(data.getData());
           final MessageHeader header = readMessageHeader(data.getChannel(), objectStreamFactory.create(stream));
           if (logger.isLoggable(Level.FINEST)) {
             logger.log(Level.FINEST, "header decoded:" + header);
@@ -1,6 +1,5 @@
 package games.strategy.net.nio;
 
-import java.io.ByteArrayOutputStream;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
@@ -38,9 +37,11 @@ class Encoder {
       throw new IllegalArgumentException("No to channel!");
     }
     try {
-      final ByteArrayOutputStream sink = new ByteArrayOutputStream(512);
+      final FrameCodec.Buffer sink = FrameCodec.messageBuffer();
       write(header, objectStreamFactory.create(sink), to);
-      final SocketWriteData data = new SocketWriteData(sink.toByteArray(), sink.size());
+      // the write data copies the frame, so the pooled buffers can be reused right away
+      final FrameCodec.Buffer frame = FrameCodec.encode(sink, nioSocket.isFramed(to));
+      final SocketWriteData data = new SocketWriteData(frame.array(), frame.size());
       if (logger.isLoggable(Level.FINER)) {
         logger.log(Level.FINER, "encoded  msg:" + header.getMessage() + " size:" + data.size());
       }
@@ -0,0 +1,163 @@
+package games.strategy.net.nio;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Wraps the object stream of an encoded message into the frame sent over the network.
+ *
+ * <p>
+ * A legacy frame is the bare object stream, which always starts with the stream magic {@code 0xACED}. Once both ends
+ * of a connection have announced that they understand framed messages, each frame starts with a marker byte instead:
+ * {@link #PLAIN} followed by the object stream, or {@link #DEFLATED} followed by the length of the object stream and
+ * the deflated object stream. Messages smaller than {@link #COMPRESSION_THRESHOLD} are never deflated.
+ * </p>
+ *
+ * <p>
+ * Buffers, deflaters and inflaters are pooled per thread, so encoding and decoding do not allocate beyond the
+ * resulting frame.
+ * </p>
+ */
+final class FrameCodec {
+  /**
+   * The token a server adds to the names sent during login to announce that it understands framed messages.
+   */
+  static final String FRAMING_CAPABILITY = "frames:deflate";
+  static final byte PLAIN = 1;
+  static final byte DEFLATED = 2;
+  static final int COMPRESSION_THRESHOLD = 1024;
+  // pooled buffers that grew beyond this size are dropped instead of being kept by the thread
+  private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+
+  private static final ThreadLocal<Buffer> messageBuffers = ThreadLocal.withInitial(() -> new Buffer(4096));
+  private static final ThreadLocal<Buffer> frameBuffers = ThreadLocal.withInitial(() -> new Buffer(4096));
+  private static final ThreadLocal<byte[]> deflateChunks = ThreadLocal.withInitial(() -> new byte[8192]);
+  private static final ThreadLocal<Deflater> deflaters =
+      ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+  private static final ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial(Inflater::new);
+
+  private FrameCodec() {}
+
+  /**
+   * A byte array output stream whose contents can be read without copying them.
+   */
+  static final class Buffer extends ByteArrayOutputStream {
+    Buffer(final int size) {
+      super(size);
+    }
+
+    byte[] array() {
+      return buf;
+    }
+  }
+
+  /**
+   * @return The empty buffer of the current thread, to write an object stream into.
+   */
+  static Buffer messageBuffer() {
+    return reset(messageBuffers);
+  }
+
+  private static Buffer reset(final ThreadLocal<Buffer> buffers) {
+    Buffer buffer = buffers.get();
+    if (buffer.array().length > MAX_POOLED_BUFFER_SIZE) {
+      buffer = new Buffer(4096);
+      buffers.set(buffer);
+    }
+    buffer.reset();
+    return buffer;
+  }
+
+  /**
+   * @return The frame for the object stream in the buffer. The result is either the specified buffer or a buffer of
+   *         the current thread, and is only valid until the next call from the same thread.
+   */
+  static Buffer encode(final Buffer message, final boolean framed) {
+    if (!framed) {
+      return message;
+    }
+    final Buffer frame = reset(frameBuffers);
+    final int length = message.size();
+    if (length >= COMPRESSION_THRESHOLD) {
+      frame.write(DEFLATED);
+      writeInt(frame, length);
+      final Deflater deflater = deflaters.get();
+      deflater.reset();
+      deflater.setInput(message.array(), 0, length);
+      deflater.finish();
+      final byte[] chunk = deflateChunks.get();
+      while (!deflater.finished() && frame.size() < length) {
+        frame.write(chunk, 0, deflater.deflate(chunk));
+      }
+      if (deflater.finished() && frame.size() < length) {
+        return frame;
+      }
+      // not worth it, send the message as it is
+      frame.reset();
+    }
+    frame.write(PLAIN);
+    frame.write(message.array(), 0, length);
+    return frame;
+  }
+
+  private static void writeInt(final ByteArrayOutputStream out, final int value) {
+    out.write(value >>> 24);
+    out.write(value >>> 16);
+    out.write(value >>> 8);
+    out.write(value);
+  }
+
+  /**
+   * @return true if the data is a framed message rather than a legacy one.
+   */
+  static boolean isFramed(final byte[] data) {
+    return data.length > 0 && (data[0] == PLAIN || data[0] == DEFLATED);
+  }
+
+  /**
+   * @return The object stream contained in the frame.
+   *
+   * @throws IOException If the frame is malformed.
+   */
+  static InputStream decode(final byte[] data) throws IOException {
+    if (!isFramed(data)) {
+      return new ByteArrayInputStream(data);
+    }
+    if (data[0] == PLAIN) {
+      return new ByteArrayInputStream(data, 1, data.length - 1);
+    }
+    if (data.length < 5) {
+      throw new IOException("Truncated frame");
+    }
+    final int length =
+        ((data[1] & 0xFF) << 24) | ((data[2] & 0xFF) << 16) | ((data[3] & 0xFF) << 8) | (data[4] & 0xFF);
+    if (length < 0 || length > SocketReadData.MAX_MESSAGE_SIZE) {
+      throw new IOException("Invalid message size:" + length);
+    }
+    final byte[] message = new byte[length];
+    final Inflater inflater = inflaters.get();
+    inflater.reset();
+    inflater.setInput(data, 5, data.length - 5);
+    try {
+      int read = 0;
+      while (read < length && !inflater.finished()) {
+        final int count = inflater.inflate(message, read, length - read);
+        if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        read += count;
+      }
+      if (read != length) {
+        throw new IOException("Frame does not match its length:" + length);
+      }
+    } catch (final DataFormatException e) {
+      throw new IOException("Corrupt frame", e);
+    }
+    return new ByteArrayInputStream(message);
+  }
+}
@@ -3,6 +3,8 @@ package games.strategy.net.nio;
 import java.io.IOException;
 import java.net.Socket;
 import java.nio.channels.SocketChannel;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -17,9 +19,20 @@ import games.strategy.net.MessageHeader;
  * thread.
  * serializing (encoding) objects to be written across the network is done
  * by threads calling this object.
+ *
+ * <p>
+ * Messages are sent as legacy frames until both ends of a connection have shown that they understand framed messages,
+ * which allow compressing large messages (see {@link FrameCodec}). Servers announce it while logging in clients, and
+ * clients then send framed messages, which in turn lets the server send framed messages. Setting the system property
+ * {@value #TRIPLEA_NETWORK_COMPRESSION} to {@code false} keeps all connections on legacy frames.
+ * </p>
  */
 public class NioSocket implements ErrorReporter {
+  public static final String TRIPLEA_NETWORK_COMPRESSION = "triplea.network.compression";
   private static final Logger logger = Logger.getLogger(NioSocket.class.getName());
+  private final boolean framingEnabled =
+      Boolean.parseBoolean(System.getProperty(TRIPLEA_NETWORK_COMPRESSION, "true"));
+  private final Set<SocketChannel> framedChannels = ConcurrentHashMap.newKeySet();
   private final Encoder encoder;
   private final Decoder decoder;
   private final NioWriter writer;
@@ -42,6 +55,26 @@ public class NioSocket implements ErrorReporter {
     return listener.getRemoteNode(channel);
   }
 
+  /**
+   * @return true if this socket may send framed messages to its peers.
+   */
+  boolean isFramingEnabled() {
+    return framingEnabled;
+  }
+
+  /**
+   * The remote end of the channel has shown that it understands framed messages, so we may send it framed messages.
+   */
+  void framingAccepted(final SocketChannel channel) {
+    if (framingEnabled) {
+      framedChannels.add(channel);
+    }
+  }
+
+  boolean isFramed(final SocketChannel channel) {
+    return framedChannels.contains(channel);
+  }
+
   /**
    * Stop our threads.
    * This does not close the sockets we are connected to.
@@ -110,6 +143,7 @@ public class NioSocket implements ErrorReporter {
     } catch (final IOException e1) {
       logger.log(Level.FINE, "error closing channel", e1);
     }
+    framedChannels.remove(channel);
     decoder.closed(channel);
     writer.closed(channel);
     reader.closed(channel);
@@ -21,7 +21,8 @@ public class ServerQuarantineConversation extends QuarantineConversation {
    * 1) server reads client name
    * 2) server sends challenge (or null if no challenge is to be made)
    * 3) server reads response (or null if no challenge)
-   * 4) server send null then client name and node info on success, or an error message if there is an error
+   * 4) server send null then client name and node info on success, or an error message if there is an error; the names
+   * are followed by FrameCodec.FRAMING_CAPABILITY if the server accepts framed messages
    * 5) if the client reads an error message, the client sends an acknowledgment (we need to make sur the client gets
    * the message before
    * closing the socket).
@@ -109,8 +110,12 @@ public class ServerQuarantineConversation extends QuarantineConversation {
           if (logger.isLoggable(Level.FINER)) {
             logger.log(Level.FINER, "Sending name:" + remoteName);
           }
-          // send the node its name and our name
-          send(new String[] {remoteName, serverMessenger.getLocalNode().getName()});
+          // send the node its name and our name, older clients ignore the framing capability after them
+          if (socket.isFramingEnabled()) {
+            send(new String[] {remoteName, serverMessenger.getLocalNode().getName(), FrameCodec.FRAMING_CAPABILITY});
+          } else {
+            send(new String[] {remoteName, serverMessenger.getLocalNode().getName()});
+          }
           // send the node its and our address as we see it
           send(new InetSocketAddress[] {(InetSocketAddress) channel.socket().getRemoteSocketAddress(),
               serverMessenger.getLocalNode().getSocketAddress()});
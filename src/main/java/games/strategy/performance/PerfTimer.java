@@ -1,25 +1,54 @@
 package games.strategy.performance;
 
+import java.awt.GraphicsEnvironment;
 import java.io.Closeable;
+import java.util.function.Supplier;
 import java.util.prefs.Preferences;
 
 /**
  * Provides a high level API to the game engine for performance measurements.
- * This class handles the library details and sends output to 'PerformanceConsole.java'
+ * This class handles the library details, aggregates the results in {@link PerformanceStatistics} and, unless running
+ * headless, sends output to 'PerformanceConsole.java'.
+ *
+ * <p>
+ * Timers are meant to be used with a try-with-resources statement:
+ * </p>
+ *
+ * <pre>
+ * try (PerfTimer timer = PerfTimer.startTimer("title")) {
+ *   // code to measure
+ * }
+ * </pre>
+ *
+ * <p>
+ * Timing is enabled either through the 'Enable Performance Logging' menu item or by setting the system property
+ * {@value #PERFORMANCE_STATISTICS_PROPERTY} to {@code true}. The latter only records statistics and never
+ * shows the console.
+ * </p>
  */
-class PerfTimer implements Closeable {
+public class PerfTimer implements Closeable {
+  /**
+   * The system property which, when {@code true}, enables timing without showing the console.
+   */
+  public static final String PERFORMANCE_STATISTICS_PROPERTY = "triplea.performance.statistics";
+
+  /**
+   * The system property set by headless game servers; same value as {@code GameRunner.TRIPLEA_HEADLESS}, which isn't
+   * referenced so this package doesn't depend on the game framework.
+   */
+  private static final String HEADLESS_PROPERTY = "triplea.headless";
 
   private static final String LOG_PERFORMANCE_KEY = "logPerformance";
   private static final PerfTimer DISABLED_TIMER = new PerfTimer("disabled");
 
-  private static boolean enabled;
+  private static volatile boolean enabled;
 
   private final long startMillis;
   final String title;
 
   static {
-    enabled = isEnabled();
-    if (enabled) {
+    enabled = isEnabled() || Boolean.getBoolean(PERFORMANCE_STATISTICS_PROPERTY);
+    if (isEnabled() && ConsoleAvailability.AVAILABLE) {
       PerformanceConsole.getInstance().setVisible(true);
     }
   }
@@ -35,13 +64,17 @@ class PerfTimer implements Closeable {
 
   @Override
   public void close() {
-    processResult(stopTimer(), this);
+    if (this != DISABLED_TIMER) {
+      processResult(stopTimer(), this);
+    }
   }
 
   static void setEnabled(final boolean isEnabled) {
     if (enabled != isEnabled) {
       enabled = isEnabled;
-      PerformanceConsole.getInstance().setVisible(enabled);
+      if (ConsoleAvailability.AVAILABLE) {
+        PerformanceConsole.getInstance().setVisible(enabled);
+      }
       storeEnabledPreference();
     }
   }
@@ -56,11 +89,42 @@ class PerfTimer implements Closeable {
     return prefs.getBoolean(LOG_PERFORMANCE_KEY, false);
   }
 
-  static PerfTimer startTimer(final String title) {
+  /**
+   * Holds whether the console can be shown. The value is computed when first needed rather than when this class is
+   * loaded, so a headless game server has already set its system property by then.
+   */
+  private static final class ConsoleAvailability {
+    private static final boolean AVAILABLE =
+        !GraphicsEnvironment.isHeadless() && !Boolean.getBoolean(HEADLESS_PROPERTY);
+  }
+
+  /**
+   * Starts a new timer. The timer stops and its result is recorded when it is closed.
+   *
+   * @param title The title under which the result is recorded; timers with the same title are aggregated.
+   *
+   * @return A timer which does nothing on close if performance timing is disabled.
+   */
+  public static PerfTimer startTimer(final String title) {
     return enabled ? new PerfTimer(title) : DISABLED_TIMER;
   }
 
+  /**
+   * Starts a new timer like {@link #startTimer(String)}, but only builds the title if timing is enabled.
+   *
+   * @param title Supplies the title under which the result is recorded.
+   *
+   * @return A timer which does nothing on close if performance timing is disabled.
+   */
+  public static PerfTimer startTimer(final Supplier<String> title) {
+    return enabled ? new PerfTimer(title.get()) : DISABLED_TIMER;
+  }
+
   private static void processResult(final long stopNanos, final PerfTimer perfTimer) {
+    PerformanceStatistics.getInstance().record(perfTimer.title, stopNanos);
+    if (!ConsoleAvailability.AVAILABLE) {
+      return;
+    }
     final long stopMicros = stopNanos / 1000;
 
     final long milliFraction = (stopMicros % 1000) / 100;
@@ -0,0 +1,75 @@
+package games.strategy.performance;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Aggregates the durations measured by {@link PerfTimer} into one histogram per timer title.
+ *
+ * <p>
+ * The statistics are published as the JMX MBean {@value #OBJECT_NAME} so they can be inspected with tools such as
+ * {@code jconsole} on hosts that do not show the {@link PerformanceConsole}, for example a headless game server.
+ * </p>
+ */
+public final class PerformanceStatistics implements PerformanceStatisticsMBean {
+  static final String OBJECT_NAME = "games.strategy.performance:type=PerformanceStatistics";
+
+  private static final Logger logger = Logger.getLogger(PerformanceStatistics.class.getName());
+  private static final PerformanceStatistics instance = newRegisteredInstance();
+
+  private final Map<String, TimerHistogram> histogramsByTitle = new ConcurrentHashMap<>();
+
+  PerformanceStatistics() {}
+
+  private static PerformanceStatistics newRegisteredInstance() {
+    final PerformanceStatistics statistics = new PerformanceStatistics();
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(statistics, new ObjectName(OBJECT_NAME));
+    } catch (final JMException | SecurityException e) {
+      logger.log(Level.WARNING, "Failed to register performance statistics MBean", e);
+    }
+    return statistics;
+  }
+
+  public static PerformanceStatistics getInstance() {
+    return instance;
+  }
+
+  void record(final String title, final long nanos) {
+    histogramsByTitle.computeIfAbsent(title, k -> new TimerHistogram()).record(nanos);
+  }
+
+  @Override
+  public String[] getSummary() {
+    final SortedMap<String, TimerHistogram> sortedHistograms = new TreeMap<>(histogramsByTitle);
+    return sortedHistograms.entrySet().stream()
+        .map(entry -> format(entry.getKey(), entry.getValue()))
+        .toArray(String[]::new);
+  }
+
+  private static String format(final String title, final TimerHistogram histogram) {
+    return title
+        + ": count=" + histogram.getCount()
+        + ", total=" + formatMicros(histogram.getTotalMicros())
+        + ", p50=" + formatMicros(histogram.getPercentileMicros(50))
+        + ", p99=" + formatMicros(histogram.getPercentileMicros(99))
+        + ", max=" + formatMicros(histogram.getMaxMicros());
+  }
+
+  private static String formatMicros(final long micros) {
+    return (micros / 1000) + "." + ((micros % 1000) / 100) + " ms";
+  }
+
+  @Override
+  public void reset() {
+    histogramsByTitle.values().forEach(TimerHistogram::reset);
+  }
+}
@@ -0,0 +1,16 @@
+package games.strategy.performance;
+
+/**
+ * The JMX management interface of {@link PerformanceStatistics}.
+ */
+public interface PerformanceStatisticsMBean {
+  /**
+   * @return One line per timer title with the count, total, median, 99th percentile and maximum duration.
+   */
+  String[] getSummary();
+
+  /**
+   * Discards all recorded durations.
+   */
+  void reset();
+}
@@ -0,0 +1,95 @@
+package games.strategy.performance;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fixed size histogram of the durations recorded for a single performance timer.
+ *
+ * <p>
+ * Durations are counted in logarithmic buckets with eight linear sub-buckets per power of two, so percentiles are
+ * reported with a relative error of at most 12.5% while using a constant amount of memory regardless of how many
+ * durations are recorded. The maximum is tracked exactly.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are thread safe.
+ * </p>
+ */
+final class TimerHistogram {
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+  private final long[] counts = new long[BUCKET_COUNT];
+  private long count;
+  private long totalMicros;
+  private long maxMicros;
+
+  synchronized void record(final long nanos) {
+    final long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+    counts[bucketIndex(micros)]++;
+    count++;
+    totalMicros += micros;
+    maxMicros = Math.max(maxMicros, micros);
+  }
+
+  synchronized long getCount() {
+    return count;
+  }
+
+  synchronized long getTotalMicros() {
+    return totalMicros;
+  }
+
+  synchronized long getMaxMicros() {
+    return maxMicros;
+  }
+
+  /**
+   * Returns the upper bound of the bucket containing the specified percentile, capped at the exact maximum.
+   *
+   * @param percentile The percentile in the range (0, 100].
+   *
+   * @return The duration in microseconds, or 0 if nothing has been recorded.
+   */
+  synchronized long getPercentileMicros(final double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+    final long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(bucketUpperBound(i), maxMicros);
+      }
+    }
+    return maxMicros;
+  }
+
+  synchronized void reset() {
+    Arrays.fill(counts, 0);
+    count = 0;
+    totalMicros = 0;
+    maxMicros = 0;
+  }
+
+  static int bucketIndex(final long micros) {
+    if (micros < SUB_BUCKET_COUNT) {
+      return (int) micros;
+    }
+    final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+    final int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+    return SUB_BUCKET_COUNT + (exponent - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  static long bucketUpperBound(final int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    final int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+    final int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+    return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+  }
+}
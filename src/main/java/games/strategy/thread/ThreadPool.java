@@ -1,18 +1,38 @@
 package games.strategy.thread;
 
-import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
-import games.strategy.util.ThreadUtil;
+import com.google.common.base.Preconditions;
+
+import games.strategy.util.CountUpAndDownLatch;
 
 /**
- * An ExecutorService backed thread pool.
+ * An ExecutorService backed thread pool that keeps track of the tasks it runs, so that callers can block until all of
+ * them have completed.
+ *
+ * <p>
+ * Tasks that fail are remembered until the next call to {@link #join()}, which rethrows the first failure, or
+ * {@link #waitForAll()}, which logs them.
+ * </p>
  */
 public class ThreadPool {
+  private static final Logger logger = Logger.getLogger(ThreadPool.class.getName());
+
   private final ExecutorService executorService;
-  private final ArrayDeque<Future<?>> futuresStack = new ArrayDeque<>();
+  // counts the tasks that have been submitted but have not completed yet
+  private final CountUpAndDownLatch pendingTasks = new CountUpAndDownLatch();
+  private final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
 
   /**
    * Creates a new instance of ThreadPool max is the maximum number of threads the pool can have. The pool may have
@@ -25,25 +45,77 @@ public class ThreadPool {
     executorService = Executors.newFixedThreadPool(max);
   }
 
+  /**
+   * Run the given task.
+   *
+   * @return The future of the task, which can be used to get the failure of this task alone.
+   */
+  public Future<?> runTask(final Runnable task) {
+    Preconditions.checkNotNull(task);
+    return submit(new TrackedTask<>(Executors.callable(task)));
+  }
 
   /**
    * Run the given task.
+   *
+   * @return The future holding the result of the task.
    */
-  public void runTask(final Runnable task) {
-    futuresStack.push(executorService.submit(task));
+  public <T> Future<T> submit(final Callable<T> task) {
+    Preconditions.checkNotNull(task);
+    return submit(new TrackedTask<>(task));
   }
 
+  private <T> Future<T> submit(final TrackedTask<T> task) {
+    pendingTasks.increment();
+    try {
+      executorService.execute(task);
+    } catch (final RejectedExecutionException e) {
+      pendingTasks.countDown();
+      throw e;
+    }
+    return task;
+  }
 
   /**
-   * Returns when all tasks run through the runTask method have finished.
+   * Returns when all tasks run through this pool have finished or have been cancelled, or when the current thread is
+   * interrupted, in which case the interrupted flag of the thread is set. Failures of the tasks are logged.
    */
   public void waitForAll() {
-    while (!futuresStack.isEmpty()) {
-      if (futuresStack.peek().isDone()) {
-        futuresStack.pop();
-      } else {
-        ThreadUtil.sleep(5);
+    try {
+      pendingTasks.await();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    for (Throwable failure = failures.poll(); failure != null; failure = failures.poll()) {
+      logger.log(Level.SEVERE, "Task failed", failure);
+    }
+  }
+
+  /**
+   * Waits for all tasks run through this pool to finish or to be cancelled, for at most the given time.
+   *
+   * @return true if all tasks have completed, false if the time elapsed before.
+   */
+  public boolean waitForAll(final long timeout, final TimeUnit unit) throws InterruptedException {
+    return pendingTasks.await(timeout, unit);
+  }
+
+  /**
+   * Waits for all tasks run through this pool to finish or to be cancelled.
+   *
+   * @throws ExecutionException If any task failed since the last call to {@link #join()} or {@link #waitForAll()}.
+   *         The cause is the first failure, any further failures are added as suppressed exceptions.
+   */
+  public void join() throws InterruptedException, ExecutionException {
+    pendingTasks.await();
+    final Throwable failure = failures.poll();
+    if (failure != null) {
+      final ExecutionException e = new ExecutionException(failure);
+      for (Throwable other = failures.poll(); other != null; other = failures.poll()) {
+        e.addSuppressed(other);
       }
+      throw e;
     }
   }
 
@@ -56,4 +128,23 @@ public class ThreadPool {
     executorService.shutdown();
   }
 
+  /**
+   * A task that records its failure and counts down the pending tasks once it is done.
+   */
+  private final class TrackedTask<T> extends FutureTask<T> {
+    TrackedTask(final Callable<T> task) {
+      super(task);
+    }
+
+    @Override
+    protected void setException(final Throwable t) {
+      failures.add(t);
+      super.setException(t);
+    }
+
+    @Override
+    protected void done() {
+      pendingTasks.countDown();
+    }
+  }
 }
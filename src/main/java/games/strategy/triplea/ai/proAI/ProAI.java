@@ -18,6 +18,7 @@ import games.strategy.engine.data.Unit;
 import games.strategy.engine.delegate.IDelegateBridge;
 import games.strategy.engine.framework.GameDataUtils;
 import games.strategy.net.GUID;
+import games.strategy.performance.PerfTimer;
 import games.strategy.triplea.Properties;
 import games.strategy.triplea.ai.AbstractAI;
 import games.strategy.triplea.ai.proAI.data.ProBattleResult;
@@ -140,8 +141,15 @@ public class ProAI extends AbstractAI {
   @Override
   protected void move(final boolean nonCombat, final IMoveDelegate moveDel, final GameData data,
       final PlayerID player) {
+    try (PerfTimer timer = PerfTimer.startTimer(nonCombat ? "ProAI.nonCombatMove" : "ProAI.combatMove")) {
+      moveInternal(nonCombat, moveDel, data, player);
+    }
+  }
+
+  private void moveInternal(final boolean nonCombat, final IMoveDelegate moveDel, final GameData data,
+      final PlayerID player) {
     final long start = System.currentTimeMillis();
-    BattleCalculator.clearOolCache();
+    BattleCalculator.clearOolCache(data);
     ProLogUI.notifyStartOfRound(data.getSequence().getRound(), player.getName());
     initializeData();
     calc.setData(data);
@@ -158,13 +166,21 @@ public class ProAI extends AbstractAI {
     }
     ProLogger
         .info(player.getName() + " time for nonCombat=" + nonCombat + " time=" + (System.currentTimeMillis() - start));
+    ProLogger.info(player.getName() + " enemy threat cache: " + ProData.takeEnemyThreatCacheStatistics());
   }
 
   @Override
   protected void purchase(final boolean purchaseForBid, final int pusToSpend, final IPurchaseDelegate purchaseDelegate,
       final GameData data, final PlayerID player) {
+    try (PerfTimer timer = PerfTimer.startTimer("ProAI.purchase")) {
+      purchaseInternal(purchaseForBid, pusToSpend, purchaseDelegate, data, player);
+    }
+  }
+
+  private void purchaseInternal(final boolean purchaseForBid, final int pusToSpend,
+      final IPurchaseDelegate purchaseDelegate, final GameData data, final PlayerID player) {
     final long start = System.currentTimeMillis();
-    BattleCalculator.clearOolCache();
+    BattleCalculator.clearOolCache(data);
     ProLogUI.notifyStartOfRound(data.getSequence().getRound(), player.getName());
     initializeData();
     if (pusToSpend <= 0) {
@@ -253,23 +269,28 @@ public class ProAI extends AbstractAI {
       }
     }
     ProLogger.info(player.getName() + " time for purchase=" + (System.currentTimeMillis() - start));
+    ProLogger.info(player.getName() + " enemy threat cache: " + ProData.takeEnemyThreatCacheStatistics());
   }
 
   @Override
   protected void place(final boolean bid, final IAbstractPlaceDelegate placeDelegate, final GameData data,
       final PlayerID player) {
-    final long start = System.currentTimeMillis();
-    BattleCalculator.clearOolCache();
-    ProLogUI.notifyStartOfRound(data.getSequence().getRound(), player.getName());
-    initializeData();
-    purchaseAI.place(storedPurchaseTerritories, placeDelegate);
-    storedPurchaseTerritories = null;
-    ProLogger.info(player.getName() + " time for place=" + (System.currentTimeMillis() - start));
+    try (PerfTimer timer = PerfTimer.startTimer("ProAI.place")) {
+      final long start = System.currentTimeMillis();
+      BattleCalculator.clearOolCache(data);
+      ProLogUI.notifyStartOfRound(data.getSequence().getRound(), player.getName());
+      initializeData();
+      purchaseAI.place(storedPurchaseTerritories, placeDelegate);
+      storedPurchaseTerritories = null;
+      ProLogger.info(player.getName() + " time for place=" + (System.currentTimeMillis() - start));
+    }
   }
 
   @Override
   protected void tech(final ITechDelegate techDelegate, final GameData data, final PlayerID player) {
-    ProTechAI.tech(techDelegate, data, player);
+    try (PerfTimer timer = PerfTimer.startTimer("ProAI.tech")) {
+      ProTechAI.tech(techDelegate, data, player);
+    }
   }
 
   @Override
@@ -445,6 +466,12 @@ public class ProAI extends AbstractAI {
 
   @Override
   public void politicalActions() {
+    try (PerfTimer timer = PerfTimer.startTimer("ProAI.politicalActions")) {
+      politicalActionsInternal();
+    }
+  }
+
+  private void politicalActionsInternal() {
     initializeData();
 
     if (storedPoliticalActions == null) {
@@ -11,6 +11,7 @@ import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.Unit;
 import games.strategy.engine.data.UnitType;
 import games.strategy.triplea.Properties;
+import games.strategy.triplea.ai.proAI.data.ProEnemyThreatCache;
 import games.strategy.triplea.ai.proAI.data.ProPurchaseOption;
 import games.strategy.triplea.ai.proAI.data.ProPurchaseOptionMap;
 import games.strategy.triplea.ai.proAI.util.ProUtils;
@@ -28,6 +29,10 @@ public class ProData {
   private static GameData data;
   private static PlayerID player;
 
+  // Enemy threats of the current turn, one cache for the game data and one for each simulation copy of it
+  private static final List<ProEnemyThreatCache> enemyThreatCaches = new ArrayList<>();
+  private static ProEnemyThreatCache enemyThreatCache;
+
   // Default values
   public static boolean isSimulation = false;
   public static double winPercentage = 95;
@@ -66,6 +71,20 @@ public class ProData {
     unitValueMap = TuvUtils.getCostsForTuv(player, data);
     purchaseOptions = new ProPurchaseOptionMap(player, data);
     minCostPerHitPoint = getMinCostPerHitPoint(purchaseOptions.getLandOptions());
+    enemyThreatCache = getEnemyThreatCache(data, player);
+  }
+
+  private static ProEnemyThreatCache getEnemyThreatCache(final GameData data, final PlayerID player) {
+    final int round = data.getSequence().getRound();
+    enemyThreatCaches.removeIf(cache -> !cache.isForTurnOf(player, round));
+    for (final ProEnemyThreatCache cache : enemyThreatCaches) {
+      if (cache.isFor(data, player)) {
+        return cache;
+      }
+    }
+    final ProEnemyThreatCache cache = new ProEnemyThreatCache(data, player);
+    enemyThreatCaches.add(cache);
+    return cache;
   }
 
   public static ProAI getProAi() {
@@ -80,6 +99,21 @@ public class ProData {
     return player;
   }
 
+  public static ProEnemyThreatCache getEnemyThreatCache() {
+    return enemyThreatCache;
+  }
+
+  /**
+   * Returns the enemy threat cache statistics of all caches of the current turn since the last call.
+   */
+  public static String takeEnemyThreatCacheStatistics() {
+    final StringBuilder sb = new StringBuilder();
+    for (final ProEnemyThreatCache cache : enemyThreatCaches) {
+      sb.append(sb.length() == 0 ? "" : "; ").append(cache.takeStatistics());
+    }
+    return sb.toString();
+  }
+
   private static double getMinCostPerHitPoint(final List<ProPurchaseOption> landPurchaseOptions) {
     double minCostPerHitPoint = Double.MAX_VALUE;
     for (final ProPurchaseOption ppo : landPurchaseOptions) {
@@ -0,0 +1,231 @@
+package games.strategy.triplea.ai.proAI.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Iterables;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.RelationshipType;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.attachments.UnitAttachment;
+
+/**
+ * Caches the maps of the territories each enemy player can attack or defend for the turn of one player, so that the
+ * phases of the turn don't recompute the threats of enemies whose surroundings haven't changed.
+ *
+ * <p>
+ * An entry is keyed by the enemy player and the territory lists the map was computed with. It remembers the owner and
+ * units of every territory within reach of the enemy's units and is recomputed once any of them changes, so the moves
+ * of the player only invalidate the enemies they can affect. All entries are dropped when a relationship changes.
+ * </p>
+ *
+ * <p>
+ * The maps of several enemies may be requested from different threads at the same time while the game data isn't
+ * changed.
+ * </p>
+ */
+public class ProEnemyThreatCache {
+
+  // Movement bonus of facilities plus unloading from transports or passing a canal at the edge of the reach
+  private static final int EXTRA_REACH = 3;
+
+  private final GameData data;
+  private final String playerName;
+  private final int round;
+  private final Map<Key, Entry> entries = new HashMap<>();
+  private List<RelationshipType> relationships;
+  private int hits;
+  private int misses;
+  private long computeNanos;
+  private long savedNanos;
+
+  public ProEnemyThreatCache(final GameData data, final PlayerID player) {
+    this.data = data;
+    playerName = player.getName();
+    round = data.getSequence().getRound();
+    relationships = getRelationships();
+  }
+
+  /**
+   * Indicates this cache was created for the specified data during the current turn of the specified player.
+   */
+  public boolean isFor(final GameData data, final PlayerID player) {
+    return this.data == data && isForTurnOf(player, data.getSequence().getRound());
+  }
+
+  /**
+   * Indicates this cache was created during the specified turn of the specified player.
+   */
+  public boolean isForTurnOf(final PlayerID player, final int round) {
+    return playerName.equals(player.getName()) && this.round == round;
+  }
+
+  Map<Territory, ProTerritory> getAttackMap(final PlayerID enemyPlayer, final List<Territory> enemyUnitTerritories,
+      final Collection<Territory> enemyTerritories, final Collection<Territory> alliedTerritories,
+      final Collection<Territory> territoriesToCheck, final Supplier<Map<Territory, ProTerritory>> attackMapSupplier) {
+    return get(new Key(true, enemyPlayer, enemyUnitTerritories, enemyTerritories, alliedTerritories,
+        territoriesToCheck), attackMapSupplier);
+  }
+
+  Map<Territory, ProTerritory> getDefendMap(final PlayerID enemyPlayer, final List<Territory> enemyUnitTerritories,
+      final Collection<Territory> clearedTerritories, final Supplier<Map<Territory, ProTerritory>> defendMapSupplier) {
+    return get(new Key(false, enemyPlayer, enemyUnitTerritories, clearedTerritories, new ArrayList<>(),
+        new ArrayList<>()), defendMapSupplier);
+  }
+
+  private Map<Territory, ProTerritory> get(final Key key, final Supplier<Map<Territory, ProTerritory>> supplier) {
+    synchronized (this) {
+      final List<RelationshipType> currentRelationships = getRelationships();
+      if (!currentRelationships.equals(relationships)) {
+        entries.clear();
+        relationships = currentRelationships;
+      }
+      final Entry entry = entries.get(key);
+      if (entry != null && entry.isValid()) {
+        hits++;
+        savedNanos += entry.computeNanos;
+        return entry.moveMap;
+      }
+      misses++;
+    }
+
+    // Compute outside of the lock so that the maps of several enemies can be computed at the same time
+    final long start = System.nanoTime();
+    final Map<Territory, ProTerritory> moveMap = supplier.get();
+    final long nanos = System.nanoTime() - start;
+    final Entry entry = new Entry(moveMap, findReach(key.enemyPlayer, key.enemyUnitTerritories), nanos);
+    synchronized (this) {
+      computeNanos += nanos;
+      entries.put(key, entry);
+    }
+    return moveMap;
+  }
+
+  private Set<Territory> findReach(final PlayerID enemyPlayer, final List<Territory> enemyUnitTerritories) {
+    int maxMovement = 0;
+    for (final Territory t : enemyUnitTerritories) {
+      for (final Unit u : t.getUnits().getUnits()) {
+        if (u.getOwner().equals(enemyPlayer)) {
+          maxMovement = Math.max(maxMovement, UnitAttachment.get(u.getType()).getMovement(enemyPlayer));
+        }
+      }
+    }
+    final Set<Territory> reach = new HashSet<>(enemyUnitTerritories);
+    if (!enemyUnitTerritories.isEmpty()) {
+      reach.addAll(data.getMap().getNeighbors(new HashSet<>(enemyUnitTerritories), maxMovement + EXTRA_REACH));
+    }
+    return reach;
+  }
+
+  private List<RelationshipType> getRelationships() {
+    final List<RelationshipType> result = new ArrayList<>();
+    final List<PlayerID> players = data.getPlayerList().getPlayers();
+    for (int i = 0; i < players.size(); i++) {
+      for (int j = i + 1; j < players.size(); j++) {
+        result.add(data.getRelationshipTracker().getRelationshipType(players.get(i), players.get(j)));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Drops all entries, so every map is computed again the next time it's requested.
+   */
+  @VisibleForTesting
+  synchronized void clear() {
+    entries.clear();
+  }
+
+  /**
+   * Returns the number of reused and computed maps and the time spent computing or saved since the last call.
+   */
+  public synchronized String takeStatistics() {
+    final String result = "hits=" + hits + ", misses=" + misses + ", computeMillis="
+        + TimeUnit.NANOSECONDS.toMillis(computeNanos) + ", savedMillis=" + TimeUnit.NANOSECONDS.toMillis(savedNanos);
+    hits = 0;
+    misses = 0;
+    computeNanos = 0;
+    savedNanos = 0;
+    return result;
+  }
+
+  private static final class Key {
+    private final boolean isAttack;
+    private final PlayerID enemyPlayer;
+    private final List<Territory> enemyUnitTerritories;
+    private final Set<Territory> enemyTerritories;
+    private final Set<Territory> alliedTerritories;
+    private final Set<Territory> territoriesToCheck;
+
+    private Key(final boolean isAttack, final PlayerID enemyPlayer, final List<Territory> enemyUnitTerritories,
+        final Collection<Territory> enemyTerritories, final Collection<Territory> alliedTerritories,
+        final Collection<Territory> territoriesToCheck) {
+      this.isAttack = isAttack;
+      this.enemyPlayer = enemyPlayer;
+      this.enemyUnitTerritories = new ArrayList<>(enemyUnitTerritories);
+      this.enemyTerritories = new HashSet<>(enemyTerritories);
+      this.alliedTerritories = new HashSet<>(alliedTerritories);
+      this.territoriesToCheck = new HashSet<>(territoriesToCheck);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (o == this) {
+        return true;
+      } else if (!(o instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) o;
+      return isAttack == other.isAttack
+          && enemyPlayer.equals(other.enemyPlayer)
+          && enemyUnitTerritories.equals(other.enemyUnitTerritories)
+          && enemyTerritories.equals(other.enemyTerritories)
+          && alliedTerritories.equals(other.alliedTerritories)
+          && territoriesToCheck.equals(other.territoriesToCheck);
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(new Object[] {isAttack, enemyPlayer, enemyUnitTerritories, enemyTerritories,
+          alliedTerritories, territoriesToCheck});
+    }
+  }
+
+  private static final class Entry {
+    private final Map<Territory, ProTerritory> moveMap;
+    private final Map<Territory, PlayerID> owners = new HashMap<>();
+    private final Map<Territory, List<Unit>> units = new HashMap<>();
+    private final long computeNanos;
+
+    private Entry(final Map<Territory, ProTerritory> moveMap, final Set<Territory> reach, final long computeNanos) {
+      this.moveMap = moveMap;
+      this.computeNanos = computeNanos;
+      for (final Territory t : reach) {
+        owners.put(t, t.getOwner());
+        units.put(t, new ArrayList<>(t.getUnits().getUnits()));
+      }
+    }
+
+    private boolean isValid() {
+      for (final Map.Entry<Territory, PlayerID> owner : owners.entrySet()) {
+        final Territory t = owner.getKey();
+        if (!owner.getValue().equals(t.getOwner()) || !Iterables.elementsEqual(units.get(t), t.getUnits())) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -6,9 +6,15 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.annotations.VisibleForTesting;
 
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
@@ -31,6 +37,7 @@ import games.strategy.triplea.delegate.Matches;
 import games.strategy.triplea.delegate.MoveValidator;
 import games.strategy.triplea.delegate.TerritoryEffectHelper;
 import games.strategy.triplea.delegate.TransportTracker;
+import games.strategy.triplea.settings.ClientSetting;
 import games.strategy.util.Match;
 
 /**
@@ -38,6 +45,9 @@ import games.strategy.util.Match;
  */
 public class ProTerritoryManager {
 
+  private static final ExecutorService enemyMoveExecutor = Executors.newWorkStealingPool();
+  private static final int MAX_PARALLEL_ROUNDS = 3;
+
   private final ProOddsCalculator calc;
   private final PlayerID player;
 
@@ -446,31 +456,106 @@ public class ProTerritoryManager {
 
   private static ProOtherMoveOptions findEnemyAttackOptions(final PlayerID player,
       final List<Territory> clearedTerritories, final List<Territory> territoriesToCheck) {
+    return new ProOtherMoveOptions(findEnemyAttackMaps(player, clearedTerritories, territoriesToCheck,
+        ClientSetting.AI_PARALLEL_ENEMY_MOVES.booleanValue()), player, true);
+  }
+
+  @VisibleForTesting
+  static List<Map<Territory, ProTerritory>> findEnemyAttackMaps(final PlayerID player,
+      final List<Territory> clearedTerritories, final List<Territory> territoriesToCheck, final boolean parallel) {
     final GameData data = ProData.getData();
 
     // Get enemy players in order of turn
     final List<PlayerID> enemyPlayers = ProUtils.getEnemyPlayersInTurnOrder(player);
+    final List<List<Territory>> enemyUnitTerritories = new ArrayList<>();
+    for (final PlayerID enemyPlayer : enemyPlayers) {
+      final List<Territory> unitTerritories =
+          Matches.getMatches(data.getMap().getTerritories(), Matches.territoryHasUnitsOwnedBy(enemyPlayer));
+      unitTerritories.removeAll(clearedTerritories);
+      enemyUnitTerritories.add(unitTerritories);
+    }
+    if (enemyPlayers.size() > 1 && parallel) {
+      data.acquireReadLock();
+      try {
+        return findEnemyAttackMapsInParallel(enemyPlayers, enemyUnitTerritories, clearedTerritories,
+            territoriesToCheck);
+      } finally {
+        data.releaseReadLock();
+      }
+    }
     final List<Map<Territory, ProTerritory>> enemyAttackMaps = new ArrayList<>();
     final Set<Territory> alliedTerritories = new HashSet<>();
-    final List<Territory> enemyTerritories = new ArrayList<>(clearedTerritories);
 
     // Loop through each enemy to determine the maximum number of enemy units that can attack each territory
-    for (final PlayerID enemyPlayer : enemyPlayers) {
-      final List<Territory> enemyUnitTerritories =
-          Matches.getMatches(data.getMap().getTerritories(), Matches.territoryHasUnitsOwnedBy(enemyPlayer));
-      enemyUnitTerritories.removeAll(clearedTerritories);
-      final Map<Territory, ProTerritory> attackMap = new HashMap<>();
-      final Map<Unit, Set<Territory>> unitAttackMap = new HashMap<>();
-      final Map<Unit, Set<Territory>> transportAttackMap = new HashMap<>();
-      final Map<Unit, Set<Territory>> bombardMap = new HashMap<>();
-      final List<ProTransport> transportMapList = new ArrayList<>();
+    for (int i = 0; i < enemyPlayers.size(); i++) {
+      final Map<Territory, ProTerritory> attackMap = findEnemyAttackMap(enemyPlayers.get(i),
+          enemyUnitTerritories.get(i), clearedTerritories, alliedTerritories, territoriesToCheck);
       enemyAttackMaps.add(attackMap);
-      findAttackOptions(enemyPlayer, enemyUnitTerritories, attackMap, unitAttackMap, transportAttackMap, bombardMap,
-          transportMapList, enemyTerritories, new ArrayList<>(alliedTerritories), territoriesToCheck, true, true);
       alliedTerritories.addAll(Matches.getMatches(attackMap.keySet(), Matches.territoryIsLand()));
-      enemyTerritories.removeAll(alliedTerritories);
     }
-    return new ProOtherMoveOptions(enemyAttackMaps, player, true);
+    return enemyAttackMaps;
+  }
+
+  /**
+   * Finds the attack maps of all enemies at the same time. The land territories an enemy can attack count as allied
+   * for the enemies after it, so each round computes the maps of the enemies whose allied territories differ from the
+   * ones derived from the latest maps of the enemies before them. After {@link #MAX_PARALLEL_ROUNDS} rounds, the maps
+   * still out of date are computed one enemy after another in turn order, so no map is computed more than
+   * MAX_PARALLEL_ROUNDS + 1 times and the maps are the same as the ones found one enemy after another.
+   */
+  private static List<Map<Territory, ProTerritory>> findEnemyAttackMapsInParallel(final List<PlayerID> enemyPlayers,
+      final List<List<Territory>> enemyUnitTerritories, final List<Territory> clearedTerritories,
+      final List<Territory> territoriesToCheck) {
+    final int enemyCount = enemyPlayers.size();
+    final List<Map<Territory, ProTerritory>> enemyAttackMaps = new ArrayList<>(Collections.nCopies(enemyCount, null));
+    final List<Set<Territory>> usedAlliedTerritories = new ArrayList<>(Collections.nCopies(enemyCount, null));
+    for (int round = 0; round < MAX_PARALLEL_ROUNDS; round++) {
+      final Map<Integer, CompletableFuture<Map<Territory, ProTerritory>>> futures = new LinkedHashMap<>();
+      final Set<Territory> alliedTerritories = new HashSet<>();
+      for (int i = 0; i < enemyCount; i++) {
+        if (!alliedTerritories.equals(usedAlliedTerritories.get(i))) {
+          final int enemyIndex = i;
+          final Set<Territory> enemyAlliedTerritories = new HashSet<>(alliedTerritories);
+          usedAlliedTerritories.set(i, enemyAlliedTerritories);
+          futures.put(i, CompletableFuture.supplyAsync(() -> findEnemyAttackMap(enemyPlayers.get(enemyIndex),
+              enemyUnitTerritories.get(enemyIndex), clearedTerritories, enemyAlliedTerritories, territoriesToCheck),
+              enemyMoveExecutor));
+        }
+        if (enemyAttackMaps.get(i) != null) {
+          alliedTerritories.addAll(Matches.getMatches(enemyAttackMaps.get(i).keySet(), Matches.territoryIsLand()));
+        }
+      }
+      if (futures.isEmpty()) {
+        return enemyAttackMaps;
+      }
+      futures.forEach((i, future) -> enemyAttackMaps.set(i, future.join()));
+    }
+
+    // Each enemy in turn order sees the final maps of the enemies before it, so one pass brings all maps up to date
+    final Set<Territory> alliedTerritories = new HashSet<>();
+    for (int i = 0; i < enemyCount; i++) {
+      if (!alliedTerritories.equals(usedAlliedTerritories.get(i))) {
+        enemyAttackMaps.set(i, findEnemyAttackMap(enemyPlayers.get(i), enemyUnitTerritories.get(i),
+            clearedTerritories, new HashSet<>(alliedTerritories), territoriesToCheck));
+      }
+      alliedTerritories.addAll(Matches.getMatches(enemyAttackMaps.get(i).keySet(), Matches.territoryIsLand()));
+    }
+    return enemyAttackMaps;
+  }
+
+  private static Map<Territory, ProTerritory> findEnemyAttackMap(final PlayerID enemyPlayer,
+      final List<Territory> enemyUnitTerritories, final List<Territory> clearedTerritories,
+      final Set<Territory> alliedTerritories, final List<Territory> territoriesToCheck) {
+    final List<Territory> enemyTerritories = new ArrayList<>(clearedTerritories);
+    enemyTerritories.removeAll(alliedTerritories);
+    return ProData.getEnemyThreatCache().getAttackMap(enemyPlayer, enemyUnitTerritories, enemyTerritories,
+        alliedTerritories, territoriesToCheck, () -> {
+          final Map<Territory, ProTerritory> attackMap = new HashMap<>();
+          findAttackOptions(enemyPlayer, enemyUnitTerritories, attackMap, new HashMap<>(), new HashMap<>(),
+              new HashMap<>(), new ArrayList<>(), enemyTerritories, new ArrayList<>(alliedTerritories),
+              territoriesToCheck, true, true);
+          return attackMap;
+        });
   }
 
   private static void findPotentialAttackOptions(final PlayerID player, final List<Territory> myUnitTerritories,
@@ -528,13 +613,14 @@ public class ProTerritoryManager {
     for (final PlayerID enemyPlayer : enemyPlayers) {
       final List<Territory> enemyUnitTerritories =
           Matches.getMatches(data.getMap().getTerritories(), Matches.territoryHasUnitsOwnedBy(enemyPlayer));
-      final Map<Territory, ProTerritory> moveMap = new HashMap<>();
-      final Map<Unit, Set<Territory>> unitMoveMap = new HashMap<>();
-      final Map<Unit, Set<Territory>> transportMoveMap = new HashMap<>();
-      final List<ProTransport> transportMapList = new ArrayList<>();
+      final Map<Territory, ProTerritory> moveMap = ProData.getEnemyThreatCache().getDefendMap(enemyPlayer,
+          enemyUnitTerritories, clearedTerritories, () -> {
+            final Map<Territory, ProTerritory> defendMap = new HashMap<>();
+            findDefendOptions(enemyPlayer, enemyUnitTerritories, defendMap, new HashMap<>(), new HashMap<>(),
+                new ArrayList<>(), clearedTerritories, true);
+            return defendMap;
+          });
       enemyMoveMaps.add(moveMap);
-      findDefendOptions(enemyPlayer, enemyUnitTerritories, moveMap, unitMoveMap, transportMoveMap, transportMapList,
-          clearedTerritories, true);
     }
 
     return new ProOtherMoveOptions(enemyMoveMaps, player, false);
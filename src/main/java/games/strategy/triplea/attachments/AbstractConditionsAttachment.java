@@ -207,7 +207,8 @@ public abstract class AbstractConditionsAttachment extends DefaultAttachment imp
   /**
    * Takes the list of ICondition that getAllConditionsRecursive generates, and tests each of them, mapping them one by
    * one to their boolean
-   * value.
+   * value. Rules whose inputs haven't changed since they were last tested aren't tested again, see
+   * {@link ConditionEvaluator}.
    */
   public static HashMap<ICondition, Boolean> testAllConditionsRecursive(final HashSet<ICondition> rules,
       HashMap<ICondition, Boolean> allConditionsTestedSoFar, final IDelegateBridge delegateBridge) {
@@ -217,12 +218,21 @@ public abstract class AbstractConditionsAttachment extends DefaultAttachment imp
     for (final ICondition c : rules) {
       if (!allConditionsTestedSoFar.containsKey(c)) {
         testAllConditionsRecursive(new HashSet<>(c.getConditions()), allConditionsTestedSoFar, delegateBridge);
-        allConditionsTestedSoFar.put(c, c.isSatisfied(allConditionsTestedSoFar, delegateBridge));
+        allConditionsTestedSoFar.put(c, isSatisfied(c, allConditionsTestedSoFar, delegateBridge));
       }
     }
     return allConditionsTestedSoFar;
   }
 
+  private static boolean isSatisfied(final ICondition condition,
+      final HashMap<ICondition, Boolean> allConditionsTestedSoFar, final IDelegateBridge delegateBridge) {
+    if (condition instanceof RulesAttachment && delegateBridge != null) {
+      return ConditionEvaluator.get(delegateBridge.getData()).isSatisfied((RulesAttachment) condition,
+          allConditionsTestedSoFar, delegateBridge);
+    }
+    return condition.isSatisfied(allConditionsTestedSoFar, delegateBridge);
+  }
+
   /**
    * Accounts for all listed rules, according to the conditionType.
    * Takes the mapped conditions generated by testAllConditions and uses it to know which conditions are true and which
@@ -0,0 +1,159 @@
+package games.strategy.triplea.attachments;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameStep;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.data.changefactory.ChangeFootprint;
+import games.strategy.engine.data.events.GameDataChangeListener;
+import games.strategy.engine.delegate.IDelegateBridge;
+
+/**
+ * Reuses the results of conditions whose inputs haven't changed since they were last tested.
+ *
+ * <p>
+ * Along with the result of a condition, the evaluator remembers which territories, relationships and other parts of the
+ * game data the condition and the conditions it is made of read. It listens to the changes of the game data and only
+ * forgets the results of the conditions whose inputs a change touched. Conditions with a chance or a game property
+ * are always tested.
+ * </p>
+ *
+ * <p>
+ * The number of tested and reused conditions and the time spent testing them are logged for each step of the game.
+ * </p>
+ */
+final class ConditionEvaluator implements GameDataChangeListener {
+  private static final Logger logger = Logger.getLogger(ConditionEvaluator.class.getName());
+  // the game data keeps its evaluator alive as a listener, so neither is referenced strongly here
+  private static final Map<GameData, WeakReference<ConditionEvaluator>> evaluators = new WeakHashMap<>();
+
+  private final Map<RulesAttachment, Entry> entries = new HashMap<>();
+  private long changeCount;
+  private String stepName;
+  private int evaluations;
+  private int reuses;
+  private long evaluationNanos;
+
+  /**
+   * Returns the evaluator of the specified game data.
+   */
+  static ConditionEvaluator get(final GameData data) {
+    synchronized (evaluators) {
+      final WeakReference<ConditionEvaluator> reference = evaluators.get(data);
+      ConditionEvaluator evaluator = (reference == null) ? null : reference.get();
+      if (evaluator == null) {
+        evaluator = new ConditionEvaluator();
+        data.addDataChangeListener(evaluator);
+        evaluators.put(data, new WeakReference<>(evaluator));
+      }
+      return evaluator;
+    }
+  }
+
+  /**
+   * Tests the specified condition, or returns its last result if none of its inputs changed since. The conditions it
+   * is made of must already be in testedConditions.
+   */
+  boolean isSatisfied(final RulesAttachment condition, final HashMap<ICondition, Boolean> testedConditions,
+      final IDelegateBridge delegateBridge) {
+    final GameData data = delegateBridge.getData();
+    final GameStep step = data.getSequence().getStep();
+    final int round = data.getSequence().getRound();
+    final long changeCountAtStart;
+    synchronized (this) {
+      updateStep(step == null ? null : step.getName());
+      final Entry entry = entries.get(condition);
+      if (entry != null && (entry.round == round || !entry.inputs.readsRound())) {
+        reuses++;
+        // countEach conditions remember how often they were met, which the triggers read after the test
+        condition.m_eachMultiple = entry.eachMultiple;
+        return entry.satisfied;
+      }
+      changeCountAtStart = changeCount;
+    }
+
+    final long start = System.nanoTime();
+    final boolean satisfied = condition.isSatisfied(testedConditions, delegateBridge);
+    final long nanos = System.nanoTime() - start;
+    final ConditionInputs inputs = condition.getInputs(data);
+    synchronized (this) {
+      evaluations++;
+      evaluationNanos += nanos;
+      for (final RulesAttachment subCondition : condition.getConditions()) {
+        final Entry subEntry = entries.get(subCondition);
+        if (subEntry == null) {
+          inputs.setVolatile();
+        } else {
+          inputs.addAll(subEntry.inputs);
+        }
+      }
+      // a change made while testing, like the one of another thread, may have been missed by the result
+      if (!inputs.isVolatile() && changeCount == changeCountAtStart) {
+        entries.put(condition, new Entry(satisfied, condition.m_eachMultiple, round, inputs));
+      }
+    }
+    return satisfied;
+  }
+
+  private void updateStep(final String currentStepName) {
+    if (currentStepName == null || currentStepName.equals(stepName)) {
+      return;
+    }
+    if (stepName != null && logger.isLoggable(Level.FINE)) {
+      logger.log(Level.FINE, "Conditions of step " + stepName + ": evaluations=" + evaluations + ", reuses=" + reuses
+          + ", evaluationMillis=" + TimeUnit.NANOSECONDS.toMillis(evaluationNanos));
+    }
+    stepName = currentStepName;
+    evaluations = 0;
+    reuses = 0;
+    evaluationNanos = 0;
+  }
+
+  synchronized int getEvaluations() {
+    return evaluations;
+  }
+
+  synchronized int getReuses() {
+    return reuses;
+  }
+
+  @Override
+  public void gameDataChanged(final Change change) {
+    final ChangeFootprint footprint = ChangeFactory.getFootprint(change);
+    synchronized (this) {
+      changeCount++;
+      if (footprint.isUnknown()) {
+        entries.clear();
+        return;
+      }
+      for (final Iterator<Entry> iter = entries.values().iterator(); iter.hasNext();) {
+        if (iter.next().inputs.isTouchedBy(footprint)) {
+          iter.remove();
+        }
+      }
+    }
+  }
+
+  private static final class Entry {
+    private final boolean satisfied;
+    private final int eachMultiple;
+    private final int round;
+    private final ConditionInputs inputs;
+
+    private Entry(final boolean satisfied, final int eachMultiple, final int round, final ConditionInputs inputs) {
+      this.satisfied = satisfied;
+      this.eachMultiple = eachMultiple;
+      this.round = round;
+      this.inputs = inputs;
+    }
+  }
+}
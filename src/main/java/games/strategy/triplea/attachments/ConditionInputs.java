@@ -0,0 +1,117 @@
+package games.strategy.triplea.attachments;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import games.strategy.engine.data.IAttachment;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.changefactory.ChangeFootprint;
+
+/**
+ * The parts of the game data a condition reads: the territories whose units or owner it checks, the conditions it is
+ * made of and whether it depends on relationships, battle records or the round.
+ */
+final class ConditionInputs {
+  private final Set<String> unitTerritoryNames = new HashSet<>();
+  private final Set<String> ownerTerritoryNames = new HashSet<>();
+  private final Set<RulesAttachment> conditions = new HashSet<>();
+  private boolean readsAllTerritories = false;
+  private boolean readsRelationships = false;
+  private boolean readsBattleRecords = false;
+  private boolean readsRound = false;
+  private boolean isVolatile = false;
+
+  ConditionInputs(final RulesAttachment condition) {
+    conditions.add(condition);
+  }
+
+  void readUnits(final Collection<Territory> territories) {
+    territories.forEach(t -> unitTerritoryNames.add(t.getName()));
+  }
+
+  void readOwners(final Collection<Territory> territories) {
+    territories.forEach(t -> ownerTerritoryNames.add(t.getName()));
+  }
+
+  /**
+   * Used for the territory groups like "controlled" or "enemy", which depend on the owner of every territory.
+   */
+  void readAllTerritories() {
+    readsAllTerritories = true;
+    readsRelationships = true;
+  }
+
+  void readRelationships() {
+    readsRelationships = true;
+  }
+
+  void readBattleRecords() {
+    readsBattleRecords = true;
+  }
+
+  void readRound() {
+    readsRound = true;
+  }
+
+  /**
+   * Marks the condition as one whose result can't be reused, for example because it rolls for its chance.
+   */
+  void setVolatile() {
+    isVolatile = true;
+  }
+
+  /**
+   * Adds the inputs of a condition this condition is made of.
+   */
+  void addAll(final ConditionInputs other) {
+    unitTerritoryNames.addAll(other.unitTerritoryNames);
+    ownerTerritoryNames.addAll(other.ownerTerritoryNames);
+    conditions.addAll(other.conditions);
+    readsAllTerritories |= other.readsAllTerritories;
+    readsRelationships |= other.readsRelationships;
+    readsBattleRecords |= other.readsBattleRecords;
+    readsRound |= other.readsRound;
+    isVolatile |= other.isVolatile;
+  }
+
+  boolean isVolatile() {
+    return isVolatile;
+  }
+
+  boolean readsRound() {
+    return readsRound;
+  }
+
+  /**
+   * Indicates the change with the specified footprint may change the result of the condition.
+   */
+  boolean isTouchedBy(final ChangeFootprint footprint) {
+    if (footprint.isUnknown()
+        || readsRelationships && footprint.isRelationshipsChanged()
+        || readsBattleRecords && footprint.isBattleRecordsChanged()
+        || isTouched(unitTerritoryNames, footprint.getUnitTerritoryNames())
+        || isTouched(ownerTerritoryNames, footprint.getOwnerTerritoryNames())) {
+      return true;
+    }
+    for (final IAttachment attachment : footprint.getAttachments()) {
+      if (attachment instanceof RulesAttachment) {
+        if (conditions.contains(attachment)) {
+          return true;
+        }
+      } else if (!(attachment instanceof AbstractConditionsAttachment)) {
+        // triggers and actions are never read by conditions, but techs, territories and unit types may be
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isTouched(final Set<String> territoryNames, final Set<String> changedTerritoryNames) {
+    if (changedTerritoryNames.isEmpty()) {
+      return false;
+    }
+    return readsAllTerritories || !Collections.disjoint(territoryNames, changedTerritoryNames);
+  }
+}
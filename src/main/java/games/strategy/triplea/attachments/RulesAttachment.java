@@ -855,9 +855,7 @@ public class RulesAttachment extends AbstractPlayerRulesAttachment {
     // "chance" should ALWAYS be checked last!
     final int hitTarget = getChanceToHit();
     final int diceSides = getChanceDiceSides();
-    final int incrementOnFailure = this.getChanceIncrementOnFailure();
-    final int decrementOnSuccess = this.getChanceDecrementOnSuccess();
-    if (objectiveMet && (hitTarget != diceSides || incrementOnFailure != 0 || decrementOnSuccess != 0)) {
+    if (objectiveMet && isChanceUsed()) {
       if (diceSides <= 0 || hitTarget >= diceSides) {
         objectiveMet = true;
         changeChanceDecrementOrIncrementOnSuccessOrFailure(delegateBridge, objectiveMet, false);
@@ -887,6 +885,81 @@ public class RulesAttachment extends AbstractPlayerRulesAttachment {
     return objectiveMet != m_invert;
   }
 
+  private boolean isChanceUsed() {
+    return getChanceToHit() != getChanceDiceSides() || getChanceIncrementOnFailure() != 0
+        || getChanceDecrementOnSuccess() != 0;
+  }
+
+  /**
+   * Returns the parts of the game data this condition reads, not counting the conditions it is made of. The inputs are
+   * those of every check of the condition, including the ones skipped because an earlier check failed.
+   */
+  ConditionInputs getInputs(final GameData data) {
+    final ConditionInputs inputs = new ConditionInputs(this);
+    // chance rolls the dice and game properties may be changed without a Change, so neither may be reused
+    if (isChanceUsed() || m_gameProperty != null) {
+      inputs.setVolatile();
+      return inputs;
+    }
+    readUnits(inputs, getDirectPresenceTerritories(), false);
+    readUnits(inputs, getAlliedPresenceTerritories(), true);
+    readUnits(inputs, getEnemyPresenceTerritories(), true);
+    readUnits(inputs, getDirectExclusionTerritories(), false);
+    readUnits(inputs, getAlliedExclusionTerritories(), true);
+    readUnits(inputs, getEnemyExclusionTerritories(), true);
+    readUnits(inputs, getEnemySurfaceExclusionTerritories(), true);
+    readOwners(inputs, getAlliedOwnershipTerritories(), true);
+    readOwners(inputs, getDirectOwnershipTerritories(), false);
+    if (m_atWarPlayers != null || !m_relationship.isEmpty()) {
+      inputs.readRelationships();
+    }
+    if (m_destroyedTUV != null || !m_battle.isEmpty()) {
+      inputs.readBattleRecords();
+    }
+    if (m_turns != null || !m_relationship.isEmpty() || m_destroyedTUV != null || !m_battle.isEmpty()) {
+      inputs.readRound();
+    }
+    return inputs;
+  }
+
+  private void readUnits(final ConditionInputs inputs, final String[] terrs, final boolean readsRelationships) {
+    if (terrs == null) {
+      return;
+    }
+    if (readsRelationships) {
+      inputs.readRelationships();
+    }
+    if (isTerritoryGroup(terrs)) {
+      inputs.readAllTerritories();
+    } else {
+      inputs.readUnits(getListedTerritories(terrs, true, false));
+    }
+  }
+
+  private void readOwners(final ConditionInputs inputs, final String[] terrs, final boolean readsRelationships) {
+    if (terrs == null) {
+      return;
+    }
+    if (readsRelationships) {
+      inputs.readRelationships();
+    }
+    if (isTerritoryGroup(terrs)) {
+      inputs.readAllTerritories();
+    } else {
+      inputs.readOwners(getListedTerritories(terrs, true, false));
+    }
+  }
+
+  private static boolean isTerritoryGroup(final String[] terrs) {
+    for (final String name : terrs) {
+      if (name.equals("controlled") || name.equals("controlledNoWater") || name.equals("original")
+          || name.equals("originalNoWater") || name.equals("all") || name.equals("map") || name.equals("enemy")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * checks if all relationship requirements are set
    *
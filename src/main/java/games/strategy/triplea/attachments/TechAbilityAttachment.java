@@ -23,7 +23,6 @@ import games.strategy.triplea.TripleAUnit;
 import games.strategy.triplea.delegate.GenericTechAdvance;
 import games.strategy.triplea.delegate.Matches;
 import games.strategy.triplea.delegate.TechAdvance;
-import games.strategy.triplea.delegate.TechTracker;
 import games.strategy.util.IntegerMap;
 import games.strategy.util.Match;
 
@@ -98,6 +97,14 @@ public class TechAbilityAttachment extends DefaultAttachment {
     super(name, attachable, gameData);
   }
 
+  /**
+   * The combined abilities of each player are built from all technology attachments, so any change to one of them
+   * discards the abilities of all players.
+   */
+  private void techAbilityChanged() {
+    TechAbilityProfile.clear(getData());
+  }
+
   // setters and getters
   /**
    * Adds to, not sets. Anything that adds to instead of setting needs a clear function as well.
@@ -118,11 +125,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
     // we should allow positive and negative numbers
     final int n = getInt(s[0]);
     m_attackBonus.put(ut, n);
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setAttackBonus(final IntegerMap<UnitType> value) {
     m_attackBonus = value;
+    techAbilityChanged();
   }
 
   public IntegerMap<UnitType> getAttackBonus() {
@@ -130,22 +139,17 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getAttackBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int attackBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        attackBonus += taa.getAttackBonus().getInt(ut);
-      }
-    }
-    return attackBonus;
+    return TechAbilityProfile.get(player, data).attackBonus.getInt(ut);
   }
 
   public void clearAttackBonus() {
     m_attackBonus.clear();
+    techAbilityChanged();
   }
 
   public void resetAttackBonus() {
     m_attackBonus = new IntegerMap<>();
+    techAbilityChanged();
   }
 
   /**
@@ -167,11 +171,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
     // we should allow positive and negative numbers
     final int n = getInt(s[0]);
     m_defenseBonus.put(ut, n);
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setDefenseBonus(final IntegerMap<UnitType> value) {
     m_defenseBonus = value;
+    techAbilityChanged();
   }
 
   public IntegerMap<UnitType> getDefenseBonus() {
@@ -179,22 +185,17 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getDefenseBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int defenseBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        defenseBonus += taa.getDefenseBonus().getInt(ut);
-      }
-    }
-    return defenseBonus;
+    return TechAbilityProfile.get(player, data).defenseBonus.getInt(ut);
   }
 
   public void clearDefenseBonus() {
     m_defenseBonus.clear();
+    techAbilityChanged();
   }
 
   public void resetDefenseBonus() {
     m_defenseBonus = new IntegerMap<>();
+    techAbilityChanged();
   }
 
   /**
@@ -216,11 +217,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
     // we should allow positive and negative numbers
     final int n = getInt(s[0]);
     m_movementBonus.put(ut, n);
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setMovementBonus(final IntegerMap<UnitType> value) {
     m_movementBonus = value;
+    techAbilityChanged();
   }
 
   public IntegerMap<UnitType> getMovementBonus() {
@@ -228,22 +231,17 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getMovementBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int movementBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        movementBonus += taa.getMovementBonus().getInt(ut);
-      }
-    }
-    return movementBonus;
+    return TechAbilityProfile.get(player, data).movementBonus.getInt(ut);
   }
 
   public void clearMovementBonus() {
     m_movementBonus.clear();
+    techAbilityChanged();
   }
 
   public void resetMovementBonus() {
     m_movementBonus = new IntegerMap<>();
+    techAbilityChanged();
   }
 
   /**
@@ -265,11 +263,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
     // we should allow positive and negative numbers
     final int n = getInt(s[0]);
     m_radarBonus.put(ut, n);
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setRadarBonus(final IntegerMap<UnitType> value) {
     m_radarBonus = value;
+    techAbilityChanged();
   }
 
   public IntegerMap<UnitType> getRadarBonus() {
@@ -277,22 +277,17 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getRadarBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int radarBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        radarBonus += taa.getRadarBonus().getInt(ut);
-      }
-    }
-    return radarBonus;
+    return TechAbilityProfile.get(player, data).radarBonus.getInt(ut);
   }
 
   public void clearRadarBonus() {
     m_radarBonus.clear();
+    techAbilityChanged();
   }
 
   public void resetRadarBonus() {
     m_radarBonus = new IntegerMap<>();
+    techAbilityChanged();
   }
 
   /**
@@ -314,11 +309,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
     // we should allow positive and negative numbers
     final int n = getInt(s[0]);
     m_airAttackBonus.put(ut, n);
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setAirAttackBonus(final IntegerMap<UnitType> value) {
     m_airAttackBonus = value;
+    techAbilityChanged();
   }
 
   public IntegerMap<UnitType> getAirAttackBonus() {
@@ -326,22 +323,17 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getAirAttackBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int airAttackBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        airAttackBonus += taa.getAirAttackBonus().getInt(ut);
-      }
-    }
-    return airAttackBonus;
+    return TechAbilityProfile.get(player, data).airAttackBonus.getInt(ut);
   }
 
   public void clearAirAttackBonus() {
     m_airAttackBonus.clear();
+    techAbilityChanged();
   }
 
   public void resetAirAttackBonus() {
     m_airAttackBonus = new IntegerMap<>();
+    techAbilityChanged();
   }
 
   /**
@@ -363,11 +355,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
     // we should allow positive and negative numbers
     final int n = getInt(s[0]);
     m_airDefenseBonus.put(ut, n);
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setAirDefenseBonus(final IntegerMap<UnitType> value) {
     m_airDefenseBonus = value;
+    techAbilityChanged();
   }
 
   public IntegerMap<UnitType> getAirDefenseBonus() {
@@ -375,22 +369,17 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getAirDefenseBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int airDefenseBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        airDefenseBonus += taa.getAirDefenseBonus().getInt(ut);
-      }
-    }
-    return airDefenseBonus;
+    return TechAbilityProfile.get(player, data).airDefenseBonus.getInt(ut);
   }
 
   public void clearAirDefenseBonus() {
     m_airDefenseBonus.clear();
+    techAbilityChanged();
   }
 
   public void resetAirDefenseBonus() {
     m_airDefenseBonus = new IntegerMap<>();
+    techAbilityChanged();
   }
 
   /**
@@ -412,11 +401,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
     // we should allow positive and negative numbers
     final int n = getInt(s[0]);
     m_productionBonus.put(ut, n);
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setProductionBonus(final IntegerMap<UnitType> value) {
     m_productionBonus = value;
+    techAbilityChanged();
   }
 
   public IntegerMap<UnitType> getProductionBonus() {
@@ -424,22 +415,17 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static int getProductionBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int productionBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        productionBonus += taa.getProductionBonus().getInt(ut);
-      }
-    }
-    return productionBonus;
+    return TechAbilityProfile.get(player, data).productionBonus.getInt(ut);
   }
 
   public void clearProductionBonus() {
     m_productionBonus.clear();
+    techAbilityChanged();
   }
 
   public void resetProductionBonus() {
     m_productionBonus = new IntegerMap<>();
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
@@ -450,11 +436,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
           "minimumTerritoryValueForProductionBonus must be -1 (no effect), or be between 0 and 10000" + thisErrorMsg());
     }
     m_minimumTerritoryValueForProductionBonus = v;
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setMinimumTerritoryValueForProductionBonus(final Integer value) {
     m_minimumTerritoryValueForProductionBonus = value;
+    techAbilityChanged();
   }
 
   public int getMinimumTerritoryValueForProductionBonus() {
@@ -462,23 +450,12 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static int getMinimumTerritoryValueForProductionBonus(final PlayerID player, final GameData data) {
-    int minimumTerritoryValueForProductionBonus = -1;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final int min = taa.getMinimumTerritoryValueForProductionBonus();
-        if (min == -1) {
-          continue;
-        } else if (minimumTerritoryValueForProductionBonus == -1 || min < minimumTerritoryValueForProductionBonus) {
-          minimumTerritoryValueForProductionBonus = min;
-        }
-      }
-    }
-    return Math.max(0, minimumTerritoryValueForProductionBonus);
+    return TechAbilityProfile.get(player, data).minimumTerritoryValueForProductionBonus;
   }
 
   public void resetMinimumTerritoryValueForProductionBonus() {
     m_minimumTerritoryValueForProductionBonus = -1;
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
@@ -488,11 +465,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
       throw new GameParseException("m_repairDiscount must be -1 (no effect), or be between 0 and 100" + thisErrorMsg());
     }
     m_repairDiscount = v;
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setRepairDiscount(final Integer value) {
     m_repairDiscount = value;
+    techAbilityChanged();
   }
 
   public int getRepairDiscount() {
@@ -500,25 +479,12 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static double getRepairDiscount(final PlayerID player, final GameData data) {
-    double repairDiscount = 1.0D;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final int min = taa.getRepairDiscount();
-        if (min == -1) {
-          continue;
-        } else {
-          double fmin = min;
-          fmin = fmin / 100.0F;
-          repairDiscount -= fmin;
-        }
-      }
-    }
-    return Math.max(0.0D, repairDiscount);
+    return TechAbilityProfile.get(player, data).repairDiscount;
   }
 
   public void resetRepairDiscount() {
     m_repairDiscount = -1;
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
@@ -528,11 +494,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
       throw new GameParseException("warBondDiceSides must be -1 (no effect), or be between 0 and 200" + thisErrorMsg());
     }
     m_warBondDiceSides = v;
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setWarBondDiceSides(final Integer value) {
     m_warBondDiceSides = value;
+    techAbilityChanged();
   }
 
   public int getWarBondDiceSides() {
@@ -540,21 +508,12 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static int getWarBondDiceSides(final PlayerID player, final GameData data) {
-    int warBondDiceSides = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final int sides = taa.getWarBondDiceSides();
-        if (sides > 0) {
-          warBondDiceSides += sides;
-        }
-      }
-    }
-    return Math.max(0, warBondDiceSides);
+    return TechAbilityProfile.get(player, data).warBondDiceSides;
   }
 
   public void resetWarBondDiceSides() {
     m_warBondDiceSides = -1;
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
@@ -564,11 +523,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
       throw new GameParseException("warBondDiceNumber must be between 0 and 100" + thisErrorMsg());
     }
     m_warBondDiceNumber = v;
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setWarBondDiceNumber(final Integer value) {
     m_warBondDiceNumber = value;
+    techAbilityChanged();
   }
 
   public int getWarBondDiceNumber() {
@@ -576,21 +537,12 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static int getWarBondDiceNumber(final PlayerID player, final GameData data) {
-    int warBondDiceNumber = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final int number = taa.getWarBondDiceNumber();
-        if (number > 0) {
-          warBondDiceNumber += number;
-        }
-      }
-    }
-    return Math.max(0, warBondDiceNumber);
+    return TechAbilityProfile.get(player, data).warBondDiceNumber;
   }
 
   public void resetWarBondDiceNumber() {
     m_warBondDiceNumber = 0;
+    techAbilityChanged();
   }
 
   /**
@@ -612,11 +564,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
     // we should allow positive and negative numbers
     final int n = getInt(s[0]);
     m_rocketDiceNumber.put(ut, n);
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setRocketDiceNumber(final IntegerMap<UnitType> value) {
     m_rocketDiceNumber = value;
+    techAbilityChanged();
   }
 
   public IntegerMap<UnitType> getRocketDiceNumber() {
@@ -624,14 +578,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   private static int getRocketDiceNumber(final UnitType ut, final PlayerID player, final GameData data) {
-    int rocketDiceNumber = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        rocketDiceNumber += taa.getRocketDiceNumber().getInt(ut);
-      }
-    }
-    return rocketDiceNumber;
+    return TechAbilityProfile.get(player, data).rocketDiceNumber.getInt(ut);
   }
 
   public static int getRocketDiceNumber(final Collection<Unit> rockets, final GameData data) {
@@ -644,10 +591,12 @@ public class TechAbilityAttachment extends DefaultAttachment {
 
   public void clearRocketDiceNumber() {
     m_rocketDiceNumber.clear();
+    techAbilityChanged();
   }
 
   public void resetRocketDiceNumber() {
     m_rocketDiceNumber = new IntegerMap<>();
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
@@ -657,11 +606,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
       throw new GameParseException("rocketDistance must be between 0 and 100" + thisErrorMsg());
     }
     m_rocketDistance = v;
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setRocketDistance(final Integer value) {
     m_rocketDistance = value;
+    techAbilityChanged();
   }
 
   public int getRocketDistance() {
@@ -669,21 +620,12 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static int getRocketDistance(final PlayerID player, final GameData data) {
-    int rocketDistance = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final int distance = taa.getRocketDistance();
-        if (distance > 0) {
-          rocketDistance += distance;
-        }
-      }
-    }
-    return Math.max(0, rocketDistance);
+    return TechAbilityProfile.get(player, data).rocketDistance;
   }
 
   public void resetRocketDistance() {
     m_rocketDistance = 0;
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
@@ -693,11 +635,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
       throw new GameParseException("rocketNumberPerTerritory must be between 0 and 200" + thisErrorMsg());
     }
     m_rocketNumberPerTerritory = v;
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setRocketNumberPerTerritory(final int value) {
     m_rocketNumberPerTerritory = value;
+    techAbilityChanged();
   }
 
   public int getRocketNumberPerTerritory() {
@@ -705,21 +649,12 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static int getRocketNumberPerTerritory(final PlayerID player, final GameData data) {
-    int rocketNumberPerTerritory = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final int number = taa.getRocketNumberPerTerritory();
-        if (number > 0) {
-          rocketNumberPerTerritory += number;
-        }
-      }
-    }
-    return Math.max(0, rocketNumberPerTerritory);
+    return TechAbilityProfile.get(player, data).rocketNumberPerTerritory;
   }
 
   public void resetRocketNumberPerTerritory() {
     m_rocketNumberPerTerritory = 0;
+    techAbilityChanged();
   }
 
   /**
@@ -753,11 +688,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
       abilities.add(ability);
     }
     m_unitAbilitiesGained.put(ut, abilities);
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setUnitAbilitiesGained(final HashMap<UnitType, HashSet<String>> value) {
     m_unitAbilitiesGained = value;
+    techAbilityChanged();
   }
 
   public HashMap<UnitType, HashSet<String>> getUnitAbilitiesGained() {
@@ -766,40 +703,29 @@ public class TechAbilityAttachment extends DefaultAttachment {
 
   public static boolean getUnitAbilitiesGained(final String filterForAbility, final UnitType ut, final PlayerID player,
       final GameData data) {
-    final HashSet<String> abilities = getUnitAbilitiesGained(ut, player, data);
-    return abilities.contains(filterForAbility);
-  }
-
-  private static HashSet<String> getUnitAbilitiesGained(final UnitType ut, final PlayerID player, final GameData data) {
-    final HashSet<String> unitAbilities = new HashSet<>();
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final HashSet<String> abilities = taa.getUnitAbilitiesGained().get(ut);
-        if (abilities != null) {
-          unitAbilities.addAll(abilities);
-        }
-      }
-    }
-    return unitAbilities;
+    return TechAbilityProfile.get(player, data).getUnitAbilitiesGained(ut).contains(filterForAbility);
   }
 
   public void clearUnitAbilitiesGained() {
     m_unitAbilitiesGained.clear();
+    techAbilityChanged();
   }
 
   public void resetUnitAbilitiesGained() {
     m_unitAbilitiesGained = new HashMap<>();
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setAirborneForces(final String value) {
     m_airborneForces = getBool(value);
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setAirborneForces(final Boolean value) {
     m_airborneForces = value;
+    techAbilityChanged();
   }
 
   public boolean getAirborneForces() {
@@ -808,6 +734,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
 
   public void resetAirborneForces() {
     m_airborneForces = false;
+    techAbilityChanged();
   }
 
   /**
@@ -829,11 +756,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
     // we should allow positive and negative numbers
     final int n = getInt(s[0]);
     m_airborneCapacity.put(ut, n);
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setAirborneCapacity(final IntegerMap<UnitType> value) {
     m_airborneCapacity = value;
+    techAbilityChanged();
   }
 
   public IntegerMap<UnitType> getAirborneCapacity() {
@@ -841,18 +770,11 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static IntegerMap<UnitType> getAirborneCapacity(final PlayerID player, final GameData data) {
-    final IntegerMap<UnitType> capacityMap = new IntegerMap<>();
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        capacityMap.add(taa.getAirborneCapacity());
-      }
-    }
-    return capacityMap;
+    return new IntegerMap<>(TechAbilityProfile.get(player, data).airborneCapacity);
   }
 
   public static int getAirborneCapacity(final Collection<Unit> units, final PlayerID player, final GameData data) {
-    final IntegerMap<UnitType> capacityMap = getAirborneCapacity(player, data);
+    final IntegerMap<UnitType> capacityMap = TechAbilityProfile.get(player, data).airborneCapacity;
     int airborneCapacity = 0;
     for (final Unit u : units) {
       airborneCapacity += Math.max(0, (capacityMap.getInt(u.getType()) - ((TripleAUnit) u).getLaunched()));
@@ -862,10 +784,12 @@ public class TechAbilityAttachment extends DefaultAttachment {
 
   public void clearAirborneCapacity() {
     m_airborneCapacity.clear();
+    techAbilityChanged();
   }
 
   public void resetAirborneCapacity() {
     m_airborneCapacity = new IntegerMap<>();
+    techAbilityChanged();
   }
 
   /**
@@ -881,11 +805,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
       }
       m_airborneTypes.add(ut);
     }
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setAirborneTypes(final HashSet<UnitType> value) {
     m_airborneTypes = value;
+    techAbilityChanged();
   }
 
   public HashSet<UnitType> getAirborneTypes() {
@@ -893,22 +819,17 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static Set<UnitType> getAirborneTypes(final PlayerID player, final GameData data) {
-    final Set<UnitType> airborneUnits = new HashSet<>();
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        airborneUnits.addAll(taa.getAirborneTypes());
-      }
-    }
-    return airborneUnits;
+    return new HashSet<>(TechAbilityProfile.get(player, data).airborneTypes);
   }
 
   public void clearAirborneTypes() {
     m_airborneTypes.clear();
+    techAbilityChanged();
   }
 
   public void resetAirborneTypes() {
     m_airborneTypes = new HashSet<>();
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
@@ -918,11 +839,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
       throw new GameParseException("airborneDistance must be between 0 and 100" + thisErrorMsg());
     }
     m_airborneDistance = v;
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setAirborneDistance(final Integer value) {
     m_airborneDistance = value;
+    techAbilityChanged();
   }
 
   public int getAirborneDistance() {
@@ -930,18 +853,12 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static int getAirborneDistance(final PlayerID player, final GameData data) {
-    int airborneDistance = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        airborneDistance += taa.getAirborneDistance();
-      }
-    }
-    return Math.max(0, airborneDistance);
+    return TechAbilityProfile.get(player, data).airborneDistance;
   }
 
   public void resetAirborneDistance() {
     m_airborneDistance = 0;
+    techAbilityChanged();
   }
 
   /**
@@ -957,11 +874,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
       }
       m_airborneBases.add(ut);
     }
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setAirborneBases(final HashSet<UnitType> value) {
     m_airborneBases = value;
+    techAbilityChanged();
   }
 
   public HashSet<UnitType> getAirborneBases() {
@@ -969,22 +888,17 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static Set<UnitType> getAirborneBases(final PlayerID player, final GameData data) {
-    final Set<UnitType> airborneBases = new HashSet<>();
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        airborneBases.addAll(taa.getAirborneBases());
-      }
-    }
-    return airborneBases;
+    return new HashSet<>(TechAbilityProfile.get(player, data).airborneBases);
   }
 
   public void clearAirborneBases() {
     m_airborneBases.clear();
+    techAbilityChanged();
   }
 
   public void resetAirborneBases() {
     m_airborneBases = new HashSet<>();
+    techAbilityChanged();
   }
 
   /**
@@ -1006,11 +920,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
       unitTypes.add(ut);
     }
     m_airborneTargettedByAA.put(aaType, unitTypes);
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setAirborneTargettedByAA(final HashMap<String, HashSet<UnitType>> value) {
     m_airborneTargettedByAA = value;
+    techAbilityChanged();
   }
 
   public HashMap<String, HashSet<UnitType>> getAirborneTargettedByAA() {
@@ -1020,31 +936,21 @@ public class TechAbilityAttachment extends DefaultAttachment {
   public static HashMap<String, HashSet<UnitType>> getAirborneTargettedByAA(final PlayerID player,
       final GameData data) {
     final HashMap<String, HashSet<UnitType>> airborneTargettedByAa = new HashMap<>();
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final HashMap<String, HashSet<UnitType>> mapAa = taa.getAirborneTargettedByAA();
-        if (mapAa != null && !mapAa.isEmpty()) {
-          for (final Entry<String, HashSet<UnitType>> entry : mapAa.entrySet()) {
-            HashSet<UnitType> current = airborneTargettedByAa.get(entry.getKey());
-            if (current == null) {
-              current = new HashSet<>();
-            }
-            current.addAll(entry.getValue());
-            airborneTargettedByAa.put(entry.getKey(), current);
-          }
-        }
-      }
+    for (final Entry<String, Set<UnitType>> entry : TechAbilityProfile.get(player, data).airborneTargettedByAa
+        .entrySet()) {
+      airborneTargettedByAa.put(entry.getKey(), new HashSet<>(entry.getValue()));
     }
     return airborneTargettedByAa;
   }
 
   public void clearAirborneTargettedByAA() {
     m_airborneTargettedByAA.clear();
+    techAbilityChanged();
   }
 
   public void resetAirborneTargettedByAA() {
     m_airborneTargettedByAA = new HashMap<>();
+    techAbilityChanged();
   }
 
   /**
@@ -1066,11 +972,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
     // we should allow positive and negative numbers
     final int n = getInt(s[0]);
     m_attackRollsBonus.put(ut, n);
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setAttackRollsBonus(final IntegerMap<UnitType> value) {
     m_attackRollsBonus = value;
+    techAbilityChanged();
   }
 
   public IntegerMap<UnitType> getAttackRollsBonus() {
@@ -1078,22 +986,17 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getAttackRollsBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int attackRollsBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        attackRollsBonus += taa.getAttackRollsBonus().getInt(ut);
-      }
-    }
-    return attackRollsBonus;
+    return TechAbilityProfile.get(player, data).attackRollsBonus.getInt(ut);
   }
 
   public void clearAttackRollsBonus() {
     m_attackRollsBonus.clear();
+    techAbilityChanged();
   }
 
   public void resetAttackRollsBonus() {
     m_attackRollsBonus = new IntegerMap<>();
+    techAbilityChanged();
   }
 
   /**
@@ -1115,11 +1018,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
     // we should allow positive and negative numbers
     final int n = getInt(s[0]);
     m_defenseRollsBonus.put(ut, n);
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setDefenseRollsBonus(final IntegerMap<UnitType> value) {
     m_defenseRollsBonus = value;
+    techAbilityChanged();
   }
 
   public IntegerMap<UnitType> getDefenseRollsBonus() {
@@ -1127,14 +1032,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getDefenseRollsBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int defenseRollsBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        defenseRollsBonus += taa.getDefenseRollsBonus().getInt(ut);
-      }
-    }
-    return defenseRollsBonus;
+    return TechAbilityProfile.get(player, data).defenseRollsBonus.getInt(ut);
   }
 
   /**
@@ -1156,11 +1054,13 @@ public class TechAbilityAttachment extends DefaultAttachment {
     // we should allow positive and negative numbers
     final int n = getInt(s[0]);
     m_bombingBonus.put(ut, n);
+    techAbilityChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setBombingBonus(final IntegerMap<UnitType> value) {
     m_bombingBonus = value;
+    techAbilityChanged();
   }
 
   public IntegerMap<UnitType> getBombingBonus() {
@@ -1168,42 +1068,31 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static int getBombingBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int bombingBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        bombingBonus += taa.getBombingBonus().getInt(ut);
-      }
-    }
-    return bombingBonus;
+    return TechAbilityProfile.get(player, data).bombingBonus.getInt(ut);
   }
 
   public void clearDefenseRollsBonus() {
     m_defenseRollsBonus.clear();
+    techAbilityChanged();
   }
 
   public void resetDefenseRollsBonus() {
     m_defenseRollsBonus = new IntegerMap<>();
+    techAbilityChanged();
   }
 
   public void clearBombingBonus() {
     m_bombingBonus.clear();
+    techAbilityChanged();
   }
 
   public void resetBombingBonus() {
     m_bombingBonus = new IntegerMap<>();
+    techAbilityChanged();
   }
 
   public static boolean getAllowAirborneForces(final PlayerID player, final GameData data) {
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        if (taa.getAirborneForces()) {
-          return true;
-        }
-      }
-    }
-    return false;
+    return TechAbilityProfile.get(player, data).allowAirborneForces;
   }
 
   /**
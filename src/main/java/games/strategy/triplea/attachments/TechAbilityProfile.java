@@ -0,0 +1,140 @@
+package games.strategy.triplea.attachments;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.UnitType;
+import games.strategy.triplea.delegate.TechAdvance;
+import games.strategy.triplea.delegate.TechTracker;
+import games.strategy.util.IntegerMap;
+
+/**
+ * The combined abilities of all technology attachments of the tech advances a player currently has.
+ *
+ * <p>
+ * A profile is built once per player and kept on the player's {@link TechAttachment}, until a tech advance is gained
+ * or lost, or a technology attachment changes. Instances of this class are immutable.
+ * </p>
+ */
+final class TechAbilityProfile {
+  final IntegerMap<UnitType> attackBonus = new IntegerMap<>();
+  final IntegerMap<UnitType> defenseBonus = new IntegerMap<>();
+  final IntegerMap<UnitType> movementBonus = new IntegerMap<>();
+  final IntegerMap<UnitType> radarBonus = new IntegerMap<>();
+  final IntegerMap<UnitType> airAttackBonus = new IntegerMap<>();
+  final IntegerMap<UnitType> airDefenseBonus = new IntegerMap<>();
+  final IntegerMap<UnitType> productionBonus = new IntegerMap<>();
+  final IntegerMap<UnitType> rocketDiceNumber = new IntegerMap<>();
+  final IntegerMap<UnitType> attackRollsBonus = new IntegerMap<>();
+  final IntegerMap<UnitType> defenseRollsBonus = new IntegerMap<>();
+  final IntegerMap<UnitType> bombingBonus = new IntegerMap<>();
+  final IntegerMap<UnitType> airborneCapacity = new IntegerMap<>();
+  final Map<UnitType, Set<String>> unitAbilitiesGained = new HashMap<>();
+  final Set<UnitType> airborneTypes = new HashSet<>();
+  final Set<UnitType> airborneBases = new HashSet<>();
+  final Map<String, Set<UnitType>> airborneTargettedByAa = new HashMap<>();
+  final int minimumTerritoryValueForProductionBonus;
+  final double repairDiscount;
+  final int warBondDiceSides;
+  final int warBondDiceNumber;
+  final int rocketDistance;
+  final int rocketNumberPerTerritory;
+  final int airborneDistance;
+  final boolean allowAirborneForces;
+
+  private TechAbilityProfile(final PlayerID player, final GameData data) {
+    int minimumTerritoryValue = -1;
+    double repairDiscount = 1.0D;
+    int warBondDiceSides = 0;
+    int warBondDiceNumber = 0;
+    int rocketDistance = 0;
+    int rocketNumberPerTerritory = 0;
+    int airborneDistance = 0;
+    boolean allowAirborneForces = false;
+    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
+      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
+      if (taa == null) {
+        continue;
+      }
+      attackBonus.add(taa.getAttackBonus());
+      defenseBonus.add(taa.getDefenseBonus());
+      movementBonus.add(taa.getMovementBonus());
+      radarBonus.add(taa.getRadarBonus());
+      airAttackBonus.add(taa.getAirAttackBonus());
+      airDefenseBonus.add(taa.getAirDefenseBonus());
+      productionBonus.add(taa.getProductionBonus());
+      rocketDiceNumber.add(taa.getRocketDiceNumber());
+      attackRollsBonus.add(taa.getAttackRollsBonus());
+      defenseRollsBonus.add(taa.getDefenseRollsBonus());
+      bombingBonus.add(taa.getBombingBonus());
+      airborneCapacity.add(taa.getAirborneCapacity());
+      for (final Entry<UnitType, HashSet<String>> entry : taa.getUnitAbilitiesGained().entrySet()) {
+        unitAbilitiesGained.computeIfAbsent(entry.getKey(), k -> new HashSet<>()).addAll(entry.getValue());
+      }
+      airborneTypes.addAll(taa.getAirborneTypes());
+      airborneBases.addAll(taa.getAirborneBases());
+      if (taa.getAirborneTargettedByAA() != null) {
+        for (final Entry<String, HashSet<UnitType>> entry : taa.getAirborneTargettedByAA().entrySet()) {
+          airborneTargettedByAa.computeIfAbsent(entry.getKey(), k -> new HashSet<>()).addAll(entry.getValue());
+        }
+      }
+      final int min = taa.getMinimumTerritoryValueForProductionBonus();
+      if (min != -1 && (minimumTerritoryValue == -1 || min < minimumTerritoryValue)) {
+        minimumTerritoryValue = min;
+      }
+      if (taa.getRepairDiscount() != -1) {
+        repairDiscount -= taa.getRepairDiscount() / 100.0D;
+      }
+      warBondDiceSides += Math.max(0, taa.getWarBondDiceSides());
+      warBondDiceNumber += Math.max(0, taa.getWarBondDiceNumber());
+      rocketDistance += Math.max(0, taa.getRocketDistance());
+      rocketNumberPerTerritory += Math.max(0, taa.getRocketNumberPerTerritory());
+      airborneDistance += taa.getAirborneDistance();
+      allowAirborneForces |= taa.getAirborneForces();
+    }
+    this.minimumTerritoryValueForProductionBonus = Math.max(0, minimumTerritoryValue);
+    this.repairDiscount = Math.max(0.0D, repairDiscount);
+    this.warBondDiceSides = warBondDiceSides;
+    this.warBondDiceNumber = warBondDiceNumber;
+    this.rocketDistance = rocketDistance;
+    this.rocketNumberPerTerritory = rocketNumberPerTerritory;
+    this.airborneDistance = Math.max(0, airborneDistance);
+    this.allowAirborneForces = allowAirborneForces;
+  }
+
+  /**
+   * @return The profile of the player, built from the player's current tech advances if there is none yet.
+   */
+  static TechAbilityProfile get(final PlayerID player, final GameData data) {
+    final TechAttachment techAttachment = TechAttachment.get(player);
+    TechAbilityProfile profile = techAttachment.getTechAbilityProfile();
+    if (profile == null) {
+      profile = new TechAbilityProfile(player, data);
+      techAttachment.setTechAbilityProfile(profile);
+    }
+    return profile;
+  }
+
+  /**
+   * Discards the profiles of all players, once a technology attachment has changed.
+   */
+  static void clear(final GameData data) {
+    if (data == null) {
+      return;
+    }
+    for (final PlayerID player : data.getPlayerList().getPlayers()) {
+      TechAttachment.get(player).setTechAbilityProfile(null);
+    }
+  }
+
+  Set<String> getUnitAbilitiesGained(final UnitType ut) {
+    final Set<String> abilities = unitAbilitiesGained.get(ut);
+    return (abilities == null) ? Collections.emptySet() : abilities;
+  }
+}
@@ -63,6 +63,9 @@ public class TechAttachment extends DefaultAttachment {
   // define a player having a custom tech at start of game
   @InternalDoNotExport
   private Map<String, Boolean> genericTech = new HashMap<>();
+  // the combined abilities of the techs this player has, built on first use
+  @InternalDoNotExport
+  private transient volatile TechAbilityProfile techAbilityProfile;
 
   public TechAttachment(final String name, final Attachable attachable, final GameData gameData) {
     super(name, attachable, gameData);
@@ -105,197 +108,239 @@ public class TechAttachment extends DefaultAttachment {
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setHeavyBomber(final String s) {
     heavyBomber = getBool(s);
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setHeavyBomber(final Boolean s) {
     heavyBomber = s;
+    techChanged();
   }
 
   public void resetHeavyBomber() {
     heavyBomber = false;
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setDestroyerBombard(final String s) {
     destroyerBombard = getBool(s);
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setDestroyerBombard(final Boolean s) {
     destroyerBombard = s;
+    techChanged();
   }
 
   public void resetDestroyerBombard() {
     destroyerBombard = false;
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setLongRangeAir(final String s) {
     longRangeAir = getBool(s);
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setLongRangeAir(final Boolean s) {
     longRangeAir = s;
+    techChanged();
   }
 
   public void resetLongRangeAir() {
     longRangeAir = false;
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setJetPower(final String s) {
     jetPower = getBool(s);
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setJetPower(final Boolean s) {
     jetPower = s;
+    techChanged();
   }
 
   public void resetJetPower() {
     jetPower = false;
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setRocket(final String s) {
     rocket = getBool(s);
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setRocket(final Boolean s) {
     rocket = s;
+    techChanged();
   }
 
   public void resetRocket() {
     rocket = false;
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setIndustrialTechnology(final String s) {
     industrialTechnology = getBool(s);
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setIndustrialTechnology(final Boolean s) {
     industrialTechnology = s;
+    techChanged();
   }
 
   public void resetIndustrialTechnology() {
     industrialTechnology = false;
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setSuperSub(final String s) {
     superSub = getBool(s);
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setSuperSub(final Boolean s) {
     superSub = s;
+    techChanged();
   }
 
   public void resetSuperSub() {
     superSub = false;
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setImprovedArtillerySupport(final String s) {
     improvedArtillerySupport = getBool(s);
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setImprovedArtillerySupport(final Boolean s) {
     improvedArtillerySupport = s;
+    techChanged();
   }
 
   public void resetImprovedArtillerySupport() {
     improvedArtillerySupport = false;
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setParatroopers(final String s) {
     paratroopers = getBool(s);
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setParatroopers(final Boolean s) {
     paratroopers = s;
+    techChanged();
   }
 
   public void resetParatroopers() {
     paratroopers = false;
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setIncreasedFactoryProduction(final String s) {
     increasedFactoryProduction = getBool(s);
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setIncreasedFactoryProduction(final Boolean s) {
     increasedFactoryProduction = s;
+    techChanged();
   }
 
   public void resetIncreasedFactoryProduction() {
     increasedFactoryProduction = false;
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setWarBonds(final String s) {
     warBonds = getBool(s);
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setWarBonds(final Boolean s) {
     warBonds = s;
+    techChanged();
   }
 
   public void resetWarBonds() {
     warBonds = false;
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setMechanizedInfantry(final String s) {
     mechanizedInfantry = getBool(s);
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setMechanizedInfantry(final Boolean s) {
     mechanizedInfantry = s;
+    techChanged();
   }
 
   public void resetMechanizedInfantry() {
     mechanizedInfantry = false;
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setAARadar(final String s) {
     aARadar = getBool(s);
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setAARadar(final Boolean s) {
     aARadar = s;
+    techChanged();
   }
 
   public void resetAARadar() {
     aARadar = false;
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setShipyards(final String s) {
     shipyards = getBool(s);
+    techChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setShipyards(final Boolean s) {
     shipyards = s;
+    techChanged();
   }
 
   public void resetShipyards() {
     shipyards = false;
+    techChanged();
   }
 
   // getters
@@ -385,11 +430,13 @@ public class TechAttachment extends DefaultAttachment {
   @InternalDoNotExport
   public void setGenericTech(final String name, final boolean value) {
     genericTech.put(name, value);
+    techChanged();
   }
 
   @InternalDoNotExport
   public void setGenericTech(final HashMap<String, Boolean> value) {
     genericTech = value;
+    techChanged();
   }
 
   public Map<String, Boolean> getGenericTech() {
@@ -398,6 +445,19 @@ public class TechAttachment extends DefaultAttachment {
 
   public void clearGenericTech() {
     genericTech.clear();
+    techChanged();
+  }
+
+  TechAbilityProfile getTechAbilityProfile() {
+    return techAbilityProfile;
+  }
+
+  void setTechAbilityProfile(final TechAbilityProfile techAbilityProfile) {
+    this.techAbilityProfile = techAbilityProfile;
+  }
+
+  private void techChanged() {
+    techAbilityProfile = null;
   }
 
   @Override
@@ -18,6 +18,7 @@ import games.strategy.engine.data.annotations.GameProperty;
 import games.strategy.engine.data.annotations.InternalDoNotExport;
 import games.strategy.triplea.Constants;
 import games.strategy.triplea.MapSupport;
+import games.strategy.triplea.delegate.SupportRuleTable;
 
 @MapSupport
 public class UnitSupportAttachment extends DefaultAttachment {
@@ -53,6 +54,13 @@ public class UnitSupportAttachment extends DefaultAttachment {
     super(name, attachable, gameData);
   }
 
+  /**
+   * Support rules are compiled per game, so any change to one of them discards the compiled rules of the game.
+   */
+  private void supportRulesChanged() {
+    SupportRuleTable.clear(getData());
+  }
+
   public static Set<UnitSupportAttachment> get(final UnitType u) {
     final Set<UnitSupportAttachment> supports = new HashSet<>();
     final Map<String, IAttachment> map = u.getAttachments();
@@ -87,6 +95,7 @@ public class UnitSupportAttachment extends DefaultAttachment {
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setUnitType(final String names) throws GameParseException {
+    supportRulesChanged();
     if (names == null) {
       m_unitType = null;
       return;
@@ -104,15 +113,18 @@ public class UnitSupportAttachment extends DefaultAttachment {
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setUnitType(final HashSet<UnitType> value) {
+    supportRulesChanged();
     m_unitType = value;
   }
 
   public void resetUnitType() {
+    supportRulesChanged();
     m_unitType = null;
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setFaction(final String faction) throws GameParseException {
+    supportRulesChanged();
     m_faction = faction;
     if (faction == null) {
       resetFaction();
@@ -137,12 +149,14 @@ public class UnitSupportAttachment extends DefaultAttachment {
   }
 
   public void resetFaction() {
+    supportRulesChanged();
     m_allied = false;
     m_enemy = false;
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setSide(final String side) throws GameParseException {
+    supportRulesChanged();
     if (side == null) {
       resetSide();
       return;
@@ -167,6 +181,7 @@ public class UnitSupportAttachment extends DefaultAttachment {
   }
 
   public void resetSide() {
+    supportRulesChanged();
     m_side = null;
     m_offence = false;
     m_defence = false;
@@ -174,6 +189,7 @@ public class UnitSupportAttachment extends DefaultAttachment {
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setDice(final String dice) throws GameParseException {
+    supportRulesChanged();
     if (dice == null) {
       resetDice();
       return;
@@ -198,6 +214,7 @@ public class UnitSupportAttachment extends DefaultAttachment {
   }
 
   public void resetDice() {
+    supportRulesChanged();
     m_dice = null;
     m_roll = false;
     m_strength = false;
@@ -205,34 +222,41 @@ public class UnitSupportAttachment extends DefaultAttachment {
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setBonus(final String bonus) {
+    supportRulesChanged();
     m_bonus = getInt(bonus);
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setBonus(final Integer bonus) {
+    supportRulesChanged();
     m_bonus = bonus;
   }
 
   public void resetBonus() {
+    supportRulesChanged();
     m_bonus = 0;
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setNumber(final String number) {
+    supportRulesChanged();
     m_number = getInt(number);
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setNumber(final Integer number) {
+    supportRulesChanged();
     m_number = number;
   }
 
   public void resetNumber() {
+    supportRulesChanged();
     m_number = 0;
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setBonusType(final String type) {
+    supportRulesChanged();
     if (type == null) {
       m_bonusType = null;
       return;
@@ -241,6 +265,7 @@ public class UnitSupportAttachment extends DefaultAttachment {
   }
 
   public void resetBonusType() {
+    supportRulesChanged();
     m_bonusType = null;
   }
 
@@ -249,6 +274,7 @@ public class UnitSupportAttachment extends DefaultAttachment {
    */
   @GameProperty(xmlProperty = true, gameProperty = true, adds = true)
   public void setPlayers(final String names) throws GameParseException {
+    supportRulesChanged();
     final String[] s = names.split(":");
     for (final String element : s) {
       final PlayerID player = getData().getPlayerList().getPlayerId(element);
@@ -262,6 +288,7 @@ public class UnitSupportAttachment extends DefaultAttachment {
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setPlayers(final ArrayList<PlayerID> value) {
+    supportRulesChanged();
     m_players = value;
   }
 
@@ -270,24 +297,29 @@ public class UnitSupportAttachment extends DefaultAttachment {
   }
 
   public void clearPlayers() {
+    supportRulesChanged();
     m_players.clear();
   }
 
   public void resetPlayers() {
+    supportRulesChanged();
     m_players = new ArrayList<>();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setImpArtTech(final String tech) {
+    supportRulesChanged();
     m_impArtTech = getBool(tech);
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setImpArtTech(final Boolean tech) {
+    supportRulesChanged();
     m_impArtTech = tech;
   }
 
   public void resetImpArtTech() {
+    supportRulesChanged();
     m_impArtTech = false;
   }
 
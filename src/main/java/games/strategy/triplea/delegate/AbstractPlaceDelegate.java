@@ -1014,8 +1014,8 @@ public abstract class AbstractPlaceDelegate extends BaseTripleADelegate implemen
       final boolean countSwitchedProductionToNeighbors) {
     final IntegerMap<Territory> map = getMaxUnitsToBePlacedMap(units, to, player, countSwitchedProductionToNeighbors);
     int production = 0;
-    for (final Entry<Territory, Integer> entry : map.entrySet()) {
-      final int prodT = entry.getValue();
+    for (final Territory t : map.keySet()) {
+      final int prodT = map.getInt(t);
       if (prodT == -1) {
         return -1;
       }
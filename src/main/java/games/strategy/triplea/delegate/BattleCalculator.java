@@ -1,6 +1,7 @@
 package games.strategy.triplea.delegate;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -10,7 +11,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
@@ -45,10 +45,11 @@ import games.strategy.util.Tuple;
  * was being dduplicated all over the place.
  */
 public class BattleCalculator {
-  private static final Map<String, List<UnitType>> oolCache = new ConcurrentHashMap<>();
-
-  public static void clearOolCache() {
-    oolCache.clear();
+  /**
+   * Clears the order of losses cache of the specified game data.
+   */
+  public static void clearOolCache(final GameData data) {
+    OrderOfLossesCache.get(data).clear();
   }
 
   // There is a problem with this variable, that it isn't
@@ -672,7 +673,7 @@ public class BattleCalculator {
    * provided.
    * (Veqryn)
    */
-  private static List<Unit> sortUnitsForCasualtiesWithSupport(final Collection<Unit> targetsToPickFrom,
+  static List<Unit> sortUnitsForCasualtiesWithSupport(final Collection<Unit> targetsToPickFrom,
       final boolean defending, final PlayerID player, final Collection<Unit> enemyUnits, final boolean amphibious,
       final Collection<Unit> amphibiousLandAttackers, final Territory battlesite, final IntegerMap<UnitType> costs,
       final Collection<TerritoryEffect> territoryEffects, final GameData data, final boolean bonus) {
@@ -688,37 +689,13 @@ public class BattleCalculator {
         amphibTypes.add(u.getType());
       }
     }
-    // Calculate hashes and cache key
-    int targetsHashCode = 1;
-    for (final UnitType ut : targetTypes) {
-      targetsHashCode += ut.hashCode();
-    }
-    targetsHashCode *= 31;
-    int amphibHashCode = 1;
-    for (final UnitType ut : amphibTypes) {
-      amphibHashCode += ut.hashCode();
-    }
-    amphibHashCode *= 31;
-    String key = player.getName() + "|" + battlesite.getName() + "|" + defending + "|" + amphibious + "|"
-        + targetsHashCode + "|" + amphibHashCode;
     // Check OOL cache
-    final List<UnitType> stored = oolCache.get(key);
+    final OrderOfLossesCache oolCache = OrderOfLossesCache.get(data);
+    final int[] stored =
+        oolCache.get(newOolCacheKey(oolCache, player, battlesite, defending, amphibious, targetTypes, amphibTypes));
     if (stored != null) {
-      // System.out.println("Hit with cacheSize=" + oolCache.size() + ", key=" + key);
-      final List<Unit> result = new ArrayList<>();
-      final List<Unit> selectFrom = new ArrayList<>(targetsToPickFrom);
-      for (final UnitType ut : stored) {
-        for (final Iterator<Unit> it = selectFrom.iterator(); it.hasNext();) {
-          final Unit u = it.next();
-          if (ut.equals(u.getType())) {
-            result.add(u);
-            it.remove();
-          }
-        }
-      }
-      return result;
+      return getUnitsInOrder(oolCache, stored, targetsToPickFrom);
     }
-    // System.out.println("Miss with cacheSize=" + oolCache.size() + ", key=" + key);
     // Sort enough units to kill off
     final List<Unit> sortedUnitsList = new ArrayList<>(targetsToPickFrom);
     Collections.sort(sortedUnitsList, new UnitBattleComparator(defending, costs, territoryEffects, data, bonus, false));
@@ -854,34 +831,65 @@ public class BattleCalculator {
     }
     sortedWellEnoughUnitsList.addAll(sortedUnitsList);
     // Cache result and all subsets of the result
-    final List<UnitType> unitTypes = new ArrayList<>();
-    for (final Unit u : sortedWellEnoughUnitsList) {
-      unitTypes.add(u.getType());
+    final int[] order = new int[sortedWellEnoughUnitsList.size()];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = oolCache.indexOf(sortedWellEnoughUnitsList.get(i).getType().getName());
     }
-    for (final Iterator<UnitType> it = unitTypes.iterator(); it.hasNext();) {
-      oolCache.put(key, new ArrayList<>(unitTypes));
-      final UnitType unitTypeToRemove = it.next();
+    for (int i = 0; i < order.length; i++) {
+      oolCache.put(newOolCacheKey(oolCache, player, battlesite, defending, amphibious, targetTypes, amphibTypes),
+          Arrays.copyOfRange(order, i, order.length));
+      final UnitType unitTypeToRemove = sortedWellEnoughUnitsList.get(i).getType();
       targetTypes.remove(unitTypeToRemove);
       if (Collections.frequency(targetTypes, unitTypeToRemove) < Collections.frequency(amphibTypes, unitTypeToRemove)) {
         amphibTypes.remove(unitTypeToRemove);
       }
-      targetsHashCode = 1;
-      for (final UnitType ut : targetTypes) {
-        targetsHashCode += ut.hashCode();
-      }
-      targetsHashCode *= 31;
-      amphibHashCode = 1;
-      for (final UnitType ut : amphibTypes) {
-        amphibHashCode += ut.hashCode();
-      }
-      amphibHashCode *= 31;
-      key = player.getName() + "|" + battlesite.getName() + "|" + defending + "|" + amphibious + "|" + targetsHashCode
-          + "|" + amphibHashCode;
-      it.remove();
     }
     return sortedWellEnoughUnitsList;
   }
 
+  /**
+   * @return The targets in the cached order of losses.
+   */
+  private static List<Unit> getUnitsInOrder(final OrderOfLossesCache oolCache, final int[] order,
+      final Collection<Unit> targetsToPickFrom) {
+    final Map<Integer, List<Unit>> targetsByType = new HashMap<>();
+    for (final Unit u : targetsToPickFrom) {
+      targetsByType.computeIfAbsent(oolCache.indexOf(u.getType().getName()), k -> new ArrayList<>()).add(u);
+    }
+    // the key holds the unit type of each target, so each entry of the order stands for exactly one target
+    final List<Unit> result = new ArrayList<>(order.length);
+    final Map<Integer, Integer> takenByType = new HashMap<>();
+    for (final int unitType : order) {
+      final int taken = takenByType.merge(unitType, 1, Integer::sum);
+      result.add(targetsByType.get(unitType).get(taken - 1));
+    }
+    return result;
+  }
+
+  private static OrderOfLossesCache.Key newOolCacheKey(final OrderOfLossesCache oolCache, final PlayerID player,
+      final Territory battlesite, final boolean defending, final boolean amphibious, final List<UnitType> targetTypes,
+      final List<UnitType> amphibTypes) {
+    final int[] targets = getSortedIndexes(oolCache, targetTypes);
+    final int[] amphibs = getSortedIndexes(oolCache, amphibTypes);
+    final int[] values = new int[4 + targets.length + amphibs.length];
+    values[0] = oolCache.indexOf(player.getName());
+    values[1] = oolCache.indexOf(battlesite.getName());
+    values[2] = (defending ? 1 : 0) | (amphibious ? 2 : 0);
+    System.arraycopy(targets, 0, values, 3, targets.length);
+    values[3 + targets.length] = -1;
+    System.arraycopy(amphibs, 0, values, 4 + targets.length, amphibs.length);
+    return new OrderOfLossesCache.Key(values);
+  }
+
+  private static int[] getSortedIndexes(final OrderOfLossesCache oolCache, final List<UnitType> unitTypes) {
+    final int[] indexes = new int[unitTypes.size()];
+    for (int i = 0; i < indexes.length; i++) {
+      indexes[i] = oolCache.indexOf(unitTypes.get(i).getName());
+    }
+    Arrays.sort(indexes);
+    return indexes;
+  }
+
   public static Map<Unit, Collection<Unit>> getDependents(final Collection<Unit> targets) {
     // just worry about transports
     final Map<Unit, Collection<Unit>> dependents = new HashMap<>();
@@ -425,33 +425,13 @@ public class DiceRoll implements Externalizable {
       return unitPowerAndRolls;
     }
     // get all supports, friendly and enemy
-    final Set<List<UnitSupportAttachment>> supportRulesFriendly = new HashSet<>();
-    final IntegerMap<UnitSupportAttachment> supportLeftFriendly = new IntegerMap<>();
-    final Map<UnitSupportAttachment, LinkedIntegerMap<Unit>> supportUnitsLeftFriendly =
-        new HashMap<>();
-    getSupport(unitsGettingPowerFor, supportRulesFriendly, supportLeftFriendly, supportUnitsLeftFriendly,
-        data, defending, true);
-    final Set<List<UnitSupportAttachment>> supportRulesEnemy = new HashSet<>();
-    final IntegerMap<UnitSupportAttachment> supportLeftEnemy = new IntegerMap<>();
-    final Map<UnitSupportAttachment, LinkedIntegerMap<Unit>> supportUnitsLeftEnemy =
-        new HashMap<>();
-    getSupport(allEnemyUnitsAliveOrWaitingToDie, supportRulesEnemy, supportLeftEnemy, supportUnitsLeftEnemy, data,
-        !defending, false);
+    final SupportRuleTable.Supply supportFriendly =
+        SupportRuleTable.get(data, defending, true).getSupply(unitsGettingPowerFor);
+    final SupportRuleTable.Supply supportEnemy =
+        SupportRuleTable.get(data, !defending, false).getSupply(allEnemyUnitsAliveOrWaitingToDie);
     // copy for rolls
-    final IntegerMap<UnitSupportAttachment> supportLeftFriendlyRolls =
-        new IntegerMap<>(supportLeftFriendly);
-    final IntegerMap<UnitSupportAttachment> supportLeftEnemyRolls =
-        new IntegerMap<>(supportLeftEnemy);
-    final Map<UnitSupportAttachment, LinkedIntegerMap<Unit>> supportUnitsLeftFriendlyRolls =
-        new HashMap<>();
-    for (final UnitSupportAttachment usa : supportUnitsLeftFriendly.keySet()) {
-      supportUnitsLeftFriendlyRolls.put(usa, new LinkedIntegerMap<>(supportUnitsLeftFriendly.get(usa)));
-    }
-    final Map<UnitSupportAttachment, LinkedIntegerMap<Unit>> supportUnitsLeftEnemyRolls =
-        new HashMap<>();
-    for (final UnitSupportAttachment usa : supportUnitsLeftEnemy.keySet()) {
-      supportUnitsLeftEnemyRolls.put(usa, new LinkedIntegerMap<>(supportUnitsLeftEnemy.get(usa)));
-    }
+    final SupportRuleTable.Supply supportFriendlyRolls = supportFriendly.copy();
+    final SupportRuleTable.Supply supportEnemyRolls = supportEnemy.copy();
     final int diceSides = data.getDiceSides();
     for (final Unit current : unitsGettingPowerFor) {
       // find our initial strength
@@ -462,11 +442,9 @@ public class DiceRoll implements Externalizable {
         if (isFirstTurnLimitedRoll(current.getOwner(), data)) {
           strength = Math.min(1, strength);
         } else {
-          strength += getSupport(current, supportRulesFriendly, supportLeftFriendly, supportUnitsLeftFriendly,
-              unitSupportPowerMap, true, false);
+          strength += supportFriendly.give(current, unitSupportPowerMap, true);
         }
-        strength += getSupport(current, supportRulesEnemy, supportLeftEnemy, supportUnitsLeftEnemy, unitSupportPowerMap,
-            true, false);
+        strength += supportEnemy.give(current, unitSupportPowerMap, true);
       } else {
         strength = ua.getAttack(current.getOwner());
         if (ua.getIsMarine() != 0 && isAmphibiousBattle) {
@@ -479,10 +457,8 @@ public class DiceRoll implements Externalizable {
           strength = ua.getBombard();
           // bombarding naval unit
         }
-        strength += getSupport(current, supportRulesFriendly, supportLeftFriendly, supportUnitsLeftFriendly,
-            unitSupportPowerMap, true, false);
-        strength += getSupport(current, supportRulesEnemy, supportLeftEnemy, supportUnitsLeftEnemy, unitSupportPowerMap,
-            true, false);
+        strength += supportFriendly.give(current, unitSupportPowerMap, true);
+        strength += supportEnemy.give(current, unitSupportPowerMap, true);
       }
       strength += TerritoryEffectHelper.getTerritoryCombatBonus(current.getType(), territoryEffects, defending);
       strength = Math.min(Math.max(strength, 0), diceSides);
@@ -496,10 +472,8 @@ public class DiceRoll implements Externalizable {
         } else {
           rolls = ua.getAttackRolls(current.getOwner());
         }
-        rolls += getSupport(current, supportRulesFriendly, supportLeftFriendlyRolls, supportUnitsLeftFriendlyRolls,
-            unitSupportRollsMap, false, true);
-        rolls += getSupport(current, supportRulesEnemy, supportLeftEnemyRolls, supportUnitsLeftEnemyRolls,
-            unitSupportRollsMap, false, true);
+        rolls += supportFriendlyRolls.give(current, unitSupportRollsMap, false);
+        rolls += supportEnemyRolls.give(current, unitSupportRollsMap, false);
         rolls = Math.max(0, rolls);
         if (rolls == 0) {
           strength = 0;
@@ -741,7 +715,7 @@ public class DiceRoll implements Externalizable {
     Collections.sort(units, comp);
   }
 
-  private static void sortSupportRules(final Set<List<UnitSupportAttachment>> support, final boolean defense,
+  static void sortSupportRules(final Set<List<UnitSupportAttachment>> support, final boolean defense,
       final boolean friendly) {
     // first, sort the lists inside each set
     final Comparator<UnitSupportAttachment> compList = (u1, u2) -> {
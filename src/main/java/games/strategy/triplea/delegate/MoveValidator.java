@@ -19,6 +19,7 @@ import games.strategy.engine.data.Route;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.Unit;
 import games.strategy.engine.data.UnitType;
+import games.strategy.performance.PerfTimer;
 import games.strategy.triplea.Constants;
 import games.strategy.triplea.Properties;
 import games.strategy.triplea.TripleAUnit;
@@ -61,6 +62,15 @@ public class MoveValidator {
   public static MoveValidationResult validateMove(final Collection<Unit> units, final Route route,
       final PlayerID player, final Collection<Unit> transportsToLoad, final Map<Unit, Collection<Unit>> newDependents,
       final boolean isNonCombat, final List<UndoableMove> undoableMoves, final GameData data) {
+    try (PerfTimer timer = PerfTimer.startTimer("MoveValidator.validateMove")) {
+      return validateMoveInternal(units, route, player, transportsToLoad, newDependents, isNonCombat, undoableMoves,
+          data);
+    }
+  }
+
+  private static MoveValidationResult validateMoveInternal(final Collection<Unit> units, final Route route,
+      final PlayerID player, final Collection<Unit> transportsToLoad, final Map<Unit, Collection<Unit>> newDependents,
+      final boolean isNonCombat, final List<UndoableMove> undoableMoves, final GameData data) {
     final MoveValidationResult result = new MoveValidationResult();
     if (route.hasNoSteps()) {
       return result;
@@ -23,6 +23,7 @@ import games.strategy.engine.data.Unit;
 import games.strategy.engine.data.UnitType;
 import games.strategy.engine.data.changefactory.ChangeFactory;
 import games.strategy.engine.delegate.IDelegateBridge;
+import games.strategy.performance.PerfTimer;
 import games.strategy.sound.SoundPath;
 import games.strategy.triplea.Properties;
 import games.strategy.triplea.TripleAUnit;
@@ -306,6 +307,12 @@ public class MustFightBattle extends DependentBattle implements BattleStepString
 
   @Override
   public void fight(final IDelegateBridge bridge) {
+    try (PerfTimer timer = PerfTimer.startTimer("MustFightBattle.fight")) {
+      fightInternal(bridge);
+    }
+  }
+
+  private void fightInternal(final IDelegateBridge bridge) {
     // remove units that may already be dead due to a previous event (like they died from a strategic bombing raid,
     // rocket attack, etc)
     removeUnitsThatNoLongerExist();
@@ -0,0 +1,144 @@
+package games.strategy.triplea.delegate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import games.strategy.engine.data.GameData;
+
+/**
+ * A bounded cache of the order in which unit types should be taken as casualties, see
+ * {@link BattleCalculator#sortUnitsForCasualtiesWithSupport}.
+ *
+ * <p>
+ * There is one cache per game data instance, so that simulated battles of different games never share entries. Keys
+ * and values hold small integer indexes instead of game objects, which keeps the entries compact and keeps the cache
+ * from holding on to its game data. The least recently used entries are evicted once the cache holds more than
+ * {@link #MAX_ENTRIES} entries or more than {@link #MAX_BYTES} bytes, as estimated from the size of the entries.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are thread safe.
+ * </p>
+ */
+public final class OrderOfLossesCache {
+  static final int MAX_ENTRIES = 20_000;
+  static final long MAX_BYTES = 8L * 1024 * 1024;
+  // estimated size of an entry in the map, not counting its arrays
+  private static final int ENTRY_OVERHEAD = 96;
+
+  private static final Map<GameData, OrderOfLossesCache> caches = Collections.synchronizedMap(new WeakHashMap<>());
+
+  private final Map<String, Integer> indexes = new HashMap<>();
+  private final LinkedHashMap<Key, int[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final int maxEntries;
+  private final long maxBytes;
+  private long bytes;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  OrderOfLossesCache(final int maxEntries, final long maxBytes) {
+    this.maxEntries = maxEntries;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * @return The cache of the specified game data.
+   */
+  public static OrderOfLossesCache get(final GameData data) {
+    return caches.computeIfAbsent(data, k -> new OrderOfLossesCache(MAX_ENTRIES, MAX_BYTES));
+  }
+
+  /**
+   * @return The index of the named game object, the same for all calls with the same name.
+   */
+  synchronized int indexOf(final String name) {
+    return indexes.computeIfAbsent(name, k -> indexes.size());
+  }
+
+  /**
+   * @return The unit type indexes stored for the key, in order of losses, or null if there is no such entry.
+   */
+  synchronized int[] get(final Key key) {
+    final int[] order = entries.get(key);
+    if (order == null) {
+      misses++;
+    } else {
+      hits++;
+    }
+    return order;
+  }
+
+  synchronized void put(final Key key, final int[] order) {
+    final int[] previous = entries.put(key, order);
+    if (previous != null) {
+      bytes -= sizeOf(key, previous);
+    }
+    bytes += sizeOf(key, order);
+    while (!entries.isEmpty() && (entries.size() > maxEntries || bytes > maxBytes)) {
+      final Map.Entry<Key, int[]> eldest = entries.entrySet().iterator().next();
+      bytes -= sizeOf(eldest.getKey(), eldest.getValue());
+      entries.remove(eldest.getKey());
+      evictions++;
+    }
+  }
+
+  private static long sizeOf(final Key key, final int[] order) {
+    return ENTRY_OVERHEAD + 4L * (key.values.length + order.length);
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+    bytes = 0;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public synchronized long getHitCount() {
+    return hits;
+  }
+
+  public synchronized long getMissCount() {
+    return misses;
+  }
+
+  public synchronized long getEvictionCount() {
+    return evictions;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "OrderOfLossesCache[size=" + entries.size() + ", bytes=" + bytes + ", hits=" + hits + ", misses=" + misses
+        + ", evictions=" + evictions + "]";
+  }
+
+  /**
+   * A key made of integers: the indexes of the player and the battle site, the flags of the battle, and the number of
+   * targets and amphibious attackers of each unit type.
+   */
+  static final class Key {
+    private final int[] values;
+    private final int hashCode;
+
+    Key(final int[] values) {
+      this.values = values;
+      hashCode = Arrays.hashCode(values);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      return (o instanceof Key) && Arrays.equals(values, ((Key) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
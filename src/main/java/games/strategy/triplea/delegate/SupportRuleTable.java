@@ -0,0 +1,265 @@
+package games.strategy.triplea.delegate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
+import games.strategy.triplea.attachments.UnitSupportAttachment;
+import games.strategy.util.IntegerMap;
+import games.strategy.util.LinkedIntegerMap;
+import games.strategy.util.Match;
+
+/**
+ * The support rules of a game that apply to one side of a battle, compiled into arrays indexed by rule.
+ *
+ * <p>
+ * A table holds the rules that give support to defending or attacking units, from allied or enemy units, grouped by
+ * bonus type and sorted the same way as {@link DiceRoll#getSupport(List, Set, IntegerMap, Map, GameData, boolean,
+ * boolean)} sorts them. For each unit type, it lists the rules whose units give support, and for each group the
+ * rules that can support the type. Unit types and players are held by name, so that a table never keeps its game
+ * data alive.
+ * </p>
+ *
+ * <p>
+ * The tables of a game are built on first use and discarded when any support rule of the game changes. Instances of
+ * this class are immutable.
+ * </p>
+ */
+public final class SupportRuleTable {
+  private static final Map<GameData, SupportRuleTable[]> tables = Collections.synchronizedMap(new WeakHashMap<>());
+  private static final int[][] NO_RULES = new int[0][];
+
+  private final int[] bonus;
+  private final int[] number;
+  private final boolean[] impArtTech;
+  private final List<Set<String>> players = new ArrayList<>();
+  private final Map<String, int[]> rulesBySupporterType = new HashMap<>();
+  private final Map<String, int[][]> strengthRulesByType = new HashMap<>();
+  private final Map<String, int[][]> rollRulesByType = new HashMap<>();
+
+  private SupportRuleTable(final GameData data, final boolean defence, final boolean allies) {
+    final Map<String, List<UnitSupportAttachment>> rulesByBonusType = new HashMap<>();
+    for (final UnitSupportAttachment rule : UnitSupportAttachment.get(data)) {
+      if (rule.getPlayers().isEmpty()) {
+        continue;
+      }
+      if (!((defence && rule.getDefence()) || (!defence && rule.getOffence()))) {
+        continue;
+      }
+      if (!((allies && rule.getAllied()) || (!allies && rule.getEnemy()))) {
+        continue;
+      }
+      rulesByBonusType.computeIfAbsent(rule.getBonusType(), k -> new ArrayList<>()).add(rule);
+    }
+    final Set<List<UnitSupportAttachment>> groups = new HashSet<>(rulesByBonusType.values());
+    DiceRoll.sortSupportRules(groups, defence, allies);
+    final List<UnitSupportAttachment> rules = new ArrayList<>();
+    final List<int[]> groupIndexes = new ArrayList<>();
+    for (final List<UnitSupportAttachment> group : groups) {
+      final int[] indexes = new int[group.size()];
+      for (int i = 0; i < indexes.length; i++) {
+        indexes[i] = rules.size();
+        rules.add(group.get(i));
+      }
+      groupIndexes.add(indexes);
+    }
+    bonus = new int[rules.size()];
+    number = new int[rules.size()];
+    impArtTech = new boolean[rules.size()];
+    final Map<String, List<Integer>> supporterRules = new HashMap<>();
+    for (int i = 0; i < rules.size(); i++) {
+      final UnitSupportAttachment rule = rules.get(i);
+      bonus[i] = rule.getBonus();
+      number[i] = rule.getNumber();
+      impArtTech[i] = rule.getImpArtTech();
+      final Set<String> playerNames = new HashSet<>();
+      for (final PlayerID player : rule.getPlayers()) {
+        playerNames.add(player.getName());
+      }
+      players.add(playerNames);
+      supporterRules.computeIfAbsent(((UnitType) rule.getAttachedTo()).getName(), k -> new ArrayList<>()).add(i);
+    }
+    for (final Map.Entry<String, List<Integer>> entry : supporterRules.entrySet()) {
+      rulesBySupporterType.put(entry.getKey(), toArray(entry.getValue()));
+    }
+    for (final UnitType unitType : data.getUnitTypeList().getAllUnitTypes()) {
+      final int[][] strengthRules = getRulesSupporting(unitType, rules, groupIndexes, true);
+      if (strengthRules.length > 0) {
+        strengthRulesByType.put(unitType.getName(), strengthRules);
+      }
+      final int[][] rollRules = getRulesSupporting(unitType, rules, groupIndexes, false);
+      if (rollRules.length > 0) {
+        rollRulesByType.put(unitType.getName(), rollRules);
+      }
+    }
+  }
+
+  private static int[][] getRulesSupporting(final UnitType unitType, final List<UnitSupportAttachment> rules,
+      final List<int[]> groupIndexes, final boolean strength) {
+    final List<int[]> groups = new ArrayList<>();
+    for (final int[] indexes : groupIndexes) {
+      final List<Integer> supporting = new ArrayList<>();
+      for (final int index : indexes) {
+        final UnitSupportAttachment rule = rules.get(index);
+        final Set<UnitType> types = rule.getUnitType();
+        if ((strength ? rule.getStrength() : rule.getRoll()) && types != null && types.contains(unitType)) {
+          supporting.add(index);
+        }
+      }
+      if (!supporting.isEmpty()) {
+        groups.add(toArray(supporting));
+      }
+    }
+    return groups.isEmpty() ? NO_RULES : groups.toArray(new int[groups.size()][]);
+  }
+
+  private static int[] toArray(final List<Integer> values) {
+    final int[] array = new int[values.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = values.get(i);
+    }
+    return array;
+  }
+
+  /**
+   * @param defence Are the receiving units defending?
+   * @param allies Are the receiving units allied to the giving units?
+   *
+   * @return The table of the support rules of the game that apply to the receiving units.
+   */
+  static SupportRuleTable get(final GameData data, final boolean defence, final boolean allies) {
+    final int index = (defence ? 2 : 0) + (allies ? 1 : 0);
+    final SupportRuleTable[] gameTables = tables.computeIfAbsent(data, k -> new SupportRuleTable[4]);
+    SupportRuleTable table = gameTables[index];
+    if (table == null) {
+      table = new SupportRuleTable(data, defence, allies);
+      gameTables[index] = table;
+    }
+    return table;
+  }
+
+  /**
+   * Discards the tables of the game, once one of its support rules has changed.
+   */
+  public static void clear(final GameData data) {
+    if (data != null) {
+      tables.remove(data);
+    }
+  }
+
+  /**
+   * @return The support the units can give under the rules of this table.
+   */
+  Supply getSupply(final Collection<Unit> unitsGivingTheSupport) {
+    final Supply supply = new Supply(this);
+    if (unitsGivingTheSupport == null) {
+      return supply;
+    }
+    final Match<Unit> hasImprovedArtillerySupport = Matches.unitOwnerHasImprovedArtillerySupportTech();
+    for (final Unit unit : unitsGivingTheSupport) {
+      final int[] rules = rulesBySupporterType.get(unit.getType().getName());
+      if (rules == null) {
+        continue;
+      }
+      for (final int rule : rules) {
+        if (!players.get(rule).contains(unit.getOwner().getName())) {
+          continue;
+        }
+        final int count = (impArtTech[rule] && hasImprovedArtillerySupport.match(unit)) ? 2 : 1;
+        supply.left[rule] += count * number[rule];
+        if (supply.unitsLeft[rule] == null) {
+          supply.unitsLeft[rule] = new LinkedIntegerMap<>();
+        }
+        supply.unitsLeft[rule].add(unit, count * number[rule]);
+      }
+    }
+    return supply;
+  }
+
+  /**
+   * The support left to give in one battle round, under the rules of a table.
+   */
+  static final class Supply {
+    private final SupportRuleTable table;
+    private final int[] left;
+    private final LinkedIntegerMap<Unit>[] unitsLeft;
+
+    @SuppressWarnings("unchecked")
+    private Supply(final SupportRuleTable table) {
+      this.table = table;
+      left = new int[table.bonus.length];
+      unitsLeft = new LinkedIntegerMap[table.bonus.length];
+    }
+
+    private Supply(final Supply supply) {
+      table = supply.table;
+      left = supply.left.clone();
+      unitsLeft = supply.unitsLeft.clone();
+      for (int i = 0; i < unitsLeft.length; i++) {
+        if (unitsLeft[i] != null) {
+          unitsLeft[i] = new LinkedIntegerMap<>(unitsLeft[i]);
+        }
+      }
+    }
+
+    /**
+     * @return A copy of this supply, which is used up independently.
+     */
+    Supply copy() {
+      return new Supply(this);
+    }
+
+    /**
+     * Gives the unit the support of the first rule of each bonus type that can support it and has support left,
+     * and records which unit gave the support.
+     *
+     * @param strength Give strength support if true, otherwise roll support.
+     *
+     * @return The bonus given to the unit.
+     */
+    int give(final Unit unit, final Map<Unit, IntegerMap<Unit>> unitSupportMap, final boolean strength) {
+      final int[][] groups = (strength ? table.strengthRulesByType : table.rollRulesByType).get(unit.getType()
+          .getName());
+      if (groups == null) {
+        return 0;
+      }
+      int givenSupport = 0;
+      for (final int[] group : groups) {
+        for (final int rule : group) {
+          if (left[rule] <= 0) {
+            continue;
+          }
+          final int ruleBonus = table.bonus[rule];
+          givenSupport += ruleBonus;
+          left[rule]--;
+          final LinkedIntegerMap<Unit> supportersLeft = unitsLeft[rule];
+          if (supportersLeft != null && !supportersLeft.keySet().isEmpty()) {
+            final Unit supporter = supportersLeft.keySet().iterator().next();
+            supportersLeft.add(supporter, -1);
+            if (supportersLeft.getInt(supporter) <= 0) {
+              supportersLeft.removeKey(supporter);
+            }
+            final IntegerMap<Unit> supported = unitSupportMap.get(supporter);
+            if (supported == null) {
+              unitSupportMap.put(supporter, new IntegerMap<>(unit, ruleBonus));
+            } else {
+              supported.add(unit, ruleBonus);
+            }
+          }
+          break;
+        }
+      }
+      return givenSupport;
+    }
+  }
+}
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import javax.imageio.ImageIO;
 
@@ -12,12 +13,19 @@ import games.strategy.debug.ClientLogger;
 import games.strategy.triplea.ResourceLoader;
 
 public class ImageFactory {
+  private final Object m_mutex = new Object();
+  // guarded by m_mutex
   private final Map<String, Image> m_images = new HashMap<>();
+  // the images being loaded, guarded by m_mutex
+  private final Map<String, CompletableFuture<Image>> m_loadingImages = new HashMap<>();
   private ResourceLoader m_resourceLoader;
 
   public void setResourceLoader(final ResourceLoader loader) {
-    m_resourceLoader = loader;
-    m_images.clear();
+    synchronized (m_mutex) {
+      m_resourceLoader = loader;
+      m_images.clear();
+      m_loadingImages.clear();
+    }
   }
 
   protected Image getImage(final String key1, final String key2, final boolean throwIfNotFound) {
@@ -28,24 +36,63 @@ public class ImageFactory {
     return getImage(key2, throwIfNotFound);
   }
 
+  /**
+   * Images are decoded outside the lock, so threads asking for other images do not wait for the decoding. Threads
+   * asking for an image that is being loaded wait for it instead of loading it again.
+   */
   protected Image getImage(final String key, final boolean throwIfNotFound) {
-    if (!m_images.containsKey(key)) {
-      final URL url = m_resourceLoader.getResource(key);
-      if (url == null && throwIfNotFound) {
-        throw new IllegalStateException("Image Not Found:" + key);
-      } else if (url == null) {
-        m_images.put(key, null);
-        return null;
+    final CompletableFuture<Image> loading = new CompletableFuture<>();
+    final CompletableFuture<Image> pending;
+    final ResourceLoader resourceLoader;
+    synchronized (m_mutex) {
+      if (m_images.containsKey(key)) {
+        return checkFound(key, m_images.get(key), throwIfNotFound);
+      }
+      pending = m_loadingImages.putIfAbsent(key, loading);
+      resourceLoader = m_resourceLoader;
+    }
+    if (pending != null) {
+      return checkFound(key, pending.join(), throwIfNotFound);
+    }
+    try {
+      final Image image = loadImage(resourceLoader, key);
+      synchronized (m_mutex) {
+        // don't cache the image if the resource loader changed while it was loaded
+        if (m_loadingImages.remove(key, loading)) {
+          m_images.put(key, image);
+        }
       }
-      final Image image;
-      try {
-        image = ImageIO.read(url);
-      } catch (final IOException e) {
-        ClientLogger.logQuietly(e);
-        throw new IllegalStateException(e.getMessage());
+      loading.complete(image);
+      return checkFound(key, image, throwIfNotFound);
+    } catch (final RuntimeException e) {
+      synchronized (m_mutex) {
+        m_loadingImages.remove(key, loading);
       }
-      m_images.put(key, image);
+      loading.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  /**
+   * @return The image, or null if there is no image for the key.
+   */
+  private static Image loadImage(final ResourceLoader resourceLoader, final String key) {
+    final URL url = resourceLoader.getResource(key);
+    if (url == null) {
+      return null;
+    }
+    try {
+      return ImageIO.read(url);
+    } catch (final IOException e) {
+      ClientLogger.logQuietly(e);
+      throw new IllegalStateException(e.getMessage());
+    }
+  }
+
+  private static Image checkFound(final String key, final Image image, final boolean throwIfNotFound) {
+    if (image == null && throwIfNotFound) {
+      throw new IllegalStateException("Image Not Found:" + key);
     }
-    return m_images.get(key);
+    return image;
   }
 }
@@ -0,0 +1,306 @@
+package games.strategy.triplea.image;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import com.google.common.hash.Hashing;
+
+import games.strategy.debug.ClientLogger;
+import games.strategy.ui.Util;
+
+/**
+ * Keeps decoded map tile images on disk between sessions, so the tiles of a map don't need to be decoded from their
+ * PNG files again each time the map is loaded.
+ *
+ * <p>
+ * Each tile is stored at zoom levels, where level n is the tile scaled by 1/2^n. The pixels are stored as they are in
+ * memory, compressed with the fastest deflate level. A stored tile is deleted once the file it was decoded from was
+ * modified.
+ * </p>
+ *
+ * <p>
+ * The stored tiles are kept up to a number of bytes, the least recently used tiles are deleted first. Tiles stored in
+ * earlier sessions count as used when their files were last modified.
+ * </p>
+ */
+final class TileDiskCache {
+  private static final Logger logger = Logger.getLogger(TileDiskCache.class.getName());
+  private static final int VERSION = 1;
+  private static final String FILE_EXTENSION = ".tile";
+  private static final String TEMP_FILE_PREFIX = "tile";
+  private static final String TEMP_FILE_EXTENSION = ".tile.tmp";
+  // older temporary files were left behind by a client that ended while writing them
+  private static final long TEMP_FILE_MAX_AGE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+  private final File folder;
+  private final long capacityBytes;
+  // the sizes of the stored files by name, the least recently used first; null until the folder was listed
+  private Map<String, Long> fileSizes;
+  private long sizeBytes;
+
+  TileDiskCache(final File folder, final long capacityBytes) {
+    this.folder = folder;
+    this.capacityBytes = capacityBytes;
+  }
+
+  /**
+   * Returns the image stored for the specified key and level, or null if none is stored. An image decoded from an
+   * older version of the source file is deleted.
+   *
+   * @param sourceModified The time the source file of the image was last modified.
+   */
+  BufferedImage read(final String key, final int level, final long sourceModified) {
+    final File file = getFile(key, level);
+    if (!file.isFile()) {
+      return null;
+    }
+    boolean stale = false;
+    try (InputStream is = new FileInputStream(file);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new InflaterInputStream(is)))) {
+      if (in.readInt() != VERSION || in.readLong() != sourceModified) {
+        stale = true;
+        return null;
+      }
+      if (!in.readUTF().equals(key) || in.readInt() != level) {
+        return null;
+      }
+      final int width = in.readInt();
+      final int height = in.readInt();
+      final boolean transparent = in.readBoolean();
+      if (width <= 0 || height <= 0) {
+        return null;
+      }
+      final BufferedImage image = Util.createImage(width, height, transparent);
+      in.readFully(((DataBufferByte) image.getRaster().getDataBuffer()).getData());
+      used(file);
+      return image;
+    } catch (final FileNotFoundException e) {
+      return null;
+    } catch (final IOException e) {
+      ClientLogger.logQuietly("Failed to read cached tile: " + file, e);
+      stale = true;
+      return null;
+    } finally {
+      if (stale) {
+        delete(file);
+      }
+    }
+  }
+
+  /**
+   * Stores the specified image for the specified key and level. Images that weren't created by
+   * {@link Util#createImage(int, int, boolean)} are not stored.
+   *
+   * @param sourceModified The time the source file of the image was last modified.
+   */
+  void write(final String key, final int level, final long sourceModified, final BufferedImage image) {
+    final boolean transparent;
+    if (image.getType() == BufferedImage.TYPE_4BYTE_ABGR) {
+      transparent = true;
+    } else if (image.getType() == BufferedImage.TYPE_3BYTE_BGR) {
+      transparent = false;
+    } else {
+      return;
+    }
+    if (!folder.isDirectory() && !folder.mkdirs()) {
+      return;
+    }
+    final File file = getFile(key, level);
+    // write to a temporary file first so no other client ever reads a partly written tile
+    File tempFile = null;
+    try {
+      tempFile = File.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_EXTENSION, folder);
+      try (OutputStream os = new FileOutputStream(tempFile);
+          DataOutputStream out = new DataOutputStream(
+              new BufferedOutputStream(new DeflaterOutputStream(os, new Deflater(Deflater.BEST_SPEED))))) {
+        out.writeInt(VERSION);
+        out.writeLong(sourceModified);
+        out.writeUTF(key);
+        out.writeInt(level);
+        out.writeInt(image.getWidth());
+        out.writeInt(image.getHeight());
+        out.writeBoolean(transparent);
+        out.write(((DataBufferByte) image.getRaster().getDataBuffer()).getData());
+      }
+      Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      stored(file);
+    } catch (final IOException e) {
+      ClientLogger.logQuietly("Failed to cache tile: " + file, e);
+      if (tempFile != null) {
+        tempFile.delete();
+      }
+    }
+  }
+
+  /**
+   * Deletes the stored images that were written by another version of this class or whose source file was modified
+   * or is gone since they were stored, and the temporary files left behind by clients that ended while writing an
+   * image. The images are checked one after another, so this may take a while.
+   *
+   * @param sourceModified Returns the time the source file of the images stored for a key was last modified, or 0 if
+   *        it isn't known.
+   */
+  void removeStale(final ToLongFunction<String> sourceModified) {
+    removeAbandonedTempFiles();
+    final File[] files = folder.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION));
+    if (files == null) {
+      return;
+    }
+    int removed = 0;
+    for (final File file : files) {
+      boolean stale;
+      try (InputStream is = new FileInputStream(file);
+          DataInputStream in = new DataInputStream(new BufferedInputStream(new InflaterInputStream(is)))) {
+        stale = in.readInt() != VERSION;
+        if (!stale) {
+          final long modified = in.readLong();
+          stale = modified != sourceModified.applyAsLong(in.readUTF());
+        }
+      } catch (final FileNotFoundException e) {
+        continue;
+      } catch (final IOException e) {
+        stale = true;
+      }
+      if (stale) {
+        delete(file);
+        removed++;
+      }
+    }
+    logger.fine("Removed " + removed + " of " + files.length + " cached tiles");
+  }
+
+  private void removeAbandonedTempFiles() {
+    final File[] tempFiles = folder.listFiles((dir, name) -> name.endsWith(TEMP_FILE_EXTENSION));
+    if (tempFiles == null) {
+      return;
+    }
+    // temporary files being written right now, by this or another client, are younger
+    final long maxModified = System.currentTimeMillis() - TEMP_FILE_MAX_AGE_MILLIS;
+    for (final File tempFile : tempFiles) {
+      if (tempFile.lastModified() < maxModified) {
+        tempFile.delete();
+      }
+    }
+  }
+
+  synchronized long getSizeBytes() {
+    listFiles();
+    return sizeBytes;
+  }
+
+  private File getFile(final String key, final int level) {
+    return new File(folder, Hashing.sha256().hashString(key, StandardCharsets.UTF_8) + "_" + level + FILE_EXTENSION);
+  }
+
+  /**
+   * Lists the files stored in earlier sessions the first time it is called, the least recently modified first.
+   */
+  private void listFiles() {
+    if (fileSizes != null) {
+      return;
+    }
+    fileSizes = new LinkedHashMap<>(16, 0.75f, true);
+    final File[] files = folder.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION));
+    if (files == null) {
+      return;
+    }
+    final long[] lastModified = new long[files.length];
+    final Integer[] order = new Integer[files.length];
+    for (int i = 0; i < files.length; i++) {
+      lastModified[i] = files[i].lastModified();
+      order[i] = i;
+    }
+    Arrays.sort(order, Comparator.comparingLong(i -> lastModified[i]));
+    for (final int i : order) {
+      final long length = files[i].length();
+      fileSizes.put(files[i].getName(), length);
+      sizeBytes += length;
+    }
+  }
+
+  private synchronized void used(final File file) {
+    listFiles();
+    if (fileSizes.get(file.getName()) != null) {
+      // keep the order for later sessions
+      file.setLastModified(System.currentTimeMillis());
+    }
+  }
+
+  /**
+   * Records a written file and deletes the least recently used files while the stored files exceed the budget. The
+   * file just written is never deleted.
+   */
+  private synchronized void stored(final File file) {
+    listFiles();
+    final long length = file.length();
+    final Long old = fileSizes.put(file.getName(), length);
+    sizeBytes += length - ((old == null) ? 0 : old);
+    final Iterator<Map.Entry<String, Long>> iter = fileSizes.entrySet().iterator();
+    while (sizeBytes > capacityBytes && fileSizes.size() > 1) {
+      final Map.Entry<String, Long> eldest = iter.next();
+      iter.remove();
+      sizeBytes -= eldest.getValue();
+      new File(folder, eldest.getKey()).delete();
+    }
+  }
+
+  private synchronized void delete(final File file) {
+    listFiles();
+    final Long length = fileSizes.remove(file.getName());
+    if (length != null) {
+      sizeBytes -= length;
+    }
+    file.delete();
+  }
+
+  /**
+   * Returns the time the file at the specified location was last modified, or 0 if it isn't known. For a file inside
+   * a zip file, this is the time the zip file was last modified, which is read without opening the zip file, so it is
+   * not kept open.
+   */
+  static long getLastModified(final URL url) {
+    try {
+      if ("file".equals(url.getProtocol())) {
+        return new File(url.toURI()).lastModified();
+      }
+      // opening the connection only parses the URL, the zip file is opened once the connection is connected
+      final URLConnection connection = url.openConnection();
+      if (connection instanceof JarURLConnection) {
+        final URL zipFileUrl = ((JarURLConnection) connection).getJarFileURL();
+        return "file".equals(zipFileUrl.getProtocol()) ? new File(zipFileUrl.toURI()).lastModified() : 0;
+      }
+      return 0;
+    } catch (final IOException | URISyntaxException | IllegalArgumentException e) {
+      return 0;
+    }
+  }
+}
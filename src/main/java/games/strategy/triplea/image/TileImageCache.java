@@ -0,0 +1,81 @@
+package games.strategy.triplea.image;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the most recently used map tile images in memory, up to a number of bytes.
+ *
+ * <p>
+ * Unlike soft references, which the garbage collector only clears once the heap runs full, the cache evicts the least
+ * recently used images as soon as the images exceed the budget, so the heap needed by the map tiles is known up front.
+ * </p>
+ */
+final class TileImageCache {
+  private static final Logger logger = Logger.getLogger(TileImageCache.class.getName());
+
+  private final long capacityBytes;
+  private final Map<String, Image> images = new LinkedHashMap<>(16, 0.75f, true);
+  private long sizeBytes;
+
+  TileImageCache(final long capacityBytes) {
+    this.capacityBytes = capacityBytes;
+  }
+
+  /**
+   * Returns the image of the specified name, or null if it isn't cached.
+   */
+  synchronized Image get(final String name) {
+    return images.get(name);
+  }
+
+  /**
+   * Caches the specified image, evicting the least recently used images while the cache is over its budget. The image
+   * just added is never evicted.
+   */
+  synchronized void put(final String name, final Image image) {
+    final Image old = images.put(name, image);
+    if (old != null) {
+      sizeBytes -= getSizeBytes(old);
+    }
+    sizeBytes += getSizeBytes(image);
+    final Iterator<Map.Entry<String, Image>> iter = images.entrySet().iterator();
+    while (sizeBytes > capacityBytes && images.size() > 1) {
+      final Map.Entry<String, Image> eldest = iter.next();
+      iter.remove();
+      sizeBytes -= getSizeBytes(eldest.getValue());
+      logger.finer("Evicted tile image " + eldest.getKey() + ". Cache size: " + sizeBytes + " bytes");
+    }
+  }
+
+  synchronized void clear() {
+    images.clear();
+    sizeBytes = 0;
+  }
+
+  synchronized long getSizeBytes() {
+    return sizeBytes;
+  }
+
+  synchronized int size() {
+    return images.size();
+  }
+
+  /**
+   * Returns the number of bytes the pixels of the specified image take.
+   */
+  static long getSizeBytes(final Image image) {
+    if (image instanceof BufferedImage) {
+      final DataBuffer dataBuffer = ((BufferedImage) image).getRaster().getDataBuffer();
+      return (long) dataBuffer.getSize() * dataBuffer.getNumBanks()
+          * DataBuffer.getDataTypeSize(dataBuffer.getDataType()) / 8;
+    }
+    // assume 4 bytes per pixel for images we can't inspect
+    return 4L * Math.max(image.getWidth(null), 0) * Math.max(image.getHeight(null), 0);
+  }
+}
@@ -7,13 +7,23 @@ import java.awt.Graphics2D;
 import java.awt.GraphicsConfiguration;
 import java.awt.GraphicsEnvironment;
 import java.awt.Image;
+import java.awt.RenderingHints;
 import java.awt.Transparency;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.prefs.BackingStoreException;
@@ -22,11 +32,29 @@ import java.util.prefs.Preferences;
 import javax.imageio.ImageIO;
 
 import games.strategy.debug.ClientLogger;
+import games.strategy.thread.DaemonThreadFactory;
 import games.strategy.triplea.ResourceLoader;
 import games.strategy.triplea.image.BlendComposite.BlendingMode;
+import games.strategy.triplea.settings.ClientSetting;
 import games.strategy.triplea.util.Stopwatch;
 import games.strategy.ui.Util;
 
+/**
+ * Loads the base and relief tiles of a map at the scale of the map panel.
+ *
+ * <p>
+ * Loaded tiles are kept in memory up to the size given by {@link ClientSetting#MAP_TILE_CACHE_SIZE_MB}, the least
+ * recently used tiles are evicted first. Each tile decoded from its file is also stored on disk at every zoom level
+ * (1, 1/2 and 1/4), so later sessions don't decode the file again and a tile at any scale is scaled down from the
+ * nearest larger zoom level rather than from the full resolution.
+ * </p>
+ *
+ * <p>
+ * Several threads may load tiles at the same time. A tile requested while another thread loads it waits for that
+ * thread rather than decoding the file again. The zoom levels other than the one requested are scaled and stored on
+ * disk in the background.
+ * </p>
+ */
 public final class TileImageFactory {
   private final Object m_mutex = new Object();
   // one instance in the application
@@ -42,9 +70,19 @@ public final class TileImageFactory {
   private static final GraphicsConfiguration configuration =
       GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
   private static final Logger logger = Logger.getLogger(TileImageFactory.class.getName());
+  // level n is the tile scaled by 1/2^n, the smallest map scale is 0.15
+  private static final int MAX_ZOOM_LEVEL = 2;
+  private static final String TRANSPARENT_KEY_SUFFIX = "#transparent";
+  // scales and stores the zoom levels of decoded tiles; once it falls behind, the loading threads store them
+  private static final ExecutorService diskCacheWriter = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(32), new DaemonThreadFactory(true, "Map tile cache writer"),
+      new ThreadPoolExecutor.CallerRunsPolicy());
   private double m_scale = 1;
-  // maps image name to ImageRef
-  private HashMap<String, ImageRef> m_imageCache = new HashMap<>();
+  private final TileImageCache m_imageCache;
+  // the tiles being loaded, guarded by m_mutex
+  private final Map<String, CompletableFuture<Image>> m_loadingImages = new HashMap<>();
+  // null if decoded tiles are not stored on disk
+  private final TileDiskCache m_diskCache;
 
   static {
     final Preferences prefs = Preferences.userNodeForPackage(TileImageFactory.class);
@@ -76,7 +114,8 @@ public final class TileImageFactory {
     }
     synchronized (m_mutex) {
       m_scale = newScale;
-      getM_imageCache().clear();
+      m_imageCache.clear();
+      m_loadingImages.clear();
     }
   }
 
@@ -124,29 +163,39 @@ public final class TileImageFactory {
     }
   }
 
-  private ResourceLoader m_resourceLoader;
+  private volatile ResourceLoader m_resourceLoader;
 
   public void setMapDir(final ResourceLoader loader) {
     m_resourceLoader = loader;
     synchronized (m_mutex) {
-      // we manually want to clear each ref to allow the soft reference to
-      // be removed
-      final Iterator<ImageRef> values = getM_imageCache().values().iterator();
-      while (values.hasNext()) {
-        final ImageRef imageRef = values.next();
-        imageRef.clear();
-      }
-      getM_imageCache().clear();
+      m_imageCache.clear();
+      m_loadingImages.clear();
     }
   }
 
-  public TileImageFactory() {}
-
-  private Image isImageLoaded(final String fileName) {
-    if (getM_imageCache().get(fileName) == null) {
-      return null;
+  public TileImageFactory() {
+    this(getCacheCapacityBytes(), getDiskCache());
+    if (m_diskCache != null) {
+      new DaemonThreadFactory(true, "Map tile cache cleaner")
+          .newThread(() -> m_diskCache.removeStale(TileImageFactory::getSourceModified)).start();
     }
-    return getM_imageCache().get(fileName).getImage();
+  }
+
+  TileImageFactory(final long cacheCapacityBytes, final TileDiskCache diskCache) {
+    m_imageCache = new TileImageCache(cacheCapacityBytes);
+    m_diskCache = diskCache;
+  }
+
+  private static long getCacheCapacityBytes() {
+    // never let the tiles take more than half of the heap
+    return Math.min(ClientSetting.MAP_TILE_CACHE_SIZE_MB.intValue() * 1024L * 1024L,
+        Runtime.getRuntime().maxMemory() / 2);
+  }
+
+  private static TileDiskCache getDiskCache() {
+    final String folder = ClientSetting.MAP_TILE_CACHE_FOLDER_PATH.value();
+    return folder.trim().isEmpty() ? null
+        : new TileDiskCache(new File(folder), ClientSetting.MAP_TILE_DISK_CACHE_SIZE_MB.intValue() * 1024L * 1024L);
   }
 
   public Image getBaseTile(final int x, final int y) {
@@ -163,7 +212,7 @@ public final class TileImageFactory {
     if (url == null) {
       return null;
     }
-    return loadImage(url, fileName, false, false, false);
+    return loadImage(url, fileName, false, 1.0);
   }
 
   private static String getBaseTileImageName(final int x, final int y) {
@@ -173,20 +222,40 @@ public final class TileImageFactory {
   }
 
   private Image getImage(final String fileName, final boolean transparent) {
+    final CompletableFuture<Image> loading = new CompletableFuture<>();
+    final CompletableFuture<Image> pending;
+    final double scale;
     synchronized (m_mutex) {
-      final Image image = isImageLoaded(fileName);
+      final Image image = m_imageCache.get(fileName);
       if (image != null) {
         return image;
       }
+      pending = m_loadingImages.putIfAbsent(fileName, loading);
+      scale = m_scale;
+    }
+    if (pending != null) {
+      return pending.join();
+    }
+    try {
       // This is null if there is no image
       final URL url = m_resourceLoader.getResource(fileName);
-
-      if ((!showMapBlends || !showReliefImages || !transparent) && url == null) {
-        return null;
+      final Image image = ((!showMapBlends || !showReliefImages || !transparent) && url == null) ? null
+          : loadImage(url, fileName, transparent, scale);
+      synchronized (m_mutex) {
+        // don't cache the image if the scale or the map changed while it was loaded
+        if (m_loadingImages.remove(fileName, loading) && image != null) {
+          m_imageCache.put(fileName, image);
+        }
+      }
+      loading.complete(image);
+      return image;
+    } catch (final RuntimeException e) {
+      synchronized (m_mutex) {
+        m_loadingImages.remove(fileName, loading);
       }
-      loadImage(url, fileName, transparent, true, true);
+      loading.completeExceptionally(e);
+      throw e;
     }
-    return getImage(fileName, transparent);
   }
 
   public Image getReliefTile(final int a, final int b) {
@@ -200,7 +269,7 @@ public final class TileImageFactory {
     if (url == null) {
       return null;
     }
-    return loadImage(url, fileName, true, false, false);
+    return loadImage(url, fileName, true, 1.0);
   }
 
   private static String getReliefTileImageName(final int x, final int y) {
@@ -224,15 +293,15 @@ public final class TileImageFactory {
 
 
   private Image loadImage(final URL imageLocation, final String fileName, final boolean transparent,
-      final boolean cache, final boolean scale) {
+      final double scale) {
     if (showMapBlends && showReliefImages && transparent) {
-      return loadBlendedImage(fileName, cache, scale);
+      return loadBlendedImage(fileName, scale);
     } else {
-      return loadUnblendedImage(imageLocation, fileName, transparent, cache, scale);
+      return loadUnblendedImage(imageLocation, transparent, scale);
     }
   }
 
-  private Image loadBlendedImage(final String fileName, final boolean cache, final boolean scale) {
+  private Image loadBlendedImage(final String fileName, final double scale) {
     BufferedImage reliefFile = null;
     BufferedImage baseFile = null;
     // The relief tile
@@ -278,9 +347,9 @@ public final class TileImageFactory {
     /* reversing the to/from files leaves white underlays visible */
     if (reliefFile != null) {
       final Graphics2D g2 = reliefFile.createGraphics();
-      if (scale && m_scale != 1.0) {
+      if (scale != 1.0) {
         final AffineTransform transform = new AffineTransform();
-        transform.scale(m_scale, m_scale);
+        transform.scale(scale, scale);
         g2.setTransform(transform);
       }
       g2.drawImage(reliefFile, overX, overY, null);
@@ -290,56 +359,122 @@ public final class TileImageFactory {
       // g2.setComposite(BlendComposite.Overlay.derive(alpha));
       g2.setComposite(blendComposite);
       g2.drawImage(baseFile, overX, overY, null);
-      final ImageRef ref = new ImageRef(reliefFile);
-      if (cache) {
-        getM_imageCache().put(fileName, ref);
-      }
       return reliefFile;
     } else {
-      final ImageRef ref = new ImageRef(baseFile);
-      if (cache) {
-        getM_imageCache().put(fileName, ref);
-      }
       return baseFile;
     }
   }
 
-  private Image loadUnblendedImage(final URL imageLocation, final String fileName, final boolean transparent,
-      final boolean cache, final boolean scale) {
-    Image image;
+  private Image loadUnblendedImage(final URL imageLocation, final boolean transparent, final double scale) {
     try {
-      final Stopwatch loadingImages = new Stopwatch(logger, Level.FINE, "Loading image:" + imageLocation);
-      final BufferedImage fromFile = ImageIO.read(imageLocation);
-      loadingImages.done();
-      final Stopwatch copyingImage = new Stopwatch(logger, Level.FINE, "Copying image:" + imageLocation);
-      // if we dont copy, drawing the tile to the screen takes significantly longer
-      // has something to do with the colour model and type of the images
-      // some images can be copeid quickly to the screen
-      // this step is a significant bottle neck in the image drawing process
-      // we should try to find a way to avoid it, and load the
-      // png directly as the right type
-      image = Util.createImage(fromFile.getWidth(null), fromFile.getHeight(null), transparent);
-      final Graphics2D g = (Graphics2D) image.getGraphics();
-      if (scale && m_scale != 1.0) {
-        final AffineTransform transform = new AffineTransform();
-        transform.scale(m_scale, m_scale);
-        g.setTransform(transform);
-      }
-      g.drawImage(fromFile, 0, 0, null);
-      g.dispose();
-      fromFile.flush();
-      copyingImage.done();
+      final int level = getZoomLevel(scale);
+      return scaleImage(loadZoomLevel(imageLocation, transparent, level), scale * (1 << level), transparent);
     } catch (final IOException e) {
       ClientLogger.logError("Could not load image, url: " + imageLocation.toString(), e);
-      image = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+      return new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+    }
+  }
+
+  /**
+   * Returns the largest zoom level that is at least as large as the specified scale.
+   */
+  private static int getZoomLevel(final double scale) {
+    int level = 0;
+    while (level < MAX_ZOOM_LEVEL && scale <= 1.0 / (2 << level)) {
+      level++;
+    }
+    return level;
+  }
+
+  /**
+   * Loads the image at the specified zoom level from the disk cache, or decodes it from its file. Once decoded, the
+   * image is stored on disk at every zoom level in the background, so the file doesn't need to be decoded again at
+   * another scale.
+   */
+  private BufferedImage loadZoomLevel(final URL imageLocation, final boolean transparent, final int level)
+      throws IOException {
+    final long sourceModified = (m_diskCache == null) ? 0 : TileDiskCache.getLastModified(imageLocation);
+    final String key = imageLocation + (transparent ? TRANSPARENT_KEY_SUFFIX : "");
+    if (sourceModified != 0) {
+      final BufferedImage cached = m_diskCache.read(key, level, sourceModified);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    final List<BufferedImage> levels = new ArrayList<>();
+    levels.add(decodeImage(imageLocation, transparent));
+    while (levels.size() <= level) {
+      levels.add(scaleImage(levels.get(levels.size() - 1), 0.5, transparent));
     }
-    final ImageRef ref = new ImageRef(image);
-    if (cache) {
-      getM_imageCache().put(fileName, ref);
+    if (sourceModified != 0) {
+      diskCacheWriter.execute(() -> storeZoomLevels(key, sourceModified, levels, transparent));
+    }
+    return levels.get(level);
+  }
+
+  /**
+   * Stores the specified zoom levels of an image on disk, scaling the levels that are missing from the last one.
+   */
+  private void storeZoomLevels(final String key, final long sourceModified, final List<BufferedImage> levels,
+      final boolean transparent) {
+    for (int i = 0; i <= MAX_ZOOM_LEVEL; i++) {
+      if (i == levels.size()) {
+        levels.add(scaleImage(levels.get(i - 1), 0.5, transparent));
+      }
+      m_diskCache.write(key, i, sourceModified, levels.get(i));
     }
+  }
+
+  /**
+   * Returns the time the source file of the image stored on disk for the specified key was last modified, or 0 if it
+   * isn't known or the file is gone.
+   */
+  private static long getSourceModified(final String key) {
+    final String url =
+        key.endsWith(TRANSPARENT_KEY_SUFFIX) ? key.substring(0, key.length() - TRANSPARENT_KEY_SUFFIX.length()) : key;
+    try {
+      return TileDiskCache.getLastModified(new URL(url));
+    } catch (final MalformedURLException e) {
+      return 0;
+    }
+  }
+
+  private static BufferedImage decodeImage(final URL imageLocation, final boolean transparent) throws IOException {
+    final Stopwatch loadingImages = new Stopwatch(logger, Level.FINE, "Loading image:" + imageLocation);
+    final BufferedImage fromFile = ImageIO.read(imageLocation);
+    loadingImages.done();
+    final Stopwatch copyingImage = new Stopwatch(logger, Level.FINE, "Copying image:" + imageLocation);
+    // if we dont copy, drawing the tile to the screen takes significantly longer
+    // has something to do with the colour model and type of the images
+    // some images can be copeid quickly to the screen
+    // this step is a significant bottle neck in the image drawing process
+    // we should try to find a way to avoid it, and load the
+    // png directly as the right type
+    final BufferedImage image = Util.createImage(fromFile.getWidth(null), fromFile.getHeight(null), transparent);
+    final Graphics2D g = image.createGraphics();
+    g.drawImage(fromFile, 0, 0, null);
+    g.dispose();
+    fromFile.flush();
+    copyingImage.done();
     return image;
   }
 
+  /**
+   * Returns a copy of the specified image scaled by the specified factor, or the image itself if the factor is 1.
+   */
+  private static BufferedImage scaleImage(final BufferedImage image, final double scale, final boolean transparent) {
+    if (scale == 1.0) {
+      return image;
+    }
+    final BufferedImage scaled = Util.createImage(Math.max((int) Math.ceil(image.getWidth() * scale), 1),
+        Math.max((int) Math.ceil(image.getHeight() * scale), 1), transparent);
+    final Graphics2D g = scaled.createGraphics();
+    g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    g.drawImage(image, AffineTransform.getScaleInstance(scale, scale), null);
+    g.dispose();
+    return scaled;
+  }
+
   public Composite getComposite() {
     return this.composite;
   }
@@ -361,14 +496,4 @@ public final class TileImageFactory {
   public static BufferedImage createCompatibleImage(final int width, final int height) {
     return configuration.createCompatibleImage(width, height);
   }
-
-  public void setM_imageCache(final HashMap<String, ImageRef> imageCache) {
-    this.m_imageCache = imageCache;
-  }
-
-  public HashMap<String, ImageRef> getM_imageCache() {
-    return m_imageCache;
-  }
 }
-
-
@@ -99,7 +99,7 @@ public class UnitImageFactory {
   }
 
   // Clear the image and icon cache
-  private void clearImageCache() {
+  private synchronized void clearImageCache() {
     m_images.clear();
     m_icons.clear();
   }
@@ -107,7 +107,7 @@ public class UnitImageFactory {
   /**
    * Return the appropriate unit image.
    */
-  public Optional<Image> getImage(final UnitType type, final PlayerID player, final boolean damaged,
+  public synchronized Optional<Image> getImage(final UnitType type, final PlayerID player, final boolean damaged,
       final boolean disabled) {
     final String baseName = getBaseImageName(type, player, damaged, disabled);
     final String fullName = baseName + player.getName();
@@ -181,7 +181,7 @@ public class UnitImageFactory {
   /**
    * Return a icon image for a unit.
    */
-  public Optional<ImageIcon> getIcon(final UnitType type, final PlayerID player, final boolean damaged,
+  public synchronized Optional<ImageIcon> getIcon(final UnitType type, final PlayerID player, final boolean damaged,
       final boolean disabled) {
     final String baseName = getBaseImageName(type, player, damaged, disabled);
     final String fullName = baseName + player.getName();
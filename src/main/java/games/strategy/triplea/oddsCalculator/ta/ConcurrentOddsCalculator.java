@@ -21,7 +21,8 @@ import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.TerritoryEffect;
 import games.strategy.engine.data.Unit;
-import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.engine.framework.GameDataSnapshot;
+import games.strategy.thread.DaemonThreadFactory;
 import games.strategy.util.CountUpAndDownLatch;
 
 /**
@@ -128,53 +129,57 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
   private void createWorkers(final GameData data) {
     workers.clear();
     if (data != null && cancelCurrentOperation >= 0) {
-      // see how long 1 copy takes (some games can get REALLY big)
-      final long startTime = System.currentTimeMillis();
-      final long startMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
-      final GameData newData;
+      // take a single snapshot, then release the lock on the data so the game can continue (ie: we don't want to lock
+      // on it while we copy it 16 times, when once is enough); every worker creates its own copy from the snapshot
+      final GameDataSnapshot snapshot;
       try {
-        // make first copy, then release lock on it so game can continue (ie: we don't want to lock on it while we copy
-        // it 16 times, when once is enough) don't let the data change while we make the first copy
         data.acquireReadLock();
-        newData = GameDataUtils.cloneGameData(data, false);
+        snapshot = GameDataSnapshot.of(data, false);
       } finally {
         data.releaseReadLock();
       }
+      // see how long 1 copy takes (some games can get REALLY big)
+      final long startTime = System.currentTimeMillis();
+      final long startMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+      final GameData firstCopy = (snapshot == null) ? null : snapshot.newGameData();
       currentThreads = getThreadsToUse((System.currentTimeMillis() - startTime), startMemory);
-      try {
-        // make sure all workers are using the same data
-        newData.acquireReadLock();
-        int i = 0;
+      if (firstCopy != null && cancelCurrentOperation >= 0) {
+        workers.add(new OddsCalculator(firstCopy, true));
         // we are already in 1 executor thread, so we have MAX_THREADS-1 threads left to use
         if (currentThreads <= 2 || MAX_THREADS <= 2) {
           // if 2 or fewer threads, do not multi-thread the copying (we have already copied it once above, so at most
-          // only 1 more copy to
-          // make)
-          while (cancelCurrentOperation >= 0 && i < currentThreads) {
-            // the last one will use our already copied data from above, without copying it again
-            workers.add(new OddsCalculator(newData, (currentThreads == ++i)));
+          // only 1 more copy to make)
+          for (int i = 1; i < currentThreads && cancelCurrentOperation >= 0; i++) {
+            final GameData copy = snapshot.newGameData();
+            if (copy == null) {
+              // a copy that failed once fails again, so go on with the workers we have
+              break;
+            }
+            workers.add(new OddsCalculator(copy, true));
           }
-        } else { // multi-thread our copying, cus why the heck not (it increases the speed of copying by about double)
+        } else { // multi-thread our copying, the snapshot can be read by any number of threads at once
           final CountDownLatch workerLatch = new CountDownLatch(currentThreads - 1);
-          while (i < (currentThreads - 1)) {
-            ++i;
+          for (int i = 1; i < currentThreads; i++) {
             executor.submit(() -> {
-              if (cancelCurrentOperation >= 0) {
-                workers.add(new OddsCalculator(newData, false));
+              try {
+                if (cancelCurrentOperation >= 0) {
+                  final GameData copy = snapshot.newGameData();
+                  // a worker without data would fail later, so skip copies that failed
+                  if (copy != null) {
+                    workers.add(new OddsCalculator(copy, true));
+                  }
+                }
+              } finally {
+                workerLatch.countDown();
               }
-              workerLatch.countDown();
             });
           }
-          // the last one will use our already copied data from above, without copying it again
-          workers.add(new OddsCalculator(newData, true));
           try {
             workerLatch.await();
           } catch (final InterruptedException e) {
             Thread.currentThread().interrupt();
           }
         }
-      } finally {
-        newData.releaseReadLock();
       }
     }
     if (cancelCurrentOperation < 0 || data == null) {
@@ -31,6 +31,7 @@ import games.strategy.engine.history.IDelegateHistoryWriter;
 import games.strategy.engine.random.IRandomStats.DiceType;
 import games.strategy.engine.random.PlainRandomSource;
 import games.strategy.net.GUID;
+import games.strategy.performance.PerfTimer;
 import games.strategy.sound.HeadlessSoundChannel;
 import games.strategy.sound.ISound;
 import games.strategy.triplea.ai.AIUtils;
@@ -135,10 +136,10 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
     this.defender =
         gameData.getPlayerList().getPlayerId(defender == null ? PlayerID.NULL_PLAYERID.getName() : defender.getName());
     this.location = gameData.getMap().getTerritory(location.getName());
-    attackingUnits = GameDataUtils.translateIntoOtherGameData(attacking, gameData);
-    defendingUnits = GameDataUtils.translateIntoOtherGameData(defending, gameData);
-    bombardingUnits = GameDataUtils.translateIntoOtherGameData(bombarding, gameData);
-    this.territoryEffects = GameDataUtils.translateIntoOtherGameData(territoryEffects, gameData);
+    attackingUnits = GameDataUtils.translateUnitsIntoOtherGameData(attacking, gameData);
+    defendingUnits = GameDataUtils.translateUnitsIntoOtherGameData(defending, gameData);
+    bombardingUnits = GameDataUtils.translateUnitsIntoOtherGameData(bombarding, gameData);
+    this.territoryEffects = GameDataUtils.translateTerritoryEffectsIntoOtherGameData(territoryEffects, gameData);
     gameData.performChange(ChangeFactory.removeUnits(this.location, this.location.getUnits().getUnits()));
     gameData.performChange(ChangeFactory.addUnits(this.location, attackingUnits));
     gameData.performChange(ChangeFactory.addUnits(this.location, defendingUnits));
@@ -163,6 +164,12 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
   }
 
   private AggregateResults calculate(final int count) {
+    try (PerfTimer timer = PerfTimer.startTimer("OddsCalculator.calculate")) {
+      return calculateInternal(count);
+    }
+  }
+
+  private AggregateResults calculateInternal(final int count) {
     isRunning = true;
     final long start = System.currentTimeMillis();
     final AggregateResults aggregateResults = new AggregateResults(count);
@@ -37,6 +37,8 @@ import games.strategy.engine.framework.system.SystemProperties;
  * </pre></code>
  */
 public enum ClientSetting implements GameSetting {
+  AI_PARALLEL_ENEMY_MOVES(false),
+
   AI_PAUSE_DURATION(400),
 
   ARROW_KEY_SCROLL_SPEED(70),
@@ -71,6 +73,12 @@ public enum ClientSetting implements GameSetting {
 
   MAP_LIST_OVERRIDE,
 
+  MAP_TILE_CACHE_FOLDER_PATH(new File(ClientFileSystemHelper.getUserRootFolder(), "tileCache")),
+
+  MAP_TILE_CACHE_SIZE_MB(256),
+
+  MAP_TILE_DISK_CACHE_SIZE_MB(1024),
+
   PROXY_CHOICE,
 
   PROXY_HOST,
@@ -25,6 +25,12 @@ import games.strategy.engine.framework.lookandfeel.LookAndFeel;
  * </p>
  */
 enum ClientSettingUiBinding implements GameSettingUiBinding {
+  AI_PARALLEL_ENEMY_MOVES_BINDING(
+      "AI Parallel Enemy Moves",
+      SettingType.AI,
+      ClientSetting.AI_PARALLEL_ENEMY_MOVES,
+      "Whether the Hard AI finds the moves of each enemy player on a separate processor"),
+
   AI_PAUSE_DURATION_BINDING(
       "AI Pause Duration",
       SettingType.AI,
@@ -88,6 +94,18 @@ enum ClientSettingUiBinding implements GameSettingUiBinding {
       SelectionComponentFactory.intValueRange(ClientSetting.MAP_EDGE_SCROLL_ZONE_SIZE, 0, 300),
       "How close to the edge of the map (in pixels) the mouse needs to be for the map to start scrolling"),
 
+  MAP_TILE_CACHE_SIZE_MB_BINDING(
+      "Map Tile Memory",
+      SettingType.GAME,
+      SelectionComponentFactory.intValueRange(ClientSetting.MAP_TILE_CACHE_SIZE_MB, 32, 4096),
+      "How much memory (in megabytes) the map tile images may take, takes effect when the next game starts"),
+
+  MAP_TILE_DISK_CACHE_SIZE_MB_BINDING(
+      "Map Tile Cache Size",
+      SettingType.GAME,
+      SelectionComponentFactory.intValueRange(ClientSetting.MAP_TILE_DISK_CACHE_SIZE_MB, 64, 16384),
+      "How much disk space (in megabytes) the map tile cache folder may take, takes effect when the next game starts"),
+
   SERVER_START_GAME_SYNC_WAIT_TIME_BINDING(
       "Start game timeout",
       SettingType.NETWORK_TIMEOUTS,
@@ -151,6 +169,12 @@ enum ClientSettingUiBinding implements GameSettingUiBinding {
       SelectionComponentFactory.folderPath(ClientSetting.SAVE_GAMES_FOLDER_PATH),
       "The folder where saved game files will be stored by default"),
 
+  MAP_TILE_CACHE_FOLDER_PATH_BINDING(
+      "Map Tile Cache Folder",
+      SettingType.FOLDER_LOCATIONS,
+      SelectionComponentFactory.folderPath(ClientSetting.MAP_TILE_CACHE_FOLDER_PATH),
+      "The folder where decoded map tile images are kept between games so maps load faster"),
+
   USER_MAPS_FOLDER_PATH_BINDING(
       "Maps Folder",
       SettingType.FOLDER_LOCATIONS,
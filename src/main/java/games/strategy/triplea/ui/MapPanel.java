@@ -27,9 +27,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -86,11 +83,10 @@ public class MapPanel extends ImageScrollerLargeView {
   private final List<Tile> images = new ArrayList<>();
   private RouteDescription routeDescription;
   private final TileManager tileManager;
-  private final BackgroundDrawer backgroundDrawer;
+  private final TileRenderQueue renderQueue;
   private BufferedImage mouseShadowImage = null;
   private String movementLeftForCurrentUnits = "";
   private final IUIContext uiContext;
-  private final LinkedBlockingQueue<Tile> undrawnTiles = new LinkedBlockingQueue<>();
   private Map<Territory, List<Unit>> highlightedUnits;
   private Cursor hiddenCursor = null;
   private final MapRouteDrawer routeDrawer;
@@ -104,11 +100,8 @@ public class MapPanel extends ImageScrollerLargeView {
     routeDrawer = new MapRouteDrawer(this, uiContext.getMapData());
     setCursor(this.uiContext.getCursor());
     this.scale = this.uiContext.getScale();
-    this.backgroundDrawer = new BackgroundDrawer(this);
+    this.renderQueue = new TileRenderQueue(this::renderTile);
     this.tileManager = new TileManager(this.uiContext);
-    final Thread t = new Thread(this.backgroundDrawer, "Map panel background drawer");
-    t.setDaemon(true);
-    t.start();
     setDoubleBuffered(false);
     this.smallView = smallView;
     this.smallMapImageManager =
@@ -217,15 +210,10 @@ public class MapPanel extends ImageScrollerLargeView {
     this.uiContext.addActive(() -> {
       // super.deactivate
       MapPanel.this.deactivate();
-      clearUndrawn();
-      backgroundDrawer.stop();
+      renderQueue.stop();
     });
   }
 
-  LinkedBlockingQueue<Tile> getUndrawnTiles() {
-    return undrawnTiles;
-  }
-
   private void recreateTiles(final GameData data, final IUIContext uiContext) {
     this.tileManager.createTiles(new Rectangle(this.uiContext.getMapData().getMapDimensions()));
     this.tileManager.resetTiles(data, uiContext.getMapData());
@@ -431,7 +419,7 @@ public class MapPanel extends ImageScrollerLargeView {
     gameData = data;
     gameData.addTerritoryListener(territoryListener);
     gameData.addDataChangeListener(techUpdateListener);
-    clearUndrawn();
+    renderQueue.cancel();
     tileManager.resetTiles(gameData, uiContext.getMapData());
   }
 
@@ -606,31 +594,28 @@ public class MapPanel extends ImageScrollerLargeView {
         }
       }
     }
-    // draw the tiles nearest us first
-    // then draw farther away
-    updateUndrawnTiles(undrawnTiles, 30, true);
-    updateUndrawnTiles(undrawnTiles, 257, true);
+    // draw the tiles on screen first
+    // then draw the tiles nearest us, then farther away
+    final List<List<Tile>> tilesByPriority = new ArrayList<>();
+    tilesByPriority.add(undrawnTiles);
+    tilesByPriority.add(getUndrawnTiles(30, true));
+    tilesByPriority.add(getUndrawnTiles(257, true));
     // when we are this far away, dont force the tiles to stay in memroy
-    updateUndrawnTiles(undrawnTiles, 513, false);
-    updateUndrawnTiles(undrawnTiles, 767, false);
-    clearUndrawn();
-    this.undrawnTiles.addAll(undrawnTiles);
+    tilesByPriority.add(getUndrawnTiles(513, false));
+    tilesByPriority.add(getUndrawnTiles(767, false));
+    renderQueue.schedule(mainBounds, tilesByPriority);
     stopWatch.done();
   }
 
-  private void clearUndrawn() {
-    for (int i = 0; i < 3; i++) {
-      try {
-        // several bug reports indicate that
-        // clear can throw an exception
-        // http://sourceforge.net/tracker/index.php?func=detail&aid=1832130&group_id=44492&atid=439737
-        // ignore
-        undrawnTiles.clear();
-        return;
-      } catch (final Exception e) {
-        e.printStackTrace(System.out);
-      }
+  private void renderTile(final Tile tile) {
+    final GameData data = gameData;
+    data.acquireReadLock();
+    try {
+      tile.getImage(data, uiContext.getMapData());
+    } finally {
+      data.releaseReadLock();
     }
+    SwingUtilities.invokeLater(this::repaint);
   }
 
   private boolean mapWidthFitsOnScreen() {
@@ -642,25 +627,24 @@ public class MapPanel extends ImageScrollerLargeView {
   }
 
   /**
-   * If we have nothing left undrawn, draw the tiles within preDrawMargin of us, optionally
-   * forcing the tiles to remain in memory.
+   * Returns the tiles within preDrawMargin of us that need to be drawn, optionally
+   * forcing the tiles that are drawn to remain in memory.
    */
-  private void updateUndrawnTiles(final List<Tile> undrawnTiles, final int preDrawMargin, final boolean forceInMemory) {
-    // draw tiles near us if we have nothing left to draw
+  private List<Tile> getUndrawnTiles(final int preDrawMargin, final boolean forceInMemory) {
+    // draw tiles near us once the tiles on screen are drawn
     // that way when we scroll slowly we wont notice a glitch
-    if (undrawnTiles.isEmpty()) {
-      final Rectangle2D extendedBounds = new Rectangle2D.Double(Math.max(model.getX() - preDrawMargin, 0),
-          Math.max(model.getY() - preDrawMargin, 0), getScaledWidth() + (2 * preDrawMargin),
-          getScaledHeight() + (2 * preDrawMargin));
-      final List<Tile> tileList = tileManager.getTiles(extendedBounds);
-      for (final Tile tile : tileList) {
-        if (tile.isDirty()) {
-          undrawnTiles.add(tile);
-        } else if (forceInMemory) {
-          images.add(tile);
-        }
+    final Rectangle2D extendedBounds = new Rectangle2D.Double(Math.max(model.getX() - preDrawMargin, 0),
+        Math.max(model.getY() - preDrawMargin, 0), getScaledWidth() + (2 * preDrawMargin),
+        getScaledHeight() + (2 * preDrawMargin));
+    final List<Tile> undrawnTiles = new ArrayList<>();
+    for (final Tile tile : tileManager.getTiles(extendedBounds)) {
+      if (tile.isDirty()) {
+        undrawnTiles.add(tile);
+      } else if (forceInMemory) {
+        images.add(tile);
       }
     }
+    return undrawnTiles;
   }
 
   private void drawTiles(final Graphics2D g, final List<Tile> images, final GameData data, Rectangle2D.Double bounds,
@@ -821,43 +805,4 @@ public class MapPanel extends ImageScrollerLargeView {
   Optional<Image> getWarningImage() {
     return uiContext.getMapData().getWarningImage();
   }
-
-  private static final class BackgroundDrawer implements Runnable {
-    private MapPanel mapPanel;
-
-    BackgroundDrawer(final MapPanel panel) {
-      mapPanel = panel;
-    }
-
-    void stop() {
-      // the thread will eventually wake up and notice we are done
-      mapPanel = null;
-    }
-
-    @Override
-    public void run() {
-      while (mapPanel != null) {
-        final BlockingQueue<Tile> undrawnTiles;
-        final MapPanel panel = mapPanel;
-        undrawnTiles = panel.getUndrawnTiles();
-        final Tile tile;
-        try {
-          tile = undrawnTiles.poll(2000, TimeUnit.MILLISECONDS);
-        } catch (final InterruptedException e) {
-          continue;
-        }
-        if (tile == null) {
-          continue;
-        }
-        final GameData data = mapPanel.getData();
-        data.acquireReadLock();
-        try {
-          tile.getImage(data, mapPanel.getUiContext().getMapData());
-        } finally {
-          data.releaseReadLock();
-        }
-        SwingUtilities.invokeLater(mapPanel::repaint);
-      }
-    }
-  }
 }
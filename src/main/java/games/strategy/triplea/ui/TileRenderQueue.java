@@ -0,0 +1,284 @@
+package games.strategy.triplea.ui;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import games.strategy.triplea.ui.screen.Tile;
+
+/**
+ * Renders the dirty tiles of a map panel on several background threads.
+ *
+ * <p>
+ * Tiles are rendered in the order of their priority: the tiles on screen first, then the tiles around the screen from
+ * the nearest to the farthest. The tiles scheduled for a view of the map are cancelled once the view moves, so
+ * scrolling never waits for tiles that are no longer near the screen.
+ * </p>
+ *
+ * <p>
+ * The number of rendered and cancelled tiles, the time it took to render them and the slowest tile are logged each
+ * time all tiles scheduled for a view are rendered or cancelled.
+ * </p>
+ */
+final class TileRenderQueue {
+  /**
+   * The priority of the tiles on screen; tiles with a larger priority are rendered later.
+   */
+  static final int VISIBLE_PRIORITY = 0;
+
+  private static final Logger logger = Logger.getLogger(TileRenderQueue.class.getName());
+  private static final int MAX_THREAD_COUNT = 8;
+
+  private final PriorityBlockingQueue<RenderJob> jobs = new PriorityBlockingQueue<>();
+  private final AtomicLong sequence = new AtomicLong();
+  private final List<Thread> threads = new ArrayList<>();
+  private volatile TileRenderer renderer;
+  private volatile Batch batch;
+
+  TileRenderQueue(final TileRenderer renderer) {
+    // the event dispatch thread paints what the threads rendered, so leave it a core
+    this(renderer, Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() - 1, MAX_THREAD_COUNT)));
+  }
+
+  @VisibleForTesting
+  TileRenderQueue(final TileRenderer renderer, final int threadCount) {
+    this.renderer = renderer;
+    for (int i = 0; i < threadCount; i++) {
+      final Thread t = new Thread(this::render, "Map panel tile renderer " + i);
+      t.setDaemon(true);
+      threads.add(t);
+    }
+    threads.forEach(Thread::start);
+  }
+
+  /**
+   * Schedules the specified tiles to be rendered for the specified view of the map. Tiles already scheduled for the
+   * same view keep their place in the queue; if the view moved, all tiles scheduled for the previous view are
+   * cancelled. Does nothing once the queue is stopped.
+   *
+   * @param tilesByPriority The tiles to render, the tiles at index {@link #VISIBLE_PRIORITY} first.
+   */
+  void schedule(final Rectangle2D view, final List<? extends Collection<Tile>> tilesByPriority) {
+    synchronized (this) {
+      if (renderer == null) {
+        return;
+      }
+      if (batch == null || !batch.view.equals(view)) {
+        cancelQueuedJobs();
+        batch = new Batch(view, threads.size());
+      }
+      for (int priority = 0; priority < tilesByPriority.size(); priority++) {
+        for (final Tile tile : tilesByPriority.get(priority)) {
+          if (batch.add(tile)) {
+            jobs.add(new RenderJob(tile, priority, sequence.getAndIncrement(), batch));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Cancels all scheduled tiles.
+   */
+  void cancel() {
+    synchronized (this) {
+      cancelQueuedJobs();
+      batch = null;
+    }
+  }
+
+  private void cancelQueuedJobs() {
+    final List<RenderJob> cancelled = new ArrayList<>();
+    jobs.drainTo(cancelled);
+    if (batch != null) {
+      batch.cancelled(cancelled.size());
+    }
+  }
+
+  /**
+   * Cancels all scheduled tiles and stops the rendering threads. Tiles being rendered are finished.
+   */
+  void stop() {
+    synchronized (this) {
+      renderer = null;
+      cancel();
+      // wake up the waiting threads, so they notice we are done
+      for (int i = 0; i < threads.size(); i++) {
+        jobs.add(RenderJob.WAKE_UP);
+      }
+    }
+  }
+
+  /**
+   * Waits for the rendering threads to end after {@link #stop()}. Returns false if they didn't end in time.
+   */
+  @VisibleForTesting
+  boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+    final long deadline = System.nanoTime() + unit.toNanos(timeout);
+    for (final Thread thread : threads) {
+      thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+      if (thread.isAlive()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void render() {
+    while (renderer != null) {
+      final RenderJob job;
+      try {
+        job = jobs.poll(2000, TimeUnit.MILLISECONDS);
+      } catch (final InterruptedException e) {
+        continue;
+      }
+      final TileRenderer currentRenderer = renderer;
+      if (job == null || job == RenderJob.WAKE_UP || currentRenderer == null) {
+        continue;
+      }
+      job.batch.remove(job.tile);
+      // the view moved or another thread already rendered the tile
+      if (job.batch != batch || !job.tile.isDirty()) {
+        job.batch.done(null, 0);
+        continue;
+      }
+      final int renderCount = job.tile.getRenderCount();
+      currentRenderer.render(job.tile);
+      if (job.tile.getRenderCount() > renderCount) {
+        job.batch.done(job.tile, job.tile.getLastRenderNanos());
+      } else {
+        job.batch.done(null, 0);
+      }
+    }
+  }
+
+  /**
+   * Renders the tiles taken from the queue.
+   */
+  @FunctionalInterface
+  interface TileRenderer {
+    /**
+     * Renders the specified dirty tile and shows it once it's rendered. Called on the rendering threads.
+     */
+    void render(Tile tile);
+  }
+
+  /**
+   * The tiles scheduled for one view of the map.
+   */
+  private static final class Batch {
+    private final Rectangle2D view;
+    private final int threadCount;
+    private final Set<Tile> queued = new HashSet<>();
+    private int pending;
+    private int cancelled;
+    private int rendered;
+    private long startNanos;
+    private long renderNanos;
+    private long slowestTileNanos;
+    private Tile slowestTile;
+
+    private Batch(final Rectangle2D view, final int threadCount) {
+      this.view = view;
+      this.threadCount = threadCount;
+    }
+
+    /**
+     * Returns true if the tile isn't queued yet.
+     */
+    private synchronized boolean add(final Tile tile) {
+      if (!queued.add(tile)) {
+        return false;
+      }
+      if (pending == 0) {
+        startNanos = System.nanoTime();
+      }
+      pending++;
+      return true;
+    }
+
+    private synchronized void remove(final Tile tile) {
+      queued.remove(tile);
+    }
+
+    /**
+     * Records a finished job, where tile is the rendered tile or null if nothing was rendered.
+     */
+    private synchronized void done(final Tile tile, final long tileNanos) {
+      pending--;
+      if (tile != null) {
+        rendered++;
+        renderNanos += tileNanos;
+        if (tileNanos >= slowestTileNanos) {
+          slowestTileNanos = tileNanos;
+          slowestTile = tile;
+        }
+      }
+      finishIfDone();
+    }
+
+    /**
+     * Records the specified number of jobs that were removed from the queue before they were run.
+     */
+    private synchronized void cancelled(final int count) {
+      queued.clear();
+      pending -= count;
+      cancelled += count;
+      finishIfDone();
+    }
+
+    private void finishIfDone() {
+      if (pending > 0) {
+        return;
+      }
+      if ((rendered > 0 || cancelled > 0) && logger.isLoggable(Level.FINE)) {
+        final String renderTimes = (slowestTile == null) ? ""
+            : ", rendering took " + TimeUnit.NANOSECONDS.toMillis(renderNanos) + " ms, slowest tile at "
+                + slowestTile.getX() + "," + slowestTile.getY() + " took "
+                + TimeUnit.NANOSECONDS.toMillis(slowestTileNanos) + " ms";
+        logger.log(Level.FINE, "Rendered " + rendered + " tiles in "
+            + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) + " ms on " + threadCount + " threads"
+            + renderTimes + ", " + cancelled + " tiles cancelled");
+      }
+      cancelled = 0;
+      rendered = 0;
+      renderNanos = 0;
+      slowestTileNanos = 0;
+      slowestTile = null;
+    }
+  }
+
+  private static final class RenderJob implements Comparable<RenderJob> {
+    private static final RenderJob WAKE_UP = new RenderJob(null, VISIBLE_PRIORITY - 1, -1, null);
+
+    private final Tile tile;
+    private final int priority;
+    private final long sequence;
+    private final Batch batch;
+
+    private RenderJob(final Tile tile, final int priority, final long sequence, final Batch batch) {
+      this.tile = tile;
+      this.priority = priority;
+      this.sequence = sequence;
+      this.batch = batch;
+    }
+
+    @Override
+    public int compareTo(final RenderJob other) {
+      if (priority != other.priority) {
+        return Integer.compare(priority, other.priority);
+      }
+      return Long.compare(sequence, other.sequence);
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package games.strategy.triplea.ui.mapdata;
+
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import games.strategy.ui.Util;
+
+/**
+ * Finds the territory at a point of the map without testing the polygons of every territory.
+ *
+ * <p>
+ * The map is divided into a uniform grid of cells. Each cell lists the polygons whose bounding box overlaps it, in the
+ * order of the territories, so a lookup only tests the few polygons of the cell that contains the point.
+ * </p>
+ */
+final class PolygonIndex {
+  private static final int CELL_SIZE = 64;
+
+  private final int minX;
+  private final int minY;
+  private final int columns;
+  private final int rows;
+  private final List<List<Entry>> cells;
+
+  PolygonIndex(final Map<String, List<Polygon>> polygons) {
+    Rectangle allBounds = null;
+    for (final List<Polygon> territoryPolygons : polygons.values()) {
+      for (final Polygon polygon : territoryPolygons) {
+        if (allBounds == null) {
+          allBounds = polygon.getBounds();
+        } else {
+          allBounds.add(polygon.getBounds());
+        }
+      }
+    }
+    if (allBounds == null) {
+      allBounds = new Rectangle();
+    }
+    minX = allBounds.x;
+    minY = allBounds.y;
+    columns = allBounds.width / CELL_SIZE + 1;
+    rows = allBounds.height / CELL_SIZE + 1;
+    cells = new ArrayList<>(columns * rows);
+    for (int i = 0; i < columns * rows; i++) {
+      cells.add(new ArrayList<>());
+    }
+    for (final Map.Entry<String, List<Polygon>> territoryPolygons : polygons.entrySet()) {
+      final String name = territoryPolygons.getKey();
+      final boolean isWater = Util.isTerritoryNameIndicatingWater(name);
+      for (final Polygon polygon : territoryPolygons.getValue()) {
+        final Rectangle bounds = polygon.getBounds();
+        final Entry entry = new Entry(name, isWater, polygon);
+        for (int column = getColumn(bounds.x); column <= getColumn(bounds.x + bounds.width); column++) {
+          for (int row = getRow(bounds.y); row <= getRow(bounds.y + bounds.height); row++) {
+            cells.get(row * columns + column).add(entry);
+          }
+        }
+      }
+    }
+  }
+
+  private int getColumn(final double x) {
+    return (int) Math.floor((x - minX) / CELL_SIZE);
+  }
+
+  private int getRow(final double y) {
+    return (int) Math.floor((y - minY) / CELL_SIZE);
+  }
+
+  /**
+   * Returns the name of the land territory containing the point, or if there is none, of the sea zone containing it.
+   * Returns null if no territory contains the point.
+   */
+  String getTerritoryAt(final double x, final double y) {
+    final int column = getColumn(x);
+    final int row = getRow(y);
+    if (column < 0 || column >= columns || row < 0 || row >= rows) {
+      return null;
+    }
+    // sea zones often surround a land territory
+    String seaName = null;
+    for (final Entry entry : cells.get(row * columns + column)) {
+      if (entry.polygon.contains(x, y)) {
+        if (entry.isWater) {
+          seaName = entry.name;
+        } else {
+          return entry.name;
+        }
+      }
+    }
+    return seaName;
+  }
+
+  private static final class Entry {
+    private final String name;
+    private final boolean isWater;
+    private final Polygon polygon;
+
+    private Entry(final String name, final boolean isWater, final Polygon polygon) {
+      this.name = name;
+      this.isWater = isWater;
+      this.polygon = polygon;
+    }
+  }
+}
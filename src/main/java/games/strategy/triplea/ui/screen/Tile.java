@@ -42,6 +42,8 @@ public class Tile {
   private final double scale;
   private final Lock lock = new ReentrantLock();
   private final List<IDrawable> contents = new ArrayList<>();
+  private int renderCount;
+  private long lastRenderNanos;
 
   Tile(final Rectangle bounds, final int x, final int y, final double scale) {
     this.bounds = bounds;
@@ -122,6 +124,7 @@ public class Tile {
       scaled = unscaled;
     }
     final Stopwatch stopWatch = new Stopwatch(logger, Level.FINEST, "Drawing Tile at" + bounds);
+    final long start = System.nanoTime();
     // clear
     g.setColor(Color.BLACK);
     g.fill(new Rectangle(0, 0, TileManager.TILE_SIZE, TileManager.TILE_SIZE));
@@ -141,9 +144,35 @@ public class Tile {
       g.setFont(new Font("Ariel", Font.BOLD, 25));
       g.drawString(x + " " + y, 40, 40);
     }
+    lastRenderNanos = System.nanoTime() - start;
+    renderCount++;
     stopWatch.done();
   }
 
+  /**
+   * Returns how often this tile has been rendered.
+   */
+  public int getRenderCount() {
+    acquireLock();
+    try {
+      return renderCount;
+    } finally {
+      releaseLock();
+    }
+  }
+
+  /**
+   * Returns the time in nanoseconds the last rendering of this tile took, or 0 if it was never rendered.
+   */
+  public long getLastRenderNanos() {
+    acquireLock();
+    try {
+      return lastRenderNanos;
+    } finally {
+      releaseLock();
+    }
+  }
+
   void addDrawables(final Collection<IDrawable> drawables) {
     acquireLock();
     try {
@@ -62,6 +62,8 @@ public class TileManager {
   public static final int TILE_SIZE = 256;
 
   private List<Tile> tiles = new ArrayList<>();
+  // the tiles by column and row, so the tiles in some bounds are found without looking at the others
+  private Tile[][] tileGrid = new Tile[0][0];
   private final Lock lock = new ReentrantLock();
   private final Map<String, IDrawable> territoryOverlays = new HashMap<>();
   private final Map<String, Set<IDrawable>> territoryDrawables = new HashMap<>();
@@ -113,27 +115,12 @@ public class TileManager {
     acquireLock();
     try {
       final List<Tile> tilesInBounds = new ArrayList<>();
-      for (final Tile tile : tiles) {
-        final Rectangle tileBounds = tile.getBounds();
-        if (bounds.contains(tileBounds) || tileBounds.intersects(bounds)) {
-          tilesInBounds.add(tile);
-        }
-      }
+      addTilesIntersecting(bounds, tilesInBounds);
       if (boundsXshift != null) {
-        for (final Tile tile : tiles) {
-          final Rectangle tileBounds = tile.getBounds();
-          if (boundsXshift.contains(tileBounds) || tileBounds.intersects(boundsXshift)) {
-            tilesInBounds.add(tile);
-          }
-        }
+        addTilesIntersecting(boundsXshift, tilesInBounds);
       }
       if (boundsYshift != null) {
-        for (final Tile tile : tiles) {
-          final Rectangle tileBounds = tile.getBounds();
-          if (boundsYshift.contains(tileBounds) || tileBounds.intersects(boundsYshift)) {
-            tilesInBounds.add(tile);
-          }
-        }
+        addTilesIntersecting(boundsYshift, tilesInBounds);
       }
       return tilesInBounds;
     } finally {
@@ -141,6 +128,33 @@ public class TileManager {
     }
   }
 
+  /**
+   * Adds the tiles that overlap the bounds by more than an edge, in the order of the tile list.
+   */
+  private void addTilesIntersecting(final Rectangle2D bounds, final List<Tile> tilesInBounds) {
+    if (bounds.isEmpty() || tileGrid.length == 0) {
+      return;
+    }
+    final int minColumn = Math.max(0, (int) Math.floor(bounds.getMinX() / TILE_SIZE));
+    final int maxColumn = Math.min(tileGrid.length - 1, (int) Math.ceil(bounds.getMaxX() / TILE_SIZE) - 1);
+    final int minRow = Math.max(0, (int) Math.floor(bounds.getMinY() / TILE_SIZE));
+    final int maxRow = Math.min(tileGrid[0].length - 1, (int) Math.ceil(bounds.getMaxY() / TILE_SIZE) - 1);
+    for (int x = minColumn; x <= maxColumn; x++) {
+      for (int y = minRow; y <= maxRow; y++) {
+        tilesInBounds.add(tileGrid[x][y]);
+      }
+    }
+  }
+
+  private Tile getTileAt(final double x, final double y) {
+    final int column = (int) Math.floor(x / TILE_SIZE);
+    final int row = (int) Math.floor(y / TILE_SIZE);
+    if (column < 0 || column >= tileGrid.length || row < 0 || row >= tileGrid[column].length) {
+      return null;
+    }
+    return tileGrid[column][row];
+  }
+
   private void acquireLock() {
     Tile.LOCK_UTIL.acquireLock(lock);
   }
@@ -163,10 +177,15 @@ public class TileManager {
     try {
       // create our tiles
       tiles = new ArrayList<>();
+      final int columns = (bounds.width + TILE_SIZE - 1) / TILE_SIZE;
+      final int rows = (bounds.height + TILE_SIZE - 1) / TILE_SIZE;
+      tileGrid = new Tile[columns][rows];
       for (int x = 0; (x) * TILE_SIZE < bounds.width; x++) {
         for (int y = 0; (y) * TILE_SIZE < bounds.height; y++) {
-          tiles.add(new Tile(new Rectangle(x * TILE_SIZE, y * TILE_SIZE, TILE_SIZE, TILE_SIZE), x, y,
-              uiContext.getScale()));
+          final Tile tile = new Tile(new Rectangle(x * TILE_SIZE, y * TILE_SIZE, TILE_SIZE, TILE_SIZE), x, y,
+              uiContext.getScale());
+          tiles.add(tile);
+          tileGrid[x][y] = tile;
         }
       }
     } finally {
@@ -548,7 +567,10 @@ public class TileManager {
     try {
       acquireLock();
       try {
-        for (final UnitsDrawer drawer : allUnitDrawables) {
+        // units are drawn on every tile they overlap, so only the units of the tile containing the point can be hit
+        final Tile tile = getTileAt(x, y);
+        final Collection<UnitsDrawer> drawers = (tile == null) ? allUnitDrawables : getUnitDrawables(tile);
+        for (final UnitsDrawer drawer : drawers) {
           final Point placementPoint = drawer.getPlacementPoint();
           if (x > placementPoint.x && x < placementPoint.x + uiContext.getUnitImageFactory().getUnitImageWidth()) {
             if (y > placementPoint.y && y < placementPoint.y + uiContext.getUnitImageFactory().getUnitImageHeight()) {
@@ -565,6 +587,16 @@ public class TileManager {
     }
   }
 
+  private static List<UnitsDrawer> getUnitDrawables(final Tile tile) {
+    final List<UnitsDrawer> drawers = new ArrayList<>();
+    for (final IDrawable drawable : tile.getDrawables()) {
+      if (drawable instanceof UnitsDrawer) {
+        drawers.add((UnitsDrawer) drawable);
+      }
+    }
+    return drawers;
+  }
+
   public void setTerritoryOverlay(final Territory territory, final Color color, final int alpha, final GameData data,
       final MapData mapData) {
     acquireLock();
@@ -1,33 +1,55 @@
 package games.strategy.util;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.function.ObjIntConsumer;
 
 /**
  * A utility class for mapping Objects to ints. <br>
- * Supports adding and comparing of maps.
+ * Supports adding and comparing of maps. <br>
+ * Values are stored as primitive ints in an {@link ObjectIntTable}, so reading and updating them does not box. The
+ * entries are iterated in the order their keys were first added.
  *
  * @param <T> The type of the map key.
  */
 public final class IntegerMap<T> implements Cloneable, Serializable {
   private static final long serialVersionUID = 6856531659284300930L;
-  private final HashMap<T, Integer> mapValues;
+  // keeps the serialized form of earlier versions, which stored the entries in a HashMap<T, Integer>
+  private static final ObjectStreamField[] serialPersistentFields = {
+      new ObjectStreamField("mapValues", HashMap.class)
+  };
+  // not final so it can be assigned in readObject()
+  private ObjectIntTable<T> mapValues;
 
   /** Creates new IntegerMap. */
   public IntegerMap() {
-    mapValues = new HashMap<>();
+    mapValues = new ObjectIntTable<>();
   }
 
   public IntegerMap(final int size) {
-    mapValues = new HashMap<>(size);
+    mapValues = new ObjectIntTable<>(size);
   }
 
+  /**
+   * The load factor is ignored, it is only kept for compatibility with the {@link HashMap} based implementation.
+   */
   public IntegerMap(final int size, final float loadFactor) {
-    mapValues = new HashMap<>(size, loadFactor);
+    this(size);
   }
 
   public IntegerMap(final T object, final int value) {
@@ -45,18 +67,26 @@ public final class IntegerMap<T> implements Cloneable, Serializable {
    * The Objects will be linked, but the integers mapped to them will not be linked.
    */
   public IntegerMap(final IntegerMap<T> integerMap) {
-    mapValues = new HashMap<>(integerMap.size());
-    for (final T t : integerMap.keySet()) {
-      mapValues.put(t, integerMap.getInt(t));
-    }
+    this(integerMap.size());
+    add(integerMap);
   }
 
   public IntegerMap(final Map<T, Integer> map) {
-    mapValues = new HashMap<>(map);
+    this(map.size());
+    for (final Map.Entry<T, Integer> entry : map.entrySet()) {
+      mapValues.put(entry.getKey(), entry.getValue());
+    }
   }
 
+  /**
+   * @return A copy of this map, iterated in the same order as this map.
+   */
   public Map<T, Integer> toMap() {
-    return new HashMap<>(mapValues);
+    final Map<T, Integer> map = new LinkedHashMap<>(mapValues.size() * 2);
+    for (int i = mapValues.firstIndex(); i >= 0; i = mapValues.nextIndex(i)) {
+      map.put(mapValues.keyAt(i), mapValues.valueAt(i));
+    }
+    return map;
   }
 
   public int size() {
@@ -78,26 +108,15 @@ public final class IntegerMap<T> implements Cloneable, Serializable {
    * returns 0 if no key found.
    */
   public int getInt(final T key) {
-    if (!mapValues.containsKey(key)) {
-      return 0;
-    }
     return mapValues.get(key);
   }
 
   public void add(final T key, final int value) {
-    if (mapValues.get(key) == null) {
-      put(key, value);
-    } else {
-      final int oldVal = mapValues.get(key);
-      final int newVal = oldVal + value;
-      put(key, newVal);
-    }
+    mapValues.add(key, value);
   }
 
   public void add(final IntegerMap<T> map) {
-    for (final T key : map.keySet()) {
-      add(key, map.getInt(key));
-    }
+    addMultiple(map, 1);
   }
 
   /**
@@ -109,8 +128,8 @@ public final class IntegerMap<T> implements Cloneable, Serializable {
    *        (1 = floor, 2 = round, 3 = ceil)
    */
   public void multiplyAllValuesBy(final double multiplyBy, final int roundType) {
-    for (final T t : keySet()) {
-      double val = mapValues.get(t);
+    for (int i = mapValues.firstIndex(); i >= 0; i = mapValues.nextIndex(i)) {
+      double val = mapValues.valueAt(i);
       switch (roundType) {
         case 1:
           val = Math.floor(val * multiplyBy);
@@ -125,7 +144,7 @@ public final class IntegerMap<T> implements Cloneable, Serializable {
           val = val * multiplyBy;
           break;
       }
-      put(t, (int) val);
+      mapValues.setValueAt(i, (int) val);
     }
   }
 
@@ -133,8 +152,46 @@ public final class IntegerMap<T> implements Cloneable, Serializable {
     mapValues.clear();
   }
 
+  /**
+   * @return A view of the keys of this map. Removing keys from the view removes them from this map.
+   */
   public Set<T> keySet() {
-    return mapValues.keySet();
+    return new AbstractSet<T>() {
+      @Override
+      public Iterator<T> iterator() {
+        return new TableIterator<>(mapValues::keyAt);
+      }
+
+      @Override
+      public int size() {
+        return mapValues.size();
+      }
+
+      @SuppressWarnings("unchecked")
+      @Override
+      public boolean contains(final Object o) {
+        return containsKey((T) o);
+      }
+
+      @Override
+      public boolean remove(final Object o) {
+        return mapValues.remove(o);
+      }
+
+      @Override
+      public void clear() {
+        mapValues.clear();
+      }
+    };
+  }
+
+  /**
+   * Performs the action for each entry of this map, without boxing the values or allocating entries.
+   */
+  public void forEach(final ObjIntConsumer<? super T> action) {
+    for (int i = mapValues.firstIndex(); i >= 0; i = mapValues.nextIndex(i)) {
+      action.accept(mapValues.keyAt(i), mapValues.valueAt(i));
+    }
   }
 
   /**
@@ -143,11 +200,11 @@ public final class IntegerMap<T> implements Cloneable, Serializable {
    * @return true if all values are equal to the given integer.
    */
   public boolean allValuesEqual(final int integer) {
-    if (mapValues.isEmpty()) {
+    if (mapValues.size() == 0) {
       return false;
     }
-    for (final int value : mapValues.values()) {
-      if (integer != value) {
+    for (int i = mapValues.firstIndex(); i >= 0; i = mapValues.nextIndex(i)) {
+      if (integer != mapValues.valueAt(i)) {
         return false;
       }
     }
@@ -158,15 +215,12 @@ public final class IntegerMap<T> implements Cloneable, Serializable {
    * Will return null if empty.
    */
   public T lowestKey() {
-    if (mapValues.isEmpty()) {
-      return null;
-    }
     int minValue = Integer.MAX_VALUE;
     T minKey = null;
-    for (final Map.Entry<T, Integer> entry : mapValues.entrySet()) {
-      if (entry.getValue() < minValue) {
-        minValue = entry.getValue();
-        minKey = entry.getKey();
+    for (int i = mapValues.firstIndex(); i >= 0; i = mapValues.nextIndex(i)) {
+      if (mapValues.valueAt(i) < minValue) {
+        minValue = mapValues.valueAt(i);
+        minKey = mapValues.keyAt(i);
       }
     }
     return minKey;
@@ -177,16 +231,14 @@ public final class IntegerMap<T> implements Cloneable, Serializable {
    */
   public int totalValues() {
     int sum = 0;
-    for (final int value : mapValues.values()) {
-      sum += value;
+    for (int i = mapValues.firstIndex(); i >= 0; i = mapValues.nextIndex(i)) {
+      sum += mapValues.valueAt(i);
     }
     return sum;
   }
 
   public void subtract(final IntegerMap<T> map) {
-    for (final T key : map.keySet()) {
-      add(key, -map.getInt(key));
-    }
+    addMultiple(map, -1);
   }
 
   /**
@@ -198,8 +250,8 @@ public final class IntegerMap<T> implements Cloneable, Serializable {
    * that a and b are not equal.
    */
   public boolean greaterThanOrEqualTo(final IntegerMap<T> map) {
-    for (final T key : map.keySet()) {
-      if (!(this.getInt(key) >= map.getInt(key))) {
+    for (int i = map.mapValues.firstIndex(); i >= 0; i = map.mapValues.nextIndex(i)) {
+      if (!(this.getInt(map.mapValues.keyAt(i)) >= map.mapValues.valueAt(i))) {
         return false;
       }
     }
@@ -210,8 +262,8 @@ public final class IntegerMap<T> implements Cloneable, Serializable {
    * True if all values are >= 0.
    */
   public boolean isPositive() {
-    for (final T key : mapValues.keySet()) {
-      if (getInt(key) < 0) {
+    for (int i = mapValues.firstIndex(); i >= 0; i = mapValues.nextIndex(i)) {
+      if (mapValues.valueAt(i) < 0) {
         return false;
       }
     }
@@ -219,9 +271,7 @@ public final class IntegerMap<T> implements Cloneable, Serializable {
   }
 
   public IntegerMap<T> copy() {
-    final IntegerMap<T> copy = new IntegerMap<>();
-    copy.add(this);
-    return copy;
+    return new IntegerMap<>(this);
   }
 
   @Override
@@ -233,8 +283,9 @@ public final class IntegerMap<T> implements Cloneable, Serializable {
    * Add map * multiple.
    */
   public void addMultiple(final IntegerMap<T> map, final int multiple) {
-    for (final T key : map.keySet()) {
-      add(key, map.getInt(key) * multiple);
+    // adding a map to itself only updates existing keys, so the walk over its positions is not disturbed
+    for (int i = map.mapValues.firstIndex(); i >= 0; i = map.mapValues.nextIndex(i)) {
+      mapValues.add(map.mapValues.keyAt(i), map.mapValues.valueAt(i) * multiple);
     }
   }
 
@@ -243,28 +294,90 @@ public final class IntegerMap<T> implements Cloneable, Serializable {
   }
 
   public boolean containsKey(final T key) {
-    return mapValues.containsKey(key);
+    return mapValues.indexOf(key) >= 0;
   }
 
   public boolean isEmpty() {
-    return mapValues.isEmpty();
+    return mapValues.size() == 0;
   }
 
+  /**
+   * @return A view of the entries of this map. Iterating over the view allocates an entry for each key and boxes its
+   *         value, so prefer {@link #forEach(ObjIntConsumer)} on hot paths. Removing entries from the view removes
+   *         them from this map.
+   */
   public Set<Map.Entry<T, Integer>> entrySet() {
-    return mapValues.entrySet();
+    return new AbstractSet<Map.Entry<T, Integer>>() {
+      @Override
+      public Iterator<Map.Entry<T, Integer>> iterator() {
+        return new TableIterator<>(i -> new AbstractMap.SimpleImmutableEntry<>(
+            mapValues.keyAt(i), mapValues.valueAt(i)));
+      }
+
+      @Override
+      public int size() {
+        return mapValues.size();
+      }
+    };
+  }
+
+  /**
+   * Iterates over the positions of the table, supporting removal of the current position.
+   */
+  private final class TableIterator<E> implements Iterator<E> {
+    private final IntFunction<E> elementAt;
+    private int next = mapValues.firstIndex();
+    private int current = -1;
+    private int expectedModCount = mapValues.modCount();
+
+    TableIterator(final IntFunction<E> elementAt) {
+      this.elementAt = elementAt;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next >= 0;
+    }
+
+    @Override
+    public E next() {
+      checkForComodification();
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      current = next;
+      next = mapValues.nextIndex(current);
+      return elementAt.apply(current);
+    }
+
+    @Override
+    public void remove() {
+      if (current < 0) {
+        throw new IllegalStateException();
+      }
+      checkForComodification();
+      // removing an entry does not move the others, so the next position is still valid
+      mapValues.removeAt(current);
+      current = -1;
+      expectedModCount = mapValues.modCount();
+    }
+
+    private void checkForComodification() {
+      if (mapValues.modCount() != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
   }
 
   @Override
   public String toString() {
     final StringBuilder buf = new StringBuilder();
     buf.append("IntegerMap:\n");
-    final Iterator<T> iter = mapValues.keySet().iterator();
-    if (!iter.hasNext()) {
+    if (mapValues.size() == 0) {
       buf.append("empty\n");
     }
-    while (iter.hasNext()) {
-      final T current = iter.next();
-      buf.append(current).append(" -> ").append(getInt(current)).append("\n");
+    for (int i = mapValues.firstIndex(); i >= 0; i = mapValues.nextIndex(i)) {
+      buf.append(mapValues.keyAt(i)).append(" -> ").append(mapValues.valueAt(i)).append("\n");
     }
     return buf.toString();
   }
@@ -290,4 +403,25 @@ public final class IntegerMap<T> implements Cloneable, Serializable {
     final IntegerMap<?> other = (IntegerMap<?>) o;
     return mapValues.equals(other.mapValues);
   }
+
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    final ObjectOutputStream.PutField fields = out.putFields();
+    // a LinkedHashMap is still a HashMap to earlier versions, and keeps the order of the entries
+    fields.put("mapValues", toMap());
+    out.writeFields();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    // objects read along with the entries may refer back to this map, so it must be usable before they are read
+    mapValues = new ObjectIntTable<>();
+    final ObjectInputStream.GetField fields = in.readFields();
+    final Map<T, Integer> values = (Map<T, Integer>) fields.get("mapValues", null);
+    if (values == null) {
+      throw new InvalidObjectException("No entries");
+    }
+    for (final Map.Entry<T, Integer> entry : values.entrySet()) {
+      mapValues.put(entry.getKey(), entry.getValue());
+    }
+  }
 }
@@ -0,0 +1,328 @@
+package games.strategy.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An open addressing hash table mapping objects to primitive ints, used as the storage of {@link IntegerMap}.
+ *
+ * <p>
+ * Keys and values are kept in parallel arrays in insertion order, so that iterating over the entries is a walk over
+ * two arrays. A separate power-of-two sized table of positions, probed linearly, is used to look up keys. Removing a
+ * key leaves a removed marker at its position, which iteration skips, so removal is O(1) and the entries stay in
+ * insertion order. Once the removed positions outnumber the entries, the entries are compacted, so the cost of
+ * compaction is amortized over the removals. The positions of the entries are walked with {@link #firstIndex()} and
+ * {@link #nextIndex(int)}. {@code null} keys are supported.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are not thread safe.
+ * </p>
+ *
+ * @param <T> The type of the table key.
+ */
+final class ObjectIntTable<T> {
+  private static final int MIN_CAPACITY = 4;
+  private static final Object[] NO_KEYS = {};
+  private static final int[] NO_VALUES = {};
+  // marks the position of a removed key, distinct from any key including null
+  private static final Object REMOVED = new Object();
+
+  private Object[] keys = NO_KEYS;
+  private int[] values = NO_VALUES;
+  private int size;
+  // the number of used positions, including removed ones
+  private int end;
+  // position + 1 of the key hashed to each slot, or 0 for an empty slot
+  private int[] slots;
+  private int mask;
+  // incremented whenever a key is inserted or removed, so that iterators can fail fast
+  private int modCount;
+
+  ObjectIntTable() {
+    this(MIN_CAPACITY);
+  }
+
+  ObjectIntTable(final int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Illegal size: " + expectedSize);
+    }
+    if (expectedSize > 0) {
+      keys = new Object[expectedSize];
+      values = new int[expectedSize];
+    }
+    allocateSlots(slotCountFor(expectedSize));
+  }
+
+  private static int slotCountFor(final int size) {
+    // keep the slot table at most half full
+    int slotCount = MIN_CAPACITY;
+    while (slotCount < size * 2) {
+      slotCount <<= 1;
+    }
+    return slotCount;
+  }
+
+  private void allocateSlots(final int slotCount) {
+    slots = new int[slotCount];
+    mask = slotCount - 1;
+  }
+
+  private static int hash(final Object key) {
+    final int h = (key == null) ? 0 : key.hashCode() * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * @return The slot holding the key, or the complement of the empty slot where it would be inserted.
+   */
+  private int findSlot(final Object key) {
+    int slot = hash(key) & mask;
+    while (true) {
+      final int position = slots[slot];
+      if (position == 0) {
+        return ~slot;
+      }
+      if (Objects.equals(keys[position - 1], key)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * @return The position of the first entry, or -1 if this table is empty.
+   */
+  int firstIndex() {
+    return nextIndex(-1);
+  }
+
+  /**
+   * @return The position of the entry following the specified position, or -1 if there is none.
+   */
+  int nextIndex(final int index) {
+    for (int i = index + 1; i < end; i++) {
+      if (keys[i] != REMOVED) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @return The position of the key, or -1 if the key is not in this table.
+   */
+  int indexOf(final Object key) {
+    final int slot = findSlot(key);
+    return (slot < 0) ? -1 : slots[slot] - 1;
+  }
+
+  @SuppressWarnings("unchecked")
+  T keyAt(final int index) {
+    return (T) keys[index];
+  }
+
+  int valueAt(final int index) {
+    return values[index];
+  }
+
+  void setValueAt(final int index, final int value) {
+    values[index] = value;
+  }
+
+  int modCount() {
+    return modCount;
+  }
+
+  /**
+   * @return The value of the key, or 0 if the key is not in this table.
+   */
+  int get(final Object key) {
+    final int slot = findSlot(key);
+    return (slot < 0) ? 0 : values[slots[slot] - 1];
+  }
+
+  void put(final T key, final int value) {
+    final int slot = findSlot(key);
+    if (slot >= 0) {
+      values[slots[slot] - 1] = value;
+    } else {
+      insert(~slot, key, value);
+    }
+  }
+
+  /**
+   * Adds the delta to the value of the key, treating a missing key as 0.
+   */
+  void add(final T key, final int delta) {
+    final int slot = findSlot(key);
+    if (slot >= 0) {
+      values[slots[slot] - 1] += delta;
+    } else {
+      insert(~slot, key, delta);
+    }
+  }
+
+  private void insert(final int slot, final T key, final int value) {
+    boolean compacted = false;
+    if (end == keys.length) {
+      if (end - size > (size >> 1)) {
+        // reuse the removed positions rather than growing
+        compact();
+        compacted = true;
+      } else {
+        final int capacity = Math.max(MIN_CAPACITY, end + (end >> 1) + 1);
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+      }
+    }
+    keys[end] = key;
+    values[end] = value;
+    end++;
+    size++;
+    modCount++;
+    if (size * 2 > slots.length) {
+      rehash(slots.length << 1);
+    } else if (compacted) {
+      rehash(slots.length);
+    } else {
+      slots[slot] = end;
+    }
+  }
+
+  private void rehash(final int slotCount) {
+    allocateSlots(slotCount);
+    for (int i = 0; i < end; i++) {
+      if (keys[i] == REMOVED) {
+        continue;
+      }
+      int slot = hash(keys[i]) & mask;
+      while (slots[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      slots[slot] = i + 1;
+    }
+  }
+
+  /**
+   * Moves the entries into the removed positions, keeping their order. The slots must be rehashed afterwards.
+   */
+  private void compact() {
+    int target = 0;
+    for (int i = 0; i < end; i++) {
+      if (keys[i] != REMOVED) {
+        keys[target] = keys[i];
+        values[target] = values[i];
+        target++;
+      }
+    }
+    Arrays.fill(keys, target, end, null);
+    end = target;
+  }
+
+  boolean remove(final Object key) {
+    final int slot = findSlot(key);
+    if (slot < 0) {
+      return false;
+    }
+    removeSlot(slot);
+    if (end - size > size) {
+      compact();
+      rehash(slotCountFor(size));
+    }
+    return true;
+  }
+
+  /**
+   * Removes the entry at the specified position. The positions of the other entries do not change, so an iteration
+   * over the positions can go on after the removal.
+   */
+  void removeAt(final int index) {
+    removeSlot(findSlot(keys[index]));
+  }
+
+  private void removeSlot(final int slot) {
+    final int index = slots[slot] - 1;
+    clearSlot(slot);
+    keys[index] = REMOVED;
+    values[index] = 0;
+    size--;
+    modCount++;
+    if (index == end - 1) {
+      // trailing removed positions can be reused right away
+      while (end > 0 && keys[end - 1] == REMOVED) {
+        keys[--end] = null;
+      }
+    }
+  }
+
+  /**
+   * Empties the slot and shifts back the entries of the following probe sequence, so that lookups never need to skip
+   * deleted slots.
+   */
+  private void clearSlot(final int slot) {
+    int hole = slot;
+    int next = (hole + 1) & mask;
+    while (slots[next] != 0) {
+      final int home = hash(keys[slots[next] - 1]) & mask;
+      // the entry may move into the hole if its home slot is not cyclically within (hole, next]
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        slots[hole] = slots[next];
+        hole = next;
+      }
+      next = (next + 1) & mask;
+    }
+    slots[hole] = 0;
+  }
+
+  void clear() {
+    if (size == 0) {
+      return;
+    }
+    Arrays.fill(keys, 0, end, null);
+    Arrays.fill(slots, 0);
+    size = 0;
+    end = 0;
+    modCount++;
+  }
+
+  /**
+   * @return true if both tables contain the same keys mapped to the same values, regardless of their order.
+   */
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    } else if (!(o instanceof ObjectIntTable)) {
+      return false;
+    }
+
+    final ObjectIntTable<?> other = (ObjectIntTable<?>) o;
+    if (size != other.size) {
+      return false;
+    }
+    for (int i = firstIndex(); i >= 0; i = nextIndex(i)) {
+      final int otherIndex = other.indexOf(keys[i]);
+      if (otherIndex < 0 || other.values[otherIndex] != values[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return The same hash code as a {@link java.util.HashMap} holding the same entries.
+   */
+  @Override
+  public int hashCode() {
+    int hashCode = 0;
+    for (int i = firstIndex(); i >= 0; i = nextIndex(i)) {
+      hashCode += Objects.hashCode(keys[i]) ^ values[i];
+    }
+    return hashCode;
+  }
+}
@@ -30,6 +30,8 @@ public class LobbyPropertyReaderTest {
       writer.write(keyValuePair(LobbyPropertyReader.PropertyKeys.port, String.valueOf(TestData.fakePort)));
       writer.write(keyValuePair(LobbyPropertyReader.PropertyKeys.postgresUser, TestData.fakeUser));
       writer.write(keyValuePair(LobbyPropertyReader.PropertyKeys.postgresPassword, TestData.fakePassword));
+      writer.write(
+          keyValuePair(LobbyPropertyReader.PropertyKeys.postgresPoolSize, String.valueOf(TestData.fakePoolSize)));
     }
 
     testObj = new LobbyPropertyReader(testFile);
@@ -55,9 +57,26 @@ public class LobbyPropertyReaderTest {
     assertThat(testObj.getPostgresPassword(), is(TestData.fakePassword));
   }
 
+  @Test
+  public void postgresPoolSize() throws Exception {
+    assertThat(testObj.getPostgresPoolSize(), is(TestData.fakePoolSize));
+  }
+
+  @Test
+  public void postgresPoolSizeDefaultsWhenNotConfigured() throws Exception {
+    final File testFile = tempFolderRule.newFile();
+    try (FileWriter writer = new FileWriter(testFile)) {
+      writer.write(keyValuePair(LobbyPropertyReader.PropertyKeys.port, String.valueOf(TestData.fakePort)));
+    }
+
+    assertThat(new LobbyPropertyReader(testFile).getPostgresPoolSize(),
+        is(LobbyPropertyReader.DEFAULT_POSTGRES_POOL_SIZE));
+  }
+
   private interface TestData {
     int fakePort = 100;
     String fakeUser = "funnyName";
     String fakePassword = "funnyPasssword";
+    int fakePoolSize = 4;
   }
 }
@@ -7,6 +7,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.Arrays;
 import java.util.Collection;
 
 import org.junit.Before;
@@ -15,6 +16,7 @@ import org.junit.Test;
 import games.strategy.engine.ClientContext;
 import games.strategy.engine.data.changefactory.ChangeFactory;
 import games.strategy.engine.framework.GameObjectStreamFactory;
+import games.strategy.triplea.TripleAUnit;
 import games.strategy.triplea.delegate.GameDataTestUtil;
 import games.strategy.triplea.xml.TestMapGameData;
 
@@ -78,4 +80,29 @@ public class ChangeTripleATest {
     gameData.performChange(change.invert());
     assertEquals(can.getUnits().getUnitCount(), 2);
   }
+
+  @Test
+  public void testCompactMergesPropertyAndResourceChanges() {
+    final PlayerID british = GameDataTestUtil.british(gameData);
+    final Resource pus = gameData.getResourceList().getResource("PUs");
+    final int initialPus = british.getResources().getQuantity(pus);
+    final Unit unit = can.getUnits().getUnits().iterator().next();
+    final Collection<Unit> newUnits = GameDataTestUtil.infantry(gameData).create(2, british);
+    final Change change = ChangeFactory.compact(Arrays.asList(
+        ChangeFactory.changeResourcesChange(british, pus, 10),
+        ChangeFactory.unitPropertyChange(unit, 1, TripleAUnit.ALREADY_MOVED),
+        new CompositeChange(ChangeFactory.changeResourcesChange(british, pus, -3),
+            ChangeFactory.addUnits(can, newUnits)),
+        ChangeFactory.unitPropertyChange(unit, 2, TripleAUnit.ALREADY_MOVED)));
+
+    assertEquals(3, ((CompositeChange) change).getChanges().size());
+    gameData.performChange(change);
+    assertEquals(initialPus + 7, british.getResources().getQuantity(pus));
+    assertEquals(2, TripleAUnit.get(unit).getAlreadyMoved());
+    assertEquals(4, can.getUnits().getUnitCount());
+    gameData.performChange(change.invert());
+    assertEquals(initialPus, british.getResources().getQuantity(pus));
+    assertEquals(0, TripleAUnit.get(unit).getAlreadyMoved());
+    assertEquals(2, can.getUnits().getUnitCount());
+  }
 }
@@ -5,12 +5,15 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import games.strategy.triplea.delegate.Matches;
+import games.strategy.util.IntegerMap;
 
 public class MapTest {
   Territory aa;
@@ -240,4 +243,38 @@ public class MapTest {
     assertTrue(neighbors.contains(bb));
     assertTrue(neighbors.contains(ca));
   }
+
+  @Test
+  public void testNeighborsWithDistanceAndCondition() {
+    final Set<Territory> neighbors = map.getNeighbors(aa, 3, Matches.territoryIsLand());
+    assertEquals(8, neighbors.size());
+    assertTrue(neighbors.contains(ad));
+    assertTrue(neighbors.contains(da));
+  }
+
+  @Test
+  public void testNeighborsOfFrontierExcludeFrontier() {
+    final Set<Territory> neighbors = map.getNeighbors(new HashSet<>(Arrays.asList(aa, ab)), 1, null);
+    assertEquals(3, neighbors.size());
+    assertTrue(neighbors.contains(ac));
+    assertTrue(neighbors.contains(ba));
+    assertTrue(neighbors.contains(bb));
+  }
+
+  @Test
+  public void testDistanceToManyTerritories() {
+    final IntegerMap<Territory> distances = map.getDistance(aa, Arrays.asList(aa, ac, cd, nowhere), null);
+    assertEquals(0, distances.getInt(aa));
+    assertEquals(2, distances.getInt(ac));
+    assertEquals(5, distances.getInt(cd));
+    assertEquals(-1, distances.getInt(nowhere));
+  }
+
+  @Test
+  public void testDistanceUpdatedAfterConnectionAdded() {
+    assertEquals(-1, map.getLandDistance(ca, cd));
+    map.addConnection(cb, cd);
+    assertEquals(2, map.getLandDistance(ca, cd));
+    assertEquals(2, map.getLandRoute(ca, cd).numberOfSteps());
+  }
 }
@@ -439,4 +439,40 @@ public class UnitCollectionTest {
     unitCollectionIterator.forEachRemaining(u -> assertThat(u, is(collectionIterator.next())));
   }
 
+  @Test
+  public void getUnitCountAfterRemove() {
+    final UnitCollection allPlayersUnitCollection = addAllPlayerUnitsToUnitCollection(unitCollection);
+    assertThat(allPlayersUnitCollection.getUnitCount(unitTypeOne, otherPlayerId),
+        is(equalTo(unitCountOtherPlayerUnitTypeOne)));
+    allPlayersUnitCollection.removeAll(getOtherPlayerUnitsOfUnitTypeOne());
+    allPlayersUnitCollection.remove(unitDefaultPlayer1);
+    assertThat(allPlayersUnitCollection.getUnitCount(unitTypeOne, otherPlayerId), is(equalTo(0)));
+    assertThat(allPlayersUnitCollection.getUnitCount(unitTypeOne), is(equalTo(0)));
+    assertThat(allPlayersUnitCollection.getUnitCount(otherPlayerId), is(equalTo(unitCountOtherPlayerUnitTypeTwo)));
+    assertThat(allPlayersUnitCollection.contains(unitOtherPlayer1), is(equalTo(false)));
+    assertThat(allPlayersUnitCollection.contains(unitOtherPlayer4), is(equalTo(true)));
+    allPlayersUnitCollection.removeAll(getDefaultPlayerUnitsOfUnitTypeTwo());
+    assertThat(allPlayersUnitCollection.hasUnitsFromMultiplePlayers(), is(equalTo(false)));
+  }
+
+  @Test
+  public void getUnitCountAfterOwnerChange() {
+    final UnitCollection allDefaultPlayerUnitCollection = addAllDefaultPlayerUnitsToUnitCollection(unitCollection);
+    assertThat(allDefaultPlayerUnitCollection.getUnitCount(otherPlayerId), is(equalTo(0)));
+    unitDefaultPlayer1.setOwner(otherPlayerId);
+    assertThat(allDefaultPlayerUnitCollection.getUnitCount(unitTypeOne, otherPlayerId), is(equalTo(1)));
+    assertThat(allDefaultPlayerUnitCollection.getUnitCount(defaultPlayerId), is(equalTo(unitCountDefaultPlayer - 1)));
+  }
+
+  @Test
+  public void ownerChangeInOtherGameDataShouldKeepIndex() {
+    final Unit unitOfOtherGameData = new Unit(unitTypeOne, defaultPlayerId, new GameData());
+    final UnitCollection allDefaultPlayerUnitCollection = addAllDefaultPlayerUnitsToUnitCollection(unitCollection);
+    allDefaultPlayerUnitCollection.getUnitCount(defaultPlayerId);
+    assertThat(allDefaultPlayerUnitCollection.isIndexCurrent(), is(equalTo(true)));
+    unitOfOtherGameData.setOwner(otherPlayerId);
+    assertThat(allDefaultPlayerUnitCollection.isIndexCurrent(), is(equalTo(true)));
+    unitDefaultPlayer1.setOwner(otherPlayerId);
+    assertThat(allDefaultPlayerUnitCollection.isIndexCurrent(), is(equalTo(false)));
+  }
 }
@@ -2,6 +2,9 @@ package games.strategy.engine.framework;
 
 import static games.strategy.engine.data.Matchers.equalToGameData;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
@@ -15,13 +18,27 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Collections;
+import java.util.Enumeration;
+
+import javax.swing.tree.DefaultMutableTreeNode;
 
 import org.junit.Test;
 
+import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.IAttachment;
+import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.TestGameDataFactory;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.history.History;
+import games.strategy.engine.history.HistoryNode;
+import games.strategy.engine.history.HistoryWriter;
+import games.strategy.triplea.attachments.PlayerAttachment;
+import games.strategy.triplea.xml.TestMapGameData;
 
 public class GameDataManagerTest {
+  private static final String ADDED_ATTACHMENT_NAME = "addedPlayerAttachment";
+
   @Test
   public void testLoadStoreKeepsGameUuid() throws IOException {
     final GameData data = new GameData();
@@ -31,6 +48,100 @@ public class GameDataManagerTest {
     assertEquals(loaded.getProperties().get(GameData.GAME_UUID), data.getProperties().get(GameData.GAME_UUID));
   }
 
+  @Test
+  public void testLoadStoreKeepsHistory() throws Exception {
+    final GameData data = newGameDataWithHistory();
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    GameDataManager.saveGame(sink, data);
+    final GameData loaded = GameDataManager.loadGame(new ByteArrayInputStream(sink.toByteArray()));
+    assertEquals(getHistoryTitles(data), getHistoryTitles(loaded));
+    assertEquals(data.getPlayerList().getPlayerId("Germans").getResources().getQuantity("PUs"),
+        loaded.getPlayerList().getPlayerId("Germans").getResources().getQuantity("PUs"));
+  }
+
+  @Test
+  public void testLegacyFormatIsStillLoaded() throws Exception {
+    final GameData data = newGameDataWithHistory();
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    GameDataManager.saveGameInLegacyFormat(sink, data, true);
+    final GameData loaded = GameDataManager.loadGame(new ByteArrayInputStream(sink.toByteArray()));
+    assertEquals(getHistoryTitles(data), getHistoryTitles(loaded));
+  }
+
+  @Test
+  public void testSnapshotIsWrittenAsTakenAfterGameDataChanges() throws Exception {
+    final GameData data = newGameDataWithHistory();
+    final PlayerID germans = data.getPlayerList().getPlayerId("Germans");
+    final int pus = germans.getResources().getQuantity("PUs");
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    try (SaveGameSnapshot snapshot = GameDataManager.snapshotGame(data)) {
+      data.performChange(ChangeFactory.changeResourcesChange(germans, data.getResourceList().getResource("PUs"), 10));
+      snapshot.writeTo(sink);
+    }
+    final GameData loaded = GameDataManager.loadGame(new ByteArrayInputStream(sink.toByteArray()));
+    assertEquals(pus, loaded.getPlayerList().getPlayerId("Germans").getResources().getQuantity("PUs"));
+    assertEquals(getHistoryTitles(data), getHistoryTitles(loaded));
+  }
+
+  @Test
+  public void testLoadKeepsAttachmentsOfHistoryAndStateIdentical() throws Exception {
+    final GameData data = newGameDataWithHistory();
+    final PlayerID germans = data.getPlayerList().getPlayerId("Germans");
+    final HistoryWriter writer = data.getHistory().getHistoryWriter();
+    writer.startNextRound(4);
+    writer.startNextStep("germanPurchase", "purchase", germans, "German Purchase");
+    writer.startEvent("Germans gain an attachment");
+    final Change change =
+        ChangeFactory.addAttachmentChange(new PlayerAttachment(null, null, data), germans, ADDED_ATTACHMENT_NAME);
+    data.performChange(change);
+    writer.addChange(change);
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    GameDataManager.saveGame(sink, data);
+
+    final GameData loaded = GameDataManager.loadGame(new ByteArrayInputStream(sink.toByteArray()));
+    final PlayerID loadedGermans = loaded.getPlayerList().getPlayerId("Germans");
+    final IAttachment attachment = loadedGermans.getAttachment(ADDED_ATTACHMENT_NAME);
+    final History history = loaded.getHistory();
+    history.gotoNode((HistoryNode) ((DefaultMutableTreeNode) history.getRoot()).getFirstChild());
+    assertThat(loadedGermans.getAttachment(ADDED_ATTACHMENT_NAME), is(nullValue()));
+    history.gotoNode(history.getLastNode());
+
+    assertThat(attachment, is(notNullValue()));
+    assertThat(loadedGermans.getAttachment(ADDED_ATTACHMENT_NAME), is(sameInstance(attachment)));
+  }
+
+  private static GameData newGameDataWithHistory() throws Exception {
+    final GameData data = TestMapGameData.REVISED.getGameData();
+    final PlayerID germans = data.getPlayerList().getPlayerId("Germans");
+    final HistoryWriter writer = data.getHistory().getHistoryWriter();
+    for (int round = 1; round <= 3; round++) {
+      writer.startNextRound(round);
+      writer.startNextStep("germanPurchase", "purchase", germans, "German Purchase");
+      writer.startEvent("Germans buy in round " + round);
+      final Change change = ChangeFactory.changeResourcesChange(germans,
+          data.getResourceList().getResource("PUs"), round);
+      data.performChange(change);
+      writer.addChange(change);
+    }
+    return data;
+  }
+
+  private static String getHistoryTitles(final GameData data) {
+    final StringBuilder titles = new StringBuilder();
+    final Enumeration<?> nodes = ((DefaultMutableTreeNode) data.getHistory().getRoot()).preorderEnumeration();
+    while (nodes.hasMoreElements()) {
+      titles.append(((HistoryNode) nodes.nextElement()).getTitle()).append('\n');
+    }
+    return titles.toString();
+  }
+
+  @Test
+  public void testCopyKeepsGameUuid() throws IOException {
+    final GameData data = new GameData();
+    final GameData copy = GameDataManager.loadGameCopy(GameDataManager.saveGameCopy(data, true));
+    assertEquals(copy.getProperties().get(GameData.GAME_UUID), data.getProperties().get(GameData.GAME_UUID));
+  }
+
   @Test
   public void shouldBeAbleToRoundTripGameDataInProxySerializationFormat() throws Exception {
     final GameData expected = TestGameDataFactory.newValidGameData();
@@ -0,0 +1,24 @@
+package games.strategy.engine.framework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+
+public class GameDataSnapshotTest {
+  @Test
+  public void newGameData_ShouldReturnIndependentCopies() {
+    final GameData data = new GameData();
+    final GameDataSnapshot snapshot = GameDataSnapshot.of(data, false);
+
+    final GameData first = snapshot.newGameData();
+    final GameData second = snapshot.newGameData();
+
+    assertNotSame(first, second);
+    assertNotSame(first.getMap(), second.getMap());
+    assertEquals(data.getProperties().get(GameData.GAME_UUID), first.getProperties().get(GameData.GAME_UUID));
+    assertEquals(data.getProperties().get(GameData.GAME_UUID), second.getProperties().get(GameData.GAME_UUID));
+  }
+}
@@ -0,0 +1,58 @@
+package games.strategy.engine.framework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class GameDataUtilsTest {
+  private GameData gameData;
+  private GameData clonedGameData;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    clonedGameData = GameDataUtils.cloneGameData(gameData);
+  }
+
+  @Test
+  public void translateUnitsIntoOtherGameData_ShouldResolveExistingUnitsById() {
+    final Territory germany = gameData.getMap().getTerritory("Germany");
+    final List<Unit> units = new ArrayList<>(germany.getUnits().getUnits());
+
+    final List<Unit> translatedUnits = GameDataUtils.translateUnitsIntoOtherGameData(units, clonedGameData);
+
+    assertEquals(units.size(), translatedUnits.size());
+    for (int i = 0; i < units.size(); i++) {
+      assertEquals(units.get(i).getId(), translatedUnits.get(i).getId());
+      assertSame(clonedGameData.getUnits().get(units.get(i).getId()), translatedUnits.get(i));
+    }
+  }
+
+  @Test
+  public void translateUnitsIntoOtherGameData_ShouldCopyUnknownUnits() {
+    final List<Unit> units =
+        GameDataTestUtil.infantry(gameData).create(3, GameDataTestUtil.russians(gameData));
+
+    final List<Unit> translatedUnits = GameDataUtils.translateUnitsIntoOtherGameData(units, clonedGameData);
+
+    assertEquals(units.size(), translatedUnits.size());
+    for (int i = 0; i < units.size(); i++) {
+      assertNotSame(units.get(i), translatedUnits.get(i));
+      assertEquals(units.get(i).getId(), translatedUnits.get(i).getId());
+      assertSame(clonedGameData, translatedUnits.get(i).getData());
+      assertSame(clonedGameData.getUnits().get(units.get(i).getId()), translatedUnits.get(i));
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package games.strategy.engine.framework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+
+import org.junit.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class ObserverJoinSnapshotTest {
+  @Test
+  public void testReplayedModificationsBringLoadedGameUpToDate() throws Exception {
+    final GameData data = TestMapGameData.REVISED.getGameData();
+    final ObserverJoinSnapshot snapshot = ObserverJoinSnapshot.take(data);
+    final PlayerID germans = data.getPlayerList().getPlayerId("Germans");
+    final Change change = ChangeFactory.changeResourcesChange(germans, data.getResourceList().getResource("PUs"), 7);
+    data.performChange(change);
+    snapshot.record(ObserverJoinSnapshot.gameDataChanged(change));
+
+    final GameData loaded = GameDataManager.loadGame(new ByteArrayInputStream(snapshot.getGameData()));
+    ObserverJoinSnapshot.replay(snapshot.getModifications(), loaded, new ChangePerformingChannel(loaded));
+    assertEquals(germans.getResources().getQuantity("PUs"),
+        loaded.getPlayerList().getPlayerId("Germans").getResources().getQuantity("PUs"));
+  }
+
+  @Test
+  public void testModificationsAreSharedUntilNextRecord() throws Exception {
+    final GameData data = TestMapGameData.REVISED.getGameData();
+    final ObserverJoinSnapshot snapshot = ObserverJoinSnapshot.take(data);
+    final byte[] modifications = snapshot.getModifications();
+    assertSame(modifications, snapshot.getModifications());
+    snapshot.record(ObserverJoinSnapshot.historyEventStarted("event", null));
+    assertNotSame(modifications, snapshot.getModifications());
+  }
+
+  @Test
+  public void testSnapshotStopsRecordingWhenFull() throws Exception {
+    final ObserverJoinSnapshot snapshot = ObserverJoinSnapshot.take(TestMapGameData.REVISED.getGameData());
+    for (int i = 0; i < ObserverJoinSnapshot.MAX_MODIFICATIONS; i++) {
+      assertTrue(snapshot.record(ObserverJoinSnapshot.historyEventStarted("event " + i, null)));
+    }
+    assertTrue(snapshot.isStale());
+    assertFalse(snapshot.record(ObserverJoinSnapshot.historyEventStarted("one too many", null)));
+  }
+
+  private static final class ChangePerformingChannel implements IGameModifiedChannel {
+    private final GameData data;
+
+    ChangePerformingChannel(final GameData data) {
+      this.data = data;
+    }
+
+    @Override
+    public void gameDataChanged(final Change change) {
+      data.performChange(change);
+    }
+
+    @Override
+    public void startHistoryEvent(final String event, final Object renderingData) {}
+
+    @Override
+    public void startHistoryEvent(final String event) {}
+
+    @Override
+    public void addChildToEvent(final String text, final Object renderingData) {}
+
+    @Override
+    public void stepChanged(final String stepName, final String delegateName, final PlayerID player, final int round,
+        final String displayName, final boolean loadedFromSavedGame) {}
+
+    @Override
+    public void shutDown() {}
+  }
+}
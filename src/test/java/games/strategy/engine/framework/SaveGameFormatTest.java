@@ -0,0 +1,95 @@
+package games.strategy.engine.framework;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.google.common.io.ByteStreams;
+
+public class SaveGameFormatTest {
+  private static final int CHUNK_SIZE = 1024 * 1024;
+
+  @Test
+  public void shouldReadSectionsAsWritten() throws Exception {
+    final byte[] first = new byte[CHUNK_SIZE * 5 / 2];
+    new Random(1).nextBytes(first);
+    final byte[] second = {1, 2, 3};
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    try (SaveGameFormat.Writer writer = new SaveGameFormat.Writer()) {
+      try (OutputStream out = writer.newSection("first")) {
+        out.write(first);
+      }
+      try (OutputStream out = writer.newSection("second")) {
+        out.write(second);
+      }
+      writer.writeTo(sink);
+    }
+
+    final SaveGameFormat.Reader reader = new SaveGameFormat.Reader(new ByteArrayInputStream(sink.toByteArray()));
+    assertArrayEquals(first, ByteStreams.toByteArray(reader.readSection("first").open()));
+    assertArrayEquals(second, ByteStreams.toByteArray(reader.readSection("second").open()));
+  }
+
+  @Test(expected = IOException.class)
+  public void readerShouldRejectOtherChunkSize() throws Exception {
+    new SaveGameFormat.Reader(tableOfContents(CHUNK_SIZE / 2, 1, 10, 1, 10));
+  }
+
+  @Test(expected = IOException.class)
+  public void readerShouldRejectNegativeSectionCount() throws Exception {
+    new SaveGameFormat.Reader(tableOfContents(CHUNK_SIZE, -1, 10, 1, 10));
+  }
+
+  @Test(expected = IOException.class)
+  public void readerShouldRejectHugeSectionCount() throws Exception {
+    new SaveGameFormat.Reader(tableOfContents(CHUNK_SIZE, Integer.MAX_VALUE, 10, 1, 10));
+  }
+
+  @Test(expected = IOException.class)
+  public void readerShouldRejectNegativeSectionLength() throws Exception {
+    new SaveGameFormat.Reader(tableOfContents(CHUNK_SIZE, 1, -10, 1, 10));
+  }
+
+  @Test(expected = IOException.class)
+  public void readerShouldRejectNegativeChunkCount() throws Exception {
+    new SaveGameFormat.Reader(tableOfContents(CHUNK_SIZE, 1, 10, -1, 10));
+  }
+
+  @Test(expected = IOException.class)
+  public void readerShouldRejectChunkCountNotMatchingSectionLength() throws Exception {
+    new SaveGameFormat.Reader(tableOfContents(CHUNK_SIZE, 1, 10, Integer.MAX_VALUE, 10));
+  }
+
+  @Test(expected = IOException.class)
+  public void readerShouldRejectNegativeChunkLength() throws Exception {
+    new SaveGameFormat.Reader(tableOfContents(CHUNK_SIZE, 1, 10, 1, -10));
+  }
+
+  @Test(expected = IOException.class)
+  public void readerShouldRejectHugeChunkLength() throws Exception {
+    new SaveGameFormat.Reader(tableOfContents(CHUNK_SIZE, 1, 10, 1, Integer.MAX_VALUE));
+  }
+
+  private static ByteArrayInputStream tableOfContents(final int chunkSize, final int sectionCount,
+      final int sectionLength, final int chunkCount, final int chunkLength) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final DataOutputStream out = new DataOutputStream(bytes);
+    out.write(new byte[] {'T', 'A', 'S', 'G'});
+    out.writeInt(1);
+    out.writeInt(chunkSize);
+    out.writeInt(sectionCount);
+    out.writeUTF("section");
+    out.writeInt(sectionLength);
+    out.writeInt(chunkCount);
+    out.writeInt(chunkLength);
+    out.flush();
+    return new ByteArrayInputStream(bytes.toByteArray());
+  }
+}
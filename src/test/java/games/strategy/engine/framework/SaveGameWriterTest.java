@@ -0,0 +1,103 @@
+package games.strategy.engine.framework;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SaveGameWriterTest {
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final SaveGameWriter saveGameWriter = new SaveGameWriter(1);
+
+  @After
+  public void tearDown() throws Exception {
+    saveGameWriter.shutDown(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testSaveReplacesFileWithoutLeavingTemporaryFiles() throws Exception {
+    final File file = temporaryFolder.newFile("game.tsvg");
+    Files.write(file.toPath(), new byte[] {1});
+    saveGameWriter.save(file, () -> SaveGameSnapshot.of(new byte[] {2, 3})).get(10, TimeUnit.SECONDS);
+    assertArrayEquals(new byte[] {2, 3}, Files.readAllBytes(file.toPath()));
+    assertEquals(1, temporaryFolder.getRoot().list().length);
+  }
+
+  @Test
+  public void testFailedWriteKeepsPreviousFile() throws Exception {
+    final File file = temporaryFolder.newFile("game.tsvg");
+    Files.write(file.toPath(), new byte[] {1});
+    try {
+      SaveGameWriter.write(new SaveGameSnapshot() {
+        @Override
+        public void writeTo(final OutputStream sink) throws IOException {
+          sink.write(2);
+          throw new IOException("disk full");
+        }
+
+        @Override
+        public void close() {}
+      }, file);
+      fail("Expected the write to fail");
+    } catch (final IOException e) {
+      assertEquals("disk full", e.getMessage());
+    }
+    assertArrayEquals(new byte[] {1}, Files.readAllBytes(file.toPath()));
+    assertEquals(1, temporaryFolder.getRoot().list().length);
+  }
+
+  @Test
+  public void testSnapshotWaitsForPendingSave() throws Exception {
+    final CountDownLatch writeStarted = new CountDownLatch(1);
+    final CountDownLatch finishWrite = new CountDownLatch(1);
+    final Future<?> first = saveGameWriter.save(temporaryFolder.newFile("first.tsvg"), () -> new SaveGameSnapshot() {
+      @Override
+      public void writeTo(final OutputStream sink) throws IOException {
+        writeStarted.countDown();
+        try {
+          finishWrite.await();
+        } catch (final InterruptedException e) {
+          throw new IOException(e);
+        }
+      }
+
+      @Override
+      public void close() {}
+    });
+    writeStarted.await(10, TimeUnit.SECONDS);
+    final AtomicInteger snapshots = new AtomicInteger();
+    final Thread second = new Thread(() -> {
+      try {
+        saveGameWriter.save(new File(temporaryFolder.getRoot(), "second.tsvg"), () -> {
+          snapshots.incrementAndGet();
+          return SaveGameSnapshot.of(new byte[] {1});
+        });
+      } catch (final Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    second.start();
+    second.join(200);
+    assertEquals(0, snapshots.get());
+    assertFalse(first.isDone());
+    finishWrite.countDown();
+    second.join(10000);
+    assertEquals(1, snapshots.get());
+  }
+}
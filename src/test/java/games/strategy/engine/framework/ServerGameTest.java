@@ -0,0 +1,97 @@
+package games.strategy.engine.framework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.framework.startup.mc.IObserverWaitingToJoin;
+import games.strategy.net.HeadlessServerMessenger;
+import games.strategy.net.INode;
+import games.strategy.net.Messengers;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class ServerGameTest {
+  @Test
+  public void observerJoiningWhileStepChangesGetsStepChangeExactlyOnce() throws Exception {
+    final Messengers messengers = new Messengers(new HeadlessServerMessenger());
+    final ServerGame serverGame = new ServerGame(TestMapGameData.REVISED.getGameData(), Collections.emptySet(),
+        Collections.emptyMap(), messengers);
+    final StepCountingChannel observerChannel = new StepCountingChannel();
+    final AtomicReference<Thread> stepChanger = new AtomicReference<>();
+    final AtomicReference<String> cannotJoinReason = new AtomicReference<>();
+    final IObserverWaitingToJoin observer = new IObserverWaitingToJoin() {
+      private GameData loaded;
+
+      @Override
+      public boolean loadGame(final byte[] gameData) {
+        try {
+          loaded = GameDataManager.loadGame(new ByteArrayInputStream(gameData));
+          return true;
+        } catch (final IOException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+
+      @Override
+      public void joinGame(final byte[] modifications, final Map<String, INode> players) {
+        // the step changes after the recorded modifications were taken, but before the observer listens
+        final Thread thread = new Thread(() -> serverGame.notifyGameStepChanged(true));
+        stepChanger.set(thread);
+        thread.start();
+        try {
+          thread.join(500);
+          ObserverJoinSnapshot.replay(modifications, loaded, observerChannel);
+        } catch (final InterruptedException | IOException e) {
+          throw new IllegalStateException(e);
+        }
+        messengers.getChannelMessenger().registerChannelSubscriber(observerChannel, IGame.GAME_MODIFICATION_CHANNEL);
+      }
+
+      @Override
+      public void cannotJoinGame(final String reason) {
+        cannotJoinReason.set(reason);
+      }
+    };
+
+    serverGame.addObserver(observer, observer, messengers.getMessenger().getLocalNode());
+    stepChanger.get().join();
+
+    assertNull(cannotJoinReason.get());
+    assertEquals(1, observerChannel.stepChanges);
+  }
+
+  private static final class StepCountingChannel implements IGameModifiedChannel {
+    private volatile int stepChanges;
+
+    @Override
+    public void gameDataChanged(final Change change) {}
+
+    @Override
+    public void startHistoryEvent(final String event, final Object renderingData) {}
+
+    @Override
+    public void startHistoryEvent(final String event) {}
+
+    @Override
+    public void addChildToEvent(final String text, final Object renderingData) {}
+
+    @Override
+    public synchronized void stepChanged(final String stepName, final String delegateName, final PlayerID player,
+        final int round, final String displayName, final boolean loadedFromSavedGame) {
+      stepChanges++;
+    }
+
+    @Override
+    public void shutDown() {}
+  }
+}
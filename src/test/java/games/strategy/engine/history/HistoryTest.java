@@ -0,0 +1,205 @@
+package games.strategy.engine.history;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.xml.TestMapGameData;
+
+/**
+ * Seeks through a history of several rounds, which uses the round checkpoints, and compares the game data at each
+ * node with the game data recorded while the history was written, one change after another.
+ */
+public class HistoryTest {
+  private static final int ROUNDS = 6;
+  private static final int CAPTURES_PER_ROUND = 2;
+
+  private final Map<HistoryNode, Map<String, String>> expectedStates = new HashMap<>();
+  private GameData data;
+  private History history;
+  private HistoryWriter writer;
+  private List<PlayerID> players;
+  private Map<PlayerID, List<Territory>> startTerritories;
+
+  @Before
+  public void setUp() throws Exception {
+    data = TestMapGameData.REVISED.getGameData();
+    history = data.getHistory();
+    writer = history.getHistoryWriter();
+    players = Arrays.asList(GameDataTestUtil.germans(data), GameDataTestUtil.russians(data));
+    startTerritories = new HashMap<>();
+    for (final PlayerID player : players) {
+      startTerritories.put(player, data.getMap().getTerritoriesOwnedBy(player));
+    }
+    // the changes are applied by following the last node of the history, as the history panel does
+    recordLastNode();
+  }
+
+  @Test
+  public void testSeekingAcrossRoundsMatchesChangesAppliedOneByOne() {
+    for (int round = 1; round <= ROUNDS; round++) {
+      addRound(round, 0, CAPTURES_PER_ROUND);
+    }
+
+    seekToAllNodes(new Random(42));
+  }
+
+  @Test
+  public void testRemovingHistoryDropsCheckpointsOfRemovedRounds() {
+    for (int round = 1; round <= ROUNDS; round++) {
+      addRound(round, 0, CAPTURES_PER_ROUND);
+    }
+    // creates the checkpoints of all completed rounds
+    history.gotoNode(getRounds().get(0));
+    history.gotoNode(history.getLastNode());
+    final List<Round> rounds = getRounds();
+    final HistoryNode lastNodeOfRound3 = (HistoryNode) rounds.get(2).getLastLeaf();
+
+    history.removeAllHistoryAfterNode(lastNodeOfRound3);
+    expectedStates.keySet().retainAll(getNodes());
+    // one change of the next round is kept by the removal, so a round with one capture less makes the later rounds
+    // start at the same change indices as the removed ones, but with different changes
+    addRound(4, 1, CAPTURES_PER_ROUND - 1);
+    for (int round = 5; round <= ROUNDS; round++) {
+      addRound(round, 1, CAPTURES_PER_ROUND);
+    }
+    assertEquals(rounds.get(4).getChangeStartIndex(), getRounds().get(5).getChangeStartIndex());
+
+    seekToAllNodes(new Random(7));
+  }
+
+  private void seekToAllNodes(final Random random) {
+    final List<HistoryNode> nodes = getNodes();
+    final HistoryNode lastNode = history.getLastNode();
+    // from the end to the first round and back, then to each node in random order
+    final List<HistoryNode> targets = new ArrayList<>(Arrays.asList(getRounds().get(0), lastNode));
+    final List<HistoryNode> shuffledNodes = new ArrayList<>(nodes);
+    Collections.shuffle(shuffledNodes, random);
+    targets.addAll(shuffledNodes);
+    targets.add(lastNode);
+    for (final HistoryNode node : targets) {
+      history.gotoNode(node);
+      assertEquals("state at " + node, expectedStates.get(node), getState());
+    }
+  }
+
+  /**
+   * Writes a round in which every player places units, moves them, and then the players capture territories of each
+   * other. The offset varies the territories, so rounds written with different offsets have different changes.
+   */
+  private void addRound(final int round, final int offset, final int captures) {
+    final UnitType infantry = GameDataTestUtil.infantry(data);
+    writer.startNextRound(round);
+    recordLastNode();
+    for (final PlayerID player : players) {
+      final List<Territory> territories = startTerritories.get(player);
+      final Territory from = territories.get((round + offset) % territories.size());
+      final Territory to = territories.get((round + offset + 1) % territories.size());
+      final List<Unit> units = infantry.create(2, player);
+      startStep(player.getName() + "Place", "place", player);
+      startEvent(player.getName() + " places in " + from.getName());
+      addChange(ChangeFactory.addUnits(from, units));
+      startStep(player.getName() + "Move", "move", player);
+      startEvent(player.getName() + " moves to " + to.getName());
+      final CompositeChange move =
+          new CompositeChange(ChangeFactory.removeUnits(from, units), ChangeFactory.addUnits(to, units));
+      for (final Unit unit : units) {
+        move.add(ChangeFactory.unitPropertyChange(unit, round, TripleAUnit.ALREADY_MOVED));
+      }
+      addChange(move);
+    }
+    for (int capture = 0; capture < captures; capture++) {
+      final PlayerID player = players.get(capture % players.size());
+      final List<Territory> enemyTerritories = startTerritories.get(players.get((capture + 1) % players.size()));
+      final Territory territory = enemyTerritories.get((round * captures + capture + offset) % enemyTerritories.size());
+      startStep(player.getName() + "Combat" + capture, "battle", player);
+      startEvent(player.getName() + " captures " + territory.getName());
+      addChange(new CompositeChange(ChangeFactory.changeOwner(territory, player),
+          ChangeFactory.changeOwner(territory.getUnits().getMatches(Matches.unitIsOwnedBy(player).invert()), player,
+              territory)));
+    }
+  }
+
+  private void startStep(final String stepName, final String delegateName, final PlayerID player) {
+    writer.startNextStep(stepName, delegateName, player, stepName);
+    recordLastNode();
+  }
+
+  private void startEvent(final String eventName) {
+    writer.startEvent(eventName);
+    recordLastNode();
+  }
+
+  private void addChange(final Change change) {
+    writer.addChange(change);
+    recordLastNode();
+  }
+
+  /**
+   * Applies the changes written since the previous call and records the state at the last node.
+   */
+  private void recordLastNode() {
+    final HistoryNode lastNode = history.getLastNode();
+    history.gotoNode(lastNode);
+    expectedStates.put(lastNode, getState());
+  }
+
+  /**
+   * @return The owner and units of each territory, with the owner and movement of each unit.
+   */
+  private Map<String, String> getState() {
+    final Map<String, String> state = new TreeMap<>();
+    for (final Territory territory : data.getMap().getTerritories()) {
+      final Set<String> units = new TreeSet<>();
+      for (final Unit unit : territory.getUnits().getUnits()) {
+        units.add(unit.getId() + " " + unit.getType().getName() + " of " + unit.getOwner().getName() + " moved "
+            + TripleAUnit.get(unit).getAlreadyMoved());
+      }
+      state.put(territory.getName(), territory.getOwner().getName() + " " + units);
+    }
+    return state;
+  }
+
+  private List<HistoryNode> getNodes() {
+    final List<HistoryNode> nodes = new ArrayList<>();
+    final Enumeration<?> enumeration = ((HistoryNode) history.getRoot()).preorderEnumeration();
+    while (enumeration.hasMoreElements()) {
+      nodes.add((HistoryNode) enumeration.nextElement());
+    }
+    return nodes;
+  }
+
+  private List<Round> getRounds() {
+    final List<Round> rounds = new ArrayList<>();
+    for (final HistoryNode node : getNodes()) {
+      if (node instanceof Round) {
+        rounds.add((Round) node);
+      }
+    }
+    return rounds;
+  }
+}
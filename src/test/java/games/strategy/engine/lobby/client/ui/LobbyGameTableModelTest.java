@@ -4,6 +4,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -15,6 +16,9 @@ import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import games.strategy.engine.lobby.server.GameDescription;
+import games.strategy.engine.lobby.server.GameDescriptionDelta;
+import games.strategy.engine.lobby.server.GameListDelta;
+import games.strategy.engine.lobby.server.GameListSnapshot;
 import games.strategy.engine.lobby.server.ILobbyGameController;
 import games.strategy.engine.message.IChannelMessenger;
 import games.strategy.engine.message.IRemoteMessenger;
@@ -27,6 +31,7 @@ import games.strategy.util.Tuple;
 
 @RunWith(MockitoJUnitRunner.StrictStubs.class)
 public class LobbyGameTableModelTest {
+  private static final long GAME_LIST_VERSION = 5;
 
   private LobbyGameTableModel testObj;
 
@@ -56,9 +61,9 @@ public class LobbyGameTableModelTest {
 
     Mockito.when(mockRemoteMessenger.getRemote(ILobbyGameController.GAME_CONTROLLER_REMOTE))
         .thenReturn(mockLobbyController);
-    Mockito.when(mockLobbyController.listGames()).thenReturn(fakeGameMap);
+    Mockito.when(mockLobbyController.getGameList()).thenReturn(new GameListSnapshot(GAME_LIST_VERSION, fakeGameMap));
     testObj = new LobbyGameTableModel(mockMessenger, mockChannelMessenger, mockRemoteMessenger);
-    Mockito.verify(mockLobbyController, Mockito.times(1)).listGames();
+    Mockito.verify(mockLobbyController, Mockito.times(1)).getGameList();
 
 
     MessageContext.setSenderNodeForThread(serverNode);
@@ -114,4 +119,32 @@ public class LobbyGameTableModelTest {
     TestUtil.waitForSwingThreads();
     assertThat(testObj.getRowCount(), is(1));
   }
+
+  @Test
+  public void gameListChangedAddsChangesAndRemovesGames() {
+    final GUID gameId = new GUID();
+    final GameDescription description = new GameDescription();
+    testObj.getLobbyGameBroadcaster().gameListChanged(new GameListDelta(GAME_LIST_VERSION, GAME_LIST_VERSION + 1,
+        Collections.singletonMap(gameId, description), Collections.emptyMap(), Collections.emptySet()));
+    final GameDescription changedDescription = (GameDescription) description.clone();
+    changedDescription.setComment("comment");
+    testObj.getLobbyGameBroadcaster().gameListChanged(new GameListDelta(GAME_LIST_VERSION + 1, GAME_LIST_VERSION + 2,
+        Collections.emptyMap(),
+        Collections.singletonMap(gameId, GameDescriptionDelta.between(description, changedDescription)),
+        Collections.singleton(fakeGame.getFirst())));
+    TestUtil.waitForSwingThreads();
+
+    assertThat(testObj.getRowCount(), is(1));
+    assertThat(testObj.getValueAt(0, testObj.getColumnIndex(LobbyGameTableModel.Column.GUID)), is(gameId));
+    assertThat(testObj.getValueAt(0, testObj.getColumnIndex(LobbyGameTableModel.Column.Comments)), is("comment"));
+  }
+
+  @Test
+  public void gameListChangedAlreadyInSnapshotIsIgnored() {
+    testObj.getLobbyGameBroadcaster().gameListChanged(new GameListDelta(GAME_LIST_VERSION - 1, GAME_LIST_VERSION,
+        Collections.emptyMap(), Collections.emptyMap(), Collections.singleton(fakeGame.getFirst())));
+    TestUtil.waitForSwingThreads();
+
+    assertThat(testObj.getRowCount(), is(1));
+  }
 }
@@ -0,0 +1,74 @@
+package games.strategy.engine.lobby.server;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.time.Instant;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.lobby.server.GameDescription.GameStatus;
+import games.strategy.net.Node;
+
+public class GameDescriptionDeltaTest {
+  private GameDescription description;
+
+  @Before
+  public void setUp() throws Exception {
+    description = new GameDescription(new Node("host", InetAddress.getLocalHost(), 3300), 3300,
+        Instant.ofEpochMilli(1_000_000), "game", 2, GameStatus.WAITING_FOR_PLAYERS, "0", "host", "comment", false,
+        "1.9", "1.0");
+  }
+
+  @Test
+  public void testDeltaHoldsOnlyChangedFields() {
+    final GameDescription changed = (GameDescription) description.clone();
+    changed.setPlayerCount(3);
+    changed.setStatus(GameStatus.IN_PROGRESS);
+
+    final GameDescriptionDelta delta = GameDescriptionDelta.between(description, changed);
+
+    for (final GameDescriptionDelta.Field field : GameDescriptionDelta.Field.values()) {
+      assertThat(field.toString(), delta.isChanged(field),
+          is(field == GameDescriptionDelta.Field.PLAYER_COUNT || field == GameDescriptionDelta.Field.STATUS));
+    }
+    assertThat(delta.getVersion(), is(changed.getVersion()));
+  }
+
+  @Test
+  public void testDeltaOfSameDescriptionIsEmpty() {
+    assertThat(GameDescriptionDelta.between(description, (GameDescription) description.clone()).isEmpty(), is(true));
+  }
+
+  @Test
+  public void testApplyToAfterSerialization() throws Exception {
+    final GameDescription changed = (GameDescription) description.clone();
+    changed.setRound("3");
+    changed.setComment("new comment");
+
+    final GameDescriptionDelta delta = serializeAndDeserialize(GameDescriptionDelta.between(description, changed));
+    final GameDescription applied = delta.applyTo(description);
+
+    assertThat(applied.getRound(), is("3"));
+    assertThat(applied.getComment(), is("new comment"));
+    assertThat(applied.getPlayerCount(), is(2));
+    assertThat(applied.getVersion(), is(changed.getVersion()));
+    assertThat(description.getRound(), is("0"));
+  }
+
+  private static GameDescriptionDelta serializeAndDeserialize(final GameDescriptionDelta delta) throws Exception {
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(sink)) {
+      out.writeObject(delta);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(sink.toByteArray()))) {
+      return (GameDescriptionDelta) in.readObject();
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package games.strategy.engine.lobby.server;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import games.strategy.engine.lobby.server.GameDescription.GameStatus;
+import games.strategy.engine.message.MessageContext;
+import games.strategy.net.GUID;
+import games.strategy.net.IConnectionChangeListener;
+import games.strategy.net.INode;
+import games.strategy.net.IServerMessenger;
+import games.strategy.net.Node;
+
+public class LobbyGameControllerTest {
+  private final ILobbyGameBroadcaster broadcaster = mock(ILobbyGameBroadcaster.class);
+  private final IServerMessenger serverMessenger = mock(IServerMessenger.class);
+  private final ScheduledExecutorService broadcastScheduler = mock(ScheduledExecutorService.class);
+  private final List<Runnable> broadcasts = new ArrayList<>();
+  private final GUID gameId = new GUID();
+  private INode hostNode;
+  private GameDescription description;
+  private LobbyGameController lobbyGameController;
+
+  @Before
+  public void setUp() throws Exception {
+    when(broadcastScheduler.schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS))).thenAnswer(
+        invocation -> {
+          broadcasts.add(invocation.getArgument(0));
+          return null;
+        });
+    lobbyGameController = new LobbyGameController(broadcaster, serverMessenger, broadcastScheduler);
+    hostNode = new Node("host", InetAddress.getLocalHost(), 3300);
+    MessageContext.setSenderNodeForThread(hostNode);
+    description = new GameDescription(hostNode, 3300, Instant.now(), "game", 2, GameStatus.WAITING_FOR_PLAYERS, "0",
+        "host", "comment", false, "1.9", "1.0");
+  }
+
+  private void runBroadcasts() {
+    final List<Runnable> scheduled = new ArrayList<>(broadcasts);
+    broadcasts.clear();
+    scheduled.forEach(Runnable::run);
+  }
+
+  private GameListDelta getLastBroadcast(final int broadcastCount) {
+    final ArgumentCaptor<GameListDelta> delta = ArgumentCaptor.forClass(GameListDelta.class);
+    verify(broadcaster, times(broadcastCount)).gameListChanged(delta.capture());
+    return delta.getValue();
+  }
+
+  private GameDescription update(final GameDescription previous, final int playerCount, final String round) {
+    final GameDescription updated = (GameDescription) previous.clone();
+    updated.setPlayerCount(playerCount);
+    updated.setRound(round);
+    lobbyGameController.updateGame(gameId, updated);
+    return updated;
+  }
+
+  @Test
+  public void testChangesWithinIntervalAreBroadcastOnce() {
+    lobbyGameController.postGame(gameId, description);
+    update(description, 3, "0");
+    final GameDescription latest = update(description, 4, "1");
+
+    assertThat(broadcasts.size(), is(1));
+    verify(broadcastScheduler).schedule(any(Runnable.class), eq(LobbyGameController.BROADCAST_INTERVAL_MILLIS),
+        eq(TimeUnit.MILLISECONDS));
+    verify(broadcaster, never()).gameListChanged(any());
+    runBroadcasts();
+
+    final GameListDelta delta = getLastBroadcast(1);
+    assertThat(delta.getFromVersion(), is(0L));
+    assertThat(delta.getToVersion(), is(1L));
+    assertThat(delta.getAddedGames(), is(Collections.singletonMap(gameId, latest)));
+    assertThat(lobbyGameController.getGameList().getVersion(), is(1L));
+    assertThat(lobbyGameController.listGames(), is(Collections.singletonMap(gameId, latest)));
+  }
+
+  @Test
+  public void testChangedGameIsBroadcastAsFieldDelta() {
+    lobbyGameController.postGame(gameId, description);
+    runBroadcasts();
+    final GameDescription latest = update(update(description, 3, "0"), 3, "1");
+    runBroadcasts();
+
+    final GameListDelta delta = getLastBroadcast(2);
+    assertThat(delta.getFromVersion(), is(1L));
+    assertThat(delta.getAddedGames().isEmpty(), is(true));
+    final GameDescriptionDelta gameDelta = delta.getChangedGames().get(gameId);
+    assertThat(gameDelta.getVersion(), is(latest.getVersion()));
+    assertThat(gameDelta.isChanged(GameDescriptionDelta.Field.PLAYER_COUNT), is(true));
+    assertThat(gameDelta.isChanged(GameDescriptionDelta.Field.ROUND), is(true));
+    assertThat(gameDelta.isChanged(GameDescriptionDelta.Field.COMMENT), is(false));
+  }
+
+  @Test
+  public void testChangeRevertedWithinIntervalIsNotBroadcast() {
+    lobbyGameController.postGame(gameId, description);
+    runBroadcasts();
+    update(update(description, 3, "0"), 2, "0");
+    runBroadcasts();
+
+    getLastBroadcast(1);
+    assertThat(lobbyGameController.getGameList().getVersion(), is(1L));
+  }
+
+  @Test
+  public void testOutOfOrderUpdateIsIgnored() {
+    lobbyGameController.postGame(gameId, description);
+    final GameDescription older = update(description, 3, "0");
+    final GameDescription newer = update(older, 4, "1");
+    lobbyGameController.updateGame(gameId, older);
+    runBroadcasts();
+
+    assertThat(lobbyGameController.listGames().get(gameId), is(newer));
+  }
+
+  @Test
+  public void testGamesOfLostConnectionAreRemoved() {
+    final ArgumentCaptor<IConnectionChangeListener> listener =
+        ArgumentCaptor.forClass(IConnectionChangeListener.class);
+    verify(serverMessenger).addConnectionChangeListener(listener.capture());
+    lobbyGameController.postGame(gameId, description);
+    runBroadcasts();
+
+    listener.getValue().connectionRemoved(hostNode);
+    runBroadcasts();
+
+    assertThat(getLastBroadcast(2).getRemovedGames(), is(Collections.singleton(gameId)));
+    assertThat(lobbyGameController.listGames().isEmpty(), is(true));
+  }
+}
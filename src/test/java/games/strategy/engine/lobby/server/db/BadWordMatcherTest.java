@@ -0,0 +1,33 @@
+package games.strategy.engine.lobby.server.db;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class BadWordMatcherTest {
+  @Test
+  public void testMatchesAnyWordIgnoringCase() {
+    final BadWordMatcher matcher = BadWordMatcher.compile(Arrays.asList("bitCh", "darn"));
+
+    assertThat(matcher.matches("xBITCHx"), is(true));
+    assertThat(matcher.matches("Darnit"), is(true));
+    assertThat(matcher.matches("nice name"), is(false));
+  }
+
+  @Test
+  public void testWordsAreMatchedLiterally() {
+    final BadWordMatcher matcher = BadWordMatcher.compile(Collections.singletonList("a.b"));
+
+    assertThat(matcher.matches("xa.bx"), is(true));
+    assertThat(matcher.matches("axb"), is(false));
+  }
+
+  @Test
+  public void testNoWordsMatchNothing() {
+    assertThat(BadWordMatcher.compile(Collections.emptyList()).matches("anything"), is(false));
+  }
+}
@@ -0,0 +1,120 @@
+package games.strategy.engine.lobby.server.db;
+
+import static com.googlecode.catchexception.CatchException.catchException;
+import static com.googlecode.catchexception.CatchException.caughtException;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ConnectionPoolTest {
+  private static final String SQL = "select username from ta_users where username = ?";
+
+  private final List<Connection> connections = new ArrayList<>();
+  private final List<PreparedStatement> statements = new ArrayList<>();
+
+  private Connection newConnection() {
+    final Connection connection = mock(Connection.class);
+    try {
+      when(connection.getAutoCommit()).thenReturn(false);
+      when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+        final PreparedStatement statement = mock(PreparedStatement.class);
+        statements.add(statement);
+        return statement;
+      });
+      when(connection.createStatement()).thenAnswer(invocation -> mock(Statement.class));
+    } catch (final SQLException e) {
+      throw new AssertionError(e);
+    }
+    connections.add(connection);
+    return connection;
+  }
+
+  private ConnectionPool newPool(final int maxSize, final long validationIntervalMillis) {
+    return new ConnectionPool(this::newConnection, maxSize, 4, 50, validationIntervalMillis);
+  }
+
+  @Test
+  public void testClosedConnectionIsRolledBackAndReused() throws Exception {
+    final ConnectionPool pool = newPool(2, 60_000);
+    pool.getConnection().close();
+    pool.getConnection().close();
+
+    assertThat(connections.size(), is(1));
+    verify(connections.get(0), times(2)).rollback();
+    verify(connections.get(0), never()).close();
+    assertThat(pool.getMetrics().getBorrowedConnections(), is(2L));
+    assertThat(pool.getMetrics().getIdleConnections(), is(1));
+  }
+
+  @Test
+  public void testPreparedStatementIsCachedPerConnection() throws Exception {
+    final ConnectionPool pool = newPool(1, 60_000);
+    try (Connection connection = pool.getConnection(); PreparedStatement ps = connection.prepareStatement(SQL)) {
+      ps.setString(1, "user");
+    }
+    try (Connection connection = pool.getConnection(); PreparedStatement ps = connection.prepareStatement(SQL)) {
+      ps.setString(1, "other user");
+    }
+
+    verify(connections.get(0), times(1)).prepareStatement(SQL);
+    assertThat(statements.size(), is(1));
+    verify(statements.get(0)).setString(1, "user");
+    verify(statements.get(0)).setString(1, "other user");
+    verify(statements.get(0), times(2)).clearParameters();
+    verify(statements.get(0), never()).close();
+    assertThat(pool.getMetrics().getStatementCacheHits(), is(1L));
+    assertThat(pool.getMetrics().getStatementCacheMisses(), is(1L));
+  }
+
+  @Test
+  public void testPoolIsBounded() {
+    final ConnectionPool pool = newPool(1, 60_000);
+    pool.getConnection();
+
+    catchException(() -> pool.getConnection());
+
+    assertThat(caughtException(), instanceOf(IllegalStateException.class));
+    assertThat(pool.getMetrics().getTimeouts(), is(1L));
+    assertThat(pool.getMetrics().getActiveConnections(), is(1));
+  }
+
+  @Test
+  public void testBrokenIdleConnectionIsReplaced() throws Exception {
+    final ConnectionPool pool = newPool(1, 0);
+    pool.getConnection().close();
+    when(connections.get(0).createStatement()).thenThrow(new SQLException("connection reset"));
+
+    pool.getConnection().close();
+
+    assertThat(connections.size(), is(2));
+    verify(connections.get(0)).close();
+    assertThat(pool.getMetrics().getFailedValidations(), is(1L));
+  }
+
+  @Test
+  public void testClosedConnectionRejectsFurtherUse() throws Exception {
+    final ConnectionPool pool = newPool(1, 60_000);
+    final Connection connection = pool.getConnection();
+    connection.close();
+
+    catchException(() -> connection.prepareStatement(SQL));
+
+    assertThat(caughtException(), instanceOf(SQLException.class));
+    assertThat(connection.isClosed(), is(true));
+  }
+}
@@ -0,0 +1,178 @@
+package games.strategy.engine.lobby.server.db;
+
+import static com.googlecode.catchexception.CatchException.catchException;
+import static com.googlecode.catchexception.CatchException.caughtException;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.util.Tuple;
+
+public class ModerationCacheTest {
+  private static final String MAC = "$1$MH$lW2b9Tx3VIpD4llOnivrP1";
+  private static final String USERNAME = "user";
+  private static final Instant NOW = Instant.parse("2017-09-01T12:00:00Z");
+
+  private final BadWordDao badWordDao = mock(BadWordDao.class);
+  private final BannedMacController bannedMacController = mock(BannedMacController.class);
+  private final BannedUsernameController bannedUsernameController = mock(BannedUsernameController.class);
+  private final MutedMacController mutedMacController = mock(MutedMacController.class);
+  private final MutedUsernameController mutedUsernameController = mock(MutedUsernameController.class);
+  private final ScheduledExecutorService expiryScheduler = mock(ScheduledExecutorService.class);
+  private final Clock clock = mock(Clock.class);
+  private final List<Runnable> expiryTasks = new ArrayList<>();
+  private ModerationCache moderationCache;
+
+  @Before
+  public void setUp() {
+    givenNow(NOW);
+    when(expiryScheduler.schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS))).thenAnswer(
+        invocation -> {
+          expiryTasks.add(invocation.getArgument(0));
+          return null;
+        });
+    moderationCache = new ModerationCache(badWordDao, bannedMacController, bannedUsernameController,
+        mutedMacController, mutedUsernameController, expiryScheduler, clock);
+  }
+
+  private void givenNow(final Instant now) {
+    when(clock.instant()).thenReturn(now);
+    when(clock.millis()).thenReturn(now.toEpochMilli());
+  }
+
+  private void runExpiryTasks() {
+    final List<Runnable> tasks = new ArrayList<>(expiryTasks);
+    expiryTasks.clear();
+    tasks.forEach(Runnable::run);
+  }
+
+  @Test
+  public void testRefreshLoadsBansMutesAndBadWords() {
+    final Instant banTill = NOW.plus(Duration.ofHours(1));
+    when(bannedMacController.getBannedMacs()).thenReturn(Collections.singletonList(Tuple.of(MAC, null)));
+    when(bannedUsernameController.getBannedUsernames())
+        .thenReturn(Collections.singletonList(Tuple.of(USERNAME, Timestamp.from(banTill))));
+    when(mutedMacController.getMutedMacs()).thenReturn(Collections.singletonList(Tuple.of(MAC, null)));
+    when(mutedUsernameController.getMutedUsernames())
+        .thenReturn(Collections.singletonList(Tuple.of(USERNAME, Timestamp.from(banTill))));
+    when(badWordDao.list()).thenReturn(Arrays.asList("bitCh", "darn"));
+
+    moderationCache.refresh();
+
+    assertThat(moderationCache.isMacBanned(MAC), is(Tuple.of(true, null)));
+    assertThat(moderationCache.isMacBanned("other mac"), is(Tuple.of(false, null)));
+    assertThat(moderationCache.isUsernameBanned(USERNAME), is(Tuple.of(true, Timestamp.from(banTill))));
+    assertThat(moderationCache.getMacUnmuteTime(MAC), is(Long.MAX_VALUE));
+    assertThat(moderationCache.getUsernameUnmuteTime(USERNAME), is(banTill.toEpochMilli()));
+    assertThat(moderationCache.getUsernameUnmuteTime("other user"), is(-1L));
+    assertThat(moderationCache.containsBadWord("xBITCHx"), is(true));
+    assertThat(moderationCache.containsBadWord(USERNAME), is(false));
+    verify(expiryScheduler, times(2)).schedule(any(Runnable.class), eq(Duration.ofHours(1).toMillis()),
+        eq(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testAddIsWrittenThroughToTheDatabase() {
+    final Instant banTill = NOW.plus(Duration.ofDays(1));
+
+    moderationCache.addBannedMac(MAC, banTill);
+    moderationCache.addMutedUsername(USERNAME, null);
+
+    verify(bannedMacController).addBannedMac(MAC, banTill);
+    verify(mutedUsernameController).addMutedUsername(USERNAME, null);
+    assertThat(moderationCache.isMacBanned(MAC), is(Tuple.of(true, Timestamp.from(banTill))));
+    assertThat(moderationCache.getUsernameUnmuteTime(USERNAME), is(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void testFailedWriteLeavesTheIndexUnchanged() {
+    doThrow(IllegalStateException.class).when(bannedUsernameController).addBannedUsername(anyString(), any());
+
+    catchException(() -> moderationCache.addBannedUsername(USERNAME, null));
+
+    assertThat(caughtException(), is(instanceOf(IllegalStateException.class)));
+    assertThat(moderationCache.isUsernameBanned(USERNAME), is(Tuple.of(false, null)));
+  }
+
+  @Test
+  public void testExpiredEntryIsIgnoredAndRemovedByTheScheduler() {
+    final Instant muteTill = NOW.plus(Duration.ofMinutes(5));
+    moderationCache.addMutedMac(MAC, muteTill);
+
+    givenNow(muteTill);
+    assertThat(moderationCache.getMacUnmuteTime(MAC), is(-1L));
+
+    runExpiryTasks();
+    verify(mutedMacController, times(2)).addMutedMac(MAC, muteTill);
+    assertThat(expiryTasks.isEmpty(), is(true));
+  }
+
+  @Test
+  public void testEarlyExpiryIsRescheduled() {
+    final Instant muteTill = NOW.plus(Duration.ofMinutes(5));
+    moderationCache.addMutedMac(MAC, muteTill);
+
+    runExpiryTasks();
+
+    verify(mutedMacController, times(1)).addMutedMac(MAC, muteTill);
+    assertThat(expiryTasks.size(), is(1));
+    assertThat(moderationCache.getMacUnmuteTime(MAC), is(muteTill.toEpochMilli()));
+  }
+
+  @Test
+  public void testRenewedBanIsNotRemovedByThePreviousExpiry() {
+    final Instant banTill = NOW.plus(Duration.ofMinutes(5));
+    moderationCache.addBannedMac(MAC, banTill);
+    moderationCache.addBannedMac(MAC, null);
+
+    givenNow(banTill);
+    runExpiryTasks();
+
+    verify(bannedMacController, times(1)).addBannedMac(MAC, banTill);
+    assertThat(moderationCache.isMacBanned(MAC), is(Tuple.of(true, null)));
+  }
+
+  @Test
+  public void testAddBadWordUpdatesTheMatcher() {
+    when(badWordDao.list()).thenReturn(Collections.emptyList());
+    moderationCache.refresh();
+
+    moderationCache.addBadWord("darn");
+
+    verify(badWordDao).addBadWord("darn");
+    assertThat(moderationCache.containsBadWord("DarnIt"), is(true));
+    assertThat(moderationCache.list(), is(Collections.singletonList("darn")));
+  }
+
+  @Test
+  public void testIsMacBannedOfUnknownMac() {
+    final Tuple<Boolean, Timestamp> ban = moderationCache.isMacBanned(MAC);
+
+    assertThat(ban.getFirst(), is(false));
+    assertThat(ban.getSecond(), is(nullValue()));
+  }
+}
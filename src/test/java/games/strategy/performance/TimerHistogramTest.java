@@ -0,0 +1,65 @@
+package games.strategy.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class TimerHistogramTest {
+  private final TimerHistogram histogram = new TimerHistogram();
+
+  @Test
+  public void shouldReturnZeroWhenEmpty() {
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getPercentileMicros(50));
+    assertEquals(0, histogram.getMaxMicros());
+  }
+
+  @Test
+  public void shouldTrackCountTotalAndMaxExactly() {
+    histogram.record(TimeUnit.MICROSECONDS.toNanos(10));
+    histogram.record(TimeUnit.MICROSECONDS.toNanos(1234));
+    histogram.record(TimeUnit.MICROSECONDS.toNanos(5));
+
+    assertEquals(3, histogram.getCount());
+    assertEquals(1249, histogram.getTotalMicros());
+    assertEquals(1234, histogram.getMaxMicros());
+  }
+
+  @Test
+  public void shouldEstimatePercentilesWithinBucketPrecision() {
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+    }
+
+    assertWithinPrecision(500_000, histogram.getPercentileMicros(50));
+    assertWithinPrecision(990_000, histogram.getPercentileMicros(99));
+    assertEquals(1_000_000, histogram.getPercentileMicros(100));
+  }
+
+  private static void assertWithinPrecision(final long expected, final long actual) {
+    assertTrue("expected about " + expected + " but was " + actual,
+        actual >= expected && actual <= expected + expected / 8);
+  }
+
+  @Test
+  public void bucketUpperBoundShouldContainEveryValueOfItsBucket() {
+    for (long micros = 0; micros < 100_000; micros++) {
+      final int index = TimerHistogram.bucketIndex(micros);
+      assertTrue(micros <= TimerHistogram.bucketUpperBound(index));
+      assertTrue(index == 0 || micros > TimerHistogram.bucketUpperBound(index - 1));
+    }
+  }
+
+  @Test
+  public void resetShouldDiscardAllDurations() {
+    histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+
+    histogram.reset();
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMaxMicros());
+  }
+}
@@ -1,9 +1,16 @@
 package games.strategy.thread;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
@@ -76,6 +83,64 @@ public class ThreadPoolTest {
     }
   }
 
+  @Test
+  public void testWaitForAllTimesOut() throws Exception {
+    final ThreadPool pool = new ThreadPool(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    pool.runTask(() -> {
+      try {
+        release.await();
+      } catch (final InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    assertFalse(pool.waitForAll(10, TimeUnit.MILLISECONDS));
+    release.countDown();
+    assertTrue(pool.waitForAll(10, TimeUnit.SECONDS));
+    pool.shutDown();
+  }
+
+  @Test
+  public void testJoinPropagatesFailure() throws Exception {
+    final ThreadPool pool = new ThreadPool(2);
+    final IllegalStateException failure = new IllegalStateException("expected");
+    final Task task = new Task();
+    pool.runTask(() -> {
+      throw failure;
+    });
+    pool.runTask(task);
+    try {
+      pool.join();
+      fail("the failure of the task was not propagated");
+    } catch (final ExecutionException e) {
+      assertSame(failure, e.getCause());
+    }
+    assertTrue(task.isDone());
+    // the failure is only reported once
+    pool.join();
+    pool.shutDown();
+  }
+
+  @Test
+  public void testCancelledTaskDoesNotBlock() throws Exception {
+    final ThreadPool pool = new ThreadPool(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    pool.runTask(() -> {
+      try {
+        release.await();
+      } catch (final InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    final Task task = new Task();
+    final Future<?> future = pool.runTask(task);
+    assertTrue(future.cancel(false));
+    release.countDown();
+    pool.join();
+    assertFalse(task.isDone());
+    pool.shutDown();
+  }
+
   private static void threadTestBlock() {
     final ThreadPool pool = new ThreadPool(2);
     final ArrayList<BlockedTask> blockedTasks = new ArrayList<>();
@@ -0,0 +1,97 @@
+package games.strategy.triplea.ai.proAI.data;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class ProEnemyThreatCacheTest {
+  private GameData gameData;
+  private PlayerID british;
+  private PlayerID germans;
+  private List<Territory> germanUnitTerritories;
+  private ProEnemyThreatCache cache;
+  private int computeCount;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    british = GameDataTestUtil.british(gameData);
+    germans = GameDataTestUtil.germans(gameData);
+    germanUnitTerritories =
+        Matches.getMatches(gameData.getMap().getTerritories(), Matches.territoryHasUnitsOwnedBy(germans));
+    cache = new ProEnemyThreatCache(gameData, british);
+  }
+
+  private Map<Territory, ProTerritory> getAttackMap(final List<Territory> territoriesToCheck) {
+    return cache.getAttackMap(germans, germanUnitTerritories, Collections.emptyList(), Collections.emptyList(),
+        territoriesToCheck, countingSupplier());
+  }
+
+  private Supplier<Map<Territory, ProTerritory>> countingSupplier() {
+    return () -> {
+      computeCount++;
+      return new HashMap<>();
+    };
+  }
+
+  @Test
+  public void testUnchangedBoardReusesMap() {
+    final Map<Territory, ProTerritory> attackMap = getAttackMap(Collections.emptyList());
+
+    assertThat(getAttackMap(Collections.emptyList()), is(sameInstance(attackMap)));
+    assertThat(computeCount, is(1));
+  }
+
+  @Test
+  public void testDifferentTerritoriesToCheckComputeNewMap() {
+    getAttackMap(Collections.emptyList());
+
+    getAttackMap(Collections.singletonList(GameDataTestUtil.territory("Karelia S.S.R.", gameData)));
+
+    assertThat(computeCount, is(2));
+  }
+
+  @Test
+  public void testUnitsMovedWithinReachComputeNewMap() {
+    getAttackMap(Collections.emptyList());
+
+    final Territory karelia = GameDataTestUtil.territory("Karelia S.S.R.", gameData);
+    gameData.performChange(ChangeFactory.addUnits(karelia, GameDataTestUtil.infantry(gameData).create(1, british)));
+    getAttackMap(Collections.emptyList());
+
+    assertThat(computeCount, is(2));
+  }
+
+  @Test
+  public void testDefendMapIsCachedSeparately() {
+    getAttackMap(Collections.emptyList());
+
+    cache.getDefendMap(germans, germanUnitTerritories, Collections.emptyList(), countingSupplier());
+
+    assertThat(computeCount, is(2));
+  }
+
+  @Test
+  public void testIsForTurnOfPlayer() {
+    assertThat(cache.isFor(gameData, british), is(true));
+    assertThat(cache.isForTurnOf(germans, gameData.getSequence().getRound()), is(false));
+    assertThat(cache.isForTurnOf(british, gameData.getSequence().getRound() + 1), is(false));
+  }
+}
@@ -0,0 +1,59 @@
+package games.strategy.triplea.ai.proAI.data;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.ai.proAI.ProData;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class ProTerritoryManagerTest {
+  @Test
+  public void testParallelEnemyAttackMapsMatchSequentialOnes() throws Exception {
+    final GameData gameData = TestMapGameData.GLOBAL1940.getGameData();
+    final PlayerID british = GameDataTestUtil.british(gameData);
+    ProData.initializeSimulation(null, gameData, british);
+    final List<Territory> territoriesToCheck =
+        Matches.getMatches(gameData.getMap().getTerritories(), Matches.isTerritoryOwnedBy(british));
+
+    final List<Map<Territory, ProTerritory>> sequentialMaps =
+        ProTerritoryManager.findEnemyAttackMaps(british, new ArrayList<>(), territoriesToCheck, false);
+    // without the cached maps of the sequential run, the parallel run computes every map itself
+    ProData.getEnemyThreatCache().clear();
+    final List<Map<Territory, ProTerritory>> parallelMaps =
+        ProTerritoryManager.findEnemyAttackMaps(british, new ArrayList<>(), territoriesToCheck, true);
+
+    assertThat(sequentialMaps.size(), is(greaterThan(1)));
+    assertThat(parallelMaps.size(), is(sequentialMaps.size()));
+    for (int i = 0; i < sequentialMaps.size(); i++) {
+      assertThat(getUnits(parallelMaps.get(i), ProTerritory::getMaxUnits),
+          is(getUnits(sequentialMaps.get(i), ProTerritory::getMaxUnits)));
+      assertThat(getUnits(parallelMaps.get(i), ProTerritory::getMaxAmphibUnits),
+          is(getUnits(sequentialMaps.get(i), ProTerritory::getMaxAmphibUnits)));
+    }
+  }
+
+  private static Map<Territory, Set<Unit>> getUnits(final Map<Territory, ProTerritory> attackMap,
+      final Function<ProTerritory, Collection<Unit>> units) {
+    final Map<Territory, Set<Unit>> result = new HashMap<>();
+    attackMap.forEach((territory, proTerritory) -> result.put(territory, new HashSet<>(units.apply(proTerritory))));
+    return result;
+  }
+}
@@ -0,0 +1,103 @@
+package games.strategy.triplea.attachments;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.delegate.IDelegateBridge;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class ConditionEvaluatorTest {
+  private GameData gameData;
+  private PlayerID germans;
+  private IDelegateBridge bridge;
+  private RulesAttachment ownsGermany;
+  private ConditionEvaluator evaluator;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    germans = germans(gameData);
+    bridge = GameDataTestUtil.getDelegateBridge(germans, gameData);
+    ownsGermany = newCondition("conditionAttachmentOwnsGermany");
+    ownsGermany.setDirectOwnershipTerritories("Germany");
+    evaluator = ConditionEvaluator.get(gameData);
+  }
+
+  private RulesAttachment newCondition(final String name) {
+    final RulesAttachment condition = new RulesAttachment(name, germans, gameData);
+    germans.addAttachment(name, condition);
+    return condition;
+  }
+
+  private boolean isSatisfied(final RulesAttachment condition) {
+    final HashMap<ICondition, Boolean> testedConditions = new HashMap<>();
+    for (final RulesAttachment subCondition : condition.getConditions()) {
+      testedConditions.put(subCondition, evaluator.isSatisfied(subCondition, testedConditions, bridge));
+    }
+    return evaluator.isSatisfied(condition, testedConditions, bridge);
+  }
+
+  @Test
+  public void testUnchangedConditionIsReused() {
+    assertTrue(isSatisfied(ownsGermany));
+    assertTrue(isSatisfied(ownsGermany));
+
+    assertEquals(1, evaluator.getEvaluations());
+    assertEquals(1, evaluator.getReuses());
+  }
+
+  @Test
+  public void testChangesOfOtherTerritoriesDontRetest() {
+    isSatisfied(ownsGermany);
+
+    gameData.performChange(ChangeFactory.changeOwner(territory("Karelia S.S.R.", gameData), germans));
+    assertTrue(isSatisfied(ownsGermany));
+
+    assertEquals(1, evaluator.getEvaluations());
+  }
+
+  @Test
+  public void testChangesOfReadTerritoriesRetest() {
+    isSatisfied(ownsGermany);
+
+    gameData.performChange(ChangeFactory.changeOwner(territory("Germany", gameData), russians(gameData)));
+    assertFalse(isSatisfied(ownsGermany));
+
+    assertEquals(2, evaluator.getEvaluations());
+  }
+
+  @Test
+  public void testChangesOfTheConditionRetest() {
+    isSatisfied(ownsGermany);
+
+    gameData.performChange(ChangeFactory.attachmentPropertyChange(ownsGermany, "false", "switch"));
+    assertFalse(isSatisfied(ownsGermany));
+
+    assertEquals(2, evaluator.getEvaluations());
+  }
+
+  @Test
+  public void testConditionMadeOfChangedConditionIsRetested() throws Exception {
+    final RulesAttachment madeOfOwnsGermany = newCondition("conditionAttachmentMadeOfOwnsGermany");
+    madeOfOwnsGermany.setConditions("conditionAttachmentOwnsGermany");
+    assertTrue(isSatisfied(madeOfOwnsGermany));
+
+    gameData.performChange(ChangeFactory.changeOwner(territory("Germany", gameData), russians(gameData)));
+    assertFalse(isSatisfied(madeOfOwnsGermany));
+
+    assertEquals(4, evaluator.getEvaluations());
+  }
+}
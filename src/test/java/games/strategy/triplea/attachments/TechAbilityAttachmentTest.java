@@ -0,0 +1,57 @@
+package games.strategy.triplea.attachments;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.factory;
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.delegate.TechAdvance;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class TechAbilityAttachmentTest {
+  private GameData gameData;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.WW2V3_1941.getGameData();
+  }
+
+  @Test
+  public void testProductionBonusFollowsTechAdvanceChanges() {
+    final PlayerID germans = germans(gameData);
+    assertEquals(0, TechAbilityAttachment.getProductionBonus(factory(gameData), germans, gameData));
+    final Change change = ChangeFactory.attachmentPropertyChange(TechAttachment.get(germans), "true",
+        TechAdvance.TECH_PROPERTY_INCREASED_FACTORY_PRODUCTION);
+    gameData.performChange(change);
+    assertEquals(2, TechAbilityAttachment.getProductionBonus(factory(gameData), germans, gameData));
+    assertEquals(0, TechAbilityAttachment.getProductionBonus(factory(gameData), russians(gameData), gameData));
+    gameData.performChange(change.invert());
+    assertEquals(0, TechAbilityAttachment.getProductionBonus(factory(gameData), germans, gameData));
+  }
+
+  @Test
+  public void testRepairDiscountFollowsTechAbilityChanges() {
+    final PlayerID germans = germans(gameData);
+    TechAttachment.get(germans).setIncreasedFactoryProduction("true");
+    assertEquals(0.5D, TechAbilityAttachment.getRepairDiscount(germans, gameData), 0.0D);
+    final TechAbilityAttachment attachment = TechAbilityAttachment.get(increasedFactoryProduction());
+    gameData.performChange(ChangeFactory.attachmentPropertyChange(attachment, "25", "repairDiscount"));
+    assertEquals(0.75D, TechAbilityAttachment.getRepairDiscount(germans, gameData), 0.0D);
+  }
+
+  private TechAdvance increasedFactoryProduction() {
+    for (final TechAdvance advance : TechAdvance.getTechAdvances(gameData)) {
+      if (advance.getProperty().equals(TechAdvance.TECH_PROPERTY_INCREASED_FACTORY_PRODUCTION)) {
+        return advance;
+      }
+    }
+    throw new IllegalStateException("No increased factory production advance");
+  }
+}
@@ -5,6 +5,7 @@ import static games.strategy.triplea.delegate.GameDataTestUtil.british;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -19,11 +20,13 @@ import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.TerritoryEffect;
 import games.strategy.engine.data.Unit;
 import games.strategy.engine.data.UnitType;
+import games.strategy.engine.data.changefactory.ChangeFactory;
 import games.strategy.engine.random.ScriptedRandomSource;
 import games.strategy.triplea.Constants;
 import games.strategy.triplea.TripleAUnit;
 import games.strategy.triplea.attachments.TechAttachment;
 import games.strategy.triplea.attachments.UnitAttachment;
+import games.strategy.triplea.attachments.UnitSupportAttachment;
 import games.strategy.triplea.delegate.Die.DieType;
 import games.strategy.triplea.xml.TestMapGameData;
 
@@ -135,6 +138,26 @@ public class DiceRollTest {
     assertThat(roll.getHits(), is(3));
   }
 
+  @Test
+  public void testSupportRuleChangeAppliesToNextRoll() {
+    final Territory westRussia = gameData.getMap().getTerritory("West Russia");
+    final PlayerID russians = GameDataTestUtil.russians(gameData);
+    final UnitType artillery = gameData.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_ARTILLERY);
+    final Unit infantry = GameDataTestUtil.infantry(gameData).create(1, russians).get(0);
+    final List<Unit> units = new ArrayList<>(artillery.create(1, russians));
+    units.add(infantry);
+    assertThat(getStrength(infantry, units, westRussia), is(2));
+    for (final UnitSupportAttachment rule : UnitSupportAttachment.get(artillery)) {
+      gameData.performChange(ChangeFactory.attachmentPropertyChange(rule, "2", "bonus"));
+    }
+    assertThat(getStrength(infantry, units, westRussia), is(3));
+  }
+
+  private int getStrength(final Unit unit, final List<Unit> units, final Territory location) {
+    return DiceRoll.getUnitPowerAndRollsForNormalBattles(units, Collections.emptyList(), false, false, gameData,
+        location, TerritoryEffectHelper.getEffects(location), false, null).get(unit).getFirst();
+  }
+
   @Test
   public void testLowLuck() {
     GameDataTestUtil.makeGameLowLuck(gameData);
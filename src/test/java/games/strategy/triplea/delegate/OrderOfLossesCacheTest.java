@@ -0,0 +1,66 @@
+package games.strategy.triplea.delegate;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+
+public class OrderOfLossesCacheTest {
+  private static OrderOfLossesCache.Key key(final int... values) {
+    return new OrderOfLossesCache.Key(values);
+  }
+
+  @Test
+  public void testHitsAndMisses() {
+    final OrderOfLossesCache cache = new OrderOfLossesCache(10, Long.MAX_VALUE);
+    assertNull(cache.get(key(1, 2, 3)));
+    cache.put(key(1, 2, 3), new int[] {3, 2});
+    assertArrayEquals(new int[] {3, 2}, cache.get(key(1, 2, 3)));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(0, cache.getEvictionCount());
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsedEntryWhenFull() {
+    final OrderOfLossesCache cache = new OrderOfLossesCache(2, Long.MAX_VALUE);
+    cache.put(key(1), new int[] {1});
+    cache.put(key(2), new int[] {2});
+    cache.get(key(1));
+    cache.put(key(3), new int[] {3});
+    assertEquals(2, cache.size());
+    assertNull(cache.get(key(2)));
+    assertArrayEquals(new int[] {1}, cache.get(key(1)));
+    assertEquals(1, cache.getEvictionCount());
+  }
+
+  @Test
+  public void testEvictsWhenTooLarge() {
+    final OrderOfLossesCache cache = new OrderOfLossesCache(100, 1000);
+    for (int i = 0; i < 10; i++) {
+      cache.put(key(i), new int[50]);
+    }
+    assertEquals(3, cache.size());
+    assertEquals(7, cache.getEvictionCount());
+  }
+
+  @Test
+  public void testIndexesAreStable() {
+    final OrderOfLossesCache cache = new OrderOfLossesCache(10, Long.MAX_VALUE);
+    final int infantry = cache.indexOf("infantry");
+    assertEquals(infantry + 1, cache.indexOf("artillery"));
+    assertEquals(infantry, cache.indexOf("infantry"));
+  }
+
+  @Test
+  public void testCacheIsScopedToGameData() {
+    final GameData data = new GameData();
+    assertSame(OrderOfLossesCache.get(data), OrderOfLossesCache.get(data));
+    assertNotSame(OrderOfLossesCache.get(data), OrderOfLossesCache.get(new GameData()));
+  }
+}
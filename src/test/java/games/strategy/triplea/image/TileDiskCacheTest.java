@@ -0,0 +1,180 @@
+package games.strategy.triplea.image;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import games.strategy.ui.Util;
+
+public class TileDiskCacheTest {
+  private static final String KEY = "file:/maps/test/baseTiles/0_0.png";
+  private static final String OTHER_KEY = "file:/maps/test/baseTiles/0_1.png";
+  private static final long MODIFIED = 1000;
+
+  @Rule
+  public TemporaryFolder tempFolderRule = new TemporaryFolder();
+
+  private File folder;
+  private TileDiskCache diskCache;
+
+  @Before
+  public void setUp() throws Exception {
+    folder = tempFolderRule.newFolder();
+    diskCache = new TileDiskCache(folder, Long.MAX_VALUE);
+  }
+
+  private static BufferedImage newImage(final boolean transparent) {
+    final BufferedImage image = Util.createImage(7, 5, transparent);
+    for (int x = 0; x < image.getWidth(); x++) {
+      for (int y = 0; y < image.getHeight(); y++) {
+        image.setRGB(x, y, (0x80 << 24) | (x * 30 << 16) | (y * 40 << 8) | (x + y));
+      }
+    }
+    return image;
+  }
+
+  private static byte[] getPixels(final BufferedImage image) {
+    return ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+  }
+
+  @Test
+  public void testStoredImagesAreRead() {
+    for (final boolean transparent : new boolean[] {false, true}) {
+      final BufferedImage image = newImage(transparent);
+      diskCache.write(KEY, 1, MODIFIED, image);
+
+      final BufferedImage read = diskCache.read(KEY, 1, MODIFIED);
+
+      assertNotNull(read);
+      assertEquals(image.getType(), read.getType());
+      assertEquals(image.getWidth(), read.getWidth());
+      assertEquals(image.getHeight(), read.getHeight());
+      assertArrayEquals(getPixels(image), getPixels(read));
+    }
+  }
+
+  @Test
+  public void testImagesOfOtherLevelsAreNotRead() {
+    diskCache.write(KEY, 0, MODIFIED, newImage(false));
+
+    assertNull(diskCache.read(KEY, 1, MODIFIED));
+    assertNull(diskCache.read(KEY + "#transparent", 0, MODIFIED));
+  }
+
+  @Test
+  public void testImagesOfModifiedFilesAreNotRead() {
+    diskCache.write(KEY, 0, MODIFIED, newImage(false));
+
+    assertNull(diskCache.read(KEY, 0, MODIFIED + 1));
+  }
+
+  @Test
+  public void testImagesOfModifiedFilesAreDeleted() {
+    diskCache.write(KEY, 0, MODIFIED, newImage(false));
+    diskCache.read(KEY, 0, MODIFIED + 1);
+
+    assertNull(diskCache.read(KEY, 0, MODIFIED));
+    assertEquals(0, diskCache.getSizeBytes());
+  }
+
+  @Test
+  public void testImagesOfEarlierSessionsCountTowardsSize() {
+    diskCache.write(KEY, 0, MODIFIED, newImage(false));
+
+    assertEquals(diskCache.getSizeBytes(), new TileDiskCache(folder, Long.MAX_VALUE).getSizeBytes());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedImagesAreDeletedOverBudget() throws Exception {
+    final TileDiskCache sizeProbe = new TileDiskCache(tempFolderRule.newFolder(), Long.MAX_VALUE);
+    sizeProbe.write(KEY, 0, MODIFIED, newImage(false));
+    final long capacityBytes = sizeProbe.getSizeBytes() * 5 / 2;
+    diskCache = new TileDiskCache(folder, capacityBytes);
+    diskCache.write(KEY, 0, MODIFIED, newImage(false));
+    diskCache.write(KEY, 1, MODIFIED, newImage(false));
+    assertNotNull(diskCache.read(KEY, 0, MODIFIED));
+
+    diskCache.write(KEY, 2, MODIFIED, newImage(false));
+
+    assertNull(diskCache.read(KEY, 1, MODIFIED));
+    assertNotNull(diskCache.read(KEY, 0, MODIFIED));
+    assertNotNull(diskCache.read(KEY, 2, MODIFIED));
+    assertTrue(diskCache.getSizeBytes() <= capacityBytes);
+  }
+
+  @Test
+  public void testRemoveStaleDeletesImagesOfModifiedOrMissingFiles() {
+    diskCache.write(KEY, 0, MODIFIED, newImage(false));
+    diskCache.write(KEY, 1, MODIFIED, newImage(false));
+    diskCache.write(OTHER_KEY, 0, MODIFIED, newImage(false));
+    final String modifiedKey = KEY + "#transparent";
+    diskCache.write(modifiedKey, 0, MODIFIED, newImage(true));
+
+    diskCache.removeStale(key -> key.equals(KEY) ? MODIFIED : key.equals(modifiedKey) ? MODIFIED + 1 : 0);
+
+    assertNotNull(diskCache.read(KEY, 0, MODIFIED));
+    assertNotNull(diskCache.read(KEY, 1, MODIFIED));
+    assertNull(diskCache.read(OTHER_KEY, 0, MODIFIED));
+    assertNull(diskCache.read(modifiedKey, 0, MODIFIED));
+  }
+
+  @Test
+  public void testRemoveStaleDeletesAbandonedTempFiles() throws Exception {
+    final File abandoned = File.createTempFile("tile", ".tile.tmp", folder);
+    abandoned.setLastModified(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1));
+    final File beingWritten = File.createTempFile("tile", ".tile.tmp", folder);
+
+    diskCache.removeStale(key -> MODIFIED);
+
+    assertFalse(abandoned.exists());
+    assertTrue(beingWritten.exists());
+  }
+
+  @Test
+  public void testWriteLeavesNoTempFiles() {
+    diskCache.write(KEY, 0, MODIFIED, newImage(false));
+
+    assertEquals(1, folder.listFiles().length);
+  }
+
+  @Test
+  public void testLastModifiedOfFileIsKnown() throws Exception {
+    final File file = tempFolderRule.newFile();
+    file.setLastModified(MODIFIED * 1000);
+
+    assertEquals(MODIFIED * 1000, TileDiskCache.getLastModified(file.toURI().toURL()));
+  }
+
+  @Test
+  public void testLastModifiedOfFileInZipIsTheTimeOfTheZipFile() throws Exception {
+    final File zipFile = tempFolderRule.newFile("map.zip");
+    try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zipFile))) {
+      final ZipEntry entry = new ZipEntry("baseTiles/0_0.png");
+      entry.setTime(MODIFIED * 2000);
+      out.putNextEntry(entry);
+      out.write(new byte[] {1, 2, 3});
+      out.closeEntry();
+    }
+    zipFile.setLastModified(MODIFIED * 1000);
+
+    assertEquals(MODIFIED * 1000,
+        TileDiskCache.getLastModified(new URL("jar:" + zipFile.toURI() + "!/baseTiles/0_0.png")));
+  }
+}
@@ -0,0 +1,68 @@
+package games.strategy.triplea.image;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+import games.strategy.ui.Util;
+
+public class TileImageCacheTest {
+  // a 10x10 image without alpha takes 300 bytes
+  private static final long IMAGE_SIZE_BYTES = 300;
+
+  private static BufferedImage newImage() {
+    return Util.createImage(10, 10, false);
+  }
+
+  @Test
+  public void testImageSizeIsTheSizeOfThePixels() {
+    assertEquals(IMAGE_SIZE_BYTES, TileImageCache.getSizeBytes(newImage()));
+    assertEquals(400, TileImageCache.getSizeBytes(Util.createImage(10, 10, true)));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedImageIsEvictedOverBudget() {
+    final TileImageCache cache = new TileImageCache(2 * IMAGE_SIZE_BYTES);
+    final BufferedImage first = newImage();
+    final BufferedImage second = newImage();
+    cache.put("first", first);
+    cache.put("second", second);
+    assertSame(first, cache.get("first"));
+
+    cache.put("third", newImage());
+
+    assertSame(first, cache.get("first"));
+    assertNull(cache.get("second"));
+    assertEquals(2, cache.size());
+    assertEquals(2 * IMAGE_SIZE_BYTES, cache.getSizeBytes());
+  }
+
+  @Test
+  public void testImageLargerThanBudgetIsKept() {
+    final TileImageCache cache = new TileImageCache(IMAGE_SIZE_BYTES / 2);
+    cache.put("first", newImage());
+    final BufferedImage second = newImage();
+
+    cache.put("second", second);
+
+    assertNull(cache.get("first"));
+    assertSame(second, cache.get("second"));
+  }
+
+  @Test
+  public void testReplacingAnImageKeepsTheSize() {
+    final TileImageCache cache = new TileImageCache(10 * IMAGE_SIZE_BYTES);
+    cache.put("first", newImage());
+    cache.put("first", newImage());
+
+    assertEquals(IMAGE_SIZE_BYTES, cache.getSizeBytes());
+
+    cache.clear();
+    assertEquals(0, cache.getSizeBytes());
+    assertNull(cache.get("first"));
+  }
+}
@@ -0,0 +1,148 @@
+package games.strategy.triplea.ui;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import games.strategy.triplea.ui.screen.Tile;
+
+public class TileRenderQueueTest {
+  private static final Rectangle2D VIEW = new Rectangle2D.Double(0, 0, 100, 100);
+  private static final Rectangle2D OTHER_VIEW = new Rectangle2D.Double(50, 0, 100, 100);
+
+  private final RecordingRenderer renderer = new RecordingRenderer();
+  private final TileRenderQueue queue = new TileRenderQueue(renderer, 1);
+
+  @After
+  public void tearDown() {
+    queue.stop();
+    renderer.release.countDown();
+  }
+
+  private static Tile newDirtyTile() {
+    final Tile tile = mock(Tile.class);
+    when(tile.isDirty()).thenReturn(true);
+    return tile;
+  }
+
+  /**
+   * Keeps the only rendering thread busy until the renderer is released, so the next tiles are queued.
+   */
+  private void blockQueue() throws InterruptedException {
+    queue.schedule(VIEW, Collections.singletonList(Collections.singletonList(renderer.blockingTile)));
+    assertTrue(renderer.blockingTileStarted.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testVisibleTilesAreRenderedBeforeTilesAroundTheScreen() throws Exception {
+    final Tile near = newDirtyTile();
+    final Tile far = newDirtyTile();
+    final Tile visible = newDirtyTile();
+    final Tile otherVisible = newDirtyTile();
+    blockQueue();
+
+    queue.schedule(VIEW, Arrays.asList(Collections.emptyList(), Collections.singletonList(near),
+        Collections.singletonList(far)));
+    queue.schedule(VIEW, Collections.singletonList(Arrays.asList(visible, otherVisible)));
+    renderer.release.countDown();
+
+    assertTrue(renderer.renderCount.tryAcquire(5, 5, TimeUnit.SECONDS));
+    assertThat(renderer.renderedTiles, contains(renderer.blockingTile, visible, otherVisible, near, far));
+  }
+
+  @Test
+  public void testTilesOfPreviousViewAreCancelledAndLogged() throws Exception {
+    final Logger logger = Logger.getLogger(TileRenderQueue.class.getName());
+    final Level level = logger.getLevel();
+    final List<String> messages = new CopyOnWriteArrayList<>();
+    final Handler handler = new Handler() {
+      @Override
+      public void publish(final LogRecord record) {
+        messages.add(record.getMessage());
+      }
+
+      @Override
+      public void flush() {}
+
+      @Override
+      public void close() {}
+    };
+    logger.setLevel(Level.FINE);
+    logger.addHandler(handler);
+    try {
+      final Tile stale = newDirtyTile();
+      final Tile current = newDirtyTile();
+      blockQueue();
+
+      queue.schedule(VIEW, Collections.singletonList(Collections.singletonList(stale)));
+      queue.schedule(OTHER_VIEW, Collections.singletonList(Collections.singletonList(current)));
+      renderer.release.countDown();
+      assertTrue(renderer.renderCount.tryAcquire(2, 5, TimeUnit.SECONDS));
+      queue.stop();
+      assertTrue(queue.awaitTermination(5, TimeUnit.SECONDS));
+
+      assertThat(renderer.renderedTiles, contains(renderer.blockingTile, current));
+      assertThat(messages, hasItem(endsWith(", 1 tiles cancelled")));
+    } finally {
+      logger.removeHandler(handler);
+      logger.setLevel(level);
+    }
+  }
+
+  @Test
+  public void testStopCancelsScheduledTilesAndEndsThreads() throws Exception {
+    final Tile scheduled = newDirtyTile();
+    blockQueue();
+    queue.schedule(VIEW, Collections.singletonList(Collections.singletonList(scheduled)));
+
+    queue.stop();
+    renderer.release.countDown();
+
+    assertThat(queue.awaitTermination(5, TimeUnit.SECONDS), is(true));
+    queue.schedule(OTHER_VIEW, Collections.singletonList(Collections.singletonList(newDirtyTile())));
+    assertThat(renderer.renderedTiles, contains(renderer.blockingTile));
+  }
+
+  private static final class RecordingRenderer implements TileRenderQueue.TileRenderer {
+    private final Tile blockingTile = newDirtyTile();
+    private final CountDownLatch blockingTileStarted = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<Tile> renderedTiles = new CopyOnWriteArrayList<>();
+    private final Semaphore renderCount = new Semaphore(0);
+
+    @Override
+    public void render(final Tile tile) {
+      renderedTiles.add(tile);
+      if (tile == blockingTile) {
+        blockingTileStarted.countDown();
+        try {
+          release.await();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      renderCount.release();
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package games.strategy.triplea.ui.mapdata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.awt.Polygon;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class PolygonIndexTest {
+  private PolygonIndex polygonIndex;
+
+  private static Polygon rectangle(final int x, final int y, final int width, final int height) {
+    return new Polygon(new int[] {x, x + width, x + width, x}, new int[] {y, y, y + height, y + height}, 4);
+  }
+
+  @Before
+  public void setUp() {
+    final Map<String, List<Polygon>> polygons = new LinkedHashMap<>();
+    polygons.put("Sea Zone 1", Arrays.asList(rectangle(0, 0, 500, 500)));
+    polygons.put("Island", Arrays.asList(rectangle(100, 100, 50, 50), rectangle(300, 300, 100, 20)));
+    polygons.put("Coast", Arrays.asList(rectangle(500, 0, 300, 500)));
+    polygonIndex = new PolygonIndex(polygons);
+  }
+
+  @Test
+  public void testLandInsideSeaZoneIsFound() {
+    assertEquals("Island", polygonIndex.getTerritoryAt(120, 130));
+    assertEquals("Island", polygonIndex.getTerritoryAt(350, 310));
+  }
+
+  @Test
+  public void testSeaZoneIsFoundOutsideLand() {
+    assertEquals("Sea Zone 1", polygonIndex.getTerritoryAt(200, 200));
+  }
+
+  @Test
+  public void testPolygonsSpanningCellsAreFound() {
+    assertEquals("Coast", polygonIndex.getTerritoryAt(799, 499));
+    assertEquals("Coast", polygonIndex.getTerritoryAt(510, 10));
+  }
+
+  @Test
+  public void testPointOutsideAllPolygonsIsNull() {
+    assertNull(polygonIndex.getTerritoryAt(-1, 10));
+    assertNull(polygonIndex.getTerritoryAt(900, 10));
+    assertNull(polygonIndex.getTerritoryAt(10, 600));
+  }
+
+  @Test
+  public void testEmptyMapHasNoTerritories() {
+    assertNull(new PolygonIndex(new LinkedHashMap<>()).getTerritoryAt(0, 0));
+  }
+}
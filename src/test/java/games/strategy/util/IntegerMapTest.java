@@ -2,10 +2,24 @@ package games.strategy.util;
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableMap;
@@ -42,8 +56,13 @@ public class IntegerMapTest {
 
   @Test
   public void shouldBeEquatableAndHashable() {
+    final ObjectIntTable<Object> red = new ObjectIntTable<>();
+    red.put(v1, 1);
+    final ObjectIntTable<Object> black = new ObjectIntTable<>();
+    black.put(v2, 2);
     EqualsVerifier.forClass(IntegerMap.class)
-        .suppress(Warning.NULL_FIELDS)
+        .withPrefabValues(ObjectIntTable.class, red, black)
+        .suppress(Warning.NULL_FIELDS, Warning.NONFINAL_FIELDS)
         .verify();
 
     // We need to explicitly test this case because EqualsVerifier's internal prefab values for HashMap use the
@@ -110,4 +129,139 @@ public class IntegerMapTest {
     map1.add(v3, 3);
     assertTrue(map1.greaterThanOrEqualTo(map2));
   }
+
+  @Test
+  public void testRemoveKey() {
+    final IntegerMap<Object> map = new IntegerMap<>();
+    map.add(v1, 1);
+    map.add(v2, 2);
+    map.add(v3, 3);
+    map.removeKey(v1);
+    assertTrue(!map.containsKey(v1));
+    assertEquals(0, map.getInt(v1));
+    assertEquals(2, map.getInt(v2));
+    assertEquals(3, map.getInt(v3));
+    assertEquals(2, map.size());
+  }
+
+  @Test
+  public void keySetIterator_ShouldRemoveKeysFromMap() {
+    final IntegerMap<Object> map = new IntegerMap<>();
+    map.add(v1, 1);
+    map.add(v2, 2);
+    map.add(v3, 3);
+    for (final Iterator<Object> it = map.keySet().iterator(); it.hasNext();) {
+      if (it.next() != v2) {
+        it.remove();
+      }
+    }
+    assertThat(map, is(new IntegerMap<>(v2, 2)));
+  }
+
+  @Test
+  public void forEach_ShouldVisitEachEntry() {
+    final IntegerMap<Object> map = new IntegerMap<>();
+    map.add(v1, 1);
+    map.add(v2, 2);
+    final Map<Object, Integer> visited = new HashMap<>();
+    map.forEach(visited::put);
+    assertThat(visited, is(ImmutableMap.of(v1, 1, v2, 2)));
+  }
+
+  @Test
+  public void shouldBeSerializable() throws Exception {
+    final IntegerMap<String> map = new IntegerMap<>();
+    map.add("a", 1);
+    map.add("b", -2);
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(map);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      assertThat(in.readObject(), is(map));
+    }
+  }
+
+  @Test
+  public void shouldKeepInsertionOrderWhenKeysAreRemoved() {
+    final IntegerMap<String> map = new IntegerMap<>();
+    map.add("a", 1);
+    map.add("b", 2);
+    map.add("c", 3);
+    map.add("d", 4);
+    map.removeKey("b");
+    map.add("e", 5);
+    assertThat(map.keySet(), contains("a", "c", "d", "e"));
+    assertEquals(4, map.getInt("d"));
+    assertEquals(5, map.getInt("e"));
+  }
+
+  @Test
+  public void shouldKeepInsertionOrderWhenMostKeysAreRemoved() {
+    final IntegerMap<Integer> map = new IntegerMap<>();
+    for (int i = 0; i < 100; i++) {
+      map.add(i, i);
+    }
+    for (int i = 0; i < 100; i++) {
+      if (i % 10 != 0) {
+        map.removeKey(i);
+      }
+    }
+    for (final Iterator<Integer> it = map.keySet().iterator(); it.hasNext();) {
+      if (it.next() == 50) {
+        it.remove();
+      }
+    }
+    for (int i = 100; i < 103; i++) {
+      map.add(i, i);
+    }
+    final List<Integer> expectedKeys = Arrays.asList(0, 10, 20, 30, 40, 60, 70, 80, 90, 100, 101, 102);
+    assertThat(new ArrayList<>(map.keySet()), is(expectedKeys));
+    for (final int key : expectedKeys) {
+      assertEquals(key, map.getInt(key));
+    }
+    assertEquals(0, map.getInt(55));
+  }
+
+  @Test
+  public void shouldKeepInsertionOrderWhenSerialized() throws Exception {
+    final IntegerMap<String> map = new IntegerMap<>();
+    map.add("d", 4);
+    map.add("b", 2);
+    map.add("c", 3);
+    map.add("a", 1);
+    final IntegerMap<String> deserialized = roundTrip(map);
+    assertThat(deserialized.keySet(), contains("d", "b", "c", "a"));
+  }
+
+  @Test
+  public void shouldBeSerializableWhenKeysReferBackToMap() throws Exception {
+    final IntegerMap<Key> map = new IntegerMap<>();
+    final Key key = new Key();
+    key.owner = map;
+    map.add(key, 3);
+
+    final IntegerMap<Key> deserialized = roundTrip(map);
+
+    final Key deserializedKey = deserialized.keySet().iterator().next();
+    assertThat(deserializedKey.owner, is(sameInstance(deserialized)));
+    assertEquals(3, deserializedKey.owner.getInt(deserializedKey));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> IntegerMap<T> roundTrip(final IntegerMap<T> map) throws Exception {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(map);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      return (IntegerMap<T>) in.readObject();
+    }
+  }
+
+  private static final class Key implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private IntegerMap<Key> owner;
+  }
 }